@@ -0,0 +1,66 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.type.CoordinateSystem;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 클러스터 인덱스 구성 - KDBush 단일 트리, 기존 SuperCluster, 평탄화 FlatSuperCluster (모든 줌 레벨) <br/>
+ * flatSuperClusterProjected 는 쓰기 시점에 미리 투영된 좌표(ProjectedCoordinate)를 가진 마커로 구성합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClusterBuildBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    private int size;
+
+    private final SuperClusterParams superClusterParams = SeoulBenchmarkData.superClusterParams();
+    private final PointConverter pointConverter = SeoulBenchmarkData.pointConverter(CoordinateSystem.MERCATOR);
+    private final DistanceMeasure distanceMeasure = new EuclideanDistance();
+    private List<Marker> markers;
+    private List<Marker> projectedMarkers;
+    private double[] projected;
+
+    @Setup
+    public void setUp() {
+        markers = SeoulBenchmarkData.markers(size, 1L);
+        projected = SeoulBenchmarkData.projected(markers, pointConverter);
+        projectedMarkers = SeoulBenchmarkData.withProjected(markers);
+    }
+
+    @Benchmark
+    public KDBush kdBush() {
+        return new KDBush(projected, 2, size, superClusterParams.getNodeSize());
+    }
+
+    @Benchmark
+    public SuperCluster superCluster() {
+        return new SuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+    }
+
+    @Benchmark
+    public FlatSuperCluster flatSuperCluster() {
+        return new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+    }
+
+    @Benchmark
+    public FlatSuperCluster flatSuperClusterProjected() {
+        return new FlatSuperCluster(superClusterParams, projectedMarkers, pointConverter, distanceMeasure);
+    }
+
+}
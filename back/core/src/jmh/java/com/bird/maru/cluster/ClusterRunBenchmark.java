@@ -0,0 +1,71 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.type.CoordinateSystem;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.wololo.geojson.Feature;
+
+/**
+ * 지도 화면 범위 클러스터 조회 - run(BoundingBox) <br/>
+ * 조회 범위는 상권 중심의 스마트폰 화면 크기이며, 줌 레벨 17 은 maxZoom 보다 깊어 단일 포인트만 조회합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClusterRunBenchmark {
+
+    private static final int VIEWPORTS = 1024;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "10", "13", "15", "17" })
+    private int zoom;
+
+    private SuperCluster superCluster;
+    private FlatSuperCluster flatSuperCluster;
+    private BoundingBox[] viewports;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SuperClusterParams superClusterParams = SeoulBenchmarkData.superClusterParams();
+        PointConverter pointConverter = SeoulBenchmarkData.pointConverter(CoordinateSystem.MERCATOR);
+        DistanceMeasure distanceMeasure = new EuclideanDistance();
+        List<Marker> markers = SeoulBenchmarkData.markers(size, 1L);
+        superCluster = new SuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+        flatSuperCluster = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+        viewports = SeoulBenchmarkData.viewports(zoom, VIEWPORTS, 2L);
+    }
+
+    @Benchmark
+    public List<Feature> superCluster() {
+        return superCluster.run(nextViewport());
+    }
+
+    @Benchmark
+    public List<Feature> flatSuperCluster() {
+        return flatSuperCluster.run(nextViewport());
+    }
+
+    private BoundingBox nextViewport() {
+        BoundingBox viewport = viewports[cursor];
+        cursor = (cursor + 1) & (VIEWPORTS - 1);
+        return viewport;
+    }
+
+}
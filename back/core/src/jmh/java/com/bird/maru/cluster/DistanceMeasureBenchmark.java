@@ -0,0 +1,63 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.HaversineDistance;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 거리 계산 - EuclideanDistance vs HaversineDistance <br/>
+ * 서울 분포의 인접한 두 마커 사이 거리를 계산하며, 쌍 하나당 시간을 측정합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DistanceMeasureBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    private final DistanceMeasure euclidean = new EuclideanDistance();
+    private final DistanceMeasure haversine = new HaversineDistance();
+    private double[] coords;
+
+    @Setup
+    public void setUp() {
+        List<Marker> markers = SeoulBenchmarkData.markers(PAIRS + 1, 1L);
+        coords = new double[(PAIRS + 1) * 2];
+        for (int i = 0; i <= PAIRS; i++) {
+            coords[2 * i] = markers.get(i).getCoordinate().getLng();
+            coords[2 * i + 1] = markers.get(i).getCoordinate().getLat();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double euclidean() {
+        return sum(euclidean);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double haversine() {
+        return sum(haversine);
+    }
+
+    private double sum(DistanceMeasure distanceMeasure) {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += distanceMeasure.compute(coords[2 * i], coords[2 * i + 1], coords[2 * i + 2], coords[2 * i + 3]);
+        }
+        return sum;
+    }
+
+}
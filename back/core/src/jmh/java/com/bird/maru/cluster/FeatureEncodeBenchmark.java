@@ -0,0 +1,66 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.compact.CompactFeatureWriter;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.domain.model.type.CoordinateSystem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 지도 응답 인코딩 - JSON(StreamingFeatureCollection) 과 압축 바이너리(CompactFeatureWriter) <br/>
+ * 스팟 5000개의 서울 전역 조회 결과이며, 줌 레벨 17 은 maxZoom 보다 깊어 Feature 5000개가 모두 단일 포인트입니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FeatureEncodeBenchmark {
+
+    private static final int SIZE = 5000;
+
+    @Param({ "13", "15", "17" })
+    private int zoom;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FeatureBuffer features;
+
+    @Setup
+    public void setUp() {
+        FlatSuperCluster superCluster = new FlatSuperCluster(SeoulBenchmarkData.superClusterParams(),
+                                                             SeoulBenchmarkData.markers(SIZE, 1L),
+                                                             SeoulBenchmarkData.pointConverter(CoordinateSystem.MERCATOR),
+                                                             new EuclideanDistance());
+        features = new FeatureBuffer();
+        superCluster.run(BoundingBox.builder()
+                                    .west(126.0)
+                                    .south(37.0)
+                                    .east(128.0)
+                                    .north(38.0)
+                                    .zoom(zoom)
+                                    .build(), features);
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new StreamingFeatureCollection(features::replay));
+    }
+
+    @Benchmark
+    public byte[] compact() {
+        CompactFeatureWriter writer = new CompactFeatureWriter();
+        features.replay(writer);
+        return writer.toByteArray();
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.IntList;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * KDBush 검색 비교 - 기존 LinkedList/List 박싱 구현(legacy) vs int 스택과 재사용 버퍼 구현
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KDBushQueryBenchmark {
+
+    private static final int NODE_SIZE = 64;
+
+    @Param({ "10000", "100000" })
+    private int size;
+
+    private final DistanceMeasure distanceMeasure = new EuclideanDistance();
+    private final IntList result = new IntList();
+    private KDBush kdBush;
+    private int[] ids; // legacy 구현용 배열 복사본
+    private double[] coords;
+    private double[] queries;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1L);
+        double[] data = new double[size * 2];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble();
+        }
+        kdBush = new KDBush(data, 2, size, NODE_SIZE);
+        ids = new int[size];
+        coords = new double[size * 2];
+        kdBush.getIds().duplicate().get(ids);
+        kdBush.getCoords().duplicate().get(coords);
+        queries = new double[1024 * 2];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public int withinLegacy() {
+        int q = nextQuery();
+        return legacyWithin(ids, coords, queries[q], queries[q + 1], 0.01).length;
+    }
+
+    @Benchmark
+    public int withinPrimitive() {
+        int q = nextQuery();
+        kdBush.within(queries[q], queries[q + 1], 0.01, distanceMeasure, result);
+        return result.size();
+    }
+
+    @Benchmark
+    public int rangeLegacy() {
+        int q = nextQuery();
+        return legacyRange(ids, coords, queries[q], queries[q + 1], queries[q] + 0.05, queries[q + 1] + 0.05).length;
+    }
+
+    @Benchmark
+    public int rangePrimitive() {
+        int q = nextQuery();
+        kdBush.range(queries[q], queries[q + 1], queries[q] + 0.05, queries[q + 1] + 0.05, result);
+        return result.size();
+    }
+
+    private int nextQuery() {
+        cursor = (cursor + 2) % queries.length;
+        return cursor;
+    }
+
+    private int[] legacyWithin(int[] ids, double[] coordinates, double qx, double qy, double radius) {
+        LinkedList<Integer> stack = new LinkedList<>();
+        stack.push(0);
+        stack.push(ids.length - 1);
+        stack.push(0);
+
+        List<Integer> found = new ArrayList<>();
+        double r2 = radius * radius;
+
+        while (!stack.isEmpty()) {
+            int axis = stack.pop();
+            int right = stack.pop();
+            int left = stack.pop();
+
+            if (right - left <= NODE_SIZE) {
+                for (int i = left; i <= right; i++) {
+                    if (distanceMeasure.compute(coordinates[2 * i], coordinates[2 * i + 1], qx, qy) <= r2) {
+                        found.add(ids[i]);
+                    }
+                }
+                continue;
+            }
+
+            int mid = (left + right) / 2;
+            double x = coordinates[2 * mid];
+            double y = coordinates[2 * mid + 1];
+            if (distanceMeasure.compute(x, y, qx, qy) <= r2) {
+                found.add(ids[mid]);
+            }
+
+            int nextAxis = (axis + 1) % 2;
+            if (axis == 0 ? qx - radius <= x : qy - radius <= y) {
+                stack.push(left);
+                stack.push(mid - 1);
+                stack.push(nextAxis);
+            }
+            if (axis == 0 ? qx + radius >= x : qy + radius >= y) {
+                stack.push(mid + 1);
+                stack.push(right);
+                stack.push(nextAxis);
+            }
+        }
+        return found.stream().mapToInt(Integer::valueOf).toArray();
+    }
+
+    private int[] legacyRange(int[] ids, double[] coordinates, double minX, double minY, double maxX, double maxY) {
+        LinkedList<Integer> stack = new LinkedList<>();
+        stack.push(0);
+        stack.push(ids.length - 1);
+        stack.push(0);
+
+        List<Integer> found = new ArrayList<>();
+
+        while (!stack.isEmpty()) {
+            int axis = stack.pop();
+            int right = stack.pop();
+            int left = stack.pop();
+
+            if (right - left <= NODE_SIZE) {
+                for (int i = left; i <= right; i++) {
+                    double x = coordinates[2 * i];
+                    double y = coordinates[2 * i + 1];
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        found.add(ids[i]);
+                    }
+                }
+                continue;
+            }
+
+            int mid = (left + right) / 2;
+            double x = coordinates[2 * mid];
+            double y = coordinates[2 * mid + 1];
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                found.add(ids[mid]);
+            }
+
+            int nextAxis = (axis + 1) % 2;
+            if (axis == 0 ? minX <= x : minY <= y) {
+                stack.push(left);
+                stack.push(mid - 1);
+                stack.push(nextAxis);
+            }
+            if (axis == 0 ? maxX >= x : maxY >= y) {
+                stack.push(mid + 1);
+                stack.push(right);
+                stack.push(nextAxis);
+            }
+        }
+        return found.stream().mapToInt(Integer::valueOf).toArray();
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.type.CoordinateSystem;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 좌표 변환 - 경위도를 클러스터 평면 좌표로 투영(project)하고, 다시 경위도로 되돌립니다(unproject). <br/>
+ * 포인트 하나당 시간을 측정합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PointConverterBenchmark {
+
+    private static final int POINTS = 1024;
+
+    @Param({ "MERCATOR", "WGS84" })
+    private CoordinateSystem crs;
+
+    private PointConverter pointConverter;
+    private double[] lngLat;
+    private double[] xy;
+
+    @Setup
+    public void setUp() {
+        pointConverter = SeoulBenchmarkData.pointConverter(crs);
+        List<Marker> markers = SeoulBenchmarkData.markers(POINTS, 1L);
+        lngLat = new double[POINTS * 2];
+        for (int i = 0; i < POINTS; i++) {
+            lngLat[2 * i] = markers.get(i).getCoordinate().getLng();
+            lngLat[2 * i + 1] = markers.get(i).getCoordinate().getLat();
+        }
+        xy = SeoulBenchmarkData.projected(markers, pointConverter);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double project() {
+        double sum = 0;
+        for (int i = 0; i < POINTS; i++) {
+            sum += pointConverter.convertLngToX(lngLat[2 * i]) + pointConverter.convertLatToY(lngLat[2 * i + 1]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double unproject() {
+        double sum = 0;
+        for (int i = 0; i < POINTS; i++) {
+            sum += pointConverter.convertXToLng(xy[2 * i]) + pointConverter.convertYToLat(xy[2 * i + 1]);
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.domain.model.type.CoordinateSystem;
+import com.bird.maru.domain.model.type.ProjectedCoordinate;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 벤치마크용 서울 분포 합성 데이터 <br/>
+ * 실제 스팟처럼 번화가 주변에 몰리도록, 마커의 60% 는 주요 상권 중심의 정규 분포로, 나머지는 서울 전역에 고르게 생성합니다.
+ */
+final class SeoulBenchmarkData {
+
+    private static final double WEST = 126.76;
+    private static final double EAST = 127.18;
+    private static final double SOUTH = 37.43;
+    private static final double NORTH = 37.70;
+    // 주요 상권 (경도, 위도, 표준편차)
+    private static final double[][] HOTSPOTS = {
+            { 127.0276, 37.4979, 0.012 }, // 강남
+            { 126.9244, 37.5563, 0.010 }, // 홍대
+            { 126.9850, 37.5637, 0.008 }, // 명동
+            { 127.1000, 37.5133, 0.012 }, // 잠실
+            { 126.9246, 37.5219, 0.008 }, // 여의도
+            { 127.0707, 37.5403, 0.010 }, // 건대
+    };
+    private static final double HOTSPOT_RATIO = 0.6;
+    // 스마트폰 지도 화면 크기 (px)
+    private static final int SCREEN_WIDTH = 412;
+    private static final int SCREEN_HEIGHT = 915;
+
+    private SeoulBenchmarkData() {
+    }
+
+    /**
+     * 합성 마커 생성 - id 는 0부터 오름차순
+     */
+    static List<Marker> markers(int size, long seed) {
+        Random random = new Random(seed);
+        List<Marker> markers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double lng;
+            double lat;
+            if (random.nextDouble() < HOTSPOT_RATIO) {
+                double[] hotspot = HOTSPOTS[random.nextInt(HOTSPOTS.length)];
+                lng = clamp(hotspot[0] + random.nextGaussian() * hotspot[2], WEST, EAST);
+                lat = clamp(hotspot[1] + random.nextGaussian() * hotspot[2], SOUTH, NORTH);
+            } else {
+                lng = WEST + random.nextDouble() * (EAST - WEST);
+                lat = SOUTH + random.nextDouble() * (NORTH - SOUTH);
+            }
+            markers.add(new Marker((long) i, Coordinate.builder().lng(lng).lat(lat).build()));
+        }
+        return markers;
+    }
+
+    /**
+     * 미리 투영된 좌표를 채운 마커 목록
+     */
+    static List<Marker> withProjected(List<Marker> markers) {
+        List<Marker> projected = new ArrayList<>(markers.size());
+        for (Marker marker : markers) {
+            projected.add(Marker.builder()
+                                .id(marker.getId())
+                                .coordinate(marker.getCoordinate())
+                                .projected(ProjectedCoordinate.of(marker.getCoordinate()))
+                                .build());
+        }
+        return projected;
+    }
+
+    /**
+     * 평탄화된 좌표 배열 (x0, y0, x1, y1, ...)
+     */
+    static double[] projected(List<Marker> markers, PointConverter pointConverter) {
+        double[] data = new double[markers.size() * 2];
+        for (int i = 0; i < markers.size(); i++) {
+            data[2 * i] = pointConverter.convertLngToX(markers.get(i).getCoordinate().getLng());
+            data[2 * i + 1] = pointConverter.convertLatToY(markers.get(i).getCoordinate().getLat());
+        }
+        return data;
+    }
+
+    /**
+     * 상권 중심의 스마트폰 화면 크기 조회 범위 - 같은 seed 면 같은 순서로 반환합니다.
+     */
+    static BoundingBox[] viewports(int zoom, int count, long seed) {
+        Random random = new Random(seed);
+        double width = 360.0 * SCREEN_WIDTH / (256 * Math.pow(2, zoom));
+        double height = width * SCREEN_HEIGHT / SCREEN_WIDTH * Math.cos(Math.toRadians(37.55));
+        BoundingBox[] viewports = new BoundingBox[count];
+        for (int i = 0; i < count; i++) {
+            double[] hotspot = HOTSPOTS[random.nextInt(HOTSPOTS.length)];
+            double lng = hotspot[0] + random.nextGaussian() * hotspot[2];
+            double lat = hotspot[1] + random.nextGaussian() * hotspot[2];
+            viewports[i] = BoundingBox.builder()
+                                      .west(lng - width / 2)
+                                      .east(lng + width / 2)
+                                      .south(lat - height / 2)
+                                      .north(lat + height / 2)
+                                      .zoom(zoom)
+                                      .build();
+        }
+        return viewports;
+    }
+
+    /**
+     * application-global.yml 의 cluster 설정과 같은 값
+     */
+    static SuperClusterParams superClusterParams() {
+        SuperClusterParams params = new SuperClusterParams();
+        setField(params, "minZoom", 0);
+        setField(params, "maxZoom", 16);
+        setField(params, "initZoom", 24);
+        setField(params, "nodeSize", 64);
+        setField(params, "radius", 100);
+        setField(params, "extent", 512);
+        return params;
+    }
+
+    static PointConverter pointConverter(CoordinateSystem crs) {
+        PointConverter pointConverter = new PointConverter();
+        setField(pointConverter, "crs", crs);
+        return pointConverter;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+}
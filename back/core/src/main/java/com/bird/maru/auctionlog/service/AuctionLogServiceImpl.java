@@ -11,6 +11,7 @@ import com.bird.maru.domain.model.entity.AuctionLog;
 import com.bird.maru.domain.model.entity.Landmark;
 import com.bird.maru.domain.model.entity.Member;
 import com.bird.maru.landmark.repository.LandmarkRepository;
+import com.bird.maru.landmark.service.event.LandmarkChangedEvent;
 import com.bird.maru.member.repository.MemberRepository;
 import com.bird.maru.notice.model.NoticeRequestDto;
 import com.bird.maru.notice.service.NoticeService;
@@ -20,6 +21,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -38,6 +40,7 @@ public class AuctionLogServiceImpl implements AuctionLogService {
     private final AuctionRepository auctionRepository;
     private final MemberRepository memberRepository;
     private final LandmarkRepository landmarkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 입찰 처리 (신규 입찰, 재입찰)
@@ -174,6 +177,7 @@ public class AuctionLogServiceImpl implements AuctionLogService {
         if (successfulBidId != null && successfulBidId.equals(auctionLog.getId())) { // 낙찰자
             log.info("낙찰자 : {}", member.getId());
             landmark.changeOwner(member.getId()); // 랜드마크 대표 회원 정보 업데이트
+            eventPublisher.publishEvent(LandmarkChangedEvent.of(landmark));
             // 랜드마크 점령 시작 알림 (낙찰자)
             noticeService.notifyOccupationStart(new NoticeRequestDto(member, landmark, 0));
         } else { // 유찰자
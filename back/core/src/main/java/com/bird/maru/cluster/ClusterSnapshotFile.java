@@ -0,0 +1,276 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.aggregate.ClusterAggregateCodec;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.PointConverter;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.io.output.CountingOutputStream;
+
+/**
+ * FlatSuperCluster 스냅샷 파일 <br/>
+ * 줌 레벨 데이터, KD 트리(id, 좌표), 마커, 클러스터 집계 속성을 하나의 바이너리 파일로 기록합니다. <br/>
+ * 복원 시에는 파일을 메모리 매핑(MappedByteBuffer)하여 힙에 복사하지 않고 조회하므로, 스팟 수가 늘어도 힙 사용량은 늘지 않습니다.
+ * <pre>
+ * header     : magic, version, stride, minZoom, maxZoom, initZoom, nodeSize, radius, extent, pointCount (int)
+ *              asOf (long), yProbe (double), markerPropertyBytes, aggregateBytes (long)
+ *              levelCounts[32], aggregateCounts[32] (int)
+ * markers    : 레코드 (pointCount * 32), 속성 (markerPropertyBytes)
+ * levels     : zoom = maxZoom + 1 ~ minZoom 순으로 레벨 데이터 (double), KD 트리 id (int), KD 트리 좌표 (double)
+ * aggregates : 집계 속성 (aggregateBytes), zoom = maxZoom ~ minZoom 순으로 클러스터별 집계 속성 위치 (int)
+ * </pre>
+ * 모든 구역은 8 byte 단위로 정렬하며, 값은 big-endian 으로 기록합니다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ClusterSnapshotFile {
+
+    private static final int MAGIC = 0x4D525343;
+    private static final int VERSION = 1;
+    private static final int MAX_LEVELS = 32;
+    private static final int HEADER_BYTES = 10 * 4 + 4 * 8 + MAX_LEVELS * 4 * 2;
+    private static final double PROBE_LAT = 45.0; // 좌표계 확인용 위도
+
+    private final FlatSuperCluster superCluster;
+    private final MappedMarkerList markers;
+    private final LocalDateTime asOf; // 스냅샷에 반영된 데이터의 기준 시각
+
+    /**
+     * 스냅샷 기록 - 임시 파일에 기록한 뒤 교체하므로, 기존 파일을 매핑 중인 조회에는 영향이 없습니다.
+     *
+     * @param superCluster       : 힙에서 구성한 인덱스 (구성되지 않은 줌 레벨은 기록 전에 구성합니다)
+     * @param codec              : 집계 속성 인코딩 (집계하지 않는 인덱스는 null)
+     * @param asOf               : 인덱스에 반영된 데이터의 기준 시각
+     * @param superClusterParams : 인덱스 구성에 사용한 설정
+     * @param pointConverter     : 인덱스 구성에 사용한 좌표 변환
+     */
+    @SuppressWarnings("unchecked")
+    public static void write(
+            Path path, FlatSuperCluster superCluster, ClusterAggregateCodec<?> codec, LocalDateTime asOf,
+            SuperClusterParams superClusterParams, PointConverter pointConverter
+    ) throws IOException {
+        int minZoom = superClusterParams.getMinZoom();
+        int maxZoom = superClusterParams.getMaxZoom();
+        int[] levelCounts = new int[MAX_LEVELS];
+        int[] aggregateCounts = new int[MAX_LEVELS];
+        long markerPropertyBytes;
+        long aggregateBytes = 0;
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16));
+                DataOutputStream out = new DataOutputStream(counter)) {
+            out.write(new byte[HEADER_BYTES]); // 구역 크기가 정해진 뒤 마지막에 기록합니다.
+
+            markerPropertyBytes = MappedMarkerList.writeRecords(superCluster.getPointList(), out);
+            MappedMarkerList.writeProperties(superCluster.getPointList(), out);
+            align(out, counter);
+
+            for (int z = maxZoom + 1; z >= minZoom; z--) {
+                DoubleBuffer level = superCluster.level(z);
+                KDBush tree = superCluster.tree(z);
+                levelCounts[z] = tree.size();
+                for (int i = 0; i < level.limit(); i++) {
+                    out.writeDouble(level.get(i));
+                }
+                for (int i = 0; i < tree.size(); i++) {
+                    out.writeInt(tree.getIds().get(i));
+                }
+                align(out, counter);
+                for (int i = 0; i < tree.size() * 2; i++) {
+                    out.writeDouble(tree.getCoords().get(i));
+                }
+            }
+
+            if (superCluster.isAggregated()) {
+                ClusterAggregateCodec<ClusterAggregate> aggregateCodec = (ClusterAggregateCodec<ClusterAggregate>) codec;
+                int[][] offsets = new int[maxZoom + 1][];
+                long start = counter.getByteCount();
+                for (int z = maxZoom; z >= minZoom; z--) {
+                    offsets[z] = new int[superCluster.aggregateCount(z)];
+                    for (int i = 0; i < offsets[z].length; i++) {
+                        offsets[z][i] = Math.toIntExact(counter.getByteCount() - start);
+                        aggregateCodec.write(superCluster.aggregateAt(z, i), out);
+                    }
+                }
+                aggregateBytes = counter.getByteCount() - start;
+                align(out, counter);
+                for (int z = maxZoom; z >= minZoom; z--) {
+                    aggregateCounts[z] = offsets[z].length;
+                    for (int offset : offsets[z]) {
+                        out.writeInt(offset);
+                    }
+                    align(out, counter);
+                }
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(superCluster.getStride())
+              .putInt(minZoom).putInt(maxZoom).putInt(superClusterParams.getInitZoom()).putInt(superClusterParams.getNodeSize())
+              .putInt(superClusterParams.getRadius()).putInt(superClusterParams.getExtent()).putInt(superCluster.getPointList().size())
+              .putLong(asOf.toEpochSecond(ZoneOffset.UTC)).putDouble(pointConverter.convertLatToY(PROBE_LAT))
+              .putLong(markerPropertyBytes).putLong(aggregateBytes);
+        for (int count : levelCounts) {
+            header.putInt(count);
+        }
+        for (int count : aggregateCounts) {
+            header.putInt(count);
+        }
+        header.flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 스냅샷 복원 - 파일을 읽기 전용으로 매핑합니다. 매핑은 파일을 닫거나 교체한 뒤에도 유효합니다.
+     *
+     * @throws IllegalStateException 파일 형식이 다르거나, 현재 클러스터 설정과 다른 설정으로 기록된 스냅샷
+     */
+    public static ClusterSnapshotFile map(
+            Path path, SuperClusterParams superClusterParams, PointConverter pointConverter,
+            DistanceMeasure distanceMeasure, ClusterAggregateCodec<?> codec
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IllegalStateException("스냅샷 파일이 손상되었습니다. path : " + path);
+            }
+            ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalStateException("스냅샷 파일 형식이 아닙니다. path : " + path);
+            }
+            int stride = header.getInt();
+            int minZoom = header.getInt();
+            int maxZoom = header.getInt();
+            if (minZoom != superClusterParams.getMinZoom() || maxZoom != superClusterParams.getMaxZoom()
+                    || header.getInt() != superClusterParams.getInitZoom() || header.getInt() != superClusterParams.getNodeSize()
+                    || header.getInt() != superClusterParams.getRadius() || header.getInt() != superClusterParams.getExtent()) {
+                throw new IllegalStateException("현재 클러스터 설정과 다른 설정으로 기록된 스냅샷입니다. path : " + path);
+            }
+            int pointCount = header.getInt();
+            LocalDateTime asOf = LocalDateTime.ofEpochSecond(header.getLong(), 0, ZoneOffset.UTC);
+            if (header.getDouble() != pointConverter.convertLatToY(PROBE_LAT)) {
+                throw new IllegalStateException("현재 좌표계와 다른 좌표계로 기록된 스냅샷입니다. path : " + path);
+            }
+            long markerPropertyBytes = header.getLong();
+            long aggregateBytes = header.getLong();
+            int[] levelCounts = new int[MAX_LEVELS];
+            int[] aggregateCounts = new int[MAX_LEVELS];
+            for (int z = 0; z < MAX_LEVELS; z++) {
+                levelCounts[z] = header.getInt();
+            }
+            for (int z = 0; z < MAX_LEVELS; z++) {
+                aggregateCounts[z] = header.getInt();
+            }
+
+            Sections sections = new Sections(channel, path);
+            MappedMarkerList markers = new MappedMarkerList(sections.next((long) pointCount * MappedMarkerList.RECORD_BYTES),
+                                                            sections.next(markerPropertyBytes));
+
+            DoubleBuffer[] levels = new DoubleBuffer[maxZoom + 2];
+            KDBush[] trees = new KDBush[maxZoom + 2];
+            for (int z = maxZoom + 1; z >= minZoom; z--) {
+                long count = levelCounts[z];
+                levels[z] = sections.next(count * stride * Double.BYTES).asDoubleBuffer();
+                IntBuffer ids = sections.next(count * Integer.BYTES).asIntBuffer();
+                DoubleBuffer coords = sections.next(count * 2 * Double.BYTES).asDoubleBuffer();
+                trees[z] = new KDBush(ids, coords, superClusterParams.getNodeSize());
+            }
+
+            MappedAggregates aggregates = null;
+            if (stride != FlatSuperCluster.STRIDE_WITHOUT_AGGREGATE) {
+                if (codec == null) {
+                    throw new IllegalStateException("집계 속성이 기록된 스냅샷은 ClusterAggregateCodec 이 필요합니다. path : " + path);
+                }
+                ByteBuffer bytes = sections.next(aggregateBytes);
+                IntBuffer[] offsets = new IntBuffer[maxZoom + 1];
+                for (int z = maxZoom; z >= minZoom; z--) {
+                    offsets[z] = sections.next((long) aggregateCounts[z] * Integer.BYTES).asIntBuffer();
+                }
+                aggregates = new MappedAggregates(offsets, bytes, codec);
+            }
+
+            FlatSuperCluster superCluster = new FlatSuperCluster(superClusterParams, markers, levels, trees, aggregates, stride,
+                                                                 pointConverter, distanceMeasure);
+            return new ClusterSnapshotFile(superCluster, markers, asOf);
+        }
+    }
+
+    private static void align(DataOutputStream out, CountingOutputStream counter) throws IOException {
+        while (counter.getByteCount() % 8 != 0) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * 파일 앞에서부터 구역을 차례로 매핑합니다. 구역마다 따로 매핑하므로 파일 전체가 2GB 를 넘어도 됩니다.
+     */
+    private static class Sections {
+
+        private final FileChannel channel;
+        private final Path path;
+        private long position = HEADER_BYTES;
+
+        private Sections(FileChannel channel, Path path) {
+            this.channel = channel;
+            this.path = path;
+        }
+
+        private ByteBuffer next(long length) throws IOException {
+            if (position + length > channel.size()) {
+                throw new IllegalStateException("스냅샷 파일이 손상되었습니다. path : " + path);
+            }
+            ByteBuffer section = channel.map(MapMode.READ_ONLY, position, length);
+            position = (position + length + 7) / 8 * 8;
+            return section;
+        }
+
+    }
+
+    /**
+     * 메모리 매핑된 클러스터 집계 속성 - 조회 시점에 codec 으로 읽습니다.
+     */
+    static class MappedAggregates {
+
+        private final IntBuffer[] offsets;
+        private final ByteBuffer bytes;
+        private final ClusterAggregateCodec<?> codec;
+
+        private MappedAggregates(IntBuffer[] offsets, ByteBuffer bytes, ClusterAggregateCodec<?> codec) {
+            this.offsets = offsets;
+            this.bytes = bytes;
+            this.codec = codec;
+        }
+
+        ClusterAggregate get(int zoom, int index) {
+            return codec.read(bytes, offsets[zoom].get(index));
+        }
+
+        int count(int zoom) {
+            return offsets[zoom].limit();
+        }
+
+    }
+
+}
@@ -0,0 +1,607 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.aggregate.ClusterReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.FeatureListSink;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.IntList;
+import com.bird.maru.cluster.util.PointConverter;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongPredicate;
+import lombok.Builder;
+import org.wololo.geojson.Feature;
+
+/**
+ * 포인트/클러스터 객체를 만들지 않는 SuperCluster 구현 (supercluster v8 방식) <br/>
+ * 줌 레벨마다 x, y, zoom, id, parentId, count (, 집계 속성 index) 를 하나의 double 배열에 stride 간격으로 저장합니다. <br/>
+ * 클러스터링 순서와 좌표 누적 순서가 SuperCluster 와 같으므로 동일한 Feature 를 반환합니다. <br/>
+ * lazy 로 생성하면 maxZoom + 1 레벨만 구성해두고, 조회한 줌 레벨까지 필요한 레벨만 위에서부터 차례로 구성하여 재사용합니다. <br/>
+ * pool 을 지정하면 KD 트리 정렬과 이웃 검색을 병렬로 수행합니다. 포인트를 묶는 순서는 순차 구성과 같으므로 같은 클러스터가 만들어집니다. <br/>
+ * 조회는 DoubleBuffer 로 보관한 레벨 데이터에서 수행하므로, ClusterSnapshotFile 로 메모리 매핑한 인덱스도 같은 방식으로 조회합니다.
+ */
+public class FlatSuperCluster {
+
+    private static final int OFFSET_ZOOM = 2;
+    private static final int OFFSET_ID = 3; // 단일 포인트 : 원본 마커 index, 클러스터 : 클러스터 id
+    private static final int OFFSET_PARENT = 4;
+    private static final int OFFSET_NUM = 5;
+    private static final int OFFSET_PROP = 6; // 클러스터 : aggregates[zoom] index (ClusterReducer 사용 시)
+    static final int STRIDE_WITHOUT_AGGREGATE = OFFSET_PROP;
+    private static final int NEIGHBOR_BLOCK = 4096; // 병렬 구성 시 이웃을 미리 검색할 포인트 수
+
+    private final int minZoom;
+    private final int maxZoom;
+    private final int initZoom;
+    private final int nodeSize;
+    private final int radius;
+    private final int extent;
+    private final List<Marker> points;
+    private final KDBush[] trees;
+    private final DoubleBuffer[] levels;
+    private final double[][] heapLevels; // 힙에서 구성한 레벨 데이터 (스냅샷에서 복원한 경우 null)
+    private final PointConverter pointConverter;
+    private final DistanceMeasure distanceMeasure;
+    private final ClusterReducer<ClusterAggregate> reducer;
+    private final ClusterAggregate[][] aggregates;
+    private final ClusterSnapshotFile.MappedAggregates mappedAggregates;
+    private final int stride;
+    private final ForkJoinPool pool;
+    private volatile int builtZoom; // levels[builtZoom ~ maxZoom + 1] 구성 완료
+
+    public FlatSuperCluster(
+            SuperClusterParams superClusterParams, List<Marker> points,
+            PointConverter pointConverter, DistanceMeasure distanceMeasure
+    ) {
+        this(superClusterParams, points, pointConverter, distanceMeasure, null, false, null);
+    }
+
+    public FlatSuperCluster(
+            SuperClusterParams superClusterParams, List<Marker> points,
+            PointConverter pointConverter, DistanceMeasure distanceMeasure,
+            ClusterReducer<? extends ClusterAggregate> reducer
+    ) {
+        this(superClusterParams, points, pointConverter, distanceMeasure, reducer, false, null);
+    }
+
+    /**
+     * @param reducer : 클러스터 속성 집계 (null 이면 집계하지 않음)
+     * @param lazy    : true 이면 줌 레벨을 조회 시점에 필요한 만큼만 구성
+     * @param pool    : 병렬 구성에 사용할 pool (null 이면 호출 스레드에서 순차 구성)
+     */
+    @Builder
+    @SuppressWarnings("unchecked")
+    public FlatSuperCluster(
+            SuperClusterParams superClusterParams, List<Marker> points,
+            PointConverter pointConverter, DistanceMeasure distanceMeasure,
+            ClusterReducer<? extends ClusterAggregate> reducer, boolean lazy, ForkJoinPool pool
+    ) {
+        this.radius = superClusterParams.getRadius();
+        this.extent = superClusterParams.getExtent();
+        this.minZoom = superClusterParams.getMinZoom();
+        this.maxZoom = superClusterParams.getMaxZoom();
+        this.initZoom = superClusterParams.getInitZoom();
+        this.nodeSize = superClusterParams.getNodeSize();
+        this.pointConverter = pointConverter;
+        this.distanceMeasure = distanceMeasure;
+        this.trees = new KDBush[maxZoom + 2];
+        this.levels = new DoubleBuffer[maxZoom + 2];
+        this.heapLevels = new double[maxZoom + 2][];
+        this.aggregates = new ClusterAggregate[maxZoom + 2][];
+        this.mappedAggregates = null;
+        this.points = points;
+        this.reducer = (ClusterReducer<ClusterAggregate>) reducer;
+        this.stride = reducer == null ? STRIDE_WITHOUT_AGGREGATE : OFFSET_PROP + 1; // 집계하지 않으면 집계 속성 칸을 두지 않습니다.
+        this.pool = pool;
+
+        double[] data = new double[points.size() * stride];
+        for (int i = 0; i < points.size(); i++) {
+            Marker marker = points.get(i);
+            int k = i * stride;
+            data[k] = pointConverter.convertToX(marker);
+            data[k + 1] = pointConverter.convertToY(marker);
+            data[k + OFFSET_ZOOM] = initZoom;
+            data[k + OFFSET_ID] = i;
+            data[k + OFFSET_PARENT] = -1;
+            data[k + OFFSET_NUM] = 1;
+        }
+
+        heapLevels[maxZoom + 1] = data;
+        levels[maxZoom + 1] = DoubleBuffer.wrap(data);
+        trees[maxZoom + 1] = new KDBush(data, stride, points.size(), nodeSize, pool);
+        this.builtZoom = maxZoom + 1;
+
+        if (!lazy) {
+            buildTo(minZoom);
+        }
+    }
+
+    /**
+     * 스냅샷 파일에서 복원 - 모든 줌 레벨이 구성된 상태이며 레벨 데이터와 KD 트리는 메모리 매핑된 버퍼입니다.
+     */
+    FlatSuperCluster(
+            SuperClusterParams superClusterParams, List<Marker> points, DoubleBuffer[] levels, KDBush[] trees,
+            ClusterSnapshotFile.MappedAggregates mappedAggregates, int stride,
+            PointConverter pointConverter, DistanceMeasure distanceMeasure
+    ) {
+        this.radius = superClusterParams.getRadius();
+        this.extent = superClusterParams.getExtent();
+        this.minZoom = superClusterParams.getMinZoom();
+        this.maxZoom = superClusterParams.getMaxZoom();
+        this.initZoom = superClusterParams.getInitZoom();
+        this.nodeSize = superClusterParams.getNodeSize();
+        this.pointConverter = pointConverter;
+        this.distanceMeasure = distanceMeasure;
+        this.trees = trees;
+        this.levels = levels;
+        this.heapLevels = null;
+        this.points = points;
+        this.reducer = null;
+        this.aggregates = null;
+        this.mappedAggregates = mappedAggregates;
+        this.stride = stride;
+        this.pool = null;
+        this.builtZoom = minZoom;
+    }
+
+    /**
+     * zoom 레벨까지 구성되지 않은 레벨을 위에서부터 차례로 구성 <br/>
+     * 레벨 구성은 한 번에 한 스레드만 수행하고, 구성이 끝난 레벨은 builtZoom 갱신(volatile 쓰기)으로 조회 스레드에 공개합니다.
+     */
+    private void buildTo(int zoom) {
+        if (builtZoom <= zoom) {
+            return;
+        }
+        synchronized (this) {
+            for (int z = builtZoom - 1; z >= zoom; z--) {
+                heapLevels[z] = this.initCluster(z);
+                levels[z] = DoubleBuffer.wrap(heapLevels[z]);
+                trees[z] = new KDBush(heapLevels[z], stride, heapLevels[z].length / stride, nodeSize, pool);
+                builtZoom = z;
+            }
+        }
+    }
+
+    /**
+     * zoom + 1 레벨의 포인트를 반경 내 이웃과 묶어 zoom 레벨 데이터를 생성
+     */
+    private double[] initCluster(int zoom) {
+        double[] data = heapLevels[zoom + 1];
+        KDBush tree = trees[zoom + 1];
+        double actualRadius = calculateActualRadius(zoom);
+
+        double[] next = new double[data.length];
+        List<ClusterAggregate> nextAggregates = reducer == null ? null : new ArrayList<>();
+        int size = 0;
+        IntList neighborIds = new IntList();
+        IntList[] blockNeighbors = null;
+        int blockStart = 0;
+
+        for (int i = 0; i < data.length; i += stride) {
+            if (data[i + OFFSET_ZOOM] <= zoom) {
+                continue;
+            }
+            data[i + OFFSET_ZOOM] = zoom;
+
+            double x = data[i];
+            double y = data[i + 1];
+            if (pool == null) {
+                tree.within(x, y, actualRadius, distanceMeasure, neighborIds);
+            } else {
+                if (blockNeighbors == null || i / stride >= blockStart + blockNeighbors.length) {
+                    blockStart = i / stride;
+                    blockNeighbors = searchNeighbors(data, blockStart, zoom, tree, actualRadius);
+                }
+                neighborIds = blockNeighbors[i / stride - blockStart];
+            }
+
+            double nowCount = data[i + OFFSET_NUM];
+            double weightedX = x * nowCount;
+            double weightedY = y * nowCount;
+
+            int id = ((i / stride) << 5) + (zoom + 1);
+            ClusterAggregate aggregate = null;
+
+            for (int n = 0; n < neighborIds.size(); n++) {
+                int k = neighborIds.get(n) * stride;
+
+                if (data[k + OFFSET_ZOOM] <= zoom) {
+                    continue;
+                }
+                data[k + OFFSET_ZOOM] = zoom;
+
+                double tempCount = data[k + OFFSET_NUM];
+                weightedX += data[k] * tempCount;
+                weightedY += data[k + 1] * tempCount;
+
+                nowCount += tempCount;
+                data[k + OFFSET_PARENT] = id;
+
+                if (reducer != null) {
+                    aggregate = reducer.reduce(aggregate == null ? aggregateOf(zoom + 1, i) : aggregate, aggregateOf(zoom + 1, k));
+                }
+            }
+
+            if (nowCount == 1) {
+                System.arraycopy(data, i, next, size, stride);
+            } else {
+                data[i + OFFSET_PARENT] = id;
+                next[size] = weightedX / nowCount;
+                next[size + 1] = weightedY / nowCount;
+                next[size + OFFSET_ZOOM] = initZoom;
+                next[size + OFFSET_ID] = id;
+                next[size + OFFSET_PARENT] = -1;
+                next[size + OFFSET_NUM] = nowCount;
+                if (reducer != null) {
+                    // 이웃 없이 그대로 내려온 클러스터는 기존 집계 속성을 유지합니다.
+                    next[size + OFFSET_PROP] = nextAggregates.size();
+                    nextAggregates.add(aggregate == null ? aggregateOf(zoom + 1, i) : aggregate);
+                }
+            }
+            size += stride;
+        }
+
+        if (reducer != null) {
+            aggregates[zoom] = nextAggregates.toArray(new ClusterAggregate[0]);
+        }
+        return size == next.length ? next : Arrays.copyOf(next, size);
+    }
+
+    /**
+     * start 부터 NEIGHBOR_BLOCK 개 포인트 중 아직 묶이지 않은 포인트의 반경 내 이웃을 pool 에서 미리 검색합니다. <br/>
+     * 이웃 검색은 KD 트리를 읽기만 하므로 병렬로 수행하고, 이웃을 묶는(parentId 기록) 과정은 호출 스레드가 포인트 순서대로 수행합니다.
+     *
+     * @return start 기준 포인트별 이웃 목록 (검색 시점에 이미 묶인 포인트는 null)
+     */
+    private IntList[] searchNeighbors(double[] data, int start, int zoom, KDBush tree, double actualRadius) {
+        int end = Math.min(start + NEIGHBOR_BLOCK, data.length / stride);
+        IntList pending = new IntList(end - start);
+        for (int p = start; p < end; p++) {
+            if (p == start || data[p * stride + OFFSET_ZOOM] > zoom) {
+                pending.add(p);
+            }
+        }
+        double[] xy = new double[pending.size() * 2];
+        for (int n = 0; n < pending.size(); n++) {
+            xy[2 * n] = data[pending.get(n) * stride];
+            xy[2 * n + 1] = data[pending.get(n) * stride + 1];
+        }
+        IntList[] found = tree.within(xy, actualRadius, distanceMeasure, pool);
+        IntList[] neighbors = new IntList[end - start];
+        for (int n = 0; n < pending.size(); n++) {
+            neighbors[pending.get(n) - start] = found[n];
+        }
+        return neighbors;
+    }
+
+    /**
+     * heapLevels[zoom][k] 위치 포인트/클러스터의 집계 속성 - 단일 포인트는 원본 마커로 계산합니다.
+     */
+    private ClusterAggregate aggregateOf(int zoom, int k) {
+        double[] data = heapLevels[zoom];
+        return data[k + OFFSET_NUM] > 1 ? aggregates[zoom][(int) data[k + OFFSET_PROP]]
+                : reducer.map(points.get((int) data[k + OFFSET_ID]));
+    }
+
+    /**
+     * 클러스터링 알고리즘 수행
+     *
+     * @param boundingBox : 현재 사용자의 지도 범위
+     */
+    public List<Feature> run(BoundingBox boundingBox) {
+        FeatureListSink sink = new FeatureListSink();
+        run(boundingBox, sink);
+        return sink.getFeatures();
+    }
+
+    /**
+     * 클러스터링 알고리즘 수행 - 범위 검색 결과를 Feature 객체 없이 sink 로 전달합니다.
+     *
+     * @param boundingBox : 현재 사용자의 지도 범위
+     * @param sink        : 결과 출력 대상
+     */
+    public void run(BoundingBox boundingBox, FeatureSink sink) {
+        double minLng = ((boundingBox.getWest() + 180) % 360 + 360) % 360 - 180;
+        double minLat = Math.max(-90, Math.min(90, boundingBox.getSouth()));
+        double maxLng = boundingBox.getEast() == 180 ? 180 : ((boundingBox.getEast() + 180) % 360 + 360) % 360 - 180;
+        double maxLat = Math.max(-90, Math.min(90, boundingBox.getNorth()));
+        int zoom = boundingBox.getZoom();
+        if (boundingBox.getEast() - boundingBox.getWest() >= 360) {
+            minLng = -180;
+            maxLng = 180;
+        } else if (minLng > maxLng) {
+            this.run(BoundingBox.builder()
+                                .west(minLng)
+                                .south(minLat)
+                                .east(180.0)
+                                .north(maxLat)
+                                .zoom(zoom)
+                                .build(), sink);
+            this.run(BoundingBox.builder()
+                                .west(-180.0)
+                                .south(minLat)
+                                .east(maxLng)
+                                .north(maxLat)
+                                .zoom(zoom)
+                                .build(), sink);
+            return;
+        }
+
+        int z = limitZoom(zoom);
+        buildTo(z);
+        KDBush tree = this.trees[z];
+        IntList ids = new IntList();
+        tree.range(pointConverter.convertLngToX(minLng), pointConverter.convertLatToY(maxLat),
+                   pointConverter.convertLngToX(maxLng), pointConverter.convertLatToY(minLat), ids);
+        double actualRadius = calculateActualRadius(zoom);
+
+        for (int i = 0; i < ids.size(); i++) {
+            emit(z, ids.get(i) * stride, actualRadius, sink);
+        }
+    }
+
+    /**
+     * 클러스터를 구성하는 한 단계 아래 줌 레벨의 포인트/클러스터 목록
+     *
+     * @param clusterId : 클러스터 id
+     * @param sink      : 결과 출력 대상
+     * @throws IllegalArgumentException 존재하지 않는 클러스터 id
+     */
+    public void getChildren(long clusterId, FeatureSink sink) {
+        int originZoom = getOriginZoom(clusterId);
+        double actualRadius = calculateActualRadius(originZoom);
+        IntList children = children(clusterId);
+        for (int i = 0; i < children.size(); i++) {
+            emit(originZoom, children.get(i) * stride, actualRadius, sink);
+        }
+    }
+
+    /**
+     * 클러스터에 포함된 원본 마커 목록 - 하위 클러스터를 따라 내려가며 offset 이후 limit 개를 전달합니다.
+     *
+     * @param clusterId : 클러스터 id
+     * @param limit     : 최대 개수
+     * @param offset    : 건너뛸 개수
+     * @param sink      : 결과 출력 대상
+     * @throws IllegalArgumentException 존재하지 않는 클러스터 id
+     */
+    public void getLeaves(long clusterId, int limit, int offset, FeatureSink sink) {
+        getLeaves(clusterId, limit, offset, null, sink);
+    }
+
+    /**
+     * 클러스터에 포함된 원본 마커 목록 - excluded 에 해당하는 마커는 offset, limit 계산에서도 제외합니다. <br/>
+     * 제외 대상이 있으면 하위 클러스터의 포인트 수만으로 건너뛸 수 없으므로, offset 이전의 하위 클러스터도 따라 내려갑니다.
+     *
+     * @param excluded : 제외할 마커 id 조건 (null 이면 제외하지 않음)
+     * @throws IllegalArgumentException 존재하지 않는 클러스터 id
+     */
+    public void getLeaves(long clusterId, int limit, int offset, LongPredicate excluded, FeatureSink sink) {
+        if (limit < 0 || offset < 0) {
+            throw new IllegalArgumentException("limit, offset 은 0 이상이어야 합니다.");
+        }
+        appendLeaves(clusterId, new LeafPage(limit, offset, excluded), sink);
+    }
+
+    /**
+     * 클러스터가 둘 이상으로 나뉘는 줌 레벨 - 클러스터를 눌렀을 때 이동할 줌 레벨
+     *
+     * @param clusterId : 클러스터 id
+     * @throws IllegalArgumentException 존재하지 않는 클러스터 id
+     */
+    public int getClusterExpansionZoom(long clusterId) {
+        int expansionZoom = getOriginZoom(clusterId) - 1;
+        while (expansionZoom <= this.maxZoom) {
+            IntList children = children(clusterId);
+            expansionZoom++;
+            if (children.size() != 1) {
+                break;
+            }
+            clusterId = (long) this.levels[getOriginZoom(clusterId)].get(children.get(0) * stride + OFFSET_ID);
+        }
+        return expansionZoom;
+    }
+
+    private void appendLeaves(long clusterId, LeafPage page, FeatureSink sink) {
+        int originZoom = getOriginZoom(clusterId);
+        IntList children = children(clusterId);
+        DoubleBuffer data = this.levels[originZoom];
+        for (int i = 0; i < children.size() && page.emitted < page.limit; i++) {
+            int k = children.get(i) * stride;
+            int count = (int) data.get(k + OFFSET_NUM);
+            if (count > 1) {
+                if (page.excluded == null && page.skipped + count <= page.offset) {
+                    page.skipped += count;
+                } else {
+                    appendLeaves((long) data.get(k + OFFSET_ID), page, sink);
+                }
+            } else if (page.excluded != null && page.excluded.test(pointId((int) data.get(k + OFFSET_ID)))) {
+                continue;
+            } else if (page.skipped < page.offset) {
+                page.skipped++;
+            } else {
+                emit(originZoom, k, 0, sink);
+                page.emitted++;
+            }
+        }
+    }
+
+    /**
+     * 클러스터를 구성하는 zoom + 1 레벨 포인트의 index 목록 <br/>
+     * 클러스터는 생성 시점의 첫 포인트(origin) 반경 내 포인트를 묶은 것이므로, origin 반경 내에서 parentId 가 같은 포인트를 찾습니다.
+     */
+    private IntList children(long clusterId) {
+        int originZoom = getOriginZoom(clusterId);
+        long originId = clusterId >> 5;
+        // 음수 id 는 originId 도 음수가 되어 배열 범위를 벗어나므로 먼저 거릅니다.
+        boolean validZoom = clusterId > 0 && originZoom > this.minZoom && originZoom <= this.maxZoom + 1;
+        if (validZoom) {
+            buildTo(originZoom - 1); // 부모 클러스터 id 는 originZoom - 1 레벨 구성 시 기록됩니다.
+        }
+        DoubleBuffer data = validZoom ? this.levels[originZoom] : null;
+        if (data == null || originId < 0 || originId >= data.limit() / stride
+                || data.get((int) originId * stride + OFFSET_PARENT) != clusterId) {
+            throw new IllegalArgumentException("존재하지 않는 클러스터입니다. clusterId : " + clusterId);
+        }
+
+        int k = (int) originId * stride;
+        IntList ids = new IntList();
+        this.trees[originZoom].within(data.get(k), data.get(k + 1), calculateActualRadius(originZoom - 1), distanceMeasure, ids);
+        IntList children = new IntList(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (data.get(ids.get(i) * stride + OFFSET_PARENT) == clusterId) {
+                children.add(ids.get(i));
+            }
+        }
+        return children;
+    }
+
+    /**
+     * 클러스터 id 의 하위 5비트 - 클러스터를 구성하는 포인트의 줌 레벨 (zoom + 1)
+     */
+    private int getOriginZoom(long clusterId) {
+        return (int) (clusterId & 31);
+    }
+
+    /**
+     * levels[zoom][k] 위치의 포인트/클러스터를 sink 로 전달
+     */
+    private void emit(int zoom, int k, double actualRadius, FeatureSink sink) {
+        DoubleBuffer data = this.levels[zoom];
+        int count = (int) data.get(k + OFFSET_NUM);
+        if (count > 1) {
+            sink.cluster(pointConverter.convertXToLng(data.get(k)), pointConverter.convertYToLat(data.get(k + 1)),
+                         (long) data.get(k + OFFSET_ID), count, actualRadius,
+                         isAggregated() ? aggregateAt(zoom, (int) data.get(k + OFFSET_PROP)) : null);
+        } else if (this.points instanceof MappedMarkerList) {
+            // 매핑된 마커는 Marker 객체를 만들지 않고 좌표와 id 만 읽습니다.
+            MappedMarkerList mapped = (MappedMarkerList) this.points;
+            int index = (int) data.get(k + OFFSET_ID);
+            sink.point(mapped.getLng(index), mapped.getLat(index), mapped.getId(index));
+        } else {
+            Marker marker = this.points.get((int) data.get(k + OFFSET_ID));
+            sink.point(marker.getCoordinate().getLng(), marker.getCoordinate().getLat(), marker.getId());
+        }
+    }
+
+    private long pointId(int index) {
+        return this.points instanceof MappedMarkerList ? ((MappedMarkerList) this.points).getId(index) : this.points.get(index).getId();
+    }
+
+    /**
+     * zoom 레벨 index 번째 클러스터의 집계 속성
+     */
+    ClusterAggregate aggregateAt(int zoom, int index) {
+        return aggregates != null ? aggregates[zoom][index] : mappedAggregates.get(zoom, index);
+    }
+
+    /**
+     * 범위 내 원본 마커 목록 - 클러스터링 이전(maxZoom + 1) 레벨에서 검색합니다.
+     *
+     * @param boundingBox : 검색 범위 (날짜 변경선을 넘지 않는 범위)
+     */
+    public List<Marker> getPoints(BoundingBox boundingBox) {
+        int z = maxZoom + 1;
+        DoubleBuffer data = this.levels[z];
+        IntList ids = new IntList();
+        this.trees[z].range(pointConverter.convertLngToX(boundingBox.getWest()), pointConverter.convertLatToY(boundingBox.getNorth()),
+                            pointConverter.convertLngToX(boundingBox.getEast()), pointConverter.convertLatToY(boundingBox.getSouth()), ids);
+        List<Marker> markers = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            markers.add(this.points.get((int) data.get(ids.get(i) * stride + OFFSET_ID)));
+        }
+        return markers;
+    }
+
+    /**
+     * 가까운 순서의 원본 마커 목록 - 클러스터링 이전(maxZoom + 1) 레벨의 KDBush.around 로 검색합니다. <br/>
+     * 평면 좌표를 경위도로 되돌려 거리를 계산하므로 distanceMeasure 는 경위도 거리 계산 방식입니다.
+     *
+     * @param maxDistance     : 최대 거리 (distanceMeasure 단위)
+     * @param distanceMeasure : 경위도 거리 계산 방식
+     */
+    public List<Marker> around(double lng, double lat, int maxResults, double maxDistance, DistanceMeasure distanceMeasure) {
+        int z = maxZoom + 1;
+        DoubleBuffer data = this.levels[z];
+        int[] ids = this.trees[z].around(pointConverter.convertLngToX(lng), pointConverter.convertLatToY(lat), maxResults, maxDistance,
+                                         (x1, y1, x2, y2) -> distanceMeasure.compute(pointConverter.convertXToLng(x1),
+                                                                                     pointConverter.convertYToLat(y1),
+                                                                                     pointConverter.convertXToLng(x2),
+                                                                                     pointConverter.convertYToLat(y2)));
+        List<Marker> markers = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            markers.add(this.points.get((int) data.get(id * stride + OFFSET_ID)));
+        }
+        return markers;
+    }
+
+    List<Marker> getPointList() {
+        return points;
+    }
+
+    int getStride() {
+        return stride;
+    }
+
+    boolean isAggregated() {
+        return stride != STRIDE_WITHOUT_AGGREGATE;
+    }
+
+    /**
+     * 스냅샷 기록용 - 모든 줌 레벨을 구성한 뒤 zoom 레벨 데이터를 반환합니다.
+     */
+    DoubleBuffer level(int zoom) {
+        buildTo(minZoom);
+        return levels[zoom].duplicate();
+    }
+
+    KDBush tree(int zoom) {
+        buildTo(minZoom);
+        return trees[zoom];
+    }
+
+    /**
+     * zoom 레벨의 클러스터 수 (집계 속성을 사용하는 경우)
+     */
+    int aggregateCount(int zoom) {
+        return aggregates != null ? aggregates[zoom].length : mappedAggregates.count(zoom);
+    }
+
+    /**
+     * 안정성을 위해 maxZoom+1
+     */
+    private int limitZoom(int z) {
+        return Math.max(this.minZoom, Math.min(z, this.maxZoom + 1));
+    }
+
+    private double calculateActualRadius(int zoom) {
+        return radius / (extent * Math.pow(2, zoom));
+    }
+
+    /**
+     * getLeaves 페이지 상태
+     */
+    private static class LeafPage {
+
+        private final int limit;
+        private final int offset;
+        private final LongPredicate excluded;
+        private int skipped;
+        private int emitted;
+
+        private LeafPage(int limit, int offset, LongPredicate excluded) {
+            this.limit = limit;
+            this.offset = offset;
+            this.excluded = excluded;
+        }
+
+    }
+
+}
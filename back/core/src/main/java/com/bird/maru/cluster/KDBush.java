@@ -6,18 +6,39 @@
 package com.bird.maru.cluster;
 
 import com.bird.maru.cluster.geo.MainCluster;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.IntList;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
+ * 정렬된 id, 좌표 배열은 DoubleBuffer/IntBuffer 로 보관하므로, 힙 배열과 메모리 매핑된 스냅샷 파일을 같은 방식으로 검색합니다.
  *
  * @author yeozkaya@gmail.com
  */
 @Getter
 public class KDBush {
 
-    private final double[] coords;
-    private final int[] ids;
+    // 탐색 스택과 기본 결과 버퍼는 스레드마다 재사용합니다. 두 검색 메소드는 서로를 호출하지 않으므로 재진입되지 않습니다.
+    private static final ThreadLocal<IntList> STACK = ThreadLocal.withInitial(IntList::new);
+    private static final ThreadLocal<IntList> RESULT = ThreadLocal.withInitial(IntList::new);
+    // 병렬 구성 시 이 크기 이하의 작업은 분할하지 않고 한 스레드에서 처리합니다.
+    private static final int PARALLEL_SORT_SIZE = 8192;
+    private static final int PARALLEL_QUERY_SIZE = 256;
+
+    private final DoubleBuffer coords;
+    private final IntBuffer ids;
+    // 힙에서 구성한 경우의 원본 배열 - 검색 시 leaf 구간 순회는 버퍼 대신 배열로 수행합니다. (메모리 매핑된 경우 null)
+    @Getter(AccessLevel.NONE)
+    private final double[] heapCoords;
+    @Getter(AccessLevel.NONE)
+    private final int[] heapIds;
     private final int nodeSize;
     private final List<MainCluster> points;
 
@@ -25,18 +46,339 @@ public class KDBush {
         this.nodeSize = nodeSize;
         this.points = points;
 
-        this.ids = new int[points.size()];
-        this.coords = new double[points.size() * 2];
+        int[] ids = new int[points.size()];
+        double[] coords = new double[points.size() * 2];
 
         for (int i = 0; i < points.size(); i++) {
             ids[i] = i;
             coords[2 * i] = points.get(i).getX();
             coords[2 * i + 1] = points.get(i).getY();
         }
-        sortKD(ids, coords, nodeSize, 0, ids.length - 1, 0);
+        sort(ids, coords, nodeSize, null);
+        this.heapIds = ids;
+        this.heapCoords = coords;
+        this.ids = IntBuffer.wrap(ids);
+        this.coords = DoubleBuffer.wrap(coords);
+    }
+
+    /**
+     * 평탄화(struct-of-arrays)된 포인트 배열로 생성 - data[i * stride], data[i * stride + 1] 이 각각 x, y 좌표
+     */
+    public KDBush(double[] data, int stride, int size, int nodeSize) {
+        this(data, stride, size, nodeSize, null);
+    }
+
+    /**
+     * @param pool : 정렬을 병렬로 수행할 pool (null 이면 호출 스레드에서 수행)
+     */
+    public KDBush(double[] data, int stride, int size, int nodeSize, ForkJoinPool pool) {
+        this.nodeSize = nodeSize;
+        this.points = null;
+
+        int[] ids = new int[size];
+        double[] coords = new double[size * 2];
+
+        for (int i = 0; i < size; i++) {
+            ids[i] = i;
+            coords[2 * i] = data[stride * i];
+            coords[2 * i + 1] = data[stride * i + 1];
+        }
+        sort(ids, coords, nodeSize, pool);
+        this.heapIds = ids;
+        this.heapCoords = coords;
+        this.ids = IntBuffer.wrap(ids);
+        this.coords = DoubleBuffer.wrap(coords);
+    }
+
+    /**
+     * 이미 정렬된 id, 좌표로 생성 - 스냅샷 파일을 메모리 매핑하여 복원할 때 사용합니다.
+     *
+     * @param ids    : 정렬된 포인트 id
+     * @param coords : ids 순서의 좌표 (x0, y0, x1, y1, ...)
+     */
+    KDBush(IntBuffer ids, DoubleBuffer coords, int nodeSize) {
+        this.nodeSize = nodeSize;
+        this.points = null;
+        this.heapIds = null;
+        this.heapCoords = null;
+        this.ids = ids;
+        this.coords = coords;
+    }
+
+    public int size() {
+        return ids.limit();
+    }
+
+    /**
+     * 중앙값 분할 이후 좌/우 하위 트리는 서로 겹치지 않는 배열 구간이므로 독립적으로 정렬할 수 있습니다. <br/>
+     * 구간별 정렬 결과는 수행 순서와 무관하므로 순차 정렬과 같은 트리가 만들어집니다.
+     */
+    private static void sort(int[] ids, double[] coords, int nodeSize, ForkJoinPool pool) {
+        if (pool == null || ids.length <= PARALLEL_SORT_SIZE) {
+            sortKD(ids, coords, nodeSize, 0, ids.length - 1, 0);
+            return;
+        }
+        pool.invoke(new SortTask(ids, coords, nodeSize, 0, ids.length - 1, 0));
+    }
+
+    /**
+     * 사각 영역 내 포인트 검색
+     *
+     * @return 포인트 id 목록
+     */
+    public int[] range(double minX, double minY, double maxX, double maxY) {
+        IntList result = RESULT.get();
+        range(minX, minY, maxX, maxY, result);
+        return result.toArray();
+    }
+
+    /**
+     * 사각 영역 내 포인트 검색 - 결과 버퍼를 호출자가 재사용할 수 있도록 전달받습니다.
+     *
+     * @param result : 검색 결과 포인트 id 가 담길 버퍼 (호출 시 초기화)
+     */
+    public void range(double minX, double minY, double maxX, double maxY, IntList result) {
+        result.clear();
+        IntList stack = STACK.get();
+        stack.clear();
+        stack.add(0);
+        stack.add(ids.limit() - 1);
+        stack.add(0);
+
+        double x;
+        double y;
+
+        while (!stack.isEmpty()) {
+            int axis = stack.pop();
+            int right = stack.pop();
+            int left = stack.pop();
+
+            if (right - left <= nodeSize) {
+                scanRange(left, right, minX, minY, maxX, maxY, result);
+                continue;
+            }
+
+            int mid = (left + right) >> 1;
+
+            x = coord(2 * mid);
+            y = coord(2 * mid + 1);
+
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                result.add(id(mid));
+            }
+
+            int nextAxis = 1 - axis;
+
+            if (axis == 0 ? minX <= x : minY <= y) {
+                stack.add(left);
+                stack.add(mid - 1);
+                stack.add(nextAxis);
+            }
+            if (axis == 0 ? maxX >= x : maxY >= y) {
+                stack.add(mid + 1);
+                stack.add(right);
+                stack.add(nextAxis);
+            }
+        }
+    }
+
+    private double coord(int index) {
+        return heapCoords != null ? heapCoords[index] : coords.get(index);
+    }
+
+    private int id(int index) {
+        return heapIds != null ? heapIds[index] : ids.get(index);
+    }
+
+    private void scanRange(int left, int right, double minX, double minY, double maxX, double maxY, IntList result) {
+        if (heapCoords != null) {
+            for (int i = left; i <= right; i++) {
+                double x = heapCoords[2 * i];
+                double y = heapCoords[2 * i + 1];
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    result.add(heapIds[i]);
+                }
+            }
+            return;
+        }
+        for (int i = left; i <= right; i++) {
+            double x = coords.get(2 * i);
+            double y = coords.get(2 * i + 1);
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                result.add(ids.get(i));
+            }
+        }
     }
 
-    private void sortKD(int[] ids, double[] coords, int nodeSize, int left, int right, int depth) {
+    /**
+     * 반경 내 포인트 검색
+     *
+     * @param distanceMeasure : 제곱 거리 계산 방식
+     * @return 포인트 id 목록
+     */
+    public int[] within(double qx, double qy, double radius, DistanceMeasure distanceMeasure) {
+        IntList result = RESULT.get();
+        within(qx, qy, radius, distanceMeasure, result);
+        return result.toArray();
+    }
+
+    /**
+     * 반경 내 포인트 검색 - 결과 버퍼를 호출자가 재사용할 수 있도록 전달받습니다.
+     *
+     * @param distanceMeasure : 제곱 거리 계산 방식
+     * @param result          : 검색 결과 포인트 id 가 담길 버퍼 (호출 시 초기화)
+     */
+    public void within(double qx, double qy, double radius, DistanceMeasure distanceMeasure, IntList result) {
+        result.clear();
+        IntList stack = STACK.get();
+        stack.clear();
+        stack.add(0);
+        stack.add(ids.limit() - 1);
+        stack.add(0);
+
+        double r2 = radius * radius;
+
+        while (!stack.isEmpty()) {
+            int axis = stack.pop();
+            int right = stack.pop();
+            int left = stack.pop();
+
+            if (right - left <= nodeSize) {
+                scanWithin(left, right, qx, qy, r2, distanceMeasure, result);
+                continue;
+            }
+
+            int mid = (left + right) >> 1;
+
+            double x = coord(2 * mid);
+            double y = coord(2 * mid + 1);
+
+            if (distanceMeasure.compute(x, y, qx, qy) <= r2) {
+                result.add(id(mid));
+            }
+
+            int nextAxis = 1 - axis;
+
+            if (axis == 0 ? qx - radius <= x : qy - radius <= y) {
+                stack.add(left);
+                stack.add(mid - 1);
+                stack.add(nextAxis);
+            }
+            if (axis == 0 ? qx + radius >= x : qy + radius >= y) {
+                stack.add(mid + 1);
+                stack.add(right);
+                stack.add(nextAxis);
+            }
+        }
+    }
+
+    private void scanWithin(int left, int right, double qx, double qy, double r2, DistanceMeasure distanceMeasure, IntList result) {
+        if (heapCoords != null) {
+            for (int i = left; i <= right; i++) {
+                if (distanceMeasure.compute(heapCoords[2 * i], heapCoords[2 * i + 1], qx, qy) <= r2) {
+                    result.add(heapIds[i]);
+                }
+            }
+            return;
+        }
+        for (int i = left; i <= right; i++) {
+            if (distanceMeasure.compute(coords.get(2 * i), coords.get(2 * i + 1), qx, qy) <= r2) {
+                result.add(ids.get(i));
+            }
+        }
+    }
+
+    /**
+     * 여러 포인트의 반경 내 포인트 일괄 검색 - 질의끼리 서로 독립적이므로 pool 에서 나누어 수행합니다.
+     *
+     * @param xy              : 질의 좌표 (x0, y0, x1, y1, ...)
+     * @param distanceMeasure : 제곱 거리 계산 방식
+     * @param pool            : 검색을 병렬로 수행할 pool (null 이면 호출 스레드에서 수행)
+     * @return 질의 순서대로의 포인트 id 목록
+     */
+    public IntList[] within(double[] xy, double radius, DistanceMeasure distanceMeasure, ForkJoinPool pool) {
+        IntList[] results = new IntList[xy.length / 2];
+        WithinTask task = new WithinTask(xy, radius, distanceMeasure, results, 0, results.length);
+        if (pool == null) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return results;
+    }
+
+    /**
+     * 가까운 순서대로 최대 maxResults 개 포인트 검색 (k-nearest neighbors) <br/>
+     * 거리 하한이 작은 노드부터 우선순위 큐로 방문하므로, 결과를 모두 찾으면 나머지 노드는 방문하지 않습니다. <br/>
+     * 노드의 거리 하한은 질의 좌표를 노드 영역 안으로 옮긴 좌표까지의 거리이며, 경위도 좌표에 HaversineDistance 를 사용하면 근사 하한입니다.
+     *
+     * @param maxResults      : 최대 개수
+     * @param maxDistance     : 최대 거리 - distanceMeasure 의 계산 결과와 같은 단위 (제한이 없으면 Double.POSITIVE_INFINITY)
+     * @param distanceMeasure : 거리 계산 방식
+     * @return 가까운 순서의 포인트 id 목록
+     */
+    public int[] around(double qx, double qy, int maxResults, double maxDistance, DistanceMeasure distanceMeasure) {
+        IntList result = new IntList();
+        if (maxResults <= 0 || size() == 0) {
+            return result.toArray();
+        }
+        PriorityQueue<AroundItem> queue = new PriorityQueue<>();
+        AroundItem node = AroundItem.node(0, size() - 1, 0, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                                          Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 0);
+
+        while (node != null) {
+            int left = node.left;
+            int right = node.right;
+
+            if (right - left <= nodeSize) {
+                for (int i = left; i <= right; i++) {
+                    queue.add(AroundItem.point(id(i), distanceMeasure.compute(coord(2 * i), coord(2 * i + 1), qx, qy)));
+                }
+            } else {
+                int mid = (left + right) >> 1;
+                double x = coord(2 * mid);
+                double y = coord(2 * mid + 1);
+                queue.add(AroundItem.point(id(mid), distanceMeasure.compute(x, y, qx, qy)));
+
+                int nextAxis = 1 - node.axis;
+                double leftMaxX = node.axis == 0 ? x : node.maxX;
+                double leftMaxY = node.axis == 0 ? node.maxY : y;
+                double rightMinX = node.axis == 0 ? x : node.minX;
+                double rightMinY = node.axis == 0 ? node.minY : y;
+                queue.add(AroundItem.node(left, mid - 1, nextAxis, node.minX, node.minY, leftMaxX, leftMaxY,
+                                          boxDistance(node.minX, node.minY, leftMaxX, leftMaxY, qx, qy, distanceMeasure)));
+                queue.add(AroundItem.node(mid + 1, right, nextAxis, rightMinX, rightMinY, node.maxX, node.maxY,
+                                          boxDistance(rightMinX, rightMinY, node.maxX, node.maxY, qx, qy, distanceMeasure)));
+            }
+
+            // 큐의 맨 앞이 포인트라면 남은 어떤 노드보다도 가까우므로 결과로 확정합니다.
+            while (!queue.isEmpty() && queue.peek().isPoint()) {
+                AroundItem point = queue.poll();
+                if (point.distance > maxDistance) {
+                    return result.toArray();
+                }
+                result.add(point.id);
+                if (result.size() == maxResults) {
+                    return result.toArray();
+                }
+            }
+
+            node = queue.poll();
+            if (node != null && node.distance > maxDistance) {
+                break;
+            }
+        }
+        return result.toArray();
+    }
+
+    private static double boxDistance(double minX, double minY, double maxX, double maxY, double qx, double qy,
+                                      DistanceMeasure distanceMeasure) {
+        double x = Math.max(minX, Math.min(maxX, qx));
+        double y = Math.max(minY, Math.min(maxY, qy));
+        return distanceMeasure.compute(x, y, qx, qy);
+    }
+
+    private static void sortKD(int[] ids, double[] coords, int nodeSize, int left, int right, int depth) {
         if (right - left <= nodeSize) {
             return;
         }
@@ -49,7 +391,7 @@ public class KDBush {
         sortKD(ids, coords, nodeSize, m + 1, right, depth + 1);
     }
 
-    private void select(int[] ids, double[] coords, int k, int left, int right, int inc) {
+    private static void select(int[] ids, double[] coords, int k, int left, int right, int inc) {
 
         while (right > left) {
             if (right - left > 600) {
@@ -100,22 +442,134 @@ public class KDBush {
         }
     }
 
-    private void swapItem(int[] ids, double[] coords, int i, int j) {
+    private static void swapItem(int[] ids, double[] coords, int i, int j) {
         swap(ids, i, j);
         swap(coords, 2 * i, 2 * j);
         swap(coords, 2 * i + 1, 2 * j + 1);
     }
 
-    private void swap(int[] arr, int i, int j) {
+    private static void swap(int[] arr, int i, int j) {
         int tmp = arr[i];
         arr[i] = arr[j];
         arr[j] = tmp;
     }
 
-    private void swap(double[] arr, int i, int j) {
+    private static void swap(double[] arr, int i, int j) {
         double tmp = arr[i];
         arr[i] = arr[j];
         arr[j] = tmp;
     }
 
+    private static class SortTask extends RecursiveAction {
+
+        private final int[] ids;
+        private final double[] coords;
+        private final int nodeSize;
+        private final int left;
+        private final int right;
+        private final int depth;
+
+        private SortTask(int[] ids, double[] coords, int nodeSize, int left, int right, int depth) {
+            this.ids = ids;
+            this.coords = coords;
+            this.nodeSize = nodeSize;
+            this.left = left;
+            this.right = right;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left <= PARALLEL_SORT_SIZE) {
+                sortKD(ids, coords, nodeSize, left, right, depth);
+                return;
+            }
+            int m = (left + right) >> 1;
+            select(ids, coords, m, left, right, depth % 2);
+            invokeAll(new SortTask(ids, coords, nodeSize, left, m - 1, depth + 1),
+                      new SortTask(ids, coords, nodeSize, m + 1, right, depth + 1));
+        }
+
+    }
+
+    /**
+     * around 검색의 우선순위 큐 항목 - 포인트(id >= 0) 또는 트리 노드(id = -1)
+     */
+    private static class AroundItem implements Comparable<AroundItem> {
+
+        private final int id;
+        private final int left;
+        private final int right;
+        private final int axis;
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+        private final double distance;
+
+        private AroundItem(int id, int left, int right, int axis, double minX, double minY, double maxX, double maxY, double distance) {
+            this.id = id;
+            this.left = left;
+            this.right = right;
+            this.axis = axis;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.distance = distance;
+        }
+
+        private static AroundItem point(int id, double distance) {
+            return new AroundItem(id, 0, 0, 0, 0, 0, 0, 0, distance);
+        }
+
+        private static AroundItem node(int left, int right, int axis, double minX, double minY, double maxX, double maxY, double distance) {
+            return new AroundItem(-1, left, right, axis, minX, minY, maxX, maxY, distance);
+        }
+
+        private boolean isPoint() {
+            return id >= 0;
+        }
+
+        @Override
+        public int compareTo(AroundItem other) {
+            return Double.compare(distance, other.distance);
+        }
+
+    }
+
+    private class WithinTask extends RecursiveAction {
+
+        private final double[] xy;
+        private final double radius;
+        private final DistanceMeasure distanceMeasure;
+        private final IntList[] results;
+        private final int from;
+        private final int to;
+
+        private WithinTask(double[] xy, double radius, DistanceMeasure distanceMeasure, IntList[] results, int from, int to) {
+            this.xy = xy;
+            this.radius = radius;
+            this.distanceMeasure = distanceMeasure;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_QUERY_SIZE && getPool() != null) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new WithinTask(xy, radius, distanceMeasure, results, from, mid),
+                          new WithinTask(xy, radius, distanceMeasure, results, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                results[i] = new IntList();
+                within(xy[2 * i], xy[2 * i + 1], radius, distanceMeasure, results[i]);
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,106 @@
+package com.bird.maru.cluster;
+
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.util.SnapshotCodec;
+import com.bird.maru.domain.model.type.Coordinate;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 스냅샷 파일에 기록된 마커 목록 - 조회 시점에 메모리 매핑된 레코드에서 Marker 를 만듭니다. <br/>
+ * 레코드 (고정 길이) : id(long), lng(double), lat(double), 속성 위치(int), 패딩(int) <br/>
+ * 속성 (가변 길이) : likeCount(int, null 이면 Integer.MIN_VALUE), createdDateTime, imageUrl
+ */
+public class MappedMarkerList extends AbstractList<Marker> implements RandomAccess {
+
+    static final int RECORD_BYTES = 32;
+    private static final int NULL_LIKE_COUNT = Integer.MIN_VALUE;
+
+    private final ByteBuffer records;
+    private final ByteBuffer properties;
+    private final int size;
+
+    MappedMarkerList(ByteBuffer records, ByteBuffer properties) {
+        this.records = records;
+        this.properties = properties;
+        this.size = records.limit() / RECORD_BYTES;
+    }
+
+    @Override
+    public Marker get(int index) {
+        int k = record(index);
+        int p = records.getInt(k + 24);
+        int likeCount = properties.getInt(p);
+        return Marker.builder()
+                     .id(records.getLong(k))
+                     .coordinate(new Coordinate(records.getDouble(k + 8), records.getDouble(k + 16)))
+                     .likeCount(likeCount == NULL_LIKE_COUNT ? null : likeCount)
+                     .createdDateTime(SnapshotCodec.readDateTime(properties, p + 4))
+                     .imageUrl(SnapshotCodec.readUrl(properties, p + 4 + SnapshotCodec.DATE_TIME_BYTES))
+                     .build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Marker 를 만들지 않고 스팟 id 만 조회합니다.
+     */
+    public long getId(int index) {
+        return records.getLong(record(index));
+    }
+
+    double getLng(int index) {
+        return records.getDouble(record(index) + 8);
+    }
+
+    double getLat(int index) {
+        return records.getDouble(record(index) + 16);
+    }
+
+    private int record(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index : " + index + ", size : " + size);
+        }
+        return index * RECORD_BYTES;
+    }
+
+    /**
+     * 마커 레코드 기록
+     *
+     * @return 이어서 기록할 속성 영역의 크기
+     */
+    static long writeRecords(List<Marker> markers, DataOutput out) throws IOException {
+        long offset = 0;
+        for (Marker marker : markers) {
+            if (offset > Integer.MAX_VALUE) {
+                throw new IllegalStateException("마커 속성 영역이 2GB 를 넘어 스냅샷으로 기록할 수 없습니다.");
+            }
+            out.writeLong(marker.getId());
+            out.writeDouble(marker.getCoordinate().getLng());
+            out.writeDouble(marker.getCoordinate().getLat());
+            out.writeInt((int) offset);
+            out.writeInt(0);
+            offset += 4 + SnapshotCodec.DATE_TIME_BYTES + SnapshotCodec.urlBytes(marker.getImageUrl());
+        }
+        return offset;
+    }
+
+    /**
+     * 마커 속성 기록 - writeRecords 와 같은 순서로 기록합니다.
+     */
+    static void writeProperties(List<Marker> markers, DataOutput out) throws IOException {
+        for (Marker marker : markers) {
+            out.writeInt(marker.getLikeCount() == null ? NULL_LIKE_COUNT : marker.getLikeCount());
+            SnapshotCodec.writeDateTime(out, marker.getCreatedDateTime());
+            SnapshotCodec.writeUrl(out, marker.getImageUrl());
+        }
+    }
+
+}
@@ -10,24 +10,21 @@ import com.bird.maru.cluster.geo.Cluster;
 import com.bird.maru.cluster.geo.MainCluster;
 import com.bird.maru.cluster.geo.Marker;
 import com.bird.maru.cluster.geo.PointCluster;
-import com.bird.maru.cluster.geo.Property;
 import com.bird.maru.cluster.geo.SuperClusterParams;
-import com.bird.maru.cluster.mapper.MarkerMapper;
+import com.bird.maru.cluster.geojson.FeatureListSink;
+import com.bird.maru.cluster.geojson.FeatureSink;
 import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.IntList;
 import com.bird.maru.cluster.util.PointConverter;
-import com.bird.maru.domain.model.type.GeoType;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import lombok.Builder;
 import org.wololo.geojson.Feature;
-import org.wololo.geojson.Point;
 
 /**
- * @author yeozkaya@gmail.com
+ * @author yeozkaya@gmail.com <br/>
+ * 객체 기반 기준 구현 - 서비스는 FlatSuperCluster 를 사용하며, 이 클래스는 결과 비교 테스트와 벤치마크의 기준으로만 사용합니다. <br/>
+ * 집계 속성, 지연 구성, 병렬 구성은 FlatSuperCluster 에만 있습니다.
  */
 public class SuperCluster {
 
@@ -61,7 +58,7 @@ public class SuperCluster {
         List<MainCluster> clusters = new ArrayList<>();
 
         for (int i = 0; i < this.points.size(); i++) {
-            clusters.add(createPointCluster(MarkerMapper.toRawPoint(this.points.get(i)), i));
+            clusters.add(createPointCluster(this.points.get(i), i));
         }
 
         trees[maxZoom + 1] = new KDBush(clusters, nodeSize);
@@ -70,7 +67,6 @@ public class SuperCluster {
             clusters = this.initCluster(clusters, z);
             this.trees[z] = new KDBush(clusters, nodeSize);
         }
-
     }
 
     /**
@@ -78,6 +74,7 @@ public class SuperCluster {
      */
     private List<MainCluster> initCluster(List<MainCluster> points, int zoom) {
         List<MainCluster> clusters = new ArrayList<>();
+        IntList neighborIds = new IntList();
 
         double actualRadius = calculateActualRadius(zoom);
 
@@ -90,17 +87,16 @@ public class SuperCluster {
             p.setZoom(zoom);
 
             KDBush tree = this.trees[zoom + 1];
-            int[] neighborIds = withIn(p.getX(), p.getY(), actualRadius, tree);
+            withIn(p.getX(), p.getY(), actualRadius, tree, neighborIds);
 
-            Integer nowCount = p.getCount();
-            nowCount = nowCount != null ? nowCount : 1;
+            int nowCount = p.getCount() != null ? p.getCount() : 1;
             double weightedX = p.getX() * nowCount;
             double weightedY = p.getY() * nowCount;
 
             int id = (i << 5) + (zoom + 1);
 
-            for (int neighborId : neighborIds) {
-                MainCluster b = tree.getPoints().get(neighborId);
+            for (int n = 0; n < neighborIds.size(); n++) {
+                MainCluster b = tree.getPoints().get(neighborIds.get(n));
 
                 if (b.getZoom() <= zoom) {
                     continue;
@@ -108,8 +104,7 @@ public class SuperCluster {
 
                 b.setZoom(zoom);
 
-                Integer tempCount = b.getCount();
-                tempCount = tempCount != null ? tempCount : 1;
+                int tempCount = b.getCount() != null ? b.getCount() : 1;
                 weightedX += b.getX() * tempCount;
                 weightedY += b.getY() * tempCount;
 
@@ -128,67 +123,17 @@ public class SuperCluster {
         return clusters;
     }
 
-    private int[] withIn(double x, double y, double actualRadius, KDBush tree) {
-        return withIn(tree.getIds(), tree.getCoords(), x, y, actualRadius, this.nodeSize);
-    }
-
-
-    private int[] withIn(int[] ids, double[] coordinates, double qx, double qy, double actualRadius, int nodeSize) {
-        LinkedList<Integer> stack = new LinkedList<>();
-        stack.push(0);
-        stack.push(ids.length - 1);
-        stack.push(0);
-
-        List<Integer> result = new ArrayList<>();
-        double r2 = actualRadius * actualRadius;
-
-        while (!stack.isEmpty()) {
-            int axis = stack.pop();
-            int right = stack.pop();
-            int left = stack.pop();
-
-            if (right - left <= nodeSize) {
-                for (int i = left; i <= right; i++) {
-                    if (distanceMeasure.compute(coordinates[2 * i], coordinates[2 * i + 1], qx, qy) <= r2) {
-                        result.add(ids[i]);
-                    }
-                }
-                continue;
-            }
-
-            int mid = (left + right) / 2;
-
-            double x = coordinates[2 * mid];
-            double y = coordinates[2 * mid + 1];
-
-            if (distanceMeasure.compute(x, y, qx, qy) <= r2) {
-                result.add(ids[mid]);
-            }
-
-            int nextAxis = (axis + 1) % 2;
-
-            if (axis == 0 ? qx - actualRadius <= x : qy - actualRadius <= y) {
-                stack.push(left);
-                stack.push(mid - 1);
-                stack.push(nextAxis);
-            }
-            if (axis == 0 ? qx + actualRadius >= x : qy + actualRadius >= y) {
-                stack.push(mid + 1);
-                stack.push(right);
-                stack.push(nextAxis);
-            }
-        }
-
-        return result.stream().mapToInt(Integer::valueOf).toArray();
+    private void withIn(double x, double y, double actualRadius, KDBush tree, IntList result) {
+        tree.within(x, y, actualRadius, distanceMeasure, result);
     }
 
     /**
      * 단일 클러스터(포인트) 생성
      */
-    private PointCluster createPointCluster(double[] point, int id) {
+    private PointCluster createPointCluster(Marker marker, int id) {
 
-        double x = pointConverter.convertLngToX(point[0]);
-        double y = pointConverter.convertLatToY(point[1]);
+        double x = pointConverter.convertToX(marker);
+        double y = pointConverter.convertToY(marker);
 
         return new PointCluster(x, y, initZoom, id, -1);
     }
@@ -206,6 +151,18 @@ public class SuperCluster {
      * @param boundingBox : 현재 사용자의 지도 범위
      */
     public List<Feature> run(BoundingBox boundingBox) {
+        FeatureListSink sink = new FeatureListSink();
+        run(boundingBox, sink);
+        return sink.getFeatures();
+    }
+
+    /**
+     * 클러스터링 알고리즘 수행 - 범위 검색 결과를 Feature 객체 없이 sink 로 전달합니다.
+     *
+     * @param boundingBox : 현재 사용자의 지도 범위
+     * @param sink        : 결과 출력 대상
+     */
+    public void run(BoundingBox boundingBox, FeatureSink sink) {
         double minLng = ((boundingBox.getWest() + 180) % 360 + 360) % 360 - 180;
         double minLat = Math.max(-90, Math.min(90, boundingBox.getSouth()));
         double maxLng = boundingBox.getEast() == 180 ? 180 : ((boundingBox.getEast() + 180) % 360 + 360) % 360 - 180;
@@ -215,40 +172,40 @@ public class SuperCluster {
             minLng = -180;
             maxLng = 180;
         } else if (minLng > maxLng) {
-//            List<Feature> easternHem = this.run(new double[] { minLng, minLat, 180, maxLat }, zoom);
-            List<Feature> easternHem = this.run(BoundingBox.builder()
-                                                           .west(minLng)
-                                                           .south(minLat)
-                                                           .east(180.0)
-                                                           .north(maxLat)
-                                                           .zoom(zoom)
-                                                           .build());
-            List<Feature> westernHem = this.run(BoundingBox.builder()
-                                                           .west(-180.0)
-                                                           .south(minLat)
-                                                           .east(maxLng)
-                                                           .north(maxLat)
-                                                           .zoom(zoom)
-                                                           .build());
-//            List<Feature> westernHem = this.run(new double[] { -180, minLat, maxLng, maxLat }, zoom);
-            easternHem.addAll(westernHem);
-            return easternHem;
+            this.run(BoundingBox.builder()
+                                .west(minLng)
+                                .south(minLat)
+                                .east(180.0)
+                                .north(maxLat)
+                                .zoom(zoom)
+                                .build(), sink);
+            this.run(BoundingBox.builder()
+                                .west(-180.0)
+                                .south(minLat)
+                                .east(maxLng)
+                                .north(maxLat)
+                                .zoom(zoom)
+                                .build(), sink);
+            return;
         }
 
-        KDBush tree = this.trees[limitZoom(zoom)];
-        int[] ids = rangeInBoundingBox(pointConverter.convertLngToX(minLng), pointConverter.convertLatToY(maxLat),
-                                       pointConverter.convertLngToX(maxLng), pointConverter.convertLatToY(minLat),
-                                       tree);
+        int z = limitZoom(zoom);
+        KDBush tree = this.trees[z];
+        IntList ids = new IntList();
+        rangeInBoundingBox(pointConverter.convertLngToX(minLng), pointConverter.convertLatToY(maxLat),
+                           pointConverter.convertLngToX(maxLng), pointConverter.convertLatToY(minLat),
+                           tree, ids);
         double actualRadius = calculateActualRadius(zoom);
 
-        List<Feature> clusters = new ArrayList<>();
-        for (int id : ids) {
-            MainCluster c = tree.getPoints().get(id);
-            clusters.add(
-                    (c.getCount() != null) ? makeClusterFeature(c, actualRadius) : makePointFeature(this.points.get(c.getIndex().intValue()))
-            );
+        for (int i = 0; i < ids.size(); i++) {
+            MainCluster c = tree.getPoints().get(ids.get(i));
+            if (c.getCount() != null) {
+                sink.cluster(pointConverter.convertXToLng(c.getX()), pointConverter.convertYToLat(c.getY()), c.getId(), c.getCount(), actualRadius, null);
+            } else {
+                Marker marker = this.points.get(c.getIndex().intValue());
+                sink.point(marker.getCoordinate().getLng(), marker.getCoordinate().getLat(), marker.getId());
+            }
         }
-        return clusters;
     }
 
 
@@ -259,109 +216,8 @@ public class SuperCluster {
         return Math.max(this.minZoom, Math.min(z, this.maxZoom + 1));
     }
 
-    private int[] rangeInBoundingBox(double minX, double minY, double maxX, double maxY, KDBush tree) {
-        return range(tree.getIds(), tree.getCoords(), minX, minY, maxX, maxY, this.nodeSize);
-    }
-
-    private int[] range(int[] ids, double[] coordinates, double minX, double minY, double maxX, double maxY, int nodeSize) {
-        LinkedList<Integer> stack = new LinkedList<>();
-        stack.push(0);
-        stack.push(ids.length - 1);
-        stack.push(0);
-
-        List<Integer> result = new ArrayList<>();
-
-        double x;
-        double y;
-
-        while (!stack.isEmpty()) {
-            int axis = stack.pop();
-            int right = stack.pop();
-            int left = stack.pop();
-
-            if (right - left <= nodeSize) {
-                for (int i = left; i <= right; i++) {
-                    x = coordinates[2 * i];
-                    y = coordinates[2 * i + 1];
-                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
-                        result.add(ids[i]);
-                    }
-                }
-                continue;
-            }
-
-            int mid = (left + right) / 2;
-
-            x = coordinates[2 * mid];
-            y = coordinates[2 * mid + 1];
-
-            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
-                result.add(ids[mid]);
-            }
-
-            int nextAxis = (axis + 1) % 2;
-
-            if (axis == 0 ? minX <= x : minY <= y) {
-                stack.push(left);
-                stack.push(mid - 1);
-                stack.push(nextAxis);
-            }
-            if (axis == 0 ? maxX >= x : maxY >= y) {
-                stack.push(mid + 1);
-                stack.push(right);
-                stack.push(nextAxis);
-            }
-        }
-
-        return result.stream().mapToInt(Integer::valueOf).toArray();
-    }
-
-    /**
-     * 클러스터링 영역 Feature Geometry 정보 생성
-     */
-    private Feature makeClusterFeature(MainCluster cluster, double actualRadius) {
-
-        Point point = new Point(new double[] { pointConverter.convertXToLng(cluster.getX()), pointConverter.convertYToLat(cluster.getY()) });
-        return new Feature(point, getClusterProperties(cluster, actualRadius));
-
-    }
-
-    /**
-     * 클러스터링 포인트 Feature Geometry 정보 생성
-     */
-    private Feature makePointFeature(Marker marker) {
-        return MarkerMapper.toFeature(marker);
-    }
-
-    private Map<String, Object> getClusterProperties(MainCluster cluster, double actualRadius) {
-        int count = cluster.getCount();
-        Property property = Property.builder()
-                                    .radius(actualRadius)
-                                    .geoType(GeoType.CLUSTER)
-                                    .abbrevCount(extractAbbrev(count))
-                                    .count(count)
-                                    .build();
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        return objectMapper.convertValue(property, new TypeReference<Map<String, Object>>() {
-        });
-    }
-
-    /**
-     * 클러스터링 영역에 포함된 마커의 수 축약어 생성
-     */
-    private String extractAbbrev(int count) {
-        String abbrev;
-        if (count >= 1000000) {
-            abbrev = (count / 1000000) + "M";
-        } else if (count >= 10000) {
-            abbrev = (count / 1000) + "K";
-        } else if (count >= 1000) {
-            abbrev = ((count / 100) / 10) + "K";
-        } else {
-            abbrev = Integer.toString(count);
-        }
-        return abbrev;
+    private void rangeInBoundingBox(double minX, double minY, double maxX, double maxY, KDBush tree, IntList result) {
+        tree.range(minX, minY, maxX, maxY, result);
     }
 
     private double calculateActualRadius(int zoom) {
@@ -0,0 +1,16 @@
+package com.bird.maru.cluster.aggregate;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 클러스터 구성 시 ClusterReducer 로 집계한 클러스터 속성
+ */
+public interface ClusterAggregate {
+
+    /**
+     * 집계 속성을 이름, 값 순서로 전달합니다. <br/>
+     * 값은 String, Number 또는 null 이며, 클러스터 Feature 의 properties 뒤에 같은 순서로 기록됩니다.
+     */
+    void forEachProperty(BiConsumer<String, Object> action);
+
+}
@@ -0,0 +1,22 @@
+package com.bird.maru.cluster.aggregate;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 클러스터 집계 속성의 바이너리 표현 - 클러스터 인덱스 스냅샷 파일에 기록하고, 메모리 매핑된 파일에서 조회 시점에 읽습니다.
+ *
+ * @param <T> 집계 결과
+ */
+public interface ClusterAggregateCodec<T extends ClusterAggregate> {
+
+    void write(T aggregate, DataOutput out) throws IOException;
+
+    /**
+     * @param in     : big-endian 버퍼 (position 은 변경하지 않습니다)
+     * @param offset : 집계 값이 기록된 위치
+     */
+    T read(ByteBuffer in, int offset);
+
+}
@@ -0,0 +1,24 @@
+package com.bird.maru.cluster.aggregate;
+
+import com.bird.maru.cluster.geo.Marker;
+
+/**
+ * 클러스터 속성 집계 (supercluster 의 map / reduce 옵션) <br/>
+ * SuperCluster 구성 시 원본 마커마다 map 을 한 번 수행하고, 포인트가 클러스터로 묶일 때마다 reduce 로 합칩니다. <br/>
+ * 집계 결과는 줌 레벨마다 클러스터와 함께 보관되므로, 조회 시에는 추가 계산이 없습니다.
+ *
+ * @param <T> 집계 결과 - 여러 클러스터에서 공유되므로 변경할 수 없는 객체여야 합니다.
+ */
+public interface ClusterReducer<T extends ClusterAggregate> {
+
+    /**
+     * 원본 마커 하나의 집계 값
+     */
+    T map(Marker marker);
+
+    /**
+     * 두 집계 값을 합친 새 집계 값 - left 가 먼저 묶인 포인트입니다.
+     */
+    T reduce(T left, T right);
+
+}
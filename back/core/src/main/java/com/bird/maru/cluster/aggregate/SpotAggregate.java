@@ -0,0 +1,77 @@
+package com.bird.maru.cluster.aggregate;
+
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.util.SnapshotCodec;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.BiConsumer;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 스팟 클러스터 집계 속성 <br/>
+ * likeCount - 좋아요 수 합계 <br/>
+ * createdDateTime - 가장 최근에 등록된 스팟의 등록 시각 <br/>
+ * imageUrl - 좋아요 수가 가장 많은 스팟의 이미지 (같으면 먼저 묶인 스팟)
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SpotAggregate implements ClusterAggregate {
+
+    private final long likeCount;
+    private final LocalDateTime createdDateTime;
+    private final URL imageUrl;
+    private final int topLikeCount; // imageUrl 스팟의 좋아요 수
+
+    public static SpotAggregate of(Marker marker) {
+        int likeCount = marker.getLikeCount() == null ? 0 : marker.getLikeCount();
+        return new SpotAggregate(likeCount, marker.getCreatedDateTime(), marker.getImageUrl(), likeCount);
+    }
+
+    public SpotAggregate merge(SpotAggregate other) {
+        boolean top = this.imageUrl != null && (other.imageUrl == null || this.topLikeCount >= other.topLikeCount);
+        return new SpotAggregate(this.likeCount + other.likeCount,
+                                 latest(this.createdDateTime, other.createdDateTime),
+                                 top ? this.imageUrl : other.imageUrl,
+                                 top ? this.topLikeCount : other.topLikeCount);
+    }
+
+    /**
+     * 스냅샷 파일 기록 - likeCount(long), topLikeCount(int), createdDateTime, imageUrl
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(likeCount);
+        out.writeInt(topLikeCount);
+        SnapshotCodec.writeDateTime(out, createdDateTime);
+        SnapshotCodec.writeUrl(out, imageUrl);
+    }
+
+    public static SpotAggregate readFrom(ByteBuffer in, int offset) {
+        return new SpotAggregate(in.getLong(offset),
+                                 SnapshotCodec.readDateTime(in, offset + 12),
+                                 SnapshotCodec.readUrl(in, offset + 12 + SnapshotCodec.DATE_TIME_BYTES),
+                                 in.getInt(offset + 8));
+    }
+
+    @Override
+    public void forEachProperty(BiConsumer<String, Object> action) {
+        action.accept("likeCount", likeCount);
+        action.accept("createdDateTime", createdDateTime == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(createdDateTime));
+        action.accept("imageUrl", imageUrl == null ? null : imageUrl.toString());
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || !b.isAfter(a) ? a : b;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.bird.maru.cluster.aggregate;
+
+import com.bird.maru.cluster.geo.Marker;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스팟 클러스터의 좋아요 수 합계, 최근 등록 시각, 대표 이미지 집계
+ */
+@Component
+public class SpotAggregateReducer implements ClusterReducer<SpotAggregate>, ClusterAggregateCodec<SpotAggregate> {
+
+    @Override
+    public SpotAggregate map(Marker marker) {
+        return SpotAggregate.of(marker);
+    }
+
+    @Override
+    public SpotAggregate reduce(SpotAggregate left, SpotAggregate right) {
+        return left.merge(right);
+    }
+
+    @Override
+    public void write(SpotAggregate aggregate, DataOutput out) throws IOException {
+        aggregate.writeTo(out);
+    }
+
+    @Override
+    public SpotAggregate read(ByteBuffer in, int offset) {
+        return SpotAggregate.readFrom(in, offset);
+    }
+
+}
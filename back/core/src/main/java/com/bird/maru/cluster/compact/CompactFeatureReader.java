@@ -0,0 +1,144 @@
+package com.bird.maru.cluster.compact;
+
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.COORDINATE_SCALE;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.FLAG_PROPERTIES;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.FLAG_RADIUS;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.FORMAT_VERSION;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.KIND_ANONYMOUS_CLUSTER;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.KIND_CLUSTER;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.KIND_MASK;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.KIND_POINT;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.MAGIC;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.VALUE_DOUBLE;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.VALUE_LONG;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.VALUE_NULL;
+import static com.bird.maru.cluster.compact.CompactFeatureWriter.VALUE_STRING;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.google.protobuf.CodedInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * CompactFeatureWriter 형식의 디코더 - 기록된 순서대로 FeatureSink 에 전달합니다. <br/>
+ * 좌표는 1e-6 도 단위로 반올림된 값이며, 클러스터 집계 속성은 이름, 값 Map 으로 복원합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompactFeatureReader {
+
+    /**
+     * @return Feature 수
+     */
+    public static int read(byte[] data, FeatureSink sink) throws IOException {
+        if (data.length < MAGIC.length || data[0] != MAGIC[0] || data[1] != MAGIC[1]) {
+            throw new IOException("압축 Feature 형식이 아닙니다.");
+        }
+        CodedInputStream in = CodedInputStream.newInstance(data, MAGIC.length, data.length - MAGIC.length);
+        int version = in.readUInt32();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("지원하지 않는 압축 Feature 형식 버전입니다. : " + version);
+        }
+        int size = in.readUInt32();
+        List<String> keys = new ArrayList<>();
+        Map<String, byte[]> lastStrings = new HashMap<>();
+        long x = 0;
+        long y = 0;
+        double radius = Double.NaN;
+        for (int i = 0; i < size; i++) {
+            int tag = in.readUInt32();
+            x += in.readSInt64();
+            y += in.readSInt64();
+            double lng = x / COORDINATE_SCALE;
+            double lat = y / COORDINATE_SCALE;
+            int kind = tag & KIND_MASK;
+            if (kind == KIND_POINT) {
+                sink.point(lng, lat, in.readUInt64());
+                continue;
+            }
+            if (kind != KIND_CLUSTER && kind != KIND_ANONYMOUS_CLUSTER) {
+                throw new IOException("알 수 없는 Feature 종류입니다. : " + kind);
+            }
+            long id = kind == KIND_CLUSTER ? in.readUInt64() : FeatureSink.NO_ID;
+            int count = in.readUInt32();
+            if ((tag & FLAG_RADIUS) != 0) {
+                radius = in.readDouble();
+            }
+            ClusterAggregate aggregate = (tag & FLAG_PROPERTIES) != 0 ? readProperties(in, keys, lastStrings) : null;
+            sink.cluster(lng, lat, id, count, radius, aggregate);
+        }
+        return size;
+    }
+
+    private static ClusterAggregate readProperties(CodedInputStream in, List<String> keys, Map<String, byte[]> lastStrings) throws IOException {
+        int count = in.readUInt32();
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            int key = in.readUInt32();
+            if (key == keys.size()) {
+                keys.add(in.readString());
+            }
+            String name = keys.get(key);
+            int type = in.readUInt32();
+            switch (type) {
+                case VALUE_NULL:
+                    properties.put(name, null);
+                    break;
+                case VALUE_LONG:
+                    properties.put(name, in.readSInt64());
+                    break;
+                case VALUE_DOUBLE:
+                    properties.put(name, in.readDouble());
+                    break;
+                case VALUE_STRING:
+                    properties.put(name, readString(in, name, lastStrings));
+                    break;
+                default:
+                    throw new IOException("알 수 없는 속성 값 종류입니다. : " + type);
+            }
+        }
+        return new DecodedAggregate(properties);
+    }
+
+    private static String readString(CodedInputStream in, String name, Map<String, byte[]> lastStrings) throws IOException {
+        int shared = in.readUInt32();
+        int length = in.readUInt32();
+        byte[] last = lastStrings.get(name);
+        byte[] value = Arrays.copyOf(last == null ? new byte[0] : last, shared + length);
+        System.arraycopy(in.readRawBytes(length), 0, value, shared, length);
+        lastStrings.put(name, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 디코딩한 클러스터 집계 속성 - 정수는 Long, 실수는 Double 로 복원됩니다.
+     */
+    public static class DecodedAggregate implements ClusterAggregate {
+
+        private final Map<String, Object> properties;
+
+        DecodedAggregate(Map<String, Object> properties) {
+            this.properties = properties;
+        }
+
+        public Object get(String name) {
+            return properties.get(name);
+        }
+
+        @Override
+        public void forEachProperty(BiConsumer<String, Object> action) {
+            properties.forEach(action);
+        }
+
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.bird.maru.cluster.compact;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.google.protobuf.CodedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 클러스터링 결과를 압축 바이너리 형식으로 인코딩합니다. (Accept : application/vnd.maru.features) <br/>
+ * 헤더 : 'M' 'F' 형식 버전(1) | varint Feature 수 <br/>
+ * Feature : varint tag | zigzag varint 경도, 위도 | 단일 포인트 : varint id, 클러스터 : [varint id] varint count [double radius] [속성] <br/>
+ * - tag : 하위 2비트 종류 (0 단일 포인트, 1 클러스터, 2 id 없는 클러스터), 4 : radius 포함, 8 : 집계 속성 포함 <br/>
+ * - 좌표 : 1e-6 도 단위 고정소수점, 직전 Feature 좌표와의 차이 (첫 Feature 는 (0, 0) 기준) <br/>
+ * - radius : 직전 클러스터와 다를 때만 기록합니다. abbrevCount 는 count 로 계산할 수 있으므로 기록하지 않습니다. <br/>
+ * 속성 : varint 개수, 속성마다 varint 이름 번호(처음 나오는 이름이면 번호 뒤에 이름 문자열) | varint 값 종류 | 값 <br/>
+ * - 값 종류 : 0 null, 1 정수(zigzag varint), 2 실수(double), 3 문자열(같은 이름의 직전 문자열과 겹치는 앞부분 바이트 수, 나머지 바이트) <br/>
+ * 문자열은 varint 바이트 수 + UTF-8 이며, 디코딩은 CompactFeatureReader 를 참고합니다.
+ */
+public class CompactFeatureWriter implements FeatureSink {
+
+    public static final String MEDIA_TYPE = "application/vnd.maru.features";
+    public static final int FORMAT_VERSION = 1;
+    public static final double COORDINATE_SCALE = 1e6;
+
+    static final byte[] MAGIC = { 'M', 'F' };
+    static final int KIND_POINT = 0;
+    static final int KIND_CLUSTER = 1;
+    static final int KIND_ANONYMOUS_CLUSTER = 2;
+    static final int KIND_MASK = 3;
+    static final int FLAG_RADIUS = 4;
+    static final int FLAG_PROPERTIES = 8;
+    static final int VALUE_NULL = 0;
+    static final int VALUE_LONG = 1;
+    static final int VALUE_DOUBLE = 2;
+    static final int VALUE_STRING = 3;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+    private final CodedOutputStream body = CodedOutputStream.newInstance(bytes);
+    private final Map<String, Integer> keys = new HashMap<>();
+    private final Map<String, byte[]> lastStrings = new HashMap<>();
+    private long lastX;
+    private long lastY;
+    private double lastRadius = Double.NaN;
+    private int size;
+
+    @Override
+    public void point(double lng, double lat, long id) {
+        try {
+            body.writeUInt32NoTag(KIND_POINT);
+            writeCoordinate(lng, lat);
+            body.writeUInt64NoTag(id);
+            size++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+        try {
+            boolean radiusChanged = Double.compare(radius, lastRadius) != 0;
+            int tag = (id == NO_ID ? KIND_ANONYMOUS_CLUSTER : KIND_CLUSTER)
+                    | (radiusChanged ? FLAG_RADIUS : 0)
+                    | (aggregate != null ? FLAG_PROPERTIES : 0);
+            body.writeUInt32NoTag(tag);
+            writeCoordinate(lng, lat);
+            if (id != NO_ID) {
+                body.writeUInt64NoTag(id);
+            }
+            body.writeUInt32NoTag(count);
+            if (radiusChanged) {
+                body.writeDoubleNoTag(radius);
+                lastRadius = radius;
+            }
+            if (aggregate != null) {
+                writeProperties(aggregate);
+            }
+            size++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 헤더를 포함한 인코딩 결과
+     */
+    public byte[] toByteArray() {
+        try {
+            body.flush();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.size() + 8);
+            CodedOutputStream header = CodedOutputStream.newInstance(out);
+            header.writeRawBytes(MAGIC);
+            header.writeUInt32NoTag(FORMAT_VERSION);
+            header.writeUInt32NoTag(size);
+            header.flush();
+            bytes.writeTo(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCoordinate(double lng, double lat) throws IOException {
+        long x = Math.round(lng * COORDINATE_SCALE);
+        long y = Math.round(lat * COORDINATE_SCALE);
+        body.writeSInt64NoTag(x - lastX);
+        body.writeSInt64NoTag(y - lastY);
+        lastX = x;
+        lastY = y;
+    }
+
+    private void writeProperties(ClusterAggregate aggregate) throws IOException {
+        int[] count = { 0 };
+        aggregate.forEachProperty((name, value) -> count[0]++);
+        body.writeUInt32NoTag(count[0]);
+        aggregate.forEachProperty((name, value) -> {
+            try {
+                writeProperty(name, value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeProperty(String name, Object value) throws IOException {
+        Integer key = keys.get(name);
+        if (key == null) {
+            body.writeUInt32NoTag(keys.size());
+            body.writeStringNoTag(name);
+            keys.put(name, keys.size());
+        } else {
+            body.writeUInt32NoTag(key);
+        }
+        if (value == null) {
+            body.writeUInt32NoTag(VALUE_NULL);
+        } else if (value instanceof String) {
+            body.writeUInt32NoTag(VALUE_STRING);
+            writeString(name, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Double || value instanceof Float) {
+            body.writeUInt32NoTag(VALUE_DOUBLE);
+            body.writeDoubleNoTag(((Number) value).doubleValue());
+        } else {
+            body.writeUInt32NoTag(VALUE_LONG);
+            body.writeSInt64NoTag(((Number) value).longValue());
+        }
+    }
+
+    /**
+     * 같은 이름의 직전 문자열과 겹치는 앞부분은 길이만 기록합니다. (이미지 URL, 날짜 등)
+     */
+    private void writeString(String name, byte[] value) throws IOException {
+        byte[] last = lastStrings.get(name);
+        int shared = 0;
+        if (last != null) {
+            int max = Math.min(last.length, value.length);
+            while (shared < max && last[shared] == value[shared]) {
+                shared++;
+            }
+        }
+        body.writeUInt32NoTag(shared);
+        body.writeUInt32NoTag(value.length - shared);
+        body.writeRawBytes(value, shared, value.length - shared);
+        lastStrings.put(name, value);
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.bird.maru.cluster.geo;
 
 import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.domain.model.type.ProjectedCoordinate;
+import java.net.URL;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,5 +19,15 @@ public class Marker {
 
     private Long id;
     private Coordinate coordinate;
+    private ProjectedCoordinate projected; // 미리 투영된 좌표 - 투영 좌표가 없는 스팟은 null
+    // 클러스터 집계 속성 (ClusterReducer) - 조회하지 않은 경우 null
+    private Integer likeCount;
+    private LocalDateTime createdDateTime;
+    private URL imageUrl;
+
+    public Marker(Long id, Coordinate coordinate) {
+        this.id = id;
+        this.coordinate = coordinate;
+    }
 
 }
@@ -1,6 +1,8 @@
 package com.bird.maru.cluster.geo;
 
 import com.bird.maru.domain.model.type.GeoType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,4 +21,12 @@ public class Property {
     private Integer count;
     private String abbrevCount;
 
+    // 클러스터 집계 속성 (SpotAggregate) - 단일 포인트에는 포함되지 않습니다.
+    @JsonInclude(Include.NON_NULL)
+    private Long likeCount;
+    @JsonInclude(Include.NON_NULL)
+    private String createdDateTime;
+    @JsonInclude(Include.NON_NULL)
+    private String imageUrl;
+
 }
@@ -0,0 +1,27 @@
+package com.bird.maru.cluster.geojson;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+
+/**
+ * 클러스터 id 를 제외하고 전달합니다. <br/>
+ * 요청마다 구성한 SuperCluster 의 클러스터 id 는 클러스터 인덱스에서 탐색할 수 없으므로 응답에 노출하지 않습니다.
+ */
+public class AnonymousClusterSink implements FeatureSink {
+
+    private final FeatureSink sink;
+
+    public AnonymousClusterSink(FeatureSink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void point(double lng, double lat, long id) {
+        sink.point(lng, lat, id);
+    }
+
+    @Override
+    public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+        sink.cluster(lng, lat, NO_ID, count, radius, aggregate);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.bird.maru.cluster.geojson;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.geo.BoundingBox;
+
+/**
+ * 범위 밖의 Feature 만 전달합니다. <br/>
+ * 넓힌 범위의 검색 결과에서 원래 범위의 결과를 빼, 범위 둘레(margin)의 Feature 만 남길 때 사용합니다.
+ */
+public class ExcludedBoundsSink implements FeatureSink {
+
+    private final FeatureSink sink;
+    private final BoundingBox excluded;
+
+    public ExcludedBoundsSink(FeatureSink sink, BoundingBox excluded) {
+        this.sink = sink;
+        this.excluded = excluded;
+    }
+
+    @Override
+    public void point(double lng, double lat, long id) {
+        if (!contains(lng, lat)) {
+            sink.point(lng, lat, id);
+        }
+    }
+
+    @Override
+    public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+        if (!contains(lng, lat)) {
+            sink.cluster(lng, lat, id, count, radius, aggregate);
+        }
+    }
+
+    private boolean contains(double lng, double lat) {
+        return excluded.getWest() <= lng && lng <= excluded.getEast()
+                && excluded.getSouth() <= lat && lat <= excluded.getNorth();
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.bird.maru.cluster.geojson;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import java.util.Arrays;
+
+/**
+ * 클러스터링 결과를 원시 배열로 보관했다가 다른 출력 대상으로 다시 전달합니다. <br/>
+ * 캐시에 보관하는 단위이므로 Feature 객체 대신 좌표와 값만 저장합니다.
+ */
+public class FeatureBuffer implements FeatureSink {
+
+    private static final int STRIDE = 3; // lng, lat, radius (단일 포인트는 NaN)
+
+    private double[] data;
+    private long[] values; // 단일 포인트 : 스팟 id, 클러스터 : 상위 32비트 클러스터 id, 하위 32비트 count
+    private ClusterAggregate[] aggregates; // 집계 속성이 있는 클러스터가 처음 추가될 때 생성
+    private int size;
+
+    public FeatureBuffer() {
+        this.data = new double[16 * STRIDE];
+        this.values = new long[16];
+    }
+
+    @Override
+    public void point(double lng, double lat, long id) {
+        add(lng, lat, Double.NaN, id);
+    }
+
+    @Override
+    public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+        add(lng, lat, radius, (id << 32) | count);
+        if (aggregate != null) {
+            if (aggregates == null) {
+                aggregates = new ClusterAggregate[values.length];
+            }
+            aggregates[size - 1] = aggregate;
+        }
+    }
+
+    /**
+     * 보관 중인 Feature 를 모두 sink 로 전달
+     */
+    public void replay(FeatureSink sink) {
+        replay(sink, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * 범위 내 Feature 만 sink 로 전달
+     */
+    public void replay(FeatureSink sink, double west, double south, double east, double north) {
+        for (int i = 0; i < size; i++) {
+            int k = i * STRIDE;
+            double lng = data[k];
+            double lat = data[k + 1];
+            if (lng < west || lng > east || lat < south || lat > north) {
+                continue;
+            }
+            if (Double.isNaN(data[k + 2])) {
+                sink.point(lng, lat, values[i]);
+            } else {
+                sink.cluster(lng, lat, values[i] >> 32, (int) values[i], data[k + 2], aggregates == null ? null : aggregates[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 보관 중인 배열을 실제 크기로 줄입니다. 캐시에 넣기 전에 호출합니다. <br/>
+     * 이미 줄인 배열은 다시 복사하지 않으므로, 여러 요청이 함께 사용하는 결과는 공유하기 전에 한 번 호출합니다.
+     */
+    public FeatureBuffer trim() {
+        if (values.length == size) {
+            return this;
+        }
+        data = Arrays.copyOf(data, size * STRIDE);
+        values = Arrays.copyOf(values, size);
+        if (aggregates != null) {
+            aggregates = Arrays.copyOf(aggregates, size);
+        }
+        return this;
+    }
+
+    private void add(double lng, double lat, double radius, long value) {
+        if (size == values.length) {
+            int capacity = Math.max(size << 1, 16);
+            data = Arrays.copyOf(data, capacity * STRIDE);
+            values = Arrays.copyOf(values, capacity);
+            if (aggregates != null) {
+                aggregates = Arrays.copyOf(aggregates, capacity);
+            }
+        }
+        int k = size * STRIDE;
+        data[k] = lng;
+        data[k + 1] = lat;
+        data[k + 2] = radius;
+        values[size++] = value;
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.bird.maru.cluster.geojson;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.mapper.ClusterMapper;
+import com.bird.maru.domain.model.type.GeoType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 클러스터링 결과를 JsonGenerator 로 바로 기록합니다. <br/>
+ * 기존 List&lt;Feature&gt; 응답과 동일한 JSON 을 생성합니다. <br/>
+ * {"type":"Feature","geometry":{"type":"Point","coordinates":[lng,lat]},"properties":{"geoType":..,"id":..,"radius":..,"count":..,"abbrevCount":..}} <br/>
+ * 클러스터의 집계 속성은 abbrevCount 뒤에 이어서 기록합니다.
+ */
+public class FeatureCollectionWriter implements FeatureSink {
+
+    private final JsonGenerator generator;
+
+    public FeatureCollectionWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    public void writeStart() {
+        try {
+            generator.writeStartArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void writeEnd() {
+        try {
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void point(double lng, double lat, long id) {
+        try {
+            writeGeometry(lng, lat);
+            generator.writeStringField("geoType", GeoType.POINT.name());
+            generator.writeNumberField("id", id);
+            generator.writeNullField("radius");
+            generator.writeNullField("count");
+            generator.writeNullField("abbrevCount");
+            writeFeatureEnd();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+        try {
+            writeGeometry(lng, lat);
+            generator.writeStringField("geoType", GeoType.CLUSTER.name());
+            if (id == NO_ID) {
+                generator.writeNullField("id");
+            } else {
+                generator.writeNumberField("id", id);
+            }
+            generator.writeNumberField("radius", radius);
+            generator.writeNumberField("count", count);
+            generator.writeStringField("abbrevCount", ClusterMapper.extractAbbrev(count));
+            if (aggregate != null) {
+                aggregate.forEachProperty(this::writeProperty);
+            }
+            writeFeatureEnd();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 집계 속성 기록 - 값은 String, Number 또는 null
+     */
+    private void writeProperty(String name, Object value) {
+        try {
+            if (value == null) {
+                generator.writeNullField(name);
+            } else if (value instanceof String) {
+                generator.writeStringField(name, (String) value);
+            } else if (value instanceof Double || value instanceof Float) {
+                generator.writeNumberField(name, ((Number) value).doubleValue());
+            } else {
+                generator.writeNumberField(name, ((Number) value).longValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Feature 시작부터 properties 객체 시작까지 기록
+     */
+    private void writeGeometry(double lng, double lat) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "Feature");
+        generator.writeObjectFieldStart("geometry");
+        generator.writeStringField("type", "Point");
+        generator.writeArrayFieldStart("coordinates");
+        generator.writeNumber(lng);
+        generator.writeNumber(lat);
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("properties");
+    }
+
+    private void writeFeatureEnd() throws IOException {
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+}
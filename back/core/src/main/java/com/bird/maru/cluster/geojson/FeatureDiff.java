@@ -0,0 +1,63 @@
+package com.bird.maru.cluster.geojson;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * 두 범위 검색 결과의 차이 - 이전 결과를 가진 클라이언트가 현재 결과를 만들기 위해 반영할 Feature <br/>
+ * added 는 (단일 포인트 : 스팟 id, 클러스터 : 클러스터 id) 기준으로 추가하거나 교체하고, removed 는 제거합니다. <br/>
+ * 클러스터는 id 가 같아도 count 나 좌표가 달라졌다면 added 에 포함됩니다. 클러스터 id 가 없는(NO_ID) 결과에는 사용할 수 없습니다.
+ */
+@Getter
+public class FeatureDiff {
+
+    private final FeatureBuffer added = new FeatureBuffer();
+    private final List<Long> removedPoints = new ArrayList<>();
+    private final List<Long> removedClusters = new ArrayList<>();
+
+    private FeatureDiff() {
+    }
+
+    public static FeatureDiff of(FeatureBuffer previous, FeatureBuffer current) {
+        FeatureDiff diff = new FeatureDiff();
+        Set<Long> previousPoints = new HashSet<>();
+        Map<Long, double[]> previousClusters = new HashMap<>();
+        previous.replay(new FeatureSink() {
+            @Override
+            public void point(double lng, double lat, long id) {
+                previousPoints.add(id);
+            }
+
+            @Override
+            public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+                previousClusters.put(id, new double[] { lng, lat, count });
+            }
+        });
+        current.replay(new FeatureSink() {
+            @Override
+            public void point(double lng, double lat, long id) {
+                if (!previousPoints.remove(id)) {
+                    diff.added.point(lng, lat, id);
+                }
+            }
+
+            @Override
+            public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+                double[] before = previousClusters.remove(id);
+                if (before == null || before[0] != lng || before[1] != lat || before[2] != count) {
+                    diff.added.cluster(lng, lat, id, count, radius, aggregate);
+                }
+            }
+        });
+        diff.removedPoints.addAll(previousPoints);
+        diff.removedClusters.addAll(previousClusters.keySet());
+        return diff;
+    }
+
+}
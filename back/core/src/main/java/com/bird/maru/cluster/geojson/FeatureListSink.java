@@ -0,0 +1,31 @@
+package com.bird.maru.cluster.geojson;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.mapper.ClusterMapper;
+import com.bird.maru.cluster.mapper.MarkerMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.wololo.geojson.Feature;
+
+/**
+ * 클러스터링 결과를 wololo Feature 목록으로 수집합니다.
+ */
+public class FeatureListSink implements FeatureSink {
+
+    private final List<Feature> features = new ArrayList<>();
+
+    @Override
+    public void point(double lng, double lat, long id) {
+        features.add(MarkerMapper.toFeature(lng, lat, id));
+    }
+
+    @Override
+    public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+        features.add(ClusterMapper.toFeature(lng, lat, id, count, radius, aggregate));
+    }
+
+    public List<Feature> getFeatures() {
+        return features;
+    }
+
+}
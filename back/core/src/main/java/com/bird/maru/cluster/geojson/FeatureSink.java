@@ -0,0 +1,37 @@
+package com.bird.maru.cluster.geojson;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+
+/**
+ * 클러스터링 결과를 Feature 객체 없이 전달받는 출력 대상 <br/>
+ * SuperCluster 는 범위 검색 결과를 인덱스 배열에서 바로 꺼내 순서대로 전달합니다.
+ */
+public interface FeatureSink {
+
+    /**
+     * 클러스터 인덱스에서 탐색할 수 없는 클러스터의 id
+     */
+    long NO_ID = -1L;
+
+    /**
+     * 단일 포인트(스팟)
+     *
+     * @param lng : 스팟 경도
+     * @param lat : 스팟 위도
+     * @param id  : 스팟 id
+     */
+    void point(double lng, double lat, long id);
+
+    /**
+     * 클러스터(다중 포인트)
+     *
+     * @param lng    : 클러스터 대표 좌표 경도
+     * @param lat    : 클러스터 대표 좌표 위도
+     * @param id     : 클러스터 id (탐색할 수 없는 클러스터는 NO_ID)
+     * @param count  : 클러스터에 포함된 마커의 수
+     * @param radius    : 현재 줌 레벨의 클러스터 반경
+     * @param aggregate : 집계 속성 (ClusterReducer 를 사용하지 않으면 null)
+     */
+    void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate);
+
+}
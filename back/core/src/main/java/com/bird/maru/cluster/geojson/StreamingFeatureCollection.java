@@ -0,0 +1,57 @@
+package com.bird.maru.cluster.geojson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * 응답 직렬화 시점에 클러스터링 결과를 응답 스트림으로 바로 기록하는 Feature 목록 <br/>
+ * 중간 Feature/Map 객체를 만들지 않고 FeatureCollectionWriter 로 기록하며, JSON 형태는 List&lt;Feature&gt; 와 동일합니다.
+ */
+public class StreamingFeatureCollection implements JsonSerializable {
+
+    private final Consumer<FeatureSink> source;
+    private final String version; // 클러스터 id 를 탐색할 수 있는 데이터 버전 토큰 - 직렬화하지 않으며, 클러스터 id 가 없는 결과는 null
+
+    public StreamingFeatureCollection(Consumer<FeatureSink> source) {
+        this(source, null);
+    }
+
+    public StreamingFeatureCollection(Consumer<FeatureSink> source, String version) {
+        this.source = source;
+        this.version = version;
+    }
+
+    public static StreamingFeatureCollection empty() {
+        return new StreamingFeatureCollection(sink -> {
+        });
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * 클러스터링 결과를 다른 출력 대상(Feature 목록 등)으로 전달
+     */
+    public void writeTo(FeatureSink sink) {
+        source.accept(sink);
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        FeatureCollectionWriter writer = new FeatureCollectionWriter(gen);
+        writer.writeStart();
+        source.accept(writer);
+        writer.writeEnd();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+}
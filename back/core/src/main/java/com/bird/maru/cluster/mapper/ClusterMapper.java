@@ -0,0 +1,60 @@
+package com.bird.maru.cluster.mapper;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.domain.model.type.GeoType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.wololo.geojson.Feature;
+import org.wololo.geojson.Point;
+
+public class ClusterMapper {
+
+    /**
+     * 클러스터링 영역 Feature 생성
+     *
+     * @param lng          : 클러스터 대표 좌표 경도
+     * @param lat          : 클러스터 대표 좌표 위도
+     * @param id           : 클러스터 id (FeatureSink.NO_ID 이면 null)
+     * @param count        : 클러스터에 포함된 마커의 수
+     * @param actualRadius : 현재 줌 레벨의 클러스터 반경
+     * @param aggregate    : 집계 속성 (없으면 null)
+     */
+    public static Feature toFeature(double lng, double lat, long id, int count, double actualRadius, ClusterAggregate aggregate) {
+        return new Feature(new Point(new double[] { lng, lat }), toProperties(id, count, actualRadius, aggregate));
+    }
+
+    /**
+     * Property 직렬화 결과와 같은 순서의 properties 생성
+     */
+    private static Map<String, Object> toProperties(long id, int count, double actualRadius, ClusterAggregate aggregate) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("geoType", GeoType.CLUSTER.name());
+        properties.put("id", id == FeatureSink.NO_ID ? null : id);
+        properties.put("radius", actualRadius);
+        properties.put("count", count);
+        properties.put("abbrevCount", extractAbbrev(count));
+        if (aggregate != null) {
+            aggregate.forEachProperty(properties::put);
+        }
+        return properties;
+    }
+
+    /**
+     * 클러스터링 영역에 포함된 마커의 수 축약어 생성
+     */
+    public static String extractAbbrev(int count) {
+        String abbrev;
+        if (count >= 1000000) {
+            abbrev = (count / 1000000) + "M";
+        } else if (count >= 10000) {
+            abbrev = (count / 1000) + "K";
+        } else if (count >= 1000) {
+            abbrev = ((count / 100) / 10) + "K";
+        } else {
+            abbrev = Integer.toString(count);
+        }
+        return abbrev;
+    }
+
+}
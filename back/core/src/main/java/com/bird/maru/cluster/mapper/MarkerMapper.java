@@ -1,34 +1,29 @@
 package com.bird.maru.cluster.mapper;
 
 import com.bird.maru.cluster.geo.Marker;
-import com.bird.maru.cluster.geo.Property;
 import com.bird.maru.domain.model.type.GeoType;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.wololo.geojson.Feature;
 import org.wololo.geojson.Point;
 
 public class MarkerMapper {
 
-    public static double[] toRawPoint(Marker marker) {
-        return new double[] { marker.getCoordinate().getLng(), marker.getCoordinate().getLat() };
-    }
-
     public static Feature toFeature(Marker marker) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        Map<String, Object> property = objectMapper.convertValue(Property.builder()
-                                                                         .geoType(GeoType.POINT)
-                                                                         .id(marker.getId())
-                                                                         .build(),
-                                                                 new TypeReference<Map<String, Object>>() {
-                                                                 }
-        );
-        return new Feature(
-                new Point(MarkerMapper.toRawPoint(marker)),
-                property
-        );
+        return toFeature(marker.getCoordinate().getLng(), marker.getCoordinate().getLat(), marker.getId());
+    }
 
+    /**
+     * 단일 포인트 Feature 생성 - Property 직렬화 결과와 같은 순서의 properties 를 사용합니다.
+     */
+    public static Feature toFeature(double lng, double lat, Long id) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("geoType", GeoType.POINT.name());
+        properties.put("id", id);
+        properties.put("radius", null);
+        properties.put("count", null);
+        properties.put("abbrevCount", null);
+        return new Feature(new Point(new double[] { lng, lat }), properties);
     }
 
-}
\ No newline at end of file
+}
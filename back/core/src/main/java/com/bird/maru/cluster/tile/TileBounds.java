@@ -0,0 +1,100 @@
+package com.bird.maru.cluster.tile;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+
+/**
+ * XYZ(Slippy Map) 타일 좌표 계산 <br/>
+ * 타일 경계 밖의 buffer 영역까지 포함하여 조회하므로, 타일 경계에 걸친 마커와 클러스터도 양쪽 타일에 모두 그려집니다.
+ */
+public class TileBounds {
+
+    public static final int MAX_ZOOM = 24;
+
+    private TileBounds() {
+    }
+
+    /**
+     * 타일 좌표 검증
+     *
+     * @throws IllegalArgumentException 존재하지 않는 타일 좌표인 경우
+     */
+    public static void validate(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new IllegalArgumentException("지원하지 않는 줌 레벨입니다. z : " + z);
+        }
+        long size = 1L << z;
+        if (x < 0 || x >= size || y < 0 || y >= size) {
+            throw new IllegalArgumentException("존재하지 않는 타일 좌표입니다. z/x/y : " + z + "/" + x + "/" + y);
+        }
+    }
+
+    /**
+     * buffer 영역을 포함한 타일 범위
+     *
+     * @param bufferRatio : 타일 한 변 대비 buffer 비율
+     */
+    public static BoundingBox toBoundingBox(int z, int x, int y, double bufferRatio) {
+        double size = Math.pow(2, z);
+        return BoundingBox.builder()
+                          .west(tileXToLng(x - bufferRatio, size))
+                          .east(tileXToLng(x + 1 + bufferRatio, size))
+                          .north(tileYToLat(Math.max(0, y - bufferRatio), size))
+                          .south(tileYToLat(Math.min(size, y + 1 + bufferRatio), size))
+                          .zoom(z)
+                          .build();
+    }
+
+    /**
+     * 경위도 범위와 겹치는 타일 범위 { minX, minY, maxX, maxY } - 타일 좌표 범위 밖은 가장자리 타일로 제한합니다.
+     */
+    public static int[] toTileRange(BoundingBox boundingBox, int z) {
+        int last = (1 << z) - 1;
+        return new int[] {
+                tileIndex(lngToTileX(boundingBox.getWest(), z), last),
+                tileIndex(latToTileY(Math.min(90, boundingBox.getNorth()), z), last),
+                tileIndex(lngToTileX(boundingBox.getEast(), z), last),
+                tileIndex(latToTileY(Math.max(-90, boundingBox.getSouth()), z), last)
+        };
+    }
+
+    /**
+     * 경도 -> 타일 x 좌표 (소수점 포함)
+     */
+    public static double lngToTileX(double lng, int z) {
+        return (lng / 360 + 0.5) * Math.pow(2, z);
+    }
+
+    /**
+     * 위도 -> 타일 y 좌표 (소수점 포함)
+     */
+    public static double latToTileY(double lat, int z) {
+        double sin = Math.sin(Math.toRadians(lat));
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return Math.max(0, Math.min(1, y)) * Math.pow(2, z);
+    }
+
+    /**
+     * 좌표가 반열린 타일 범위 [x, x+1) x [y, y+1) 에 속하는지 여부 - 모든 좌표는 한 타일에만 속합니다.
+     */
+    public static boolean contains(int z, int x, int y, double lng, double lat) {
+        double tx = lngToTileX(lng, z);
+        double ty = latToTileY(lat, z);
+        double last = Math.pow(2, z) - 1;
+        // 지도 끝(경도 180, 최남단)은 마지막 타일에 포함
+        return (Math.floor(tx) == x || (tx == last + 1 && x == last))
+                && (Math.floor(ty) == y || (ty == last + 1 && y == last));
+    }
+
+    private static int tileIndex(double tile, int last) {
+        return (int) Math.max(0, Math.min(last, Math.floor(tile)));
+    }
+
+    private static double tileXToLng(double x, double size) {
+        return x / size * 360 - 180;
+    }
+
+    private static double tileYToLat(double y, double size) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y / size))));
+    }
+
+}
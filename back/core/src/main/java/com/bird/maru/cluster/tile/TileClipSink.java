@@ -0,0 +1,42 @@
+package com.bird.maru.cluster.tile;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.geojson.FeatureSink;
+
+/**
+ * 타일 범위 [x, x+1) x [y, y+1) 에 속한 Feature 만 전달합니다. <br/>
+ * 범위 검색은 경계를 포함하므로, 인접 타일을 이어 붙일 때 경계 위의 Feature 가 중복되지 않도록 반열린 구간으로 자릅니다.
+ */
+public class TileClipSink implements FeatureSink {
+
+    private final FeatureSink sink;
+    private final int z;
+    private final int x;
+    private final int y;
+
+    public TileClipSink(FeatureSink sink, int z, int x, int y) {
+        this.sink = sink;
+        this.z = z;
+        this.x = x;
+        this.y = y;
+    }
+
+    @Override
+    public void point(double lng, double lat, long id) {
+        if (contains(lng, lat)) {
+            sink.point(lng, lat, id);
+        }
+    }
+
+    @Override
+    public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+        if (contains(lng, lat)) {
+            sink.cluster(lng, lat, id, count, radius, aggregate);
+        }
+    }
+
+    private boolean contains(double lng, double lat) {
+        return TileBounds.contains(z, x, y, lng, lat);
+    }
+
+}
@@ -0,0 +1,289 @@
+package com.bird.maru.cluster.tile;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.mapper.ClusterMapper;
+import com.bird.maru.cluster.util.IntList;
+import com.bird.maru.domain.model.type.GeoType;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 클러스터링 결과를 Mapbox Vector Tile(v2) 로 인코딩합니다. <br/>
+ * 단일 포인트는 points 레이어, 클러스터는 clusters 레이어에 기록하며 속성은 Property 와 동일합니다. <br/>
+ * (geoType, id, radius, count, abbrevCount, 클러스터 집계 속성 - 값이 없는 속성은 생략, 클러스터 id 는 Feature id 로도 기록)
+ */
+public class VectorTileWriter implements FeatureSink {
+
+    public static final String MEDIA_TYPE = "application/vnd.mapbox-vector-tile";
+    public static final String POINT_LAYER = "points";
+    public static final String CLUSTER_LAYER = "clusters";
+    public static final int EXTENT = 4096;
+    public static final int BUFFER = 64;
+
+    private static final String[] KEYS = { "geoType", "id", "radius", "count", "abbrevCount" };
+    private static final int KEY_GEO_TYPE = 0;
+    private static final int KEY_ID = 1;
+    private static final int KEY_RADIUS = 2;
+    private static final int KEY_COUNT = 3;
+    private static final int KEY_ABBREV_COUNT = 4;
+
+    private static final int GEOM_TYPE_POINT = 1;
+    private static final int MOVE_TO_ONE = (1 & 0x7) | (1 << 3);
+
+    private final double scale;
+    private final int tileX;
+    private final int tileY;
+    private final Layer points = new Layer(POINT_LAYER);
+    private final Layer clusters = new Layer(CLUSTER_LAYER);
+
+    public VectorTileWriter(int z, int x, int y) {
+        this.scale = Math.pow(2, z);
+        this.tileX = x;
+        this.tileY = y;
+    }
+
+    /**
+     * buffer 를 포함한 조회 범위 - 타일 한 변 대비 BUFFER / EXTENT
+     */
+    public static double bufferRatio() {
+        return (double) BUFFER / EXTENT;
+    }
+
+    @Override
+    public void point(double lng, double lat, long id) {
+        int px = projectX(lng);
+        int py = projectY(lat);
+        if (isOutside(px, py)) {
+            return;
+        }
+        int[] tags = {
+                KEY_GEO_TYPE, points.stringValue(GeoType.POINT.name()),
+                KEY_ID, points.uintValue(id)
+        };
+        points.addFeature(id, tags, px, py);
+    }
+
+    @Override
+    public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+        int px = projectX(lng);
+        int py = projectY(lat);
+        if (isOutside(px, py)) {
+            return;
+        }
+        IntList tags = new IntList(16);
+        addTag(tags, KEY_GEO_TYPE, clusters.stringValue(GeoType.CLUSTER.name()));
+        if (id != NO_ID) {
+            addTag(tags, KEY_ID, clusters.uintValue(id));
+        }
+        addTag(tags, KEY_RADIUS, clusters.doubleValue(radius));
+        addTag(tags, KEY_COUNT, clusters.uintValue(count));
+        addTag(tags, KEY_ABBREV_COUNT, clusters.stringValue(ClusterMapper.extractAbbrev(count)));
+        if (aggregate != null) {
+            aggregate.forEachProperty((name, value) -> {
+                if (value != null) {
+                    addTag(tags, clusters.keyIndex(name), clusters.value(value));
+                }
+            });
+        }
+        clusters.addFeature(id, tags.toArray(), px, py);
+    }
+
+    private void addTag(IntList tags, int key, int value) {
+        tags.add(key);
+        tags.add(value);
+    }
+
+    /**
+     * Tile 메시지 인코딩 - 비어있는 레이어는 생략합니다.
+     */
+    public byte[] toByteArray() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            points.writeTo(out);
+            clusters.writeTo(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int projectX(double lng) {
+        return (int) Math.round(((lng / 360 + 0.5) * scale - tileX) * EXTENT);
+    }
+
+    private int projectY(double lat) {
+        double sin = Math.sin(Math.toRadians(lat));
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return (int) Math.round((y * scale - tileY) * EXTENT);
+    }
+
+    private boolean isOutside(int px, int py) {
+        return px < -BUFFER || px > EXTENT + BUFFER || py < -BUFFER || py > EXTENT + BUFFER;
+    }
+
+    /**
+     * Layer 메시지 - features 와 values 는 추가되는 즉시 인코딩해둡니다.
+     */
+    private static class Layer {
+
+        private final String name;
+        private final ByteArrayOutputStream featureBytes = new ByteArrayOutputStream();
+        private final CodedOutputStream features = CodedOutputStream.newInstance(featureBytes);
+        private final ByteArrayOutputStream valueBytes = new ByteArrayOutputStream();
+        private final CodedOutputStream values = CodedOutputStream.newInstance(valueBytes);
+        private final Map<Object, Integer> valueIndexes = new HashMap<>();
+        private final List<String> keys = new ArrayList<>(Arrays.asList(KEYS));
+        private int featureCount;
+
+        private Layer(String name) {
+            this.name = name;
+        }
+
+        private void addFeature(long id, int[] tags, int px, int py) {
+            try {
+                int tagsSize = 0;
+                for (int tag : tags) {
+                    tagsSize += CodedOutputStream.computeUInt32SizeNoTag(tag);
+                }
+                int geometrySize = CodedOutputStream.computeUInt32SizeNoTag(MOVE_TO_ONE)
+                        + CodedOutputStream.computeSInt32SizeNoTag(px)
+                        + CodedOutputStream.computeSInt32SizeNoTag(py);
+                int size = (id >= 0 ? CodedOutputStream.computeUInt64Size(1, id) : 0)
+                        + CodedOutputStream.computeTagSize(2) + CodedOutputStream.computeUInt32SizeNoTag(tagsSize) + tagsSize
+                        + CodedOutputStream.computeEnumSize(3, GEOM_TYPE_POINT)
+                        + CodedOutputStream.computeTagSize(4) + CodedOutputStream.computeUInt32SizeNoTag(geometrySize) + geometrySize;
+
+                features.writeTag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                features.writeUInt32NoTag(size);
+                if (id >= 0) {
+                    features.writeUInt64(1, id);
+                }
+                features.writeTag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                features.writeUInt32NoTag(tagsSize);
+                for (int tag : tags) {
+                    features.writeUInt32NoTag(tag);
+                }
+                features.writeEnum(3, GEOM_TYPE_POINT);
+                features.writeTag(4, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                features.writeUInt32NoTag(geometrySize);
+                features.writeUInt32NoTag(MOVE_TO_ONE);
+                features.writeSInt32NoTag(px);
+                features.writeSInt32NoTag(py);
+                featureCount++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private int stringValue(String value) {
+            return valueIndex(value, CodedOutputStream.computeStringSize(1, value), out -> out.writeString(1, value));
+        }
+
+        /**
+         * 기본 속성(KEYS) 외의 집계 속성 이름은 처음 사용될 때 keys 에 추가합니다.
+         */
+        private int keyIndex(String key) {
+            int index = keys.indexOf(key);
+            if (index < 0) {
+                keys.add(key);
+                index = keys.size() - 1;
+            }
+            return index;
+        }
+
+        /**
+         * 집계 속성 값 - String, Number
+         */
+        private int value(Object value) {
+            if (value instanceof String) {
+                return stringValue((String) value);
+            }
+            if (value instanceof Double || value instanceof Float) {
+                return doubleValue(((Number) value).doubleValue());
+            }
+            long number = ((Number) value).longValue();
+            return number < 0 ? sintValue(number) : uintValue(number);
+        }
+
+        private int doubleValue(double value) {
+            return valueIndex(value, CodedOutputStream.computeDoubleSize(3, value), out -> out.writeDouble(3, value));
+        }
+
+        private int uintValue(long value) {
+            return valueIndex(value, CodedOutputStream.computeUInt64Size(5, value), out -> out.writeUInt64(5, value));
+        }
+
+        private int sintValue(long value) {
+            return valueIndex(value, CodedOutputStream.computeSInt64Size(6, value), out -> out.writeSInt64(6, value));
+        }
+
+        /**
+         * 같은 값은 values 에 한 번만 기록하고 index 를 재사용합니다.
+         */
+        private int valueIndex(Object key, int size, ValueEncoder encoder) {
+            Integer index = valueIndexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            try {
+                values.writeTag(4, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                values.writeUInt32NoTag(size);
+                encoder.encode(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            index = valueIndexes.size();
+            valueIndexes.put(key, index);
+            return index;
+        }
+
+        private void writeTo(CodedOutputStream out) throws IOException {
+            if (featureCount == 0) {
+                return;
+            }
+            features.flush();
+            values.flush();
+            int keysSize = 0;
+            for (String key : keys) {
+                keysSize += CodedOutputStream.computeStringSize(3, key);
+            }
+            int size = CodedOutputStream.computeUInt32Size(15, 2)
+                    + CodedOutputStream.computeStringSize(1, name)
+                    + featureBytes.size()
+                    + keysSize
+                    + valueBytes.size()
+                    + CodedOutputStream.computeUInt32Size(5, EXTENT);
+
+            out.writeTag(3, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(size);
+            out.writeUInt32(15, 2);
+            out.writeString(1, name);
+            out.writeRawBytes(featureBytes.toByteArray());
+            for (String key : keys) {
+                out.writeString(3, key);
+            }
+            out.writeRawBytes(valueBytes.toByteArray());
+            out.writeUInt32(5, EXTENT);
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface ValueEncoder {
+
+        void encode(CodedOutputStream out) throws IOException;
+
+    }
+
+}
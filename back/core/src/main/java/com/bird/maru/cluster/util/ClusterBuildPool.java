@@ -0,0 +1,47 @@
+package com.bird.maru.cluster.util;
+
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 클러스터 병렬 구성 전용 ForkJoinPool <br/>
+ * 공용 pool(parallel stream 등)과 분리하여, 대량 포인트 구성이 다른 병렬 작업의 스레드를 점유하지 않도록 합니다. <br/>
+ * 병렬 구성은 선택 사항이며(cluster.build.parallel), 포인트 수가 기준 이상일 때만 사용합니다.
+ */
+@Component
+public class ClusterBuildPool {
+
+    private final boolean parallel;
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    public ClusterBuildPool(
+            @Value("${cluster.build.parallel}") boolean parallel,
+            @Value("${cluster.build.parallelism}") int parallelism,
+            @Value("${cluster.build.parallelThreshold}") int threshold
+    ) {
+        this.parallel = parallel;
+        this.threshold = threshold;
+        this.pool = parallel ? new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()) : null;
+    }
+
+    /**
+     * 포인트 수에 따른 구성 pool
+     *
+     * @param size : 클러스터링할 포인트 수
+     * @return 병렬 구성 pool (병렬 구성을 사용하지 않으면 null)
+     */
+    public ForkJoinPool forSize(int size) {
+        return parallel && size >= threshold ? pool : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.bird.maru.cluster.util;
+
+import java.util.Arrays;
+
+/**
+ * 박싱 없이 int 값을 담는 가변 길이 리스트 <br/>
+ * KD 트리 탐색 스택과 검색 결과 버퍼로 재사용하기 위해 clear() 시 내부 배열을 유지합니다.
+ */
+public class IntList {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntList(int capacity) {
+        this.values = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * 마지막 값을 꺼냅니다. 스택으로 사용할 때 호출합니다.
+     */
+    public int pop() {
+        return values[--size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+}
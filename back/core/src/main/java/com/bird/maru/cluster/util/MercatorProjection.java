@@ -0,0 +1,31 @@
+package com.bird.maru.cluster.util;
+
+/**
+ * Web Mercator 정규화 좌표 변환 - 경위도를 [0, 1] 범위의 평면 좌표 (x, y) 로 투영합니다. <br/>
+ * 클러스터 구성 설정(cluster.crs)과 무관하므로, 쓰기 시점에 미리 계산하여 저장하는 투영 좌표에도 사용합니다.
+ */
+public final class MercatorProjection {
+
+    private MercatorProjection() {
+    }
+
+    public static double lngToX(double lng) {
+        return lng / 360 + 0.5;
+    }
+
+    public static double latToY(double lat) {
+        double sin = Math.sin(lat * Math.PI / 180);
+        double y = (0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI);
+        return y < 0 ? 0 : y > 1 ? 1 : y;
+    }
+
+    public static double xToLng(double x) {
+        return (x - 0.5) * 360;
+    }
+
+    public static double yToLat(double y) {
+        double y2 = (180 - y * 360) * Math.PI / 180;
+        return 360 * Math.atan(Math.exp(y2)) / Math.PI - 90;
+    }
+
+}
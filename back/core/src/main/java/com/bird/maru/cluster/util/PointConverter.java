@@ -1,6 +1,8 @@
 package com.bird.maru.cluster.util;
 
+import com.bird.maru.cluster.geo.Marker;
 import com.bird.maru.domain.model.type.CoordinateSystem;
+import com.bird.maru.domain.model.type.ProjectedCoordinate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -11,34 +13,53 @@ public class PointConverter {
     private CoordinateSystem crs;
 
     public double convertLngToX(double lng) {
-        if (crs.equals(CoordinateSystem.MERCATOR)) {
-            return lng / 360 + 0.5;
+        if (crs == CoordinateSystem.MERCATOR) {
+            return MercatorProjection.lngToX(lng);
         }
         return lng;
     }
 
     public double convertLatToY(double lat) {
-        if (crs.equals(CoordinateSystem.MERCATOR)) {
-            double sin = Math.sin(lat * Math.PI / 180);
-            double y = (0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI);
-            return y < 0 ? 0 : y > 1 ? 1 : y;
+        if (crs == CoordinateSystem.MERCATOR) {
+            return MercatorProjection.latToY(lat);
         }
         return lat;
     }
 
     public double convertXToLng(double x) {
-        if (crs.equals(CoordinateSystem.MERCATOR)) {
-            return (x - 0.5) * 360;
+        if (crs == CoordinateSystem.MERCATOR) {
+            return MercatorProjection.xToLng(x);
         }
         return x;
     }
 
     public double convertYToLat(double y) {
-        if (crs.equals(CoordinateSystem.MERCATOR)) {
-            double y2 = (180 - y * 360) * Math.PI / 180;
-            return 360 * Math.atan(Math.exp(y2)) / Math.PI - 90;
+        if (crs == CoordinateSystem.MERCATOR) {
+            return MercatorProjection.yToLat(y);
         }
         return y;
     }
 
+    /**
+     * 마커의 평면 x 좌표 - 쓰기 시점에 미리 투영된 좌표가 있으면 다시 계산하지 않습니다.
+     */
+    public double convertToX(Marker marker) {
+        ProjectedCoordinate projected = marker.getProjected();
+        if (crs == CoordinateSystem.MERCATOR && projected != null && projected.getX() != null) {
+            return projected.getX();
+        }
+        return convertLngToX(marker.getCoordinate().getLng());
+    }
+
+    /**
+     * 마커의 평면 y 좌표 - 쓰기 시점에 미리 투영된 좌표가 있으면 다시 계산하지 않습니다.
+     */
+    public double convertToY(Marker marker) {
+        ProjectedCoordinate projected = marker.getProjected();
+        if (crs == CoordinateSystem.MERCATOR && projected != null && projected.getY() != null) {
+            return projected.getY();
+        }
+        return convertLatToY(marker.getCoordinate().getLat());
+    }
+
 }
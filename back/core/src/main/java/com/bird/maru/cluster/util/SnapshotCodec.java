@@ -0,0 +1,68 @@
+package com.bird.maru.cluster.util;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 클러스터 인덱스 스냅샷 파일의 값 인코딩 <br/>
+ * 기록은 DataOutput(big-endian), 조회는 메모리 매핑된 ByteBuffer(big-endian)의 절대 위치 읽기로 수행합니다.
+ */
+public final class SnapshotCodec {
+
+    public static final int DATE_TIME_BYTES = 12;
+    private static final long NULL_DATE_TIME = Long.MIN_VALUE;
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * 초(long), 나노초(int) - null 이면 초 자리에 Long.MIN_VALUE
+     */
+    public static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeLong(value == null ? NULL_DATE_TIME : value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value == null ? 0 : value.getNano());
+    }
+
+    public static LocalDateTime readDateTime(ByteBuffer in, int offset) {
+        long seconds = in.getLong(offset);
+        return seconds == NULL_DATE_TIME ? null : LocalDateTime.ofEpochSecond(seconds, in.getInt(offset + 8), ZoneOffset.UTC);
+    }
+
+    /**
+     * 길이(int, null 이면 -1), UTF-8 바이트
+     */
+    public static void writeUrl(DataOutput out, URL value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static int urlBytes(URL value) {
+        return value == null ? 4 : 4 + value.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    public static URL readUrl(ByteBuffer in, int offset) {
+        int length = in.getInt(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.duplicate().position(offset + 4).get(bytes);
+        try {
+            return new URL(new String(bytes, StandardCharsets.UTF_8));
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException("스냅샷에 기록된 URL 형식이 올바르지 않습니다.", e);
+        }
+    }
+
+}
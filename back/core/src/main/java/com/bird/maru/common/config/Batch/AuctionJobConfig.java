@@ -9,6 +9,7 @@ import com.bird.maru.domain.model.entity.Auction;
 import com.bird.maru.domain.model.entity.AuctionLog;
 import com.bird.maru.domain.model.entity.Landmark;
 import com.bird.maru.landmark.repository.LandmarkRepository;
+import com.bird.maru.landmark.service.event.LandmarkChangedEvent;
 import com.bird.maru.point.service.PointService;
 import java.time.LocalDate;
 import java.util.Collections;
@@ -33,6 +34,7 @@ import org.springframework.batch.item.data.RepositoryItemWriter;
 import org.springframework.batch.item.data.builder.RepositoryItemReaderBuilder;
 import org.springframework.batch.item.data.builder.RepositoryItemWriterBuilder;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -53,6 +55,7 @@ public class AuctionJobConfig {
     private final AuctionRepository auctionRepository;
     private final AuctionLogService auctionService;
     private final PointService pointService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Bean
     public Job auctionLogsJob(
@@ -110,6 +113,7 @@ public class AuctionJobConfig {
                         item.changeOwner(0L);
                     }
             );
+            eventPublisher.publishEvent(LandmarkChangedEvent.of(item));
             return item;
         };
     }
@@ -0,0 +1,149 @@
+package com.bird.maru.common.config.Batch;
+
+import com.bird.maru.domain.model.entity.Landmark;
+import com.bird.maru.domain.model.entity.Spot;
+import com.bird.maru.landmark.repository.LandmarkRepository;
+import com.bird.maru.spot.repository.SpotRepository;
+import java.util.Collections;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.data.RepositoryItemReader;
+import org.springframework.batch.item.data.RepositoryItemWriter;
+import org.springframework.batch.item.data.builder.RepositoryItemReaderBuilder;
+import org.springframework.batch.item.data.builder.RepositoryItemWriterBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort.Direction;
+
+/**
+ * 투영 좌표 도입 이전에 저장된 스팟/랜드마크의 투영 좌표(ProjectedCoordinate) 채우기 <br/>
+ * 한 번만 실행하면 되는 작업이므로 스케줄링하지 않습니다. <br/>
+ * 실행 : --spring.batch.job.enabled=true --job.name=coordinateProjectionJob <br/>
+ * 조건으로 조회하면 처리한 행이 조회 대상에서 빠지며 페이지가 밀리므로, 전체를 id 순으로 조회하고 이미 투영된 행은 건너뜁니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CoordinateProjectionJobConfig {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JobBuilderFactory jobBuilderFactory;
+    private final StepBuilderFactory stepBuilderFactory;
+    private final SpotRepository spotRepository;
+    private final LandmarkRepository landmarkRepository;
+
+    @Bean
+    public Job coordinateProjectionJob(Step spotProjectionStep, Step landmarkProjectionStep) {
+        return jobBuilderFactory.get("coordinateProjectionJob")
+                                .incrementer(new RunIdIncrementer())
+                                .start(spotProjectionStep)
+                                .next(landmarkProjectionStep)
+                                .build();
+    }
+
+    @JobScope
+    @Bean
+    public Step spotProjectionStep(
+            ItemReader<Spot> spotProjectionReader,
+            ItemProcessor<Spot, Spot> spotProjectionProcessor,
+            ItemWriter<Spot> spotProjectionWriter
+    ) {
+        return stepBuilderFactory.get("spotProjectionStep")
+                                 .<Spot, Spot>chunk(CHUNK_SIZE)
+                                 .reader(spotProjectionReader)
+                                 .processor(spotProjectionProcessor)
+                                 .writer(spotProjectionWriter)
+                                 .build();
+    }
+
+    @StepScope
+    @Bean
+    public RepositoryItemReader<Spot> spotProjectionReader() {
+        return new RepositoryItemReaderBuilder<Spot>()
+                .name("spotProjectionReader")
+                .repository(spotRepository)
+                .methodName("findAll")
+                .pageSize(CHUNK_SIZE)
+                .sorts(Collections.singletonMap("id", Direction.ASC))
+                .build();
+    }
+
+    @StepScope
+    @Bean
+    public ItemProcessor<Spot, Spot> spotProjectionProcessor() {
+        return spot -> {
+            if (spot.isProjected()) {
+                return null;
+            }
+            spot.project();
+            return spot;
+        };
+    }
+
+    @StepScope
+    @Bean
+    public RepositoryItemWriter<Spot> spotProjectionWriter() {
+        return new RepositoryItemWriterBuilder<Spot>()
+                .repository(spotRepository)
+                .methodName("save")
+                .build();
+    }
+
+    @JobScope
+    @Bean
+    public Step landmarkProjectionStep(
+            ItemReader<Landmark> landmarkProjectionReader,
+            ItemProcessor<Landmark, Landmark> landmarkProjectionProcessor,
+            ItemWriter<Landmark> landmarkProjectionWriter
+    ) {
+        return stepBuilderFactory.get("landmarkProjectionStep")
+                                 .<Landmark, Landmark>chunk(CHUNK_SIZE)
+                                 .reader(landmarkProjectionReader)
+                                 .processor(landmarkProjectionProcessor)
+                                 .writer(landmarkProjectionWriter)
+                                 .build();
+    }
+
+    @StepScope
+    @Bean
+    public RepositoryItemReader<Landmark> landmarkProjectionReader() {
+        return new RepositoryItemReaderBuilder<Landmark>()
+                .name("landmarkProjectionReader")
+                .repository(landmarkRepository)
+                .methodName("findAll")
+                .pageSize(CHUNK_SIZE)
+                .sorts(Collections.singletonMap("id", Direction.ASC))
+                .build();
+    }
+
+    @StepScope
+    @Bean
+    public ItemProcessor<Landmark, Landmark> landmarkProjectionProcessor() {
+        return landmark -> {
+            if (landmark.isProjected()) {
+                return null;
+            }
+            landmark.project();
+            return landmark;
+        };
+    }
+
+    @StepScope
+    @Bean
+    public RepositoryItemWriter<Landmark> landmarkProjectionWriter() {
+        return new RepositoryItemWriterBuilder<Landmark>()
+                .repository(landmarkRepository)
+                .methodName("save")
+                .build();
+    }
+
+}
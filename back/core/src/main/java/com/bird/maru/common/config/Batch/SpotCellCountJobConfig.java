@@ -0,0 +1,75 @@
+package com.bird.maru.common.config.Batch;
+
+import com.bird.maru.domain.model.entity.SpotCellCount;
+import com.bird.maru.map.cell.SpotCellCountBuffer;
+import com.bird.maru.map.cell.SpotCellGrid;
+import com.bird.maru.map.repository.SpotCellCountJDBCRepository;
+import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+
+/**
+ * 격자 스팟 수(spot_cell_counts) 재집계 <br/>
+ * 스팟 등록/삭제 시의 증감이 누락되거나 어긋난 경우를 바로잡기 위해, 전체 스팟을 다시 집계하여 현재 테이블과의 차이를 증감분으로 더합니다. <br/>
+ * 스팟과 현재 테이블은 step 트랜잭션(REPEATABLE READ)의 같은 스냅샷에서 읽고, 배치 도중 반영된 증감분(bulkAddCounts)은 덮어쓰지 않고 유지됩니다. <br/>
+ * 스팟 등록/삭제의 증감분은 커밋 이후 SpotCellCountBuffer 에 모였다가 반영되므로, 읽기 전에 현재 노드의 버퍼를 같은 트랜잭션에서 먼저 반영합니다. <br/>
+ * 다른 노드의 버퍼에 남은 증감분은 이번 보정과 겹쳐 어긋날 수 있으며, 다음 재집계에서 바로잡힙니다. <br/>
+ * 스케줄 : MapJobRunner, 최초 적재 : --spring.batch.job.enabled=true --job.name=spotCellCountJob
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class SpotCellCountJobConfig {
+
+    private final JobBuilderFactory jobBuilderFactory;
+    private final StepBuilderFactory stepBuilderFactory;
+    private final SpotCustomQueryRepository spotCustomQueryRepository;
+    private final SpotCellCountJDBCRepository spotCellCountJDBCRepository;
+    private final SpotCellCountBuffer spotCellCountBuffer;
+
+    @Bean
+    public Job spotCellCountJob(Step spotCellCountStep) {
+        return jobBuilderFactory.get("spotCellCountJob")
+                                .incrementer(new RunIdIncrementer())
+                                .start(spotCellCountStep)
+                                .build();
+    }
+
+    @JobScope
+    @Bean
+    public Step spotCellCountStep() {
+        return stepBuilderFactory.get("spotCellCountStep")
+                                 .tasklet((contribution, chunkContext) -> {
+                                     spotCellCountBuffer.flush();
+                                     List<SpotCellCount> counts = SpotCellGrid.aggregate(spotCustomQueryRepository.findAllMarkers());
+                                     List<SpotCellCount> corrections = SpotCellGrid.corrections(counts, spotCellCountJDBCRepository.findAll());
+                                     spotCellCountJDBCRepository.reconcile(corrections);
+                                     log.info("격자 스팟 수 재집계 완료 : {} 칸, 보정 : {} 칸", counts.size(), corrections.size());
+                                     return RepeatStatus.FINISHED;
+                                 })
+                                 .transactionAttribute(snapshotTransaction())
+                                 .build();
+    }
+
+    /**
+     * 스팟과 현재 테이블을 같은 스냅샷에서 읽기 위한 step 트랜잭션
+     */
+    private DefaultTransactionAttribute snapshotTransaction() {
+        DefaultTransactionAttribute attribute = new DefaultTransactionAttribute();
+        attribute.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return attribute;
+    }
+
+}
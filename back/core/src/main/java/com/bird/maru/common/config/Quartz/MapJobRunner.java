@@ -0,0 +1,32 @@
+package com.bird.maru.common.config.Quartz;
+
+import lombok.RequiredArgsConstructor;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class MapJobRunner extends JobRunner {
+
+    private final Scheduler scheduler;
+
+    @Override
+    protected void doRun(ApplicationArguments args) {
+        JobDetail spotCellCountJobDetail = buildJobDetail(MapQuartzJob.class, "spotCellCountJob", "batch", new JobDataMap());
+        spotCellCountJobDetail.getJobDataMap().put("jobName", "spotCellCountJob");
+
+        Trigger spotCellCountTrigger = buildJobTrigger("0 0 4 ? * *"); // 매일 04:00 격자 스팟 수 재집계
+
+        try {
+            scheduler.scheduleJob(spotCellCountJobDetail, spotCellCountTrigger);
+        } catch (SchedulerException e) {
+            e.printStackTrace();
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.bird.maru.common.config.Quartz;
+
+import java.util.Date;
+import lombok.SneakyThrows;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MapQuartzJob extends QuartzJobBean {
+
+    private final JobLauncher jobLauncher;
+    private final Job spotCellCountJob;
+
+    public MapQuartzJob(JobLauncher jobLauncher, Job spotCellCountJob) {
+        this.jobLauncher = jobLauncher;
+        this.spotCellCountJob = spotCellCountJob;
+    }
+
+    /**
+     * 지도 집계 배치 실행 : 스케줄링된 이벤트가 발생할때마다 한번씩 호출된다.
+     */
+    @SneakyThrows
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLong("id", new Date().getTime())
+                .toJobParameters();
+
+        String jobName = context.getJobDetail().getJobDataMap().getString("jobName");
+
+        if (jobName.equals("spotCellCountJob")) {
+            jobLauncher.run(spotCellCountJob, jobParameters);
+        }
+    }
+
+}
@@ -1,8 +1,12 @@
 package com.bird.maru.common.config;
 
+import com.bird.maru.common.util.MbrContainsFunction;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import javax.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,4 +21,13 @@ public class QueryDslConfig {
         return new JPAQueryFactory(entityManager);
     }
 
+    /**
+     * JPQL 에서 사용할 MySQL 공간 함수 등록 (MbrContainsFunction 참고)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer spatialFunctionCustomizer() {
+        MetadataBuilderContributor contributor = metadataBuilder -> metadataBuilder.applySqlFunction(MbrContainsFunction.NAME, new MbrContainsFunction());
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.METADATA_BUILDER_CONTRIBUTOR, contributor);
+    }
+
 }
@@ -81,6 +81,8 @@ public class SecurityConfig {
         // 인증/인가 설정 추가
         http.authorizeRequests(
                 request -> request.antMatchers("/api/health").permitAll()
+                                  // 노드 간 샤드 조회는 cluster.shard.secret 으로 확인합니다.
+                                  .antMatchers("/internal/**").permitAll()
                                   .anyRequest().authenticated()
         );
 
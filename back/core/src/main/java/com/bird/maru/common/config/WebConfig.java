@@ -1,8 +1,11 @@
 package com.bird.maru.common.config;
 
+import com.bird.maru.common.config.converter.CompactFeatureHttpMessageConverter;
 import com.bird.maru.common.config.converter.StringToEnumConverterFactory;
+import java.util.List;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -17,6 +20,14 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addConverterFactory(new StringToEnumConverterFactory());
     }
 
+    /**
+     * 지도 Feature 압축 바이너리 응답 - 기본 변환기 뒤에 추가하므로 JSON 이 기본 응답 형식입니다.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CompactFeatureHttpMessageConverter());
+    }
+
     /**
      * sockJS 사용 시 cors 설정
      */
@@ -7,7 +7,8 @@ import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 /**
- * 특정 랜드마크에 대한 최대 입찰 가격을 주고 받는 Stomp 웹소켓
+ * 특정 랜드마크에 대한 최대 입찰 가격을 주고 받는 Stomp 웹소켓 <br/>
+ * 지도 실시간 갱신(MapLiveController)은 세션별 목적지 /user/queue/map/spots 로 전달합니다.
  */
 @Configuration
 @EnableWebSocketMessageBroker
@@ -17,7 +18,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 해당 주소를 구독하고 있는 사용자들에게 메시지 전달
         // api에 /bidding이 붙을 경우 messageBroker가 해당 경로를 가로챔
-        registry.enableSimpleBroker("/bidding");
+        // /queue 는 세션별 목적지 (/user/queue/... 로 구독)
+        registry.enableSimpleBroker("/bidding", "/queue");
         // 사용자들이 보낸 메시지를 받을 prefix -> /app/bid 에서 /app을 떼고 @MessageMapping으로 /bid 전달
         registry.setApplicationDestinationPrefixes("/app");
     }
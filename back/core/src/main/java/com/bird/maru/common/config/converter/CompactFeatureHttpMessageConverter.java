@@ -0,0 +1,48 @@
+package com.bird.maru.common.config.converter;
+
+import com.bird.maru.cluster.compact.CompactFeatureWriter;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Accept : application/vnd.maru.features 요청에 StreamingFeatureCollection 응답을 압축 바이너리 형식으로 기록합니다. <br/>
+ * JSON 변환기 뒤에 등록하므로 Accept 를 지정하지 않은 요청은 기존과 같이 JSON 으로 응답합니다. (응답 전용)
+ */
+public class CompactFeatureHttpMessageConverter extends AbstractHttpMessageConverter<StreamingFeatureCollection> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(CompactFeatureWriter.MEDIA_TYPE);
+
+    public CompactFeatureHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StreamingFeatureCollection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StreamingFeatureCollection readInternal(Class<? extends StreamingFeatureCollection> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("압축 Feature 형식은 응답 전용입니다.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(StreamingFeatureCollection features, HttpOutputMessage outputMessage) throws IOException {
+        CompactFeatureWriter writer = new CompactFeatureWriter();
+        features.writeTo(writer);
+        byte[] data = writer.toByteArray();
+        outputMessage.getHeaders().setContentLength(data.length);
+        outputMessage.getBody().write(data);
+    }
+
+}
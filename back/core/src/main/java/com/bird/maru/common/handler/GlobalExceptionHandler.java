@@ -4,6 +4,7 @@ import com.bird.maru.common.exception.NotEnoughMoneyException;
 import com.bird.maru.common.exception.ResourceConflictException;
 import com.bird.maru.common.exception.ResourceNotFoundException;
 import javax.naming.AuthenticationException;
+import javax.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -26,7 +27,7 @@ public class GlobalExceptionHandler {
         headers.setContentType(MediaType.APPLICATION_JSON);
     }
 
-    @ExceptionHandler({ IllegalArgumentException.class, NotEnoughMoneyException.class })
+    @ExceptionHandler({ IllegalArgumentException.class, NotEnoughMoneyException.class, ConstraintViolationException.class })
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleBadRequest(Exception e) {
         return responseError(e.getMessage(), HttpStatus.BAD_REQUEST);
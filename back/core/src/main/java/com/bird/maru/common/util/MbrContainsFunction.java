@@ -0,0 +1,52 @@
+package com.bird.maru.common.util;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import org.hibernate.QueryException;
+import org.hibernate.dialect.function.SQLFunction;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
+
+/**
+ * JPQL 함수 mbr_contains(polygon, location, 1) - MySQL 공간 인덱스 범위 조건 MBRContains 로 렌더링합니다. <br/>
+ * Hibernate 5 의 JPQL 은 함수 호출만으로 된 조건을 허용하지 않으므로, SpatialUtil.mbrContains 는 항상 "mbr_contains(?, location, 1) = 1" 로 비교합니다. <br/>
+ * MBRContains(...) = 1 은 공간 인덱스 범위 조건으로 인식되지 않으므로, 이 함수는 완결된 조건 "MBRContains(...) AND 1" 을 렌더링하여 "... AND 1 = 1" 이 되게 합니다. <br/>
+ * 렌더링 결과는 뒤에 "= 1" 이 붙는 WHERE 조건에서만 올바르므로, SpatialUtil.mbrContains 가 만드는 호출 형태(바인딩된 영역, 컬럼, 비교 상수 1)가 아니면 거부합니다. <br/>
+ * SELECT, ORDER BY 등 다른 위치에서는 사용하지 않습니다. 생성 SQL 은 SpatialUtilTest 에서 확인합니다.
+ */
+public class MbrContainsFunction implements SQLFunction {
+
+    public static final String NAME = "mbr_contains";
+    static final String COMPARED = "1"; // JPQL 에서 함수 결과와 비교하는 상수
+
+    private static final Pattern COLUMN = Pattern.compile("\\w+\\.location");
+
+    @Override
+    public boolean hasArguments() {
+        return true;
+    }
+
+    @Override
+    public boolean hasParenthesesIfNoArguments() {
+        return true;
+    }
+
+    @Override
+    public Type getReturnType(Type firstArgumentType, Mapping mapping) {
+        return StandardBasicTypes.INTEGER;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public String render(Type firstArgumentType, List arguments, SessionFactoryImplementor factory) {
+        if (arguments.size() != 3 || !"?".equals(arguments.get(0)) || !COLUMN.matcher(arguments.get(1).toString()).matches()
+                || !COMPARED.equals(arguments.get(2))) {
+            throw new QueryException(NAME + " 함수는 SpatialUtil.mbrContains 의 (polygon 파라미터, location 컬럼, 1) = 1 형태로만 사용할 수 있습니다. arguments : " + arguments);
+        }
+        return "MBRContains(ST_GeomFromText(" + arguments.get(0) + ", " + SpatialUtil.SRID + ", 'axis-order=long-lat'), " + arguments.get(1) + ")"
+                + " AND " + COMPARED;
+    }
+
+}
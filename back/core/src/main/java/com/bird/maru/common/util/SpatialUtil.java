@@ -0,0 +1,45 @@
+package com.bird.maru.common.util;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * MySQL 공간 인덱스(SPATIAL) 조회용 QueryDSL 표현식 <br/>
+ * location 컬럼은 (lng, lat) 으로부터 DB 가 계산하는 STORED 생성 컬럼이므로 애플리케이션은 읽기만 합니다. <br/>
+ * SRID 4326 의 축 순서는 (위도, 경도) 이므로 POINT(lat, lng) 로 생성하고, WKT 는 axis-order 옵션으로 (경도, 위도) 를 지정합니다. <br/>
+ * 마이그레이션 : resources/mysql/spatial-location.sql
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SpatialUtil {
+
+    public static final int SRID = 4326;
+    public static final String LOCATION_COLUMN_DEFINITION =
+            "POINT SRID 4326 GENERATED ALWAYS AS (ST_SRID(POINT(lat, lng), 4326)) STORED NOT NULL";
+
+    // 비교 대상은 바인딩 파라미터가 아닌 리터럴 1 로 고정하고, 함수에도 같은 상수를 넘겨 호출 형태를 확인합니다. (MbrContainsFunction 참고)
+    private static final String MBR_CONTAINS_TEMPLATE =
+            "function('" + MbrContainsFunction.NAME + "', {0}, {1}, " + MbrContainsFunction.COMPARED + ") = " + MbrContainsFunction.COMPARED;
+
+    /**
+     * 영역(MBR)이 location 을 포함하는지 - 공간 인덱스 범위 검색으로 실행됩니다.
+     */
+    public static BooleanExpression mbrContains(Double west, Double south, Double east, Double north, Expression<?> location) {
+        return Expressions.booleanTemplate(MBR_CONTAINS_TEMPLATE, Expressions.constant(toPolygon(west, south, east, north)), location);
+    }
+
+    /**
+     * 영역을 반시계 방향 WKT POLYGON 으로 변환 (경도 위도 순)
+     */
+    public static String toPolygon(Double west, Double south, Double east, Double north) {
+        return "POLYGON(("
+                + west + " " + south + ", "
+                + east + " " + south + ", "
+                + east + " " + north + ", "
+                + west + " " + north + ", "
+                + west + " " + south + "))";
+    }
+
+}
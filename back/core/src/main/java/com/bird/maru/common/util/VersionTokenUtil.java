@@ -0,0 +1,50 @@
+package com.bird.maru.common.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 클라이언트에 전달하는 데이터 버전 토큰 <br/>
+ * 인메모리 인덱스의 버전은 서버 재시작 시 다시 1부터 시작하므로, 서버 기동 시각을 함께 담아 다른 인스턴스에서 발급한 토큰은 무효로 처리합니다. <br/>
+ * 클라이언트는 토큰 형식을 해석하지 않고 그대로 돌려보내야 합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VersionTokenUtil {
+
+    private static final String INSTANCE = Long.toString(System.currentTimeMillis(), 36);
+    private static final String DELIMITER = ".";
+    private static final int RADIX = 36;
+
+    public static String encode(long... versions) {
+        StringBuilder token = new StringBuilder(INSTANCE);
+        for (long version : versions) {
+            token.append(DELIMITER).append(Long.toString(version, RADIX));
+        }
+        return token.toString();
+    }
+
+    /**
+     * 토큰 해석 - 형식이 다르거나 다른 인스턴스에서 발급한 토큰이면 null
+     *
+     * @param size : 토큰에 담긴 버전 개수
+     */
+    public static long[] decode(String token, int size) {
+        if (token == null) {
+            return null;
+        }
+        String[] parts = token.split("\\" + DELIMITER);
+        if (parts.length != size + 1 || !INSTANCE.equals(parts[0])) {
+            return null;
+        }
+        long[] versions = new long[size];
+        try {
+            for (int i = 0; i < size; i++) {
+                versions[i] = Long.parseLong(parts[i + 1], RADIX);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return versions;
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.bird.maru.domain.model.entity;
 
+import com.bird.maru.common.util.SpatialUtil;
 import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.domain.model.type.ProjectedCoordinate;
 import javax.persistence.Column;
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
@@ -39,6 +41,13 @@ public class Landmark {
     @NotNull
     private Coordinate coordinate; // (경도, 위도)
 
+    @Embedded
+    private ProjectedCoordinate projected; // Web Mercator 투영 좌표 (x, y)
+
+    @Column(insertable = false, updatable = false, columnDefinition = SpatialUtil.LOCATION_COLUMN_DEFINITION)
+    @Getter(AccessLevel.NONE)
+    private byte[] location; // 공간 인덱스용 POINT - coordinate 로부터 DB 가 계산
+
     @Column(name = "visit_count")
     @NotNull
     @Builder.Default
@@ -52,4 +61,15 @@ public class Landmark {
         this.visitCount++;
     }
 
+    public boolean isProjected() {
+        return this.projected != null && this.projected.getX() != null && this.projected.getY() != null;
+    }
+
+    /**
+     * 경위도 좌표로 투영 좌표 계산
+     */
+    public void project() {
+        this.projected = ProjectedCoordinate.of(this.coordinate);
+    }
+
 }
@@ -1,8 +1,10 @@
 package com.bird.maru.domain.model.entity;
 
+import com.bird.maru.common.util.SpatialUtil;
 import com.bird.maru.domain.model.type.BaseDateTime;
 import com.bird.maru.domain.model.type.Coordinate;
 import com.bird.maru.domain.model.type.Image;
+import com.bird.maru.domain.model.type.ProjectedCoordinate;
 import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.CascadeType;
@@ -57,6 +59,13 @@ public class Spot extends BaseDateTime {
     @NotNull
     private Coordinate coordinate; // (경도, 위도)
 
+    @Embedded
+    private ProjectedCoordinate projected; // Web Mercator 투영 좌표 (x, y)
+
+    @Column(insertable = false, updatable = false, columnDefinition = SpatialUtil.LOCATION_COLUMN_DEFINITION)
+    @Getter(AccessLevel.NONE)
+    private byte[] location; // 공간 인덱스용 POINT - coordinate 로부터 DB 가 계산
+
     @Column(name = "like_count")
     @NotNull
     @Builder.Default
@@ -79,6 +88,17 @@ public class Spot extends BaseDateTime {
         return this.landmark != null;
     }
 
+    public boolean isProjected() {
+        return this.projected != null && this.projected.getX() != null && this.projected.getY() != null;
+    }
+
+    /**
+     * 경위도 좌표로 투영 좌표 계산
+     */
+    public void project() {
+        this.projected = ProjectedCoordinate.of(this.coordinate);
+    }
+
     public void addTag(Tag tag) {
         this.tags.add(
                 SpotHasTag.builder()
@@ -0,0 +1,52 @@
+package com.bird.maru.domain.model.entity;
+
+import com.bird.maru.domain.model.type.id.SpotCellCountId;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 줌 레벨별 격자 칸의 스팟 수 집계 (지도에 표시되는 일반 스팟) <br/>
+ * 칸은 Web Mercator 타일을 SpotCellGrid.CELL_BITS 만큼 더 나눈 격자이며, sum_x, sum_y 는 투영 좌표 합계로 칸의 무게중심 계산에 사용합니다. <br/>
+ * 스팟 등록/삭제 시 함께 증감하고, spotCellCountJob 배치가 주기적으로 전체를 다시 집계합니다.
+ */
+@Entity
+@Table(name = "spot_cell_counts")
+@IdClass(SpotCellCountId.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class SpotCellCount {
+
+    @Id
+    private Integer zoom;
+
+    @Id
+    @Column(name = "cell_x")
+    private Integer cellX;
+
+    @Id
+    @Column(name = "cell_y")
+    private Integer cellY;
+
+    @NotNull
+    private Long count;
+
+    @Column(name = "sum_x")
+    @NotNull
+    private Double sumX; // Web Mercator 정규화 x 좌표 합계
+
+    @Column(name = "sum_y")
+    @NotNull
+    private Double sumY; // Web Mercator 정규화 y 좌표 합계
+
+}
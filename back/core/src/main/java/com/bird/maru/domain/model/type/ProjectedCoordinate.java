@@ -0,0 +1,38 @@
+package com.bird.maru.domain.model.type;
+
+import com.bird.maru.cluster.util.MercatorProjection;
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 쓰기 시점에 미리 투영한 Web Mercator 정규화 좌표 (x, y ∈ [0, 1]) <br/>
+ * 클러스터 구성 시 마커마다 반복되는 sin, log 연산을 없애기 위해 Coordinate 와 함께 저장합니다. <br/>
+ * 투영 좌표 도입 이전에 저장된 행은 null 이며, coordinateProjectionJob 배치로 채웁니다.
+ */
+@Embeddable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+public class ProjectedCoordinate {
+
+    @Column(name = "mercator_x")
+    private Double x;
+
+    @Column(name = "mercator_y")
+    private Double y;
+
+    public static ProjectedCoordinate of(Coordinate coordinate) {
+        return new ProjectedCoordinate(MercatorProjection.lngToX(coordinate.getLng()), MercatorProjection.latToY(coordinate.getLat()));
+    }
+
+}
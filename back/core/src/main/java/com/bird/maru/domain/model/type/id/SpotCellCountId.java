@@ -0,0 +1,20 @@
+package com.bird.maru.domain.model.type.id;
+
+import java.io.Serializable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
+@EqualsAndHashCode
+public class SpotCellCountId implements Serializable {
+
+    private Integer zoom;
+
+    private Integer cellX;
+
+    private Integer cellY;
+
+}
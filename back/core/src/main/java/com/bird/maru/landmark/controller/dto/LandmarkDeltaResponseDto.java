@@ -0,0 +1,26 @@
+package com.bird.maru.landmark.controller.dto;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 랜드마크 지도 변경분 <br/>
+ * full 이면 added 가 조회 범위 전체이므로 보관 중인 랜드마크를 모두 교체합니다. <br/>
+ * 아니라면 added 를 id 기준으로 추가/교체하고, removed 의 랜드마크를 제거합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class LandmarkDeltaResponseDto {
+
+    private String version; // 다음 요청에 그대로 보낼 데이터 버전 토큰 (인덱스 구성 전이면 null)
+    private Boolean full;
+    private List<LandmarkMapResponseDto> added;
+    private List<Long> removed;
+
+}
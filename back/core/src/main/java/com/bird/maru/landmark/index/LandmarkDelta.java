@@ -0,0 +1,23 @@
+package com.bird.maru.landmark.index;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 이전 조회 결과 대비 랜드마크 변경분 <br/>
+ * full 이면 added 가 조회 범위 전체이며, 아니라면 added 는 추가/교체할 랜드마크, removed 는 제거할 랜드마크 id 입니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class LandmarkDelta {
+
+    private final long version;
+    private final boolean full;
+    private final List<LandmarkPoint> added;
+    private final List<Long> removed;
+
+}
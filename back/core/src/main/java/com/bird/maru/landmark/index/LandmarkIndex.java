@@ -0,0 +1,173 @@
+package com.bird.maru.landmark.index;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.util.HaversineDistance;
+import com.bird.maru.landmark.repository.query.LandmarkQueryRepository;
+import com.bird.maru.landmark.service.event.LandmarkChangedEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 애플리케이션 전역에서 공유하는 랜드마크 인덱스 <br/>
+ * 랜드마크는 경매 배치와 방문 시에만 바뀌므로, 전체를 메모리에 올려두고 지도 조회와 스탬프 목록 조회를 RDBMS 조회 없이 처리합니다. <br/>
+ * 대표 회원 변경, 방문 수 증가는 트랜잭션 커밋 이후 LandmarkChangedEvent 로 새 스냅샷에 반영되고, 스냅샷마다 버전이 1씩 증가합니다. <br/>
+ * 이벤트 없이 추가/변경된 랜드마크는 주기적인 전체 재구성으로 반영됩니다. <br/>
+ * 전체 재구성의 RDBMS 조회 도중 반영된 변경은 조회 결과에 포함되었는지 알 수 없으므로, 교체한 스냅샷에 다시 반영합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LandmarkIndex {
+
+    private static final HaversineDistance HAVERSINE = new HaversineDistance();
+    private static final double METERS_PER_KM = 1000.0;
+
+    private final LandmarkQueryRepository landmarkQueryRepository;
+
+    private volatile LandmarkSnapshot snapshot;
+    private List<LandmarkPoint> changedDuringRefresh; // 전체 재구성 중 반영된 변경, 재구성 중이 아니면 null (this)
+
+    /**
+     * RDBMS 기준 전체 재구성
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${landmark.index.refreshInterval}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            changedDuringRefresh = new ArrayList<>();
+        }
+        try {
+            List<LandmarkPoint> landmarks = landmarkQueryRepository.findAll()
+                                                                   .stream()
+                                                                   .map(LandmarkPoint::of)
+                                                                   .collect(Collectors.toList());
+            int reapplied;
+            synchronized (this) {
+                long version = nextVersion();
+                LandmarkSnapshot next = LandmarkSnapshot.of(version, landmarks);
+                for (LandmarkPoint changed : changedDuringRefresh) {
+                    next = next.with(version, changed);
+                }
+                reapplied = changedDuringRefresh.size();
+                this.snapshot = next;
+            }
+            log.info("랜드마크 인덱스 갱신 완료 - landmarks : {}, reapplied : {}, elapsed : {}ms",
+                     landmarks.size(), reapplied, System.currentTimeMillis() - start);
+        } finally {
+            synchronized (this) {
+                changedDuringRefresh = null;
+            }
+        }
+    }
+
+    /**
+     * 랜드마크 변경 트랜잭션 커밋 이후 반영 <br/>
+     * 배치처럼 트랜잭션 밖에서 발행된 경우에도 바로 반영합니다. 전체 재구성 중이라면 재구성 결과에도 다시 반영합니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLandmarkChanged(LandmarkChangedEvent event) {
+        synchronized (this) {
+            if (changedDuringRefresh != null) {
+                changedDuringRefresh.add(event.getLandmark());
+            }
+            LandmarkSnapshot current = this.snapshot;
+            if (current == null) {
+                return;
+            }
+            this.snapshot = current.with(nextVersion(), event.getLandmark());
+        }
+    }
+
+    /**
+     * 영역 내 랜드마크 - 인덱스 구성 전이면 빈 목록
+     */
+    public List<LandmarkPoint> findInBoundingBox(Double west, Double south, Double east, Double north) {
+        LandmarkSnapshot current = this.snapshot;
+        return current == null ? new ArrayList<>() : current.range(west, south, east, north);
+    }
+
+    /**
+     * 이전 조회 이후 변경분 - 이전 조회 범위에 있던 랜드마크를 현재 조회 범위의 결과로 만들기 위한 추가/교체, 제거 목록 <br/>
+     * 이전 조회 범위 안에서도 이전 버전 이후 바뀐 랜드마크는 다시 포함합니다. <br/>
+     * 이전 조회 정보가 없으면 조회 범위 전체를 반환합니다. 인덱스 구성 전이면 null
+     *
+     * @param previous    : 이전 조회 범위 [Nullable]
+     * @param version     : 이전 조회의 스냅샷 버전 [Nullable]
+     * @param boundingBox : 현재 조회 범위
+     */
+    public LandmarkDelta findSince(BoundingBox previous, Long version, BoundingBox boundingBox) {
+        LandmarkSnapshot current = this.snapshot;
+        if (current == null) {
+            return null;
+        }
+        List<LandmarkPoint> landmarks = range(current, boundingBox);
+        if (previous == null || version == null || version > current.getVersion()) {
+            return LandmarkDelta.builder()
+                                .version(current.getVersion())
+                                .full(true)
+                                .added(landmarks)
+                                .removed(new ArrayList<>())
+                                .build();
+        }
+        Set<Long> previousIds = range(current, previous).stream().map(LandmarkPoint::getId).collect(Collectors.toSet());
+        List<LandmarkPoint> added = new ArrayList<>();
+        for (LandmarkPoint landmark : landmarks) {
+            if (!previousIds.remove(landmark.getId()) || current.getChangedVersion(landmark.getId()) > version) {
+                added.add(landmark);
+            }
+        }
+        return LandmarkDelta.builder()
+                            .version(current.getVersion())
+                            .full(false)
+                            .added(added)
+                            .removed(previousIds.stream().sorted().collect(Collectors.toList()))
+                            .build();
+    }
+
+    /**
+     * 반경 내 가까운 순서의 랜드마크 - 인덱스 구성 전이면 빈 목록
+     *
+     * @param radius : 반경 (m)
+     * @param size   : 최대 개수
+     */
+    public List<LandmarkPoint> findNearest(Double lng, Double lat, Double radius, Integer size) {
+        LandmarkSnapshot current = this.snapshot;
+        return current == null ? new ArrayList<>() : current.around(lng, lat, size, radius / METERS_PER_KM, HAVERSINE);
+    }
+
+    /**
+     * id 오름차순 페이지 조회 - 인덱스 구성 전이면 빈 목록
+     */
+    public List<LandmarkPoint> findPage(Long lastOffset, Integer size) {
+        LandmarkSnapshot current = this.snapshot;
+        return current == null ? new ArrayList<>() : current.page(lastOffset, size);
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 현재 스냅샷 버전 - 인덱스 구성 전이면 0
+     */
+    public long getVersion() {
+        LandmarkSnapshot current = this.snapshot;
+        return current == null ? 0L : current.getVersion();
+    }
+
+    private List<LandmarkPoint> range(LandmarkSnapshot current, BoundingBox boundingBox) {
+        return current.range(boundingBox.getWest(), boundingBox.getSouth(), boundingBox.getEast(), boundingBox.getNorth());
+    }
+
+    private long nextVersion() {
+        return getVersion() + 1;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.bird.maru.landmark.index;
+
+import com.bird.maru.domain.model.entity.Landmark;
+import com.bird.maru.domain.model.type.Coordinate;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 랜드마크 인덱스에 보관하는 불변 랜드마크 정보 <br/>
+ * 영속성 컨텍스트와 분리된 값이므로 여러 요청 스레드에서 공유해도 안전합니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+@ToString
+public class LandmarkPoint {
+
+    private final Long id;
+    private final String name;
+    private final Coordinate coordinate; // (경도, 위도)
+    private final Long memberId; // 현재 랜드마크의 대표 회원
+    private final Integer visitCount;
+
+    public static LandmarkPoint of(Landmark landmark) {
+        return LandmarkPoint.builder()
+                            .id(landmark.getId())
+                            .name(landmark.getName())
+                            .coordinate(landmark.getCoordinate())
+                            .memberId(landmark.getMemberId())
+                            .visitCount(landmark.getVisitCount())
+                            .build();
+    }
+
+}
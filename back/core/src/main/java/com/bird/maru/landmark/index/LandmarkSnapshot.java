@@ -0,0 +1,138 @@
+package com.bird.maru.landmark.index;
+
+import com.bird.maru.cluster.KDBush;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 랜드마크 인덱스의 불변 스냅샷 <br/>
+ * 랜드마크는 id 오름차순 배열로, 좌표는 배열 index 를 포인트 id 로 하는 (경도, 위도) KDBush 로 보관합니다. <br/>
+ * 변경은 배열을 복사한 새 스냅샷으로 반영하며, 좌표가 바뀌지 않았다면 KDBush 를 그대로 공유합니다. <br/>
+ * 랜드마크마다 마지막으로 바뀐 스냅샷 버전을 함께 보관합니다. 전체 재구성 시에는 모든 랜드마크가 바뀐 것으로 봅니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LandmarkSnapshot {
+
+    private static final int NODE_SIZE = 16;
+
+    @Getter
+    private final long version;
+    private final LandmarkPoint[] landmarks; // id 오름차순
+    private final long[] changedVersions; // landmarks 와 같은 순서
+    private final KDBush kdBush;
+
+    public static LandmarkSnapshot of(long version, List<LandmarkPoint> landmarks) {
+        LandmarkPoint[] sorted = landmarks.toArray(new LandmarkPoint[0]);
+        Arrays.sort(sorted, Comparator.comparing(LandmarkPoint::getId));
+        long[] changedVersions = new long[sorted.length];
+        Arrays.fill(changedVersions, version);
+        return new LandmarkSnapshot(version, sorted, changedVersions, build(sorted));
+    }
+
+    /**
+     * 변경된 랜드마크 반영 - 없던 랜드마크라면 추가합니다.
+     */
+    public LandmarkSnapshot with(long version, LandmarkPoint changed) {
+        int index = indexOf(changed.getId());
+        if (index < 0) {
+            List<LandmarkPoint> inserted = new ArrayList<>(Arrays.asList(landmarks));
+            inserted.add(changed);
+            return of(version, inserted);
+        }
+        LandmarkPoint[] copied = landmarks.clone();
+        copied[index] = changed;
+        long[] copiedVersions = changedVersions.clone();
+        copiedVersions[index] = version;
+        boolean moved = !Objects.equals(landmarks[index].getCoordinate(), changed.getCoordinate());
+        return new LandmarkSnapshot(version, copied, copiedVersions, moved ? build(copied) : kdBush);
+    }
+
+    /**
+     * 영역 내 랜드마크 - id 오름차순
+     */
+    public List<LandmarkPoint> range(double west, double south, double east, double north) {
+        int[] indexes = kdBush.range(west, south, east, north);
+        Arrays.sort(indexes);
+        List<LandmarkPoint> result = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            result.add(landmarks[index]);
+        }
+        return result;
+    }
+
+    /**
+     * 랜드마크가 마지막으로 바뀐 스냅샷 버전 - 없는 랜드마크라면 현재 버전
+     */
+    public long getChangedVersion(long id) {
+        int index = indexOf(id);
+        return index < 0 ? version : changedVersions[index];
+    }
+
+    /**
+     * 가까운 순서의 랜드마크 - 경위도 좌표 기준
+     *
+     * @param maxDistance     : 최대 거리 (distanceMeasure 단위)
+     * @param distanceMeasure : 경위도 거리 계산 방식
+     */
+    public List<LandmarkPoint> around(double lng, double lat, int maxResults, double maxDistance, DistanceMeasure distanceMeasure) {
+        int[] indexes = kdBush.around(lng, lat, maxResults, maxDistance, distanceMeasure);
+        List<LandmarkPoint> result = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            result.add(landmarks[index]);
+        }
+        return result;
+    }
+
+    /**
+     * lastOffset 이후 size 개 랜드마크 - id 오름차순
+     *
+     * @param lastOffset : 이전 페이지의 마지막 랜드마크 id (null 이면 처음부터)
+     */
+    public List<LandmarkPoint> page(Long lastOffset, int size) {
+        int from = 0;
+        if (lastOffset != null) {
+            int index = indexOf(lastOffset);
+            from = index < 0 ? -index - 1 : index + 1;
+        }
+        int to = Math.min(landmarks.length, from + Math.max(size, 0));
+        return from >= to ? new ArrayList<>() : new ArrayList<>(Arrays.asList(landmarks).subList(from, to));
+    }
+
+    public int size() {
+        return landmarks.length;
+    }
+
+    private int indexOf(long id) {
+        int low = 0;
+        int high = landmarks.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = landmarks[mid].getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static KDBush build(LandmarkPoint[] landmarks) {
+        double[] data = new double[landmarks.length * 2];
+        for (int i = 0; i < landmarks.length; i++) {
+            data[2 * i] = landmarks[i].getCoordinate().getLng();
+            data[2 * i + 1] = landmarks[i].getCoordinate().getLat();
+        }
+        return new KDBush(data, 2, landmarks.length, NODE_SIZE);
+    }
+
+}
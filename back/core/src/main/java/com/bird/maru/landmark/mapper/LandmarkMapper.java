@@ -4,6 +4,7 @@ import com.bird.maru.domain.model.entity.Landmark;
 import com.bird.maru.landmark.controller.dto.LandmarkMapResponseDto;
 import com.bird.maru.landmark.controller.dto.LandmarkResponseDto;
 import com.bird.maru.landmark.controller.dto.LandmarkStampResponseDto;
+import com.bird.maru.landmark.index.LandmarkPoint;
 import com.bird.maru.spot.repository.query.dto.SpotSimpleDto;
 import java.util.List;
 import java.util.Map;
@@ -19,7 +20,7 @@ public class LandmarkMapper {
                                   .build();
     }
 
-    public static LandmarkMapResponseDto toLandmarkMapResponseDto(Landmark landmark, Set<Long> visited) {
+    public static LandmarkMapResponseDto toLandmarkMapResponseDto(LandmarkPoint landmark, Set<Long> visited) {
         return LandmarkMapResponseDto.builder()
                                      .id(landmark.getId())
                                      .coordinate(landmark.getCoordinate())
@@ -28,13 +29,13 @@ public class LandmarkMapper {
                                      .build();
     }
 
-    public static List<LandmarkMapResponseDto> toLandmarkMapResponseDtos(List<Landmark> landmarks, Set<Long> visited) {
+    public static List<LandmarkMapResponseDto> toLandmarkMapResponseDtos(List<LandmarkPoint> landmarks, Set<Long> visited) {
         return landmarks.stream().map(
                 l -> toLandmarkMapResponseDto(l, visited)
         ).collect(Collectors.toList());
     }
 
-    public static LandmarkStampResponseDto toLandmarkStampDto(Landmark landmark, Optional<SpotSimpleDto> spotSimpleDto) {
+    public static LandmarkStampResponseDto toLandmarkStampDto(LandmarkPoint landmark, Optional<SpotSimpleDto> spotSimpleDto) {
         return LandmarkStampResponseDto.builder()
                                        .landmarkId(landmark.getId())
                                        .name(landmark.getName())
@@ -43,7 +44,7 @@ public class LandmarkMapper {
                                        .build();
     }
 
-    public static List<LandmarkStampResponseDto> toLandmarkStampResponseDtos(List<Landmark> landmarks, Map<Long, SpotSimpleDto> spotSimpleDtos) {
+    public static List<LandmarkStampResponseDto> toLandmarkStampResponseDtos(List<LandmarkPoint> landmarks, Map<Long, SpotSimpleDto> spotSimpleDtos) {
         return landmarks.stream()
                         .map(l -> toLandmarkStampDto(l, Optional.ofNullable(spotSimpleDtos.get(l.getId()))))
                         .collect(Collectors.toList());
@@ -2,6 +2,7 @@ package com.bird.maru.landmark.repository.query;
 
 import static com.bird.maru.domain.model.entity.QLandmark.landmark;
 
+import com.bird.maru.common.util.SpatialUtil;
 import com.bird.maru.domain.model.entity.Landmark;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -27,7 +28,8 @@ public class LandmarkCustomQueryRepository {
 
     public List<Landmark> findLandmarksBasedMap(Double west, Double south, Double east, Double north) {
         return jpaQueryFactory.selectFrom(landmark)
-                              .where(landmark.coordinate.lng.between(west, east),
+                              .where(SpatialUtil.mbrContains(west, south, east, north, landmark.location),
+                                     landmark.coordinate.lng.between(west, east),
                                      landmark.coordinate.lat.between(south, north))
                               .fetch();
     }
@@ -3,10 +3,12 @@ package com.bird.maru.landmark.service;
 import com.bird.maru.common.exception.ResourceNotFoundException;
 import com.bird.maru.domain.model.entity.Landmark;
 import com.bird.maru.landmark.repository.query.LandmarkQueryRepository;
+import com.bird.maru.landmark.service.event.LandmarkChangedEvent;
 import com.bird.maru.member.repository.query.MemberRedisRepository;
 import com.bird.maru.point.service.PointService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +21,7 @@ public class LandmarkServiceImpl implements LandmarkService {
     private final MemberRedisRepository memberRedisRepository;
     private final PointService pointService;
     private final LandmarkQueryRepository landmarkQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Integer visitLandmark(Long landmarkId, Long memberId) throws ResourceNotFoundException {
@@ -29,6 +32,7 @@ public class LandmarkServiceImpl implements LandmarkService {
         Landmark landmark = landmarkQueryRepository.findById(landmarkId)
                                                    .orElseThrow(() -> new ResourceNotFoundException("해당 리소스 존재하지 않습니다."));
         landmark.addCount();
+        eventPublisher.publishEvent(LandmarkChangedEvent.of(landmark));
         return pointService.landmarkVisiting(memberId);
     }
 
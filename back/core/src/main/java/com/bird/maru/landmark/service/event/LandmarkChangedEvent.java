@@ -0,0 +1,25 @@
+package com.bird.maru.landmark.service.event;
+
+import com.bird.maru.domain.model.entity.Landmark;
+import com.bird.maru.landmark.index.LandmarkPoint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 랜드마크 변경(대표 회원 변경, 방문 수 증가) 이벤트 <br/>
+ * 트랜잭션 커밋 이후 랜드마크 인덱스에 반영하기 위해, 변경된 값을 그대로 담아 발행합니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@ToString
+public class LandmarkChangedEvent {
+
+    private final LandmarkPoint landmark;
+
+    public static LandmarkChangedEvent of(Landmark landmark) {
+        return new LandmarkChangedEvent(LandmarkPoint.of(landmark));
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.bird.maru.landmark.service.query;
 
+import com.bird.maru.cluster.geo.BoundingBox;
 import com.bird.maru.common.exception.ResourceNotFoundException;
 import com.bird.maru.domain.model.entity.Landmark;
+import com.bird.maru.landmark.controller.dto.LandmarkDeltaResponseDto;
 import com.bird.maru.landmark.controller.dto.LandmarkMapResponseDto;
 import com.bird.maru.landmark.controller.dto.LandmarkStampResponseDto;
 import com.bird.maru.landmark.controller.dto.OwnerResponseDto;
@@ -13,6 +15,8 @@ public interface LandmarkQueryService {
 
     List<LandmarkMapResponseDto> findLandmarkBasedMap(Double west, Double south, Double east, Double north, Long memberId);
 
+    LandmarkDeltaResponseDto findLandmarkDeltaBasedMap(BoundingBox previous, String version, BoundingBox boundingBox, Long memberId);
+
     List<LandmarkStampResponseDto> findLandmarkStamps(Long memberId, Long lastOffset, Integer size);
 
     OwnerResponseDto findOwnerData(Long landmarkId) throws ResourceNotFoundException;
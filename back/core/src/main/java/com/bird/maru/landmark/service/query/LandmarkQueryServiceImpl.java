@@ -1,11 +1,17 @@
 package com.bird.maru.landmark.service.query;
 
+import com.bird.maru.cluster.geo.BoundingBox;
 import com.bird.maru.common.exception.ResourceNotFoundException;
+import com.bird.maru.common.util.VersionTokenUtil;
 import com.bird.maru.domain.model.entity.Landmark;
 import com.bird.maru.domain.model.entity.Member;
+import com.bird.maru.landmark.controller.dto.LandmarkDeltaResponseDto;
 import com.bird.maru.landmark.controller.dto.LandmarkMapResponseDto;
 import com.bird.maru.landmark.controller.dto.LandmarkStampResponseDto;
 import com.bird.maru.landmark.controller.dto.OwnerResponseDto;
+import com.bird.maru.landmark.index.LandmarkDelta;
+import com.bird.maru.landmark.index.LandmarkIndex;
+import com.bird.maru.landmark.index.LandmarkPoint;
 import com.bird.maru.landmark.mapper.LandmarkMapper;
 import com.bird.maru.landmark.repository.query.LandmarkCustomQueryRepository;
 import com.bird.maru.landmark.repository.query.LandmarkQueryRepository;
@@ -15,6 +21,7 @@ import com.bird.maru.member.repository.query.MemberRedisRepository;
 import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
 import com.bird.maru.spot.repository.query.dto.SpotSimpleDto;
 import com.bird.maru.spot.service.query.SpotQueryService;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +44,7 @@ public class LandmarkQueryServiceImpl implements LandmarkQueryService {
     private final MemberQueryRepository memberQueryRepository;
     private final MemberMapper memberMapper;
     private final SpotQueryService spotQueryService;
+    private final LandmarkIndex landmarkIndex;
 
     /**
      * 랜드마크 조회
@@ -87,7 +95,8 @@ public class LandmarkQueryServiceImpl implements LandmarkQueryService {
     }
 
     /**
-     * 랜드마크 지도 기반 조회 <br/> 매일마다 갱신되는 방문 여부 체크 로직 추가 Mapper를 통해 방문 여부를 처리한 List<ResponseDTO> 형태로 반환합니다.
+     * 랜드마크 지도 기반 조회 <br/> 매일마다 갱신되는 방문 여부 체크 로직 추가 Mapper를 통해 방문 여부를 처리한 List<ResponseDTO> 형태로 반환합니다. <br/>
+     * 랜드마크 인덱스에서 조회하며, 인덱스 구성 전에만 RDBMS 에서 조회합니다.
      *
      * @param west     : minLng
      * @param south    : minLat
@@ -98,7 +107,9 @@ public class LandmarkQueryServiceImpl implements LandmarkQueryService {
      */
     @Override
     public List<LandmarkMapResponseDto> findLandmarkBasedMap(Double west, Double south, Double east, Double north, Long memberId) {
-        List<Landmark> landmarks = landmarkCustomQueryRepository.findLandmarksBasedMap(west, south, east, north);
+        List<LandmarkPoint> landmarks = landmarkIndex.isReady()
+                ? landmarkIndex.findInBoundingBox(west, south, east, north)
+                : toLandmarkPoints(landmarkCustomQueryRepository.findLandmarksBasedMap(west, south, east, north));
         if (landmarks.isEmpty()) {
             return new ArrayList<>();
         }
@@ -107,16 +118,52 @@ public class LandmarkQueryServiceImpl implements LandmarkQueryService {
     }
 
     /**
-     * 모든 랜드마크 with 나의 방문 정보 조회
+     * 랜드마크 지도 기반 변경분 조회 <br/>
+     * 이전 응답의 조회 범위와 데이터 버전 토큰을 받아, 범위에 새로 들어온 랜드마크와 이전 버전 이후 바뀐 랜드마크, 범위를 벗어난 랜드마크 id 만 반환합니다. <br/>
+     * 방문 여부는 매일 초기화되므로 토큰에 발급 날짜를 함께 담고, 날짜가 바뀌었거나 인덱스 구성 전이면 조회 범위 전체를 반환합니다.
+     *
+     * @param previous    : 이전 조회 범위 [Nullable]
+     * @param version     : 이전 응답의 데이터 버전 토큰 [Nullable]
+     * @param boundingBox : 현재 조회 범위
+     * @param memberId    : 현재 접근중인 주체
+     */
+    @Override
+    public LandmarkDeltaResponseDto findLandmarkDeltaBasedMap(BoundingBox previous, String version, BoundingBox boundingBox, Long memberId) {
+        long today = LocalDate.now().toEpochDay();
+        long[] previousVersion = VersionTokenUtil.decode(version, 2);
+        Long since = previousVersion == null || previousVersion[1] != today ? null : previousVersion[0];
+        LandmarkDelta delta = landmarkIndex.findSince(previous, since, boundingBox);
+        if (delta == null) {
+            return LandmarkDeltaResponseDto.builder()
+                                           .full(true)
+                                           .added(findLandmarkBasedMap(boundingBox.getWest(), boundingBox.getSouth(),
+                                                                       boundingBox.getEast(), boundingBox.getNorth(), memberId))
+                                           .removed(new ArrayList<>())
+                                           .build();
+        }
+        Set<Long> visitedLandmarks = delta.getAdded().isEmpty() ? Set.of() : memberRedisRepository.findVisitedLandmarks(memberId);
+        return LandmarkDeltaResponseDto.builder()
+                                       .version(VersionTokenUtil.encode(delta.getVersion(), today))
+                                       .full(delta.isFull())
+                                       .added(LandmarkMapper.toLandmarkMapResponseDtos(delta.getAdded(), visitedLandmarks))
+                                       .removed(delta.getRemoved())
+                                       .build();
+    }
+
+    /**
+     * 모든 랜드마크 with 나의 방문 정보 조회 <br/>
+     * 랜드마크 목록은 랜드마크 인덱스에서 조회하며, 인덱스 구성 전에만 RDBMS 에서 조회합니다.
      *
      * @param memberId : 현재 접근중인 주체
      * @return LandmarkStampResponseDto : 랜드마크 id, 스팟 id, 최신 스팟 사진, 랜드마크 이름
      */
     @Override
     public List<LandmarkStampResponseDto> findLandmarkStamps(Long memberId, Long lastOffset, Integer size) {
-        List<Landmark> landmarks = landmarkCustomQueryRepository.findAll(lastOffset, size);
+        List<LandmarkPoint> landmarks = landmarkIndex.isReady()
+                ? landmarkIndex.findPage(lastOffset, size)
+                : toLandmarkPoints(landmarkCustomQueryRepository.findAll(lastOffset, size));
         Map<Long, SpotSimpleDto> spotSimpleMap = spotCustomQueryRepository.findSpotByMyVisitedLandmark(memberId,
-                                                                                                       landmarks.stream().map(Landmark::getId)
+                                                                                                       landmarks.stream().map(LandmarkPoint::getId)
                                                                                                                 .collect(Collectors.toList()))
                                                                           .stream()
                                                                           .collect(Collectors.toMap(SpotSimpleDto::getLandmarkId,
@@ -124,4 +171,8 @@ public class LandmarkQueryServiceImpl implements LandmarkQueryService {
         return LandmarkMapper.toLandmarkStampResponseDtos(landmarks, spotSimpleMap);
     }
 
+    private List<LandmarkPoint> toLandmarkPoints(List<Landmark> landmarks) {
+        return landmarks.stream().map(LandmarkPoint::of).collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,26 @@
+package com.bird.maru.map.cache;
+
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 함께 계산한 타일 묶음 <br/>
+ * 조회 개수 제한(size)에 걸려 일부 스팟만 조회했다면 complete 가 false 이며, 이 타일들은 요청에만 사용하고 캐시에 저장하지 않습니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@ToString
+public class ClusterTileBatch {
+
+    private final Map<ClusterTileKey, FeatureBuffer> tiles;
+    private final boolean complete;
+
+    public static ClusterTileBatch of(Map<ClusterTileKey, FeatureBuffer> tiles, boolean complete) {
+        return new ClusterTileBatch(tiles, complete);
+    }
+
+}
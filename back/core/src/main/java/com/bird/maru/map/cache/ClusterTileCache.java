@@ -0,0 +1,182 @@
+package com.bird.maru.map.cache;
+
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.tile.TileBounds;
+import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.map.index.SpotClusterChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 타일 단위 클러스터링 결과 LRU 캐시 <br/>
+ * 스팟 등록/삭제 시 해당 좌표가 영향을 주는 타일(클러스터 반경 포함)만 모든 줌 레벨에서 무효화합니다. <br/>
+ * 전역/태그 인덱스 재구성 시에는 해당 인덱스에서 조회한 타일만 모두 무효화합니다. <br/>
+ * 델타 압축은 전역 클러스터 인덱스의 클러스터 id 를 모두 바꾸므로, 전역 인덱스에서 조회한 타일을 모두 무효화합니다. (키의 baseVersion 도 바뀌므로 남은 타일은 다시 조회되지 않습니다.) <br/>
+ * 지표 : cluster.tile.cache.requests(result=hit|miss), cluster.tile.cache.evictions, cluster.tile.cache.invalidations, cluster.tile.cache.size
+ */
+@Component
+@Slf4j
+public class ClusterTileCache {
+
+    private final int maxTiles;
+    private final SuperClusterParams superClusterParams;
+    private final Map<ClusterTileKey, FeatureBuffer> tiles;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+    private long generation; // 무효화 시마다 증가, 무효화 이전에 계산한 결과가 다시 저장되는 것을 막습니다.
+
+    public ClusterTileCache(
+            @Value("${cluster.cache.maxTiles}") int maxTiles,
+            SuperClusterParams superClusterParams, MeterRegistry meterRegistry
+    ) {
+        this.maxTiles = maxTiles;
+        this.superClusterParams = superClusterParams;
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClusterTileKey, FeatureBuffer> eldest) {
+                boolean evict = size() > ClusterTileCache.this.maxTiles;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+        this.hits = Counter.builder("cluster.tile.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cluster.tile.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cluster.tile.cache.evictions").register(meterRegistry);
+        this.invalidations = Counter.builder("cluster.tile.cache.invalidations").register(meterRegistry);
+        Gauge.builder("cluster.tile.cache.size", this, ClusterTileCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 타일을 반환하고, 없으면 loader 로 계산하여 저장합니다. <br/>
+     * 계산은 락 밖에서 수행하며, 요청 시점 클러스터링 타일의 동시 계산은 MapQueryCoalescer 가 하나로 합칩니다.
+     */
+    public FeatureBuffer get(ClusterTileKey key, Supplier<FeatureBuffer> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            FeatureBuffer cached = tiles.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        FeatureBuffer loaded = loader.get().trim();
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                tiles.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 여러 타일을 키 순서대로 반환하고, 없는 타일은 loader 로 한 번에 계산합니다. <br/>
+     * 계산 결과가 완전하지 않으면(ClusterTileBatch.complete) 이번 요청에만 사용하고 저장하지 않습니다.
+     */
+    public List<FeatureBuffer> getAll(List<ClusterTileKey> keys, Function<List<ClusterTileKey>, ClusterTileBatch> loader) {
+        Map<ClusterTileKey, FeatureBuffer> found = new HashMap<>();
+        List<ClusterTileKey> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (ClusterTileKey key : keys) {
+                FeatureBuffer cached = tiles.get(key);
+                if (cached != null) {
+                    found.put(key, cached);
+                } else {
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        }
+        hits.increment(found.size());
+        misses.increment(missing.size());
+        if (!missing.isEmpty()) {
+            ClusterTileBatch batch = loader.apply(missing);
+            synchronized (this) {
+                if (batch.isComplete() && loadGeneration == generation) {
+                    tiles.putAll(batch.getTiles());
+                }
+            }
+            found.putAll(batch.getTiles());
+        }
+        return keys.stream()
+                   .map(found::get)
+                   .collect(Collectors.toList());
+    }
+
+    public synchronized int size() {
+        return tiles.size();
+    }
+
+    /**
+     * 클러스터 인덱스 변경 시 영향을 받는 타일 무효화
+     */
+    @EventListener
+    public void onSpotClusterChanged(SpotClusterChangedEvent event) {
+        if (event.isRebuilt() || event.isCompacted()) {
+            invalidateIf(ClusterTileKey::isIndexed);
+        }
+        if (event.isTagRebuilt()) {
+            invalidateIf(ClusterTileKey::isTagIndexed);
+        }
+        if (!event.getCoordinates().isEmpty()) {
+            invalidate(event.getCoordinates());
+        }
+    }
+
+    /**
+     * 좌표가 포함된 타일 무효화 - 클러스터에 묶일 수 있도록 클러스터 반경만큼 넓힌 범위와 겹치는 타일을 모두 무효화합니다.
+     */
+    public synchronized void invalidate(List<Coordinate> coordinates) {
+        generation++;
+        int removed = 0;
+        Iterator<ClusterTileKey> iterator = tiles.keySet().iterator();
+        while (iterator.hasNext()) {
+            ClusterTileKey key = iterator.next();
+            if (coordinates.stream().anyMatch(c -> affects(key, c))) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        invalidations.increment(removed);
+    }
+
+    private synchronized void invalidateIf(Predicate<ClusterTileKey> condition) {
+        generation++;
+        int before = tiles.size();
+        tiles.keySet().removeIf(condition);
+        invalidations.increment((double) before - tiles.size());
+    }
+
+    private boolean affects(ClusterTileKey key, Coordinate coordinate) {
+        int z = key.getZ();
+        // 클러스터 반경 (타일 한 변 기준), maxZoom 보다 큰 줌 레벨은 클러스터링하지 않습니다.
+        double radius = z <= superClusterParams.getMaxZoom() ? (double) superClusterParams.getRadius() / superClusterParams.getExtent() : 0;
+        double tx = TileBounds.lngToTileX(coordinate.getLng(), z);
+        double ty = TileBounds.latToTileY(coordinate.getLat(), z);
+        return key.getX() >= Math.floor(tx - radius) && key.getX() <= Math.floor(tx + radius)
+                && key.getY() >= Math.floor(ty - radius) && key.getY() <= Math.floor(ty + radius);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.bird.maru.map.cache;
+
+import com.bird.maru.domain.model.type.MapFilterType;
+import com.bird.maru.map.controller.dto.MapCondition;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 클러스터 타일 캐시 키 - (zoom, tile x/y, filter, tagId, size, version) <br/>
+ * MINE 필터는 사용자마다 결과가 다르므로 memberId 를 함께 사용합니다. <br/>
+ * size 는 RDBMS 조회 개수 제한이므로 전역 클러스터 인덱스에서 조회되는 조건은 사용하지 않습니다. (인덱스 구성 전 RDBMS 에서 조회한 타일은 구성 직후 무효화됩니다.) <br/>
+ * version 은 전역 클러스터 인덱스에서 조회한 타일의 스냅샷 baseVersion 으로, 같은 키의 타일은 항상 같은 클러스터 id 를 사용합니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ClusterTileKey {
+
+    private final int z;
+    private final int x;
+    private final int y;
+    private final MapFilterType filter;
+    private final Long tagId;
+    private final Integer size;
+    private final Long memberId;
+    private final Long version;
+
+    public static ClusterTileKey of(int z, int x, int y, MapCondition condition, Long memberId) {
+        return of(z, x, y, condition, memberId, null);
+    }
+
+    /**
+     * @param version : 전역 클러스터 인덱스 스냅샷의 baseVersion (인덱스에서 조회하지 않으면 null)
+     */
+    public static ClusterTileKey of(int z, int x, int y, MapCondition condition, Long memberId, Long version) {
+        boolean indexed = MapFilterType.ALL.equals(condition.getFilter()) && condition.getTagId() == null;
+        return new ClusterTileKey(z, x, y, condition.getFilter(), condition.getTagId(), indexed ? null : condition.getSize(),
+                                  MapFilterType.MINE.equals(condition.getFilter()) ? memberId : null, indexed ? version : null);
+    }
+
+    /**
+     * 전역 클러스터 인덱스에서 조회되는 조건인지 여부
+     */
+    public boolean isIndexed() {
+        return MapFilterType.ALL.equals(filter) && tagId == null;
+    }
+
+    /**
+     * 태그 인덱스에서 조회되는 조건인지 여부
+     */
+    public boolean isTagIndexed() {
+        return MapFilterType.ALL.equals(filter) && tagId != null;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.bird.maru.map.cache;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.domain.model.type.MapFilterType;
+import com.bird.maru.map.controller.dto.MapCondition;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 타일 캐시를 사용하지 않는 지도 범위의 동시 조회 키 - (zoom, 지도 범위, filter, tagId, size) <br/>
+ * size 가 RDBMS 조회 개수 제한이므로 범위를 넓혀 합치지 않고, 지도 범위가 정확히 같은 요청만 합칩니다. <br/>
+ * MINE 필터는 사용자마다 결과가 다르므로 memberId 를 함께 사용합니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ClusterViewportKey {
+
+    private final Integer z;
+    private final Double west;
+    private final Double south;
+    private final Double east;
+    private final Double north;
+    private final MapFilterType filter;
+    private final Long tagId;
+    private final Integer size;
+    private final Long memberId;
+
+    public static ClusterViewportKey of(MapCondition condition, Long memberId) {
+        BoundingBox boundingBox = condition.getBoundingBox();
+        return new ClusterViewportKey(boundingBox.getZoom(), boundingBox.getWest(), boundingBox.getSouth(), boundingBox.getEast(), boundingBox.getNorth(),
+                                      condition.getFilter(), condition.getTagId(), condition.getSize(),
+                                      MapFilterType.MINE.equals(condition.getFilter()) ? memberId : null);
+    }
+
+}
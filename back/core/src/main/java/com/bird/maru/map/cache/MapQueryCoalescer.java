@@ -0,0 +1,68 @@
+package com.bird.maru.map.cache;
+
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.map.index.SpotClusterChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 시점 클러스터링(RDBMS 조회 + FlatSuperCluster 구성)의 동시 요청 합치기 <br/>
+ * 인기 지역을 같은 줌 레벨, 같은 조건으로 동시에 조회하면 한 요청만 계산하고 나머지는 그 결과를 함께 사용합니다. <br/>
+ * 지표의 query 태그 : cluster-tile(타일 캐시 적재), cluster-tiles(RDBMS 조회 타일 묶음의 타일 캐시 적재), viewport(타일 캐시를 사용하지 않는 지도 범위), <br/>
+ * vector-tile(인덱스 구성 전 벡터 타일)
+ */
+@Component
+public class MapQueryCoalescer {
+
+    private final SingleFlight<ClusterTileKey, FeatureBuffer> clusterTiles;
+    private final SingleFlight<ClusterViewportKey, ClusterTileBatch> clusterTileBatches;
+    private final SingleFlight<ClusterViewportKey, FeatureBuffer> viewports;
+    private final SingleFlight<ClusterTileKey, byte[]> vectorTiles;
+
+    public MapQueryCoalescer(MeterRegistry meterRegistry) {
+        this.clusterTiles = new SingleFlight<>("cluster-tile", meterRegistry);
+        this.clusterTileBatches = new SingleFlight<>("cluster-tiles", meterRegistry);
+        this.viewports = new SingleFlight<>("viewport", meterRegistry);
+        this.vectorTiles = new SingleFlight<>("vector-tile", meterRegistry);
+    }
+
+    /**
+     * 결과는 여러 요청이 함께 사용하므로 trim 한 뒤 공유합니다.
+     */
+    public FeatureBuffer clusterTile(ClusterTileKey key, Supplier<FeatureBuffer> loader) {
+        return clusterTiles.execute(key, () -> loader.get().trim());
+    }
+
+    /**
+     * 타일 묶음의 범위(key)가 같은 동시 요청을 합칩니다. 타일은 loader 에서 trim 합니다.
+     */
+    public ClusterTileBatch clusterTiles(ClusterViewportKey key, Supplier<ClusterTileBatch> loader) {
+        return clusterTileBatches.execute(key, loader);
+    }
+
+    public FeatureBuffer viewport(ClusterViewportKey key, Supplier<FeatureBuffer> loader) {
+        return viewports.execute(key, () -> loader.get().trim());
+    }
+
+    public byte[] vectorTile(ClusterTileKey key, Supplier<byte[]> loader) {
+        return vectorTiles.execute(key, loader);
+    }
+
+    /**
+     * 스팟이 바뀌면 진행 중인 계산을 더 이상 공유하지 않습니다. <br/>
+     * 타일 캐시 무효화보다 먼저 처리하여, 무효화 이후의 요청이 변경 전에 시작된 계산 결과를 캐시에 저장하지 않게 합니다.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSpotClusterChanged(SpotClusterChangedEvent event) {
+        clusterTiles.forget();
+        clusterTileBatches.forget();
+        viewports.forget();
+        vectorTiles.forget();
+    }
+
+}
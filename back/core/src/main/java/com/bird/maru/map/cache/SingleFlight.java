@@ -0,0 +1,87 @@
+package com.bird.maru.map.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 계산을 하나로 합칩니다. <br/>
+ * 처음 요청한 스레드(leader)가 계산하고, 계산이 끝나기 전에 같은 키로 들어온 요청은 leader 의 CompletableFuture 결과를 함께 사용합니다. <br/>
+ * 계산이 끝나면 키를 제거하므로 결과를 보관하지 않으며, 예외도 기다리던 요청에 그대로 전달합니다. <br/>
+ * 지표 : map.query.coalescing.requests(query, result=leader|shared), map.query.coalescing.ratio(query), map.query.coalescing.inflight(query)
+ *
+ * @param <K> 계산 키 (equals/hashCode 필요)
+ * @param <V> 계산 결과
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter shared;
+
+    public SingleFlight(String query, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("map.query.coalescing.requests").tag("query", query).tag("result", "leader").register(meterRegistry);
+        this.shared = Counter.builder("map.query.coalescing.requests").tag("query", query).tag("result", "shared").register(meterRegistry);
+        Gauge.builder("map.query.coalescing.ratio", this, SingleFlight::ratio).tag("query", query).register(meterRegistry);
+        Gauge.builder("map.query.coalescing.inflight", flights, Map::size).tag("query", query).register(meterRegistry);
+    }
+
+    /**
+     * 같은 키로 진행 중인 계산이 있으면 그 결과를 기다리고, 없으면 호출 스레드에서 loader 로 계산합니다.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            shared.increment();
+            return join(inFlight);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * 진행 중인 계산을 잊습니다. 이후 요청은 새로 계산하며, 이미 기다리던 요청은 기존 결과를 받습니다. <br/>
+     * 데이터 변경 후 변경 전에 시작된 계산 결과를 공유하지 않도록 할 때 사용합니다.
+     */
+    public void forget() {
+        flights.clear();
+    }
+
+    /**
+     * 전체 요청 중 다른 요청의 계산 결과를 함께 사용한 비율
+     */
+    public double ratio() {
+        double total = leaders.count() + shared.count();
+        return total == 0 ? 0 : shared.count() / total;
+    }
+
+    private V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
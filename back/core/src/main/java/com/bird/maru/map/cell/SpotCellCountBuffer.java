@@ -0,0 +1,69 @@
+package com.bird.maru.map.cell;
+
+import com.bird.maru.domain.model.entity.SpotCellCount;
+import com.bird.maru.map.repository.SpotCellCountJDBCRepository;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 격자 스팟 수(spot_cell_counts) 증감분 버퍼 <br/>
+ * 저줌 칸은 모든 스팟이 같은 행을 공유하므로, 스팟 등록/삭제 트랜잭션에서 바로 더하면 동시 요청이 커밋까지 같은 행 잠금을 기다립니다. <br/>
+ * 증감분은 커밋 이후 메모리에 모아두었다가 주기적으로 칸별로 합쳐 한 번에 반영합니다. <br/>
+ * 반영 전 종료 등으로 누락된 증감분은 재집계 배치(spotCellCountJob)가 바로잡습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpotCellCountBuffer {
+
+    private final SpotCellCountJDBCRepository spotCellCountJDBCRepository;
+
+    private List<SpotCellCount> pending = new ArrayList<>(); // 반영 전 증감분 (this)
+
+    /**
+     * 스팟 등록/삭제 트랜잭션 커밋 이후 증감분 보관
+     */
+    @TransactionalEventListener
+    public void onSpotMarkerEvent(SpotMarkerEvent event) {
+        int sign = SpotMarkerEvent.Type.CREATED.equals(event.getType()) ? 1 : -1;
+        List<SpotCellCount> deltas = SpotCellGrid.deltas(event.getMarker(), sign);
+        synchronized (this) {
+            pending.addAll(deltas);
+        }
+    }
+
+    /**
+     * 보관한 증감분을 칸별로 합쳐 반영합니다. 반영에 실패하면 다음 주기에 다시 시도합니다. <br/>
+     * 호출한 트랜잭션이 있으면 그 트랜잭션에서 반영합니다.
+     */
+    @Scheduled(fixedDelayString = "${cluster.cellCount.flushInterval}")
+    @PreDestroy
+    public void flush() {
+        List<SpotCellCount> deltas;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            deltas = pending;
+            pending = new ArrayList<>();
+        }
+        List<SpotCellCount> merged = SpotCellGrid.merge(deltas);
+        try {
+            spotCellCountJDBCRepository.bulkAddCounts(merged);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending.addAll(merged);
+            }
+            throw e;
+        }
+        log.debug("격자 스팟 수 반영 완료 - events : {}, cells : {}", deltas.size() / (SpotCellGrid.MAX_ZOOM + 1), merged.size());
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.bird.maru.map.cell;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.util.MercatorProjection;
+import com.bird.maru.domain.model.entity.SpotCellCount;
+import com.bird.maru.domain.model.type.Coordinate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스팟 수 집계 격자 (spot_cell_counts) <br/>
+ * 줌 레벨 z 의 칸은 Web Mercator 타일 (z, x, y) 를 가로 세로 2^CELL_BITS 개로 나눈 것이며, 0 ~ MAX_ZOOM 까지만 집계합니다. <br/>
+ * 칸 좌표는 정규화 투영 좌표 (x, y ∈ [0, 1]) 에 2^(z + CELL_BITS) 를 곱해 내림한 값입니다.
+ */
+public final class SpotCellGrid {
+
+    public static final int MAX_ZOOM = 10;
+    public static final int CELL_BITS = 3; // 타일 한 변당 8칸 (extent 512 기준 64px)
+    private static final double SUM_TOLERANCE = 1e-9; // 좌표 합계의 부동소수점 오차
+
+    private SpotCellGrid() {
+    }
+
+    public static boolean covers(int zoom) {
+        return zoom >= 0 && zoom <= MAX_ZOOM;
+    }
+
+    public static int cellsPerAxis(int zoom) {
+        return 1 << (zoom + CELL_BITS);
+    }
+
+    /**
+     * 정규화 투영 좌표가 속한 칸 - 경계값 1 은 마지막 칸에 포함합니다.
+     */
+    public static int toCell(double projected, int zoom) {
+        int cells = cellsPerAxis(zoom);
+        int cell = (int) Math.floor(projected * cells);
+        return Math.max(0, Math.min(cells - 1, cell));
+    }
+
+    /**
+     * 스팟 하나의 등록(+1) / 삭제(-1) 시 줌 레벨별로 더할 증감분
+     *
+     * @param marker : 스팟 마커
+     * @param sign   : 1 또는 -1
+     */
+    public static List<SpotCellCount> deltas(Marker marker, int sign) {
+        double x = projectedX(marker);
+        double y = projectedY(marker);
+        List<SpotCellCount> deltas = new ArrayList<>(MAX_ZOOM + 1);
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            deltas.add(SpotCellCount.builder()
+                                    .zoom(zoom)
+                                    .cellX(toCell(x, zoom))
+                                    .cellY(toCell(y, zoom))
+                                    .count((long) sign)
+                                    .sumX(sign * x)
+                                    .sumY(sign * y)
+                                    .build());
+        }
+        return deltas;
+    }
+
+    /**
+     * 전체 스팟 재집계 - spotCellCountJob 에서 현재 테이블과 비교하여 바로잡을 때 사용합니다.
+     */
+    public static List<SpotCellCount> aggregate(List<Marker> markers) {
+        Map<Long, double[]> cells = new HashMap<>();
+        for (Marker marker : markers) {
+            double x = projectedX(marker);
+            double y = projectedY(marker);
+            for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+                double[] cell = cells.computeIfAbsent(key(zoom, toCell(x, zoom), toCell(y, zoom)), k -> new double[3]);
+                cell[0]++;
+                cell[1] += x;
+                cell[2] += y;
+            }
+        }
+        List<SpotCellCount> counts = new ArrayList<>(cells.size());
+        cells.forEach((key, cell) -> counts.add(SpotCellCount.builder()
+                                                             .zoom((int) (key >>> 40))
+                                                             .cellX((int) ((key >>> 20) & 0xFFFFF))
+                                                             .cellY((int) (key & 0xFFFFF))
+                                                             .count((long) cell[0])
+                                                             .sumX(cell[1])
+                                                             .sumY(cell[2])
+                                                             .build()));
+        return counts;
+    }
+
+    /**
+     * 재집계 결과와 현재 테이블의 차이 - 같은 시점에 읽은 두 결과의 차이를 증감분으로 더하면, 그 이후 반영된 증감분을 잃지 않고 바로잡습니다. <br/>
+     * 스팟 수와 좌표 합계가 모두 같은 칸은 제외합니다.
+     *
+     * @param aggregated : 전체 스팟 재집계 결과
+     * @param current    : 현재 테이블의 모든 행
+     */
+    public static List<SpotCellCount> corrections(List<SpotCellCount> aggregated, List<SpotCellCount> current) {
+        Map<Long, double[]> cells = new HashMap<>();
+        for (SpotCellCount count : aggregated) {
+            double[] cell = cells.computeIfAbsent(key(count.getZoom(), count.getCellX(), count.getCellY()), k -> new double[3]);
+            cell[0] += count.getCount();
+            cell[1] += count.getSumX();
+            cell[2] += count.getSumY();
+        }
+        for (SpotCellCount count : current) {
+            double[] cell = cells.computeIfAbsent(key(count.getZoom(), count.getCellX(), count.getCellY()), k -> new double[3]);
+            cell[0] -= count.getCount();
+            cell[1] -= count.getSumX();
+            cell[2] -= count.getSumY();
+        }
+        List<SpotCellCount> corrections = new ArrayList<>();
+        cells.forEach((key, cell) -> {
+            if (cell[0] != 0 || Math.abs(cell[1]) > SUM_TOLERANCE || Math.abs(cell[2]) > SUM_TOLERANCE) {
+                corrections.add(SpotCellCount.builder()
+                                             .zoom((int) (key >>> 40))
+                                             .cellX((int) ((key >>> 20) & 0xFFFFF))
+                                             .cellY((int) (key & 0xFFFFF))
+                                             .count((long) cell[0])
+                                             .sumX(cell[1])
+                                             .sumY(cell[2])
+                                             .build());
+            }
+        });
+        return corrections;
+    }
+
+    /**
+     * 같은 칸의 증감분을 하나로 합칩니다. 합친 결과 스팟 수와 좌표 합계가 모두 0 인 칸은 제외합니다.
+     */
+    public static List<SpotCellCount> merge(List<SpotCellCount> deltas) {
+        return corrections(deltas, List.of());
+    }
+
+    /**
+     * 칸에 속한 스팟들의 무게중심 (경위도)
+     */
+    public static Coordinate centroid(SpotCellCount cell) {
+        return Coordinate.builder()
+                         .lng(MercatorProjection.xToLng(cell.getSumX() / cell.getCount()))
+                         .lat(MercatorProjection.yToLat(cell.getSumY() / cell.getCount()))
+                         .build();
+    }
+
+    public static int minCellX(BoundingBox boundingBox, int zoom) {
+        return toCell(MercatorProjection.lngToX(boundingBox.getWest()), zoom);
+    }
+
+    public static int maxCellX(BoundingBox boundingBox, int zoom) {
+        return toCell(MercatorProjection.lngToX(boundingBox.getEast()), zoom);
+    }
+
+    // 투영 좌표의 y 는 북쪽이 작습니다.
+    public static int minCellY(BoundingBox boundingBox, int zoom) {
+        return toCell(MercatorProjection.latToY(boundingBox.getNorth()), zoom);
+    }
+
+    public static int maxCellY(BoundingBox boundingBox, int zoom) {
+        return toCell(MercatorProjection.latToY(boundingBox.getSouth()), zoom);
+    }
+
+    /**
+     * 범위의 칸 수가 maxCells 이하가 되는 가장 높은 줌 레벨 (zoom 이하) - 넓은 범위는 더 큰 칸으로 조회합니다.
+     */
+    public static int fitZoom(BoundingBox boundingBox, int zoom, int maxCells) {
+        int fitted = zoom;
+        while (fitted > 0 && countCells(boundingBox, fitted) > maxCells) {
+            fitted--;
+        }
+        return fitted;
+    }
+
+    private static long countCells(BoundingBox boundingBox, int zoom) {
+        return (long) (maxCellX(boundingBox, zoom) - minCellX(boundingBox, zoom) + 1)
+                * (maxCellY(boundingBox, zoom) - minCellY(boundingBox, zoom) + 1);
+    }
+
+    private static long key(int zoom, int cellX, int cellY) {
+        return ((long) zoom << 40) | ((long) cellX << 20) | cellY;
+    }
+
+    private static double projectedX(Marker marker) {
+        if (marker.getProjected() != null && marker.getProjected().getX() != null) {
+            return marker.getProjected().getX();
+        }
+        return MercatorProjection.lngToX(marker.getCoordinate().getLng());
+    }
+
+    private static double projectedY(Marker marker) {
+        if (marker.getProjected() != null && marker.getProjected().getY() != null) {
+            return marker.getProjected().getY();
+        }
+        return MercatorProjection.latToY(marker.getCoordinate().getLat());
+    }
+
+}
@@ -1,28 +1,49 @@
 package com.bird.maru.map.controller;
 
 import com.bird.maru.auth.service.dto.CustomUserDetails;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import com.bird.maru.cluster.tile.VectorTileWriter;
+import com.bird.maru.common.util.VersionTokenUtil;
+import com.bird.maru.landmark.controller.dto.LandmarkDeltaResponseDto;
 import com.bird.maru.landmark.controller.dto.LandmarkMapResponseDto;
 import com.bird.maru.landmark.service.query.LandmarkQueryService;
+import com.bird.maru.map.controller.dto.HeatmapCellResponseDto;
 import com.bird.maru.map.controller.dto.MapCondition;
+import com.bird.maru.map.controller.dto.NearbyResponseDto;
+import com.bird.maru.map.controller.dto.SpotDeltaResponseDto;
+import com.bird.maru.map.controller.dto.SpotPrefetchResponseDto;
+import com.bird.maru.map.service.dto.SpotTile;
 import com.bird.maru.map.service.query.MapQueryService;
 import java.util.List;
 import javax.validation.Valid;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.wololo.geojson.Feature;
 
 @RestController
 @RequestMapping("/api/map")
+@Validated
 @RequiredArgsConstructor
 public class MapController {
 
+    public static final String CLUSTER_VERSION_HEADER = "X-Cluster-Version";
+
     private final LandmarkQueryService landmarkQueryService;
     private final MapQueryService mapQueryService;
 
@@ -46,18 +67,199 @@ public class MapController {
         return landmarkQueryService.findLandmarkBasedMap(west, south, east, north, member.getId());
     }
 
+    /**
+     * 랜드마크 지도 기준 변경분 검색 - 지도 이동 시 이전 응답과 달라진 랜드마크만 반환합니다. <br/>
+     * prev* 와 version 에 이전 응답의 조회 범위와 version 을 보냅니다. (최초 요청은 생략) <br/>
+     * 변경분을 계산할 수 없으면 full = true 로 조회 범위 전체를 반환합니다.
+     *
+     * @param west    : minLng
+     * @param south   : minLat
+     * @param east    : maxLng
+     * @param north   : maxLat
+     * @param version : 이전 응답의 데이터 버전 토큰
+     * @param member  : 현재 접근중인 주체
+     */
+    @GetMapping("/landmarks/delta")
+    public LandmarkDeltaResponseDto findLandmarkDeltaBasedMap(
+            @NotNull @RequestParam Double west, @NotNull @RequestParam Double south,
+            @NotNull @RequestParam Double east, @NotNull @RequestParam Double north,
+            @RequestParam(required = false) Double prevWest, @RequestParam(required = false) Double prevSouth,
+            @RequestParam(required = false) Double prevEast, @RequestParam(required = false) Double prevNorth,
+            @RequestParam(required = false) String version,
+            @AuthenticationPrincipal CustomUserDetails member
+    ) {
+        BoundingBox previous = prevWest == null || prevSouth == null || prevEast == null || prevNorth == null ? null
+                : BoundingBox.builder().west(prevWest).south(prevSouth).east(prevEast).north(prevNorth).build();
+        BoundingBox boundingBox = BoundingBox.builder().west(west).south(south).east(east).north(north).build();
+        return landmarkQueryService.findLandmarkDeltaBasedMap(previous, version, boundingBox, member.getId());
+    }
+
+    /**
+     * 현재 위치 주변 랜드마크/스팟 조회 - 가까운 순서 <br/>
+     * 클라이언트가 전체 랜드마크를 내려받아 위치 갱신마다 거리를 계산하지 않도록, 방문 판정에 필요한 주변 목록만 반환합니다. <br/>
+     * 랜드마크에는 사용자의 오늘 방문 여부를 함께 반환합니다.
+     *
+     * @param lng    : 경도 (-180 ~ 180)
+     * @param lat    : 위도 (-85 ~ 85, Web Mercator 범위)
+     * @param radius : 반경 (m, 최대 5000)
+     * @param size   : 랜드마크, 스팟 각각의 최대 개수 (1 ~ 100)
+     * @param member : 현재 접근중인 주체
+     */
+    @GetMapping("/nearby")
+    public NearbyResponseDto findNearby(
+            @NotNull @DecimalMin("-180") @DecimalMax("180") @RequestParam Double lng,
+            @NotNull @DecimalMin("-85") @DecimalMax("85") @RequestParam Double lat,
+            @RequestParam(defaultValue = "100") @Positive @DecimalMax("5000") Double radius,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) Integer size,
+            @AuthenticationPrincipal CustomUserDetails member
+    ) {
+        return mapQueryService.findNearby(member.getId(), lng, lat, radius, size);
+    }
+
     /**
      * 지도 기반 스팟 목록 조회 - 클러스터 적용 <br/>
      * 단일 좌표 - properties.geoType = Point <br/>
-     * 클러스터 대표 좌표 - properties.geoype = Cluster <br/>
+     * 클러스터 대표 좌표 - properties.geoype = Cluster, properties.id = 클러스터 id (필터 ALL, 태그 조건 없음일 때만) <br/>
+     * 클러스터 id 가 있으면 X-Cluster-Version 헤더에 데이터 버전 토큰을 담으며, 클러스터 탐색(/clusters/**) 시 version 으로 그대로 보냅니다. <br/>
+     * 응답은 Feature 객체 없이 응답 스트림으로 바로 기록됩니다. <br/>
+     * Accept : application/vnd.maru.features 이면 압축 바이너리 형식으로 응답합니다. (CompactFeatureWriter 참고) <br/>
      * 
      * @param member : 현재 접근중인 주체
      * @param condition : 검색 조건
      * @return 데이터 없을 시 빈 배열 반환
      * */
     @PostMapping("/spots")
-    public List<Feature> spotsCluster(@AuthenticationPrincipal CustomUserDetails member, @Valid  @RequestBody MapCondition condition) {
-        return mapQueryService.spotsCluster(member.getId(), condition);
+    public ResponseEntity<StreamingFeatureCollection> spotsCluster(@AuthenticationPrincipal CustomUserDetails member,
+                                                                   @Valid @RequestBody MapCondition condition) {
+        return withClusterVersion(mapQueryService.spotsCluster(member.getId(), condition));
+    }
+
+    /**
+     * 스팟 밀도 지도 - 격자 칸별 스팟 수와 칸에 속한 스팟들의 무게중심 <br/>
+     * 칸은 줌 레벨의 타일을 가로 세로 8칸으로 나눈 것이며, 줌 레벨 10 보다 높으면 줌 레벨 10 의 칸으로 응답합니다.
+     *
+     * @param west  : minLng
+     * @param south : minLat
+     * @param east  : maxLng
+     * @param north : maxLat
+     * @param zoom  : 줌 레벨
+     */
+    @GetMapping("/heatmap")
+    public List<HeatmapCellResponseDto> spotsHeatmap(
+            @NotNull @RequestParam Double west, @NotNull @RequestParam Double south,
+            @NotNull @RequestParam Double east, @NotNull @RequestParam Double north,
+            @NotNull @RequestParam @Min(0) @Max(24) Integer zoom
+    ) {
+        return mapQueryService.spotsHeatmap(BoundingBox.builder()
+                                                       .west(west)
+                                                       .south(south)
+                                                       .east(east)
+                                                       .north(north)
+                                                       .zoom(zoom)
+                                                       .build());
+    }
+
+    /**
+     * 지도 기반 스팟 목록 조회 + 미리 받기 - features 는 /spots 응답과 같습니다. <br/>
+     * zoomIn : 같은 범위의 한 단계 위 줌 레벨 결과, margin : marginBoundingBox 중 요청 범위 밖의 결과 <br/>
+     * 미리 받기 항목은 필터 ALL 일 때만 채워지며, Feature 수가 많으면 null 입니다. <br/>
+     * version 은 세 결과의 클러스터 id 를 탐색할 때 보낼 데이터 버전 토큰입니다.
+     *
+     * @param member    : 현재 접근중인 주체
+     * @param condition : 검색 조건 (prefetchMargin : 범위 둘레로 넓힐 비율, 최대 1.0)
+     */
+    @PostMapping("/spots/prefetch")
+    public SpotPrefetchResponseDto spotsPrefetch(@AuthenticationPrincipal CustomUserDetails member, @Valid @RequestBody MapCondition condition) {
+        return mapQueryService.spotsPrefetch(member.getId(), condition);
+    }
+
+    /**
+     * 지도 기반 스팟 목록 변경분 조회 - 지도 이동 시 이전 응답과 달라진 Feature 만 반환합니다. <br/>
+     * condition.previousBoundingBox, condition.version 에 이전 응답의 조회 범위와 version 을 보냅니다. (최초 요청은 생략) <br/>
+     * 변경분을 계산할 수 없으면 full = true 로 조회 범위 전체를 반환합니다.
+     *
+     * @param member    : 현재 접근중인 주체
+     * @param condition : 검색 조건
+     */
+    @PostMapping("/spots/delta")
+    public SpotDeltaResponseDto spotsClusterDelta(@AuthenticationPrincipal CustomUserDetails member, @Valid @RequestBody MapCondition condition) {
+        return mapQueryService.spotsClusterDelta(member.getId(), condition);
+    }
+
+    /**
+     * 지도 타일 단위 스팟 목록 조회 - Mapbox Vector Tile <br/>
+     * points 레이어 - 단일 좌표, clusters 레이어 - 클러스터 대표 좌표 (속성은 /spots 의 properties 와 동일) <br/>
+     * 클러스터 인덱스의 데이터 버전을 서버 인스턴스별 버전 토큰으로 만들어 ETag 로 사용하므로, 같은 인스턴스에서 데이터가 바뀌지 않았다면 304 를 반환합니다. <br/>
+     * ETag 의 토큰은 클러스터 탐색(/clusters/**) 시 version 으로 사용할 수 있습니다.
+     *
+     * @param z : 줌 레벨
+     * @param x : 타일 x 좌표
+     * @param y : 타일 y 좌표
+     */
+    @GetMapping(value = "/tiles/{z}/{x}/{y}", produces = VectorTileWriter.MEDIA_TYPE)
+    public ResponseEntity<byte[]> spotsTile(@PathVariable int z, @PathVariable int x, @PathVariable int y) {
+        SpotTile tile = mapQueryService.spotsTile(z, x, y);
+        if (tile.getVersion() == null) {
+            return ResponseEntity.ok()
+                                 .cacheControl(CacheControl.noStore())
+                                 .body(tile.getData());
+        }
+        return ResponseEntity.ok()
+                             .cacheControl(CacheControl.noCache())
+                             .eTag(VersionTokenUtil.encode(tile.getVersion()))
+                             .body(tile.getData());
+    }
+
+    /**
+     * 클러스터를 구성하는 한 단계 아래 줌 레벨의 스팟/클러스터 목록 <br/>
+     * clusterId 는 /spots 응답의 클러스터 properties.id 이며, 응답 형식은 /spots 와 같습니다. <br/>
+     * 클러스터 id 는 인덱스가 갱신될 때마다 바뀌므로, id 를 받은 응답의 데이터 버전 토큰을 함께 보냅니다. 그 인덱스를 더 이상 보관하지 않으면 409 를 반환합니다.
+     *
+     * @param clusterId : 클러스터 id
+     * @param version   : 클러스터 id 를 받은 응답의 데이터 버전 토큰 (X-Cluster-Version, delta/prefetch 응답의 version, 타일 ETag)
+     */
+    @GetMapping("/clusters/{clusterId}/children")
+    public ResponseEntity<StreamingFeatureCollection> clusterChildren(@PathVariable long clusterId, @NotNull @RequestParam String version) {
+        return withClusterVersion(mapQueryService.clusterChildren(clusterId, version));
+    }
+
+    /**
+     * 클러스터에 포함된 스팟 목록 (페이지 단위) - 단일 좌표 Feature 목록
+     *
+     * @param clusterId : 클러스터 id
+     * @param version   : 클러스터 id 를 받은 응답의 데이터 버전 토큰
+     * @param limit     : 최대 개수
+     * @param offset    : 건너뛸 개수
+     */
+    @GetMapping("/clusters/{clusterId}/leaves")
+    public StreamingFeatureCollection clusterLeaves(
+            @PathVariable long clusterId, @NotNull @RequestParam String version,
+            @RequestParam(defaultValue = "10") int limit, @RequestParam(defaultValue = "0") int offset
+    ) {
+        return mapQueryService.clusterLeaves(clusterId, version, limit, offset);
+    }
+
+    /**
+     * 클러스터가 둘 이상으로 나뉘는 줌 레벨 - 클러스터를 눌렀을 때 이동할 줌 레벨
+     *
+     * @param clusterId : 클러스터 id
+     * @param version   : 클러스터 id 를 받은 응답의 데이터 버전 토큰
+     */
+    @GetMapping("/clusters/{clusterId}/expansion-zoom")
+    public int clusterExpansionZoom(@PathVariable long clusterId, @NotNull @RequestParam String version) {
+        return mapQueryService.clusterExpansionZoom(clusterId, version);
+    }
+
+    /**
+     * 클러스터 id 가 있는 결과는 데이터 버전 토큰을 헤더에 담습니다.
+     */
+    private ResponseEntity<StreamingFeatureCollection> withClusterVersion(StreamingFeatureCollection features) {
+        if (features.getVersion() == null) {
+            return ResponseEntity.ok(features);
+        }
+        return ResponseEntity.ok()
+                             .header(CLUSTER_VERSION_HEADER, features.getVersion())
+                             .body(features);
     }
 
 }
@@ -0,0 +1,49 @@
+package com.bird.maru.map.controller;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.map.live.ViewportSubscriptionIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+/**
+ * 지도 실시간 갱신 구독 (Stomp) <br/>
+ * 클라이언트는 /user/queue/map/spots 를 구독하고, 지도를 이동할 때마다 /app/map/viewport 로 현재 지도 범위를 보냅니다. (줌 레벨은 사용하지 않음) <br/>
+ * 이후 지도 범위 안의 스팟이 등록/삭제되면 SpotLiveEventDto 를 받습니다.
+ */
+@Controller
+@RequiredArgsConstructor
+public class MapLiveController {
+
+    private final ViewportSubscriptionIndex viewportSubscriptionIndex;
+
+    /**
+     * 현재 세션의 지도 범위 등록 - 이전 범위는 대체합니다.
+     */
+    @MessageMapping("/map/viewport")
+    public void subscribeViewport(@Payload BoundingBox boundingBox, SimpMessageHeaderAccessor headerAccessor) {
+        if (boundingBox.getWest() == null || boundingBox.getSouth() == null
+                || boundingBox.getEast() == null || boundingBox.getNorth() == null) {
+            return;
+        }
+        viewportSubscriptionIndex.subscribe(headerAccessor.getSessionId(), boundingBox);
+    }
+
+    /**
+     * 현재 세션의 지도 범위 해제 - 지도 화면을 벗어날 때 보냅니다.
+     */
+    @MessageMapping("/map/viewport/clear")
+    public void unsubscribeViewport(SimpMessageHeaderAccessor headerAccessor) {
+        viewportSubscriptionIndex.unsubscribe(headerAccessor.getSessionId());
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        viewportSubscriptionIndex.unsubscribe(event.getSessionId());
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.bird.maru.map.controller;
+
+import com.bird.maru.cluster.compact.CompactFeatureWriter;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import com.bird.maru.map.controller.dto.SpotShardWriteDto;
+import com.bird.maru.map.index.SpotShardIndex;
+import com.bird.maru.map.shard.HttpSpotShardClient;
+import com.bird.maru.map.shard.SpotShardTopology;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import javax.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 노드 간 샤드 조회/쓰기 API - 사용자 인증 대신 cluster.shard.secret 으로 노드를 확인합니다.
+ */
+@RestController
+@RequestMapping("/internal/map/shards")
+@RequiredArgsConstructor
+public class SpotShardController {
+
+    private final SpotShardTopology topology;
+    private final SpotShardIndex spotShardIndex;
+
+    /**
+     * 현재 노드가 담당하는 셀의 스팟 범위 검색 - 응답은 압축 바이너리 형식(CompactFeatureWriter)이며 클러스터 id 는 포함하지 않습니다.
+     *
+     * @param west   : minLng
+     * @param south  : minLat
+     * @param east   : maxLng
+     * @param north  : maxLat
+     * @param zoom   : 줌 레벨
+     * @param secret : 노드 간 공유 비밀값
+     * @throws AccessDeniedException 샤딩을 사용하지 않거나 비밀값이 다른 경우에 발생
+     */
+    @GetMapping(value = "/spots", produces = CompactFeatureWriter.MEDIA_TYPE)
+    public StreamingFeatureCollection spots(
+            @NotNull @RequestParam Double west, @NotNull @RequestParam Double south,
+            @NotNull @RequestParam Double east, @NotNull @RequestParam Double north,
+            @NotNull @RequestParam Integer zoom,
+            @RequestHeader(value = HttpSpotShardClient.SECRET_HEADER, required = false) String secret
+    ) {
+        verify(secret);
+        BoundingBox boundingBox = BoundingBox.builder().west(west).south(south).east(east).north(north).zoom(zoom).build();
+        return new StreamingFeatureCollection(sink -> spotShardIndex.run(boundingBox, sink));
+    }
+
+    /**
+     * 다른 노드에서 등록/삭제된, 현재 노드가 담당하는 셀의 스팟을 델타 버퍼에 반영합니다.
+     *
+     * @param write  : 스팟 등록/삭제
+     * @param secret : 노드 간 공유 비밀값
+     * @throws AccessDeniedException 샤딩을 사용하지 않거나 비밀값이 다른 경우에 발생
+     */
+    @PostMapping("/spots/writes")
+    public void write(
+            @RequestBody SpotShardWriteDto write,
+            @RequestHeader(value = HttpSpotShardClient.SECRET_HEADER, required = false) String secret
+    ) {
+        verify(secret);
+        spotShardIndex.apply(write.getType(), write.getMarker());
+    }
+
+    private void verify(String secret) {
+        if (!topology.isEnabled() || secret == null || !MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                                                                               topology.getSecret().getBytes(StandardCharsets.UTF_8))) {
+            throw new AccessDeniedException("샤드 조회 권한이 없습니다.");
+        }
+    }
+
+}
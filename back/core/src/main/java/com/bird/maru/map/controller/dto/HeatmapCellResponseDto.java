@@ -0,0 +1,19 @@
+package com.bird.maru.map.controller.dto;
+
+import com.bird.maru.domain.model.type.Coordinate;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class HeatmapCellResponseDto {
+
+    private Coordinate coordinate; // 칸에 속한 스팟들의 무게중심
+    private Long count;
+
+}
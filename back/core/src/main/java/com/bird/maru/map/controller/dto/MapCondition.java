@@ -3,6 +3,8 @@ package com.bird.maru.map.controller.dto;
 import com.bird.maru.cluster.geo.BoundingBox;
 import com.bird.maru.domain.model.type.MapFilterType;
 import javax.annotation.Nullable;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.NotNull;
 import lombok.AccessLevel;
@@ -30,4 +32,16 @@ public class MapCondition {
     @Max(5000)
     private Integer size;
 
+    // 변경분 조회 (/spots/delta) - 이전 응답의 조회 범위와 데이터 버전 토큰
+    @Nullable
+    private BoundingBox previousBoundingBox;
+    @Nullable
+    private String version;
+
+    // 미리 받기 (/spots/prefetch) - 조회 범위 둘레로 넓힐 비율 (범위 가로, 세로 기준)
+    @Nullable
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private Double prefetchMargin;
+
 }
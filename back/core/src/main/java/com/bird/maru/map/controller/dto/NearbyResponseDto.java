@@ -0,0 +1,22 @@
+package com.bird.maru.map.controller.dto;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주변 랜드마크/스팟 조회 결과 - 각각 가까운 순서
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class NearbyResponseDto {
+
+    private List<NearbyLandmarkResponseDto> landmarks;
+    private List<NearbySpotResponseDto> spots;
+
+}
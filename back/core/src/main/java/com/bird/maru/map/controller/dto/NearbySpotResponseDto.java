@@ -0,0 +1,22 @@
+package com.bird.maru.map.controller.dto;
+
+import com.bird.maru.domain.model.type.Coordinate;
+import java.net.URL;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class NearbySpotResponseDto {
+
+    private Long id;
+    private Coordinate coordinate;
+    private Double distance; // 요청 좌표로부터의 거리 (m)
+    private URL imageUrl;
+
+}
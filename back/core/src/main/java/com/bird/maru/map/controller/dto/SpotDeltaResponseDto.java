@@ -0,0 +1,28 @@
+package com.bird.maru.map.controller.dto;
+
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 스팟 지도 변경분 <br/>
+ * full 이면 added 가 조회 범위 전체이므로 보관 중인 Feature 를 모두 교체합니다. <br/>
+ * 아니라면 added 를 (geoType, id) 기준으로 추가/교체하고, removedSpots, removedClusters 의 Feature 를 제거합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class SpotDeltaResponseDto {
+
+    private String version; // 다음 요청에 그대로 보낼 데이터 버전 토큰 (변경분을 계산할 수 없는 조건이면 null)
+    private Boolean full;
+    private StreamingFeatureCollection added;
+    private List<Long> removedSpots;
+    private List<Long> removedClusters;
+
+}
@@ -0,0 +1,24 @@
+package com.bird.maru.map.controller.dto;
+
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 지도 실시간 스팟 등록/삭제 알림 - 클라이언트는 재조회 없이 마커를 추가/제거합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class SpotLiveEventDto {
+
+    private SpotMarkerEvent.Type type;
+    private Long id; // 스팟 id
+    private Double lng;
+    private Double lat;
+
+}
@@ -0,0 +1,27 @@
+package com.bird.maru.map.controller.dto;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 스팟 지도 조회 결과와 다음 동작용 미리 받기 묶음 <br/>
+ * zoomIn, margin 은 미리 구성된 인덱스로 조회할 수 있는 조건에서만 채워지며, Feature 수가 제한을 넘으면 null 입니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class SpotPrefetchResponseDto {
+
+    private String version; // 클러스터 id 를 탐색할 때 보낼 데이터 버전 토큰 (클러스터 인덱스 조회 결과가 아니면 null)
+    private StreamingFeatureCollection features; // 요청한 범위, 줌 레벨의 결과 (/spots 와 동일)
+    private StreamingFeatureCollection zoomIn; // 같은 범위의 한 단계 위 줌 레벨 결과
+    private StreamingFeatureCollection margin; // 요청한 줌 레벨에서 marginBoundingBox 중 요청 범위 밖의 결과
+    private BoundingBox marginBoundingBox;
+
+}
@@ -0,0 +1,23 @@
+package com.bird.maru.map.controller.dto;
+
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 노드 간 샤드 쓰기 - 담당하지 않는 셀의 스팟 등록/삭제를 담당 노드의 델타 버퍼에 전달합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class SpotShardWriteDto {
+
+    private SpotMarkerEvent.Type type;
+    private Marker marker;
+
+}
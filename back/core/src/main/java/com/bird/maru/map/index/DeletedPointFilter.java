@@ -0,0 +1,32 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import java.util.Set;
+
+/**
+ * 델타 버퍼에서 삭제된 스팟을 단일 포인트에서 제외합니다. 클러스터는 그대로 전달합니다.
+ */
+class DeletedPointFilter implements FeatureSink {
+
+    private final FeatureSink sink;
+    private final Set<Long> deleted;
+
+    DeletedPointFilter(FeatureSink sink, Set<Long> deleted) {
+        this.sink = sink;
+        this.deleted = deleted;
+    }
+
+    @Override
+    public void point(double lng, double lat, long id) {
+        if (!deleted.contains(id)) {
+            sink.point(lng, lat, id);
+        }
+    }
+
+    @Override
+    public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+        sink.cluster(lng, lat, id, count, radius, aggregate);
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.domain.model.type.Coordinate;
+import java.util.Collections;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 클러스터 인덱스 변경 이벤트 <br/>
+ * 델타 반영 시에는 변경된 스팟 좌표를, 전역 인덱스 전체 재구성 시에는 rebuilt, 태그 인덱스 재구성 시에는 tagRebuilt 를 전달합니다. <br/>
+ * 델타 압축은 모든 줌 레벨을 다시 구성하여 클러스터 id 가 지도 전체에서 바뀌므로 compacted 를 전달하며, 변경된 스팟 좌표는 델타 반영 시 이미 전달했으므로 담지 않습니다. <br/>
+ * 인덱스에 반영이 끝난 뒤 발행되므로, 수신 측에서 다시 조회하면 변경된 결과를 얻을 수 있습니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@ToString
+public class SpotClusterChangedEvent {
+
+    private final List<Coordinate> coordinates;
+    private final boolean rebuilt;
+    private final boolean tagRebuilt;
+    private final boolean compacted;
+
+    public static SpotClusterChangedEvent changed(List<Coordinate> coordinates) {
+        return new SpotClusterChangedEvent(coordinates, false, false, false);
+    }
+
+    public static SpotClusterChangedEvent compacted() {
+        return new SpotClusterChangedEvent(Collections.emptyList(), false, false, true);
+    }
+
+    public static SpotClusterChangedEvent rebuilt() {
+        return new SpotClusterChangedEvent(Collections.emptyList(), true, false, false);
+    }
+
+    public static SpotClusterChangedEvent tagRebuilt() {
+        return new SpotClusterChangedEvent(Collections.emptyList(), false, true, false);
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.cluster.geo.Marker;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 마지막 압축 이후 등록/삭제된 스팟을 담는 불변 델타 버퍼 <br/>
+ * 쓰기 빈도가 조회 빈도보다 훨씬 낮으므로, 변경 시마다 복사본을 만들어 조회 스레드와 락 없이 공유합니다. <br/>
+ * 압축 시점은 델타 크기와, 비어있던 델타에 처음 항목이 반영된 시각으로 정합니다. (isCompactionDue)
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class SpotClusterDelta {
+
+    private static final SpotClusterDelta EMPTY = new SpotClusterDelta(Collections.emptyMap(), Collections.emptySet(), 0L);
+
+    private final Map<Long, Marker> inserted;
+    private final Set<Long> deleted;
+    private final long since; // 비어있던 델타에 처음 항목이 반영된 시각 (epoch ms), 비어있으면 0
+
+    public static SpotClusterDelta empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 등록/삭제 목록으로 델타 구성 - 삭제가 우선합니다.
+     */
+    public static SpotClusterDelta of(Collection<Marker> inserted, Collection<Long> deleted) {
+        if (inserted.isEmpty() && deleted.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Long, Marker> nextInserted = new LinkedHashMap<>();
+        inserted.forEach(m -> nextInserted.put(m.getId(), m));
+        nextInserted.keySet().removeAll(deleted);
+        return new SpotClusterDelta(Collections.unmodifiableMap(nextInserted), Collections.unmodifiableSet(new HashSet<>(deleted)),
+                                    System.currentTimeMillis());
+    }
+
+    public SpotClusterDelta insert(Marker marker) {
+        Map<Long, Marker> nextInserted = new LinkedHashMap<>(inserted);
+        nextInserted.put(marker.getId(), marker);
+        return new SpotClusterDelta(Collections.unmodifiableMap(nextInserted), deleted, nextSince());
+    }
+
+    /**
+     * 삭제는 항상 tombstone 으로 남깁니다. 압축 도중 삭제된 신규 스팟이 압축 결과에 되살아나는 것을 막기 위함입니다.
+     */
+    public SpotClusterDelta delete(Long spotId) {
+        Map<Long, Marker> nextInserted = new LinkedHashMap<>(inserted);
+        nextInserted.remove(spotId);
+        Set<Long> nextDeleted = new HashSet<>(deleted);
+        nextDeleted.add(spotId);
+        return new SpotClusterDelta(Collections.unmodifiableMap(nextInserted), Collections.unmodifiableSet(nextDeleted), nextSince());
+    }
+
+    /**
+     * 압축에 반영된 항목을 제외한 나머지 델타 - 남은 항목은 압축 도중 반영된 것이므로 압축 완료 시각부터 다시 셉니다.
+     */
+    public SpotClusterDelta subtract(SpotClusterDelta applied) {
+        Map<Long, Marker> nextInserted = new LinkedHashMap<>(inserted);
+        nextInserted.keySet().removeAll(applied.inserted.keySet());
+        Set<Long> nextDeleted = new HashSet<>(deleted);
+        nextDeleted.removeAll(applied.deleted);
+        if (nextInserted.isEmpty() && nextDeleted.isEmpty()) {
+            return EMPTY;
+        }
+        return new SpotClusterDelta(Collections.unmodifiableMap(nextInserted), Collections.unmodifiableSet(nextDeleted),
+                                    System.currentTimeMillis());
+    }
+
+    /**
+     * 스팟 id 오름차순 마커 목록에 델타를 병합합니다. 클러스터 id 가 재구성 간에 최대한 유지되도록 정렬 순서를 보존합니다.
+     */
+    public List<Marker> applyTo(List<Marker> markers) {
+        List<Marker> merged = markers.stream()
+                                     .filter(m -> !deleted.contains(m.getId()))
+                                     .filter(m -> !inserted.containsKey(m.getId()))
+                                     .collect(Collectors.toCollection(ArrayList::new));
+        inserted.values().stream()
+                .filter(m -> !deleted.contains(m.getId()))
+                .forEach(merged::add);
+        merged.sort(Comparator.comparing(Marker::getId));
+        return merged;
+    }
+
+    public boolean isEmpty() {
+        return inserted.isEmpty() && deleted.isEmpty();
+    }
+
+    public int size() {
+        return inserted.size() + deleted.size();
+    }
+
+    /**
+     * 압축 대상 여부 - 압축은 모든 줌 레벨을 다시 구성하고 클러스터 id 를 바꾸므로, 델타가 충분히 쌓였거나 오래된 경우에만 수행합니다.
+     *
+     * @param threshold : 압축할 최소 델타 크기
+     * @param maxAge    : 압축 없이 델타를 보관할 최대 시간 (ms)
+     */
+    public boolean isCompactionDue(int threshold, long maxAge) {
+        return !isEmpty() && (size() >= threshold || System.currentTimeMillis() - since >= maxAge);
+    }
+
+    private long nextSince() {
+        return isEmpty() ? System.currentTimeMillis() : since;
+    }
+
+}
@@ -0,0 +1,349 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.cluster.ClusterSnapshotFile;
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.MappedMarkerList;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.FeatureListSink;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.util.ClusterBuildPool;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.HaversineDistance;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.wololo.geojson.Feature;
+
+/**
+ * 애플리케이션 전역에서 공유하는 스팟 클러스터 인덱스 <br/>
+ * 삭제되지 않은 모든 일반 스팟(랜드마크 스팟 제외)으로 SuperCluster 를 한 번 구성해두고, 백그라운드에서 주기적으로 갱신합니다. <br/>
+ * 조회 요청은 미리 구성된 trees[zoom] 에 대한 KDBush 범위 검색만 수행합니다. <br/>
+ * 스팟 등록/삭제는 델타 버퍼에 먼저 반영되어 조회 결과에 즉시 합쳐지고, 백그라운드 압축(compaction) 시 인덱스에 병합됩니다. <br/>
+ * 인덱스가 바뀔 때마다 SpotClusterChangedEvent 를 발행합니다. <br/>
+ * 현재와 직전 인덱스의 최근 스냅샷을 보관하여, 이전 데이터 버전의 조회 결과와 현재 결과의 차이를 계산하고, 이전 버전의 클러스터 id 를 탐색할 수 있습니다. <br/>
+ * 스냅샷 파일 저장소를 사용하면 RDBMS 전체 재구성 결과를 파일로 기록하고 메모리 매핑하여 조회하며, 재시작 시 파일에서 복원합니다. <br/>
+ * 압축 결과는 파일로 기록하지 않고 다음 전체 재구성까지 힙에 보관합니다. 복원 시 기록 이후의 변경은 RDBMS 에서 다시 조회합니다. <br/>
+ * 최초 구성 중 반영된 스팟 등록/삭제는 RDBMS 조회 결과에 포함되었는지 알 수 없으므로, 보관해두었다가 최초 스냅샷의 델타에 다시 반영합니다. <br/>
+ * 샤딩(cluster.shard.enabled)을 사용하면 구성하지 않으며, 노드마다 SpotShardIndex 가 담당 셀의 스팟만 보관합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpotClusterIndex {
+
+    private final SpotCustomQueryRepository spotCustomQueryRepository;
+    private final SuperClusterParams superClusterParams;
+    private final PointConverter pointConverter;
+    private final DistanceMeasure distanceMeasure;
+    private final SpotAggregateReducer spotAggregateReducer;
+    private final ClusterBuildPool clusterBuildPool;
+    private final SpotClusterSnapshotStore snapshotStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public static final long NO_VERSION = -1L;
+    private static final Duration RESTORE_MARGIN = Duration.ofMinutes(1);
+    private static final int HISTORY_SIZE = 64;
+    private static final HaversineDistance HAVERSINE = new HaversineDistance();
+    private static final double METERS_PER_KM = 1000.0;
+
+    private final Object buildLock = new Object();
+    private volatile SpotClusterSnapshot snapshot;
+    private final Deque<SpotClusterSnapshot> history = new ArrayDeque<>(); // 최근 스냅샷, 오래된 순 (this)
+    private LocalDateTime asOf; // 마지막 RDBMS 전체 조회 시각 (buildLock)
+    private List<SpotMarkerEvent> pendingEvents = new ArrayList<>(); // 최초 구성 전 반영된 변경, 최초 구성 이후 null (this)
+
+    @Value("${cluster.shard.enabled}")
+    private boolean sharded;
+    @Value("${cluster.index.compactThreshold}")
+    private int compactThreshold;
+    @Value("${cluster.index.compactMaxAge}")
+    private long compactMaxAge;
+
+    /**
+     * RDBMS 기준 전체 재구성 <br/>
+     * 새 인덱스 구성이 끝난 뒤에 참조를 교체하므로, 재구성 중에도 기존 인덱스로 조회할 수 있습니다. <br/>
+     * 조회 도중 반영된 델타는 그대로 유지되며, 이미 인덱스에 포함된 스팟은 조회 시 중복 제외됩니다. <br/>
+     * 최초 구성 시 스냅샷 파일이 있으면 파일에서 복원하고, 파일 기록 이후의 변경만 RDBMS 에서 조회하여 델타로 반영합니다.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${cluster.index.refreshInterval}")
+    public void refresh() {
+        if (sharded) {
+            return;
+        }
+        synchronized (buildLock) {
+            if (this.snapshot == null && restore()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            asOf = LocalDateTime.now();
+            List<Marker> markers = spotCustomQueryRepository.findAllMarkers();
+            FlatSuperCluster superCluster = build(markers);
+            Optional<ClusterSnapshotFile> file = snapshotStore.save(superCluster, asOf);
+            if (file.isPresent()) {
+                superCluster = file.get().getSuperCluster();
+                markers = file.get().getMarkers();
+            }
+            synchronized (this) {
+                SpotClusterSnapshot current = this.snapshot;
+                publish(current == null ? SpotClusterSnapshot.of(superCluster, markers)
+                        : current.rebase(superCluster, markers, current.getDelta()));
+            }
+            eventPublisher.publishEvent(SpotClusterChangedEvent.rebuilt());
+            log.info("Spot 클러스터 인덱스 갱신 완료 - markers : {}, elapsed : {}ms", markers.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 델타 버퍼가 압축 기준(cluster.index.compactThreshold, compactMaxAge)을 넘으면 압축합니다. <br/>
+     * 조회 결과에는 델타가 이미 합쳐지므로, 압축은 델타 병합 비용이 커지기 전에만 수행하면 됩니다.
+     */
+    @Scheduled(fixedDelayString = "${cluster.index.compactInterval}")
+    public void compactIfDue() {
+        SpotClusterSnapshot current = this.snapshot;
+        if (current != null && current.getDelta().isCompactionDue(compactThreshold, compactMaxAge)) {
+            compact();
+        }
+    }
+
+    /**
+     * 델타 버퍼 압축 <br/>
+     * 보관 중인 마커 목록에 델타를 병합하여 인덱스를 재구성합니다. RDBMS 조회는 발생하지 않습니다. <br/>
+     * 클러스터 병합 결과는 상위 줌 레벨 전체로 전파되므로 모든 줌 레벨을 다시 구성하며, 클러스터 id 가 모두 바뀝니다. <br/>
+     * 전체 재구성 비용과 id 변경을 줄이기 위해 델타가 쌓였을 때만 수행합니다. (compactIfDue) <br/>
+     * 압축 결과는 다음 전체 재구성까지만 사용하므로 스냅샷 파일은 기록하지 않습니다. (파일 기록, fsync, 재매핑 비용)
+     */
+    public void compact() {
+        synchronized (buildLock) {
+            SpotClusterSnapshot base = this.snapshot;
+            if (base == null || base.getDelta().isEmpty()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            SpotClusterDelta applied = base.getDelta();
+            List<Marker> markers = applied.applyTo(base.getMarkers());
+            FlatSuperCluster superCluster = build(markers);
+            synchronized (this) {
+                SpotClusterSnapshot current = this.snapshot;
+                publish(current.rebase(superCluster, markers, current.getDelta().subtract(applied)));
+            }
+            eventPublisher.publishEvent(SpotClusterChangedEvent.compacted());
+            log.debug("Spot 클러스터 델타 압축 완료 - applied : {}, elapsed : {}ms", applied.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 스냅샷 파일에서 인덱스 복원 <br/>
+     * 파일에 포함된 마지막 스팟 이후 등록된 스팟과, 기록 시각 이후 삭제된 스팟을 델타로 반영합니다. <br/>
+     * 기록 시각 직전에 시작되어 늦게 커밋된 삭제를 놓치지 않도록 여유 시간만큼 앞서 조회합니다.
+     */
+    private boolean restore() {
+        Optional<ClusterSnapshotFile> restored = snapshotStore.load();
+        if (restored.isEmpty()) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        ClusterSnapshotFile file = restored.get();
+        MappedMarkerList markers = file.getMarkers();
+        long lastSpotId = markers.isEmpty() ? 0L : markers.getId(markers.size() - 1);
+        SpotClusterDelta delta = SpotClusterDelta.of(
+                spotCustomQueryRepository.findAllMarkersByIdGreaterThan(lastSpotId),
+                spotCustomQueryRepository.findDeletedMarkerIdsModifiedSince(file.getAsOf().minus(RESTORE_MARGIN))
+        );
+        asOf = file.getAsOf();
+        synchronized (this) {
+            publish(SpotClusterSnapshot.of(file.getSuperCluster(), markers).withDelta(delta));
+        }
+        eventPublisher.publishEvent(SpotClusterChangedEvent.rebuilt());
+        log.info("Spot 클러스터 인덱스 스냅샷 복원 완료 - markers : {}, delta : {}, asOf : {}, elapsed : {}ms",
+                 markers.size(), delta.size(), asOf, System.currentTimeMillis() - start);
+        return true;
+    }
+
+    /**
+     * 스팟 등록/삭제 트랜잭션 커밋 이후 델타 버퍼에 반영 - 최초 구성 전이라면 보관해두었다가 최초 스냅샷에 반영합니다.
+     */
+    @TransactionalEventListener
+    public void onSpotMarkerEvent(SpotMarkerEvent event) {
+        Marker marker = event.getMarker();
+        synchronized (this) {
+            SpotClusterSnapshot current = this.snapshot;
+            if (current != null) {
+                publish(current.withDelta(apply(current.getDelta(), event)));
+            } else if (!sharded) { // 샤딩 시에는 구성하지 않으므로 보관하지 않습니다.
+                pendingEvents.add(event);
+            }
+        }
+        eventPublisher.publishEvent(SpotClusterChangedEvent.changed(List.of(marker.getCoordinate())));
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 현재 인덱스에 포함된 스팟 마커 목록 (스팟 id 오름차순, 압축 전 델타 제외)
+     */
+    public List<Marker> getMarkers() {
+        return snapshot.getMarkers();
+    }
+
+    /**
+     * 범위 내 스팟 마커 목록 (압축 전 델타 제외)
+     */
+    public List<Marker> getMarkers(BoundingBox boundingBox) {
+        return snapshot.getSuperCluster().getPoints(boundingBox);
+    }
+
+    /**
+     * 반경 내 가까운 순서의 스팟 마커 목록 - 클러스터링 이전 레벨의 k-최근접 검색에 델타 버퍼를 합칩니다.
+     *
+     * @param radius : 반경 (m)
+     * @param size   : 최대 개수
+     */
+    public List<Marker> findNearest(double lng, double lat, double radius, int size) {
+        return snapshot.around(lng, lat, size, radius / METERS_PER_KM, HAVERSINE);
+    }
+
+    /**
+     * 현재 스냅샷의 데이터 버전 - 같은 버전에서는 같은 범위에 대해 항상 같은 결과를 반환합니다.
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    /**
+     * 인덱스 범위 검색 결과에 델타 버퍼를 합쳐 반환합니다. <br/>
+     * 삭제된 스팟은 단일 포인트에서 제외되고, 신규 스팟은 압축 전까지 단일 포인트로 표시됩니다. <br/>
+     * 클러스터의 count 는 다음 압축 시점에 갱신됩니다.
+     */
+    public List<Feature> run(BoundingBox boundingBox) {
+        FeatureListSink sink = new FeatureListSink();
+        run(boundingBox, sink);
+        return sink.getFeatures();
+    }
+
+    /**
+     * 델타 버퍼가 반영된 범위 검색 결과를 sink 로 전달합니다.
+     *
+     * @return 조회에 사용한 스냅샷의 데이터 버전
+     */
+    public long run(BoundingBox boundingBox, FeatureSink sink) {
+        return this.snapshot.run(boundingBox, sink);
+    }
+
+    /**
+     * 이전 데이터 버전의 범위 검색 결과와 현재 범위 검색 결과를 함께 전달합니다. <br/>
+     * 이전 버전의 스냅샷을 보관하고 있을 때만 가능합니다. 압축 이후에는 같은 클러스터 id 의 count, 좌표가 달라질 수 있습니다.
+     *
+     * @param version      : 이전 데이터 버전
+     * @param previous     : 이전 조회 범위
+     * @param previousSink : 이전 범위 검색 결과
+     * @return 현재 데이터 버전, 이전 버전의 스냅샷을 보관하고 있지 않으면 아무것도 전달하지 않고 NO_VERSION
+     */
+    public long runSince(long version, BoundingBox previous, FeatureSink previousSink, BoundingBox boundingBox, FeatureSink sink) {
+        SpotClusterSnapshot current;
+        SpotClusterSnapshot base = null;
+        synchronized (this) {
+            current = this.snapshot;
+            for (SpotClusterSnapshot s : history) {
+                if (s.getVersion() == version) {
+                    base = s;
+                }
+            }
+        }
+        if (base == null) {
+            return NO_VERSION;
+        }
+        base.run(previous, previousSink);
+        return current.run(boundingBox, sink);
+    }
+
+    /**
+     * 현재 스냅샷 - 응답 직렬화 전에 데이터 버전을 정해야 하는 조회는 스냅샷을 먼저 정하고 그 스냅샷으로 범위 검색합니다.
+     */
+    public SpotClusterSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 데이터 버전의 조회 결과에 포함된 클러스터 id 를 탐색할 수 있는 스냅샷 <br/>
+     * 같은 superCluster 를 사용하는 스냅샷 중 가장 최근 것이므로, 이후 삭제된 스팟도 제외할 수 있습니다. <br/>
+     * 현재 인덱스와 직전 인덱스의 스냅샷만 보관하므로, 그보다 오래된 버전이면 클러스터 id 가 다른 클러스터를 가리킬 수 있어 찾지 않습니다.
+     *
+     * @param version : 클러스터 id 를 받은 조회 결과의 데이터 버전
+     * @return 보관하고 있지 않은 버전이면 empty
+     */
+    public Optional<SpotClusterSnapshot> findSnapshot(long version) {
+        synchronized (this) {
+            Iterator<SpotClusterSnapshot> snapshots = history.descendingIterator();
+            while (snapshots.hasNext()) {
+                SpotClusterSnapshot s = snapshots.next();
+                if (s.covers(version)) {
+                    return Optional.of(s);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 스냅샷 교체 (this) - 메모리 사용량을 제한하기 위해 현재와 직전 인덱스를 공유하는 스냅샷만 보관합니다. <br/>
+     * 최초 교체 시 구성 중 보관해둔 변경을 델타에 반영합니다.
+     */
+    private void publish(SpotClusterSnapshot next) {
+        if (pendingEvents != null) {
+            SpotClusterDelta delta = next.getDelta();
+            for (SpotMarkerEvent event : pendingEvents) {
+                delta = apply(delta, event);
+            }
+            next = next.withDelta(delta);
+            pendingEvents = null;
+        }
+        SpotClusterSnapshot last = history.peekLast();
+        if (last != null && last.getSuperCluster() != next.getSuperCluster()) {
+            history.removeIf(s -> s.getSuperCluster() != last.getSuperCluster());
+        }
+        history.addLast(next);
+        if (history.size() > HISTORY_SIZE) {
+            history.removeFirst();
+        }
+        this.snapshot = next;
+    }
+
+    private static SpotClusterDelta apply(SpotClusterDelta delta, SpotMarkerEvent event) {
+        Marker marker = event.getMarker();
+        return SpotMarkerEvent.Type.CREATED.equals(event.getType())
+                ? delta.insert(marker)
+                : delta.delete(marker.getId());
+    }
+
+    private FlatSuperCluster build(List<Marker> markers) {
+        return FlatSuperCluster.builder()
+                               .superClusterParams(superClusterParams)
+                               .points(markers)
+                               .pointConverter(pointConverter)
+                               .distanceMeasure(distanceMeasure)
+                               .reducer(spotAggregateReducer)
+                               .pool(clusterBuildPool.forSize(markers.size()))
+                               .build();
+    }
+
+}
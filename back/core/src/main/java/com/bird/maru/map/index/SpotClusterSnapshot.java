@@ -0,0 +1,174 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.MappedMarkerList;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 클러스터 인덱스의 불변 스냅샷 <br/>
+ * 조회는 항상 하나의 스냅샷만 참조하므로, 인덱스와 델타 버퍼가 서로 어긋난 상태로 관찰되지 않습니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class SpotClusterSnapshot {
+
+    private final FlatSuperCluster superCluster;
+    private final List<Marker> markers; // 스팟 id 오름차순 (스냅샷 파일에서 복원한 경우 MappedMarkerList)
+    private final SpotClusterDelta delta;
+    private final long version; // 스냅샷이 교체될 때마다 증가하는 데이터 버전
+    private final long baseVersion; // superCluster 가 구성된 시점의 데이터 버전 - baseVersion ~ version 의 결과는 같은 클러스터 id 를 사용합니다.
+
+    public static SpotClusterSnapshot of(FlatSuperCluster superCluster, List<Marker> markers) {
+        return new SpotClusterSnapshot(superCluster, markers, SpotClusterDelta.empty(), 1L, 1L);
+    }
+
+    public SpotClusterSnapshot rebase(FlatSuperCluster superCluster, List<Marker> markers, SpotClusterDelta delta) {
+        return new SpotClusterSnapshot(superCluster, markers, delta, version + 1, version + 1);
+    }
+
+    public SpotClusterSnapshot withDelta(SpotClusterDelta delta) {
+        return new SpotClusterSnapshot(superCluster, markers, delta, version + 1, baseVersion);
+    }
+
+    /**
+     * 데이터 버전의 조회 결과가 이 스냅샷의 superCluster 로 구성되었는지 여부 - 클러스터 id 를 그대로 탐색할 수 있습니다.
+     */
+    public boolean covers(long version) {
+        return baseVersion <= version && version <= this.version;
+    }
+
+    /**
+     * 인덱스 범위 검색 결과에 델타 버퍼를 합쳐 sink 로 전달합니다. <br/>
+     * 삭제된 스팟은 단일 포인트에서 제외되고, 신규 스팟은 압축 전까지 단일 포인트로 표시됩니다.
+     *
+     * @return 스냅샷의 데이터 버전
+     */
+    public long run(BoundingBox boundingBox, FeatureSink sink) {
+        if (delta.isEmpty()) {
+            superCluster.run(boundingBox, sink);
+            return version;
+        }
+
+        superCluster.run(boundingBox, new DeletedPointFilter(sink, delta.getDeleted()));
+        for (Marker marker : delta.getInserted().values()) {
+            if (contains(boundingBox, marker) && !containsInBase(marker.getId())) {
+                sink.point(marker.getCoordinate().getLng(), marker.getCoordinate().getLat(), marker.getId());
+            }
+        }
+        return version;
+    }
+
+    /**
+     * 델타 버퍼가 반영된 가까운 순서의 스팟 마커 목록 - 경위도 좌표 기준 <br/>
+     * 인덱스에서 삭제된 스팟을 제외할 수 있도록 삭제된 스팟 수만큼 더 찾은 뒤, 반경 내 신규 스팟과 합칩니다.
+     *
+     * @param maxDistance     : 최대 거리 (distanceMeasure 단위)
+     * @param distanceMeasure : 경위도 거리 계산 방식
+     */
+    public List<Marker> around(double lng, double lat, int maxResults, double maxDistance, DistanceMeasure distanceMeasure) {
+        int limit = (int) Math.min(Integer.MAX_VALUE, (long) maxResults + delta.getDeleted().size());
+        List<Marker> found = superCluster.around(lng, lat, limit, maxDistance, distanceMeasure);
+        if (delta.isEmpty()) {
+            return found;
+        }
+
+        List<Marker> candidates = new ArrayList<>(found.size() + delta.getInserted().size());
+        for (Marker marker : found) {
+            if (!delta.getDeleted().contains(marker.getId())) {
+                candidates.add(marker);
+            }
+        }
+        for (Marker marker : delta.getInserted().values()) {
+            if (!containsInBase(marker.getId()) && distance(marker, lng, lat, distanceMeasure) <= maxDistance) {
+                candidates.add(marker);
+            }
+        }
+        return candidates.stream()
+                         .sorted(Comparator.comparingDouble(m -> distance(m, lng, lat, distanceMeasure)))
+                         .limit(maxResults)
+                         .collect(Collectors.toList());
+    }
+
+    /**
+     * 클러스터를 구성하는 한 단계 아래 줌 레벨의 포인트/클러스터 목록 - 삭제된 스팟은 제외됩니다.
+     *
+     * @throws IllegalArgumentException 존재하지 않는 클러스터 id
+     */
+    public void getChildren(long clusterId, FeatureSink sink) {
+        superCluster.getChildren(clusterId, new DeletedPointFilter(sink, delta.getDeleted()));
+    }
+
+    /**
+     * 클러스터에 포함된 스팟 목록 - 삭제된 스팟은 offset, limit 계산에서도 제외되므로, 남은 스팟이 있으면 limit 개를 채워 반환합니다.
+     *
+     * @throws IllegalArgumentException 존재하지 않는 클러스터 id
+     */
+    public void getLeaves(long clusterId, int limit, int offset, FeatureSink sink) {
+        Set<Long> deleted = delta.getDeleted();
+        superCluster.getLeaves(clusterId, limit, offset, deleted.isEmpty() ? null : deleted::contains, sink);
+    }
+
+    /**
+     * 클러스터가 둘 이상으로 나뉘는 줌 레벨
+     *
+     * @throws IllegalArgumentException 존재하지 않는 클러스터 id
+     */
+    public int getClusterExpansionZoom(long clusterId) {
+        return superCluster.getClusterExpansionZoom(clusterId);
+    }
+
+    public boolean containsInBase(Long spotId) {
+        return indexOf(markers, spotId) >= 0;
+    }
+
+    /**
+     * 스팟 id 오름차순 마커 목록에서 스팟 id 이진 탐색 - 별도의 id 배열을 두지 않고 마커 목록에서 직접 찾습니다.
+     *
+     * @return 마커 목록의 index, 없으면 음수
+     */
+    static int indexOf(List<Marker> markers, long spotId) {
+        int low = 0;
+        int high = markers.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = idAt(markers, mid);
+            if (id < spotId) {
+                low = mid + 1;
+            } else if (id > spotId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private boolean contains(BoundingBox boundingBox, Marker marker) {
+        double lng = marker.getCoordinate().getLng();
+        double lat = marker.getCoordinate().getLat();
+        boolean inLng = boundingBox.getWest() <= boundingBox.getEast()
+                ? boundingBox.getWest() <= lng && lng <= boundingBox.getEast()
+                : boundingBox.getWest() <= lng || lng <= boundingBox.getEast();
+        return inLng && boundingBox.getSouth() <= lat && lat <= boundingBox.getNorth();
+    }
+
+    private static long idAt(List<Marker> markers, int index) {
+        return markers instanceof MappedMarkerList ? ((MappedMarkerList) markers).getId(index) : markers.get(index).getId();
+    }
+
+    private static double distance(Marker marker, double lng, double lat, DistanceMeasure distanceMeasure) {
+        return distanceMeasure.compute(marker.getCoordinate().getLng(), marker.getCoordinate().getLat(), lng, lat);
+    }
+
+}
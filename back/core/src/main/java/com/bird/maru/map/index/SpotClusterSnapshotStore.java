@@ -0,0 +1,87 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.cluster.ClusterSnapshotFile;
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.PointConverter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스팟 클러스터 인덱스 스냅샷 파일 저장소 <br/>
+ * RDBMS 기준 전체 재구성 시에만 파일로 기록하고, 기록한 파일을 메모리 매핑하여 조회에 사용합니다. (델타 압축 결과는 기록하지 않음) <br/>
+ * 재시작 시에는 RDBMS 전체 조회와 클러스터 구성 없이 파일에서 인덱스를 복원합니다. <br/>
+ * 경로(cluster.snapshot.path)를 지정하지 않으면 사용하지 않습니다.
+ */
+@Component
+@Slf4j
+public class SpotClusterSnapshotStore {
+
+    private final Path path;
+    private final SuperClusterParams superClusterParams;
+    private final PointConverter pointConverter;
+    private final DistanceMeasure distanceMeasure;
+    private final SpotAggregateReducer spotAggregateReducer;
+
+    public SpotClusterSnapshotStore(
+            @Value("${cluster.snapshot.path}") String path,
+            SuperClusterParams superClusterParams,
+            PointConverter pointConverter,
+            DistanceMeasure distanceMeasure,
+            SpotAggregateReducer spotAggregateReducer
+    ) {
+        this.path = path == null || path.isBlank() ? null : Paths.get(path);
+        this.superClusterParams = superClusterParams;
+        this.pointConverter = pointConverter;
+        this.distanceMeasure = distanceMeasure;
+        this.spotAggregateReducer = spotAggregateReducer;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * 스냅샷 파일 복원 - 파일이 없거나 현재 설정과 맞지 않으면 비어있는 Optional
+     */
+    public Optional<ClusterSnapshotFile> load() {
+        if (!isEnabled() || !Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(ClusterSnapshotFile.map(path, superClusterParams, pointConverter, distanceMeasure, spotAggregateReducer));
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Spot 클러스터 스냅샷 복원 실패 - 전체 재구성합니다. path : {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 스냅샷 파일 기록 후 매핑
+     *
+     * @param asOf : 인덱스에 반영된 데이터의 기준 시각
+     * @return 매핑된 스냅샷 (사용하지 않거나 기록에 실패하면 비어있는 Optional)
+     */
+    public Optional<ClusterSnapshotFile> save(FlatSuperCluster superCluster, LocalDateTime asOf) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            ClusterSnapshotFile.write(path, superCluster, spotAggregateReducer, asOf, superClusterParams, pointConverter);
+            return Optional.of(ClusterSnapshotFile.map(path, superClusterParams, pointConverter, distanceMeasure, spotAggregateReducer));
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Spot 클러스터 스냅샷 기록 실패 - 힙 인덱스를 사용합니다. path : {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+}
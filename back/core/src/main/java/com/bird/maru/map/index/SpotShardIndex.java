@@ -0,0 +1,217 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.AnonymousClusterSink;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.util.ClusterBuildPool;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.entity.SpotCellCount;
+import com.bird.maru.map.cell.SpotCellGrid;
+import com.bird.maru.map.controller.dto.SpotShardWriteDto;
+import com.bird.maru.map.repository.query.SpotCellCountQueryRepository;
+import com.bird.maru.map.shard.SpotShardCell;
+import com.bird.maru.map.shard.SpotShardClient;
+import com.bird.maru.map.shard.SpotShardTopology;
+import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 스팟 샤드 인덱스 - 현재 노드가 담당하는 셀(SpotShardCell)의 스팟만으로 구성한 클러스터 인덱스 <br/>
+ * 셀 담당 노드는 SpotShardTopology 의 일관된 해싱 링으로 정하며, 스팟이 있는 셀은 줌 레벨 10 격자 스팟 수 집계에서 찾습니다. <br/>
+ * 등록/삭제는 스팟 좌표의 셀을 담당하는 노드의 델타 버퍼에 반영하고, 델타가 쌓이면 압축합니다. 다른 노드가 담당하는 셀이면 담당 노드에 전달하며(SpotShardClient.write), <br/>
+ * 전달에 실패하면 담당 노드의 다음 재구성(cluster.index.refreshInterval)까지 반영되지 않습니다. <br/>
+ * 클러스터 id 는 노드마다 다르므로 조회 결과에서 제외합니다. 샤딩을 사용하지 않으면 구성하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpotShardIndex {
+
+    private final SpotCustomQueryRepository spotCustomQueryRepository;
+    private final SpotCellCountQueryRepository spotCellCountQueryRepository;
+    private final SpotShardTopology topology;
+    private final SpotShardClient spotShardClient;
+    private final SuperClusterParams superClusterParams;
+    private final PointConverter pointConverter;
+    private final DistanceMeasure distanceMeasure;
+    private final SpotAggregateReducer spotAggregateReducer;
+    private final ClusterBuildPool clusterBuildPool;
+
+    private final Object buildLock = new Object();
+    private volatile SpotClusterSnapshot snapshot;
+
+    @Value("${cluster.index.compactThreshold}")
+    private int compactThreshold;
+    @Value("${cluster.index.compactMaxAge}")
+    private long compactMaxAge;
+
+    /**
+     * 담당 셀의 스팟으로 재구성 - 셀마다 RDBMS 공간 인덱스로 조회합니다. <br/>
+     * 격자 스팟 수 집계가 비어있으면(집계 배치 실행 전) 전체 스팟을 조회하여 담당 셀의 스팟만 남깁니다.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${cluster.index.refreshInterval}")
+    public void refresh() {
+        if (!topology.isEnabled()) {
+            return;
+        }
+        synchronized (buildLock) {
+            long start = System.currentTimeMillis();
+            Set<Long> cells = findOwnedCells();
+            List<Marker> markers = cells == null ? findOwnedMarkers() : findMarkers(cells);
+            FlatSuperCluster superCluster = build(markers);
+            synchronized (this) {
+                SpotClusterSnapshot current = this.snapshot;
+                this.snapshot = current == null ? SpotClusterSnapshot.of(superCluster, markers)
+                        : current.rebase(superCluster, markers, current.getDelta());
+            }
+            log.info("Spot 샤드 인덱스 갱신 완료 - node : {}, cells : {}, markers : {}, elapsed : {}ms",
+                     topology.getNodeId(), cells == null ? "-" : cells.size(), markers.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 델타 버퍼가 압축 기준(cluster.index.compactThreshold, compactMaxAge)을 넘으면 압축합니다. (SpotClusterIndex.compactIfDue)
+     */
+    @Scheduled(fixedDelayString = "${cluster.index.compactInterval}")
+    public void compactIfDue() {
+        SpotClusterSnapshot current = this.snapshot;
+        if (current != null && current.getDelta().isCompactionDue(compactThreshold, compactMaxAge)) {
+            compact();
+        }
+    }
+
+    /**
+     * 델타 버퍼 압축 - 보관 중인 마커 목록에 델타를 병합하여 재구성합니다.
+     */
+    public void compact() {
+        synchronized (buildLock) {
+            SpotClusterSnapshot base = this.snapshot;
+            if (base == null || base.getDelta().isEmpty()) {
+                return;
+            }
+            SpotClusterDelta applied = base.getDelta();
+            List<Marker> markers = applied.applyTo(base.getMarkers());
+            FlatSuperCluster superCluster = build(markers);
+            synchronized (this) {
+                SpotClusterSnapshot current = this.snapshot;
+                this.snapshot = current.rebase(superCluster, markers, current.getDelta().subtract(applied));
+            }
+        }
+    }
+
+    /**
+     * 스팟 등록/삭제 - 현재 노드가 담당하는 셀이면 델타 버퍼에 반영하고, 아니면 담당 노드에 전달합니다.
+     */
+    @TransactionalEventListener
+    public void onSpotMarkerEvent(SpotMarkerEvent event) {
+        if (!topology.isEnabled()) {
+            return;
+        }
+        Marker marker = event.getMarker();
+        long cell = SpotShardCell.of(marker.getCoordinate().getLng(), marker.getCoordinate().getLat());
+        if (topology.isOwned(cell)) {
+            apply(event.getType(), marker);
+            return;
+        }
+        String owner = topology.getRing().owner(cell);
+        spotShardClient.write(owner, SpotShardWriteDto.builder().type(event.getType()).marker(marker).build())
+                       .whenComplete((result, e) -> {
+                           if (e != null) {
+                               log.warn("Spot 샤드 쓰기 전달 실패 - node : {}, spotId : {}, type : {}", owner, marker.getId(), event.getType(), e);
+                           }
+                       });
+    }
+
+    /**
+     * 현재 노드가 담당하는 셀의 스팟 등록/삭제를 델타 버퍼에 반영합니다.
+     */
+    public void apply(SpotMarkerEvent.Type type, Marker marker) {
+        synchronized (this) {
+            SpotClusterSnapshot current = this.snapshot;
+            if (current != null) {
+                this.snapshot = current.withDelta(SpotMarkerEvent.Type.CREATED.equals(type)
+                                                          ? current.getDelta().insert(marker)
+                                                          : current.getDelta().delete(marker.getId()));
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 담당 셀의 스팟 클러스터링 결과를 sink 로 전달합니다. (클러스터 id 제외)
+     */
+    public void run(BoundingBox boundingBox, FeatureSink sink) {
+        snapshot.run(boundingBox, new AnonymousClusterSink(sink));
+    }
+
+    /**
+     * 스팟이 있는 셀 중 현재 노드가 담당하는 셀 - 격자 스팟 수 집계가 비어있으면 null
+     */
+    private Set<Long> findOwnedCells() {
+        List<SpotCellCount> counts = spotCellCountQueryRepository.findAllByZoomAndCountGreaterThan(SpotShardCell.ZOOM, 0L);
+        if (counts.isEmpty()) {
+            return null;
+        }
+        return counts.stream()
+                     .map(c -> SpotShardCell.key(c.getCellX() >> SpotCellGrid.CELL_BITS, c.getCellY() >> SpotCellGrid.CELL_BITS))
+                     .filter(topology::isOwned)
+                     .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * 셀 경계의 스팟은 인접한 두 셀의 범위 조회에 모두 포함되므로, 좌표가 속한 셀에서만 사용합니다.
+     */
+    private List<Marker> findMarkers(Set<Long> cells) {
+        List<Marker> markers = new ArrayList<>();
+        for (long cell : cells) {
+            BoundingBox boundingBox = SpotShardCell.toBoundingBox(cell);
+            for (Marker marker : spotCustomQueryRepository.findAllMarkersByBoundingBox(boundingBox.getWest(), boundingBox.getSouth(),
+                                                                                        boundingBox.getEast(), boundingBox.getNorth())) {
+                if (SpotShardCell.of(marker.getCoordinate().getLng(), marker.getCoordinate().getLat()) == cell) {
+                    markers.add(marker);
+                }
+            }
+        }
+        markers.sort(Comparator.comparing(Marker::getId));
+        return markers;
+    }
+
+    private List<Marker> findOwnedMarkers() {
+        return spotCustomQueryRepository.findAllMarkers()
+                                        .stream()
+                                        .filter(m -> topology.isOwned(SpotShardCell.of(m.getCoordinate().getLng(), m.getCoordinate().getLat())))
+                                        .collect(Collectors.toList());
+    }
+
+    private FlatSuperCluster build(List<Marker> markers) {
+        return FlatSuperCluster.builder()
+                               .superClusterParams(superClusterParams)
+                               .points(markers)
+                               .pointConverter(pointConverter)
+                               .distanceMeasure(distanceMeasure)
+                               .reducer(spotAggregateReducer)
+                               .pool(clusterBuildPool.forSize(markers.size()))
+                               .build();
+    }
+
+}
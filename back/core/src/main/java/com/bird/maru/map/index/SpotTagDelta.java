@@ -0,0 +1,85 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.cluster.geo.Marker;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 태그 인덱스 재구성 이후 등록/삭제된 스팟을 담는 불변 델타 버퍼 <br/>
+ * 신규 스팟은 태그별로 보관하고, 삭제는 태그와 관계없이 tombstone 으로 남깁니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class SpotTagDelta {
+
+    private static final SpotTagDelta EMPTY = new SpotTagDelta(Collections.emptyMap(), Collections.emptySet());
+
+    private final Map<Long, List<Marker>> inserted; // tagId -> 신규 스팟
+    private final Set<Long> deleted;
+
+    public static SpotTagDelta empty() {
+        return EMPTY;
+    }
+
+    public SpotTagDelta insert(Marker marker, List<Long> tagIds) {
+        Map<Long, List<Marker>> nextInserted = new HashMap<>(inserted);
+        for (Long tagId : tagIds) {
+            List<Marker> markers = new ArrayList<>(nextInserted.getOrDefault(tagId, Collections.emptyList()));
+            markers.add(marker);
+            nextInserted.put(tagId, Collections.unmodifiableList(markers));
+        }
+        return new SpotTagDelta(Collections.unmodifiableMap(nextInserted), deleted);
+    }
+
+    public SpotTagDelta delete(Long spotId) {
+        Set<Long> nextDeleted = new HashSet<>(deleted);
+        nextDeleted.add(spotId);
+        return new SpotTagDelta(inserted, Collections.unmodifiableSet(nextDeleted));
+    }
+
+    public List<Marker> getInserted(Long tagId) {
+        return inserted.getOrDefault(tagId, Collections.emptyList());
+    }
+
+    /**
+     * 재구성 결과에 이미 반영된 항목을 제외한 나머지 델타 <br/>
+     * 신규 스팟은 재구성에 사용한 마커 목록에 포함되었다면, 삭제는 어떤 태그에도 남아있지 않다면 반영된 것으로 봅니다.
+     */
+    public SpotTagDelta prune(SpotTagSnapshot built) {
+        Map<Long, List<Marker>> nextInserted = new HashMap<>();
+        inserted.forEach((tagId, markers) -> {
+            List<Marker> remains = new ArrayList<>();
+            for (Marker marker : markers) {
+                if (!built.containsInBase(marker.getId())) {
+                    remains.add(marker);
+                }
+            }
+            if (!remains.isEmpty()) {
+                nextInserted.put(tagId, Collections.unmodifiableList(remains));
+            }
+        });
+        Set<Long> nextDeleted = new HashSet<>();
+        for (Long spotId : deleted) {
+            if (built.isTagged(spotId)) {
+                nextDeleted.add(spotId);
+            }
+        }
+        if (nextInserted.isEmpty() && nextDeleted.isEmpty()) {
+            return EMPTY;
+        }
+        return new SpotTagDelta(Collections.unmodifiableMap(nextInserted), Collections.unmodifiableSet(nextDeleted));
+    }
+
+    public boolean isEmpty() {
+        return inserted.isEmpty() && deleted.isEmpty();
+    }
+
+}
@@ -0,0 +1,263 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.AnonymousClusterSink;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 태그 필터 지도 조회용 인덱스 <br/>
+ * 조회 빈도 상위 N개 태그는 태그 스팟만으로 구성한 클러스터 인덱스(파티션)에서 범위 검색만 수행합니다. <br/>
+ * 나머지 태그는 태그별 스팟 목록에서 범위 내 마커를 걸러 요청마다 클러스터링합니다(RDBMS 조회 없음). <br/>
+ * 파티션과 태그별 스팟 목록은 백그라운드에서 주기적으로 재구성하며, 그 사이의 등록/삭제는 델타 버퍼로 조회 결과에 합쳐집니다. <br/>
+ * 태그별 스팟 목록은 스팟 id 대신 재구성에 사용한 마커 목록의 index 로 보관합니다. (SpotTagSnapshot) <br/>
+ * 최초 구성 전 반영된 스팟 등록/삭제는 보관해두었다가 최초 스냅샷의 델타에 다시 반영합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpotTagIndex {
+
+    private final SpotCustomQueryRepository spotCustomQueryRepository;
+    private final SpotClusterIndex spotClusterIndex;
+    private final SuperClusterParams superClusterParams;
+    private final PointConverter pointConverter;
+    private final DistanceMeasure distanceMeasure;
+    private final SpotAggregateReducer spotAggregateReducer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${cluster.tagIndex.topN}")
+    private int topN;
+
+    @Value("${cluster.shard.enabled}")
+    private boolean sharded;
+
+    /**
+     * 파티션이 없는 태그를 요청마다 클러스터링할 때 사용하는 최대 스팟 수 - RDBMS 조회의 개수 제한과 같으며, 최신 스팟부터 채웁니다.
+     */
+    public static final int MARKER_LIMIT = 5000;
+
+    private static final int[] NO_ORDINALS = new int[0];
+
+    private final Map<Long, LongAdder> usages = new ConcurrentHashMap<>();
+    private final Object buildLock = new Object();
+    private volatile SpotTagSnapshot snapshot;
+    private List<SpotMarkerEvent> pendingEvents = new ArrayList<>(); // 최초 구성 전 반영된 변경, 최초 구성 이후 null (this)
+
+    /**
+     * 태그 비트맵과 상위 태그 파티션 재구성 <br/>
+     * 마커 좌표는 전역 인덱스에서, 태그 연결 정보는 RDBMS 에서 가져옵니다. 전역 인덱스 구성 전에는 건너뜁니다.
+     */
+    @Scheduled(initialDelayString = "${cluster.tagIndex.refreshInterval}", fixedDelayString = "${cluster.tagIndex.refreshInterval}")
+    public void refresh() {
+        if (!spotClusterIndex.isReady()) {
+            return;
+        }
+        synchronized (buildLock) {
+            long start = System.currentTimeMillis();
+            Map<Long, List<Long>> spotIdsByTag = spotCustomQueryRepository.findAllMarkerIdsGroupByTag();
+            List<Marker> markers = spotClusterIndex.getMarkers();
+
+            // 전역 인덱스에 아직 병합되지 않은 스팟은 마커 목록에 없으므로 델타 버퍼에 남습니다.
+            Map<Long, int[]> ordinalsByTag = new HashMap<>();
+            BitSet taggedSpots = new BitSet(markers.size());
+            spotIdsByTag.forEach((tagId, spotIds) -> {
+                int[] ordinals = spotIds.stream()
+                                        .mapToInt(spotId -> SpotClusterSnapshot.indexOf(markers, spotId))
+                                        .filter(ordinal -> ordinal >= 0)
+                                        .sorted()
+                                        .toArray();
+                ordinalsByTag.put(tagId, ordinals);
+                for (int ordinal : ordinals) {
+                    taggedSpots.set(ordinal);
+                }
+            });
+
+            Map<Long, FlatSuperCluster> partitions = new HashMap<>();
+            for (Long tagId : selectPartitionTags(ordinalsByTag)) {
+                List<Marker> tagMarkers = Arrays.stream(ordinalsByTag.get(tagId))
+                                                .mapToObj(markers::get)
+                                                .collect(Collectors.toList());
+                partitions.put(tagId, build(tagMarkers, false));
+            }
+
+            SpotTagSnapshot built = SpotTagSnapshot.of(markers, ordinalsByTag, taggedSpots, partitions);
+            synchronized (this) {
+                SpotTagDelta delta = this.snapshot == null ? SpotTagDelta.empty() : this.snapshot.getDelta();
+                if (pendingEvents != null) {
+                    for (SpotMarkerEvent event : pendingEvents) {
+                        delta = apply(delta, event);
+                    }
+                    pendingEvents = null;
+                }
+                this.snapshot = built.withDelta(delta.prune(built));
+            }
+            eventPublisher.publishEvent(SpotClusterChangedEvent.tagRebuilt());
+            log.info("Spot 태그 인덱스 갱신 완료 - tags : {}, partitions : {}, elapsed : {}ms",
+                     ordinalsByTag.size(), partitions.keySet(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 스팟 등록/삭제 트랜잭션 커밋 이후 델타 버퍼에 반영 - 최초 구성 전이라면 보관해두었다가 최초 스냅샷에 반영합니다.
+     */
+    @TransactionalEventListener
+    public void onSpotMarkerEvent(SpotMarkerEvent event) {
+        Marker marker = event.getMarker();
+        synchronized (this) {
+            SpotTagSnapshot current = this.snapshot;
+            if (current != null) {
+                this.snapshot = current.withDelta(apply(current.getDelta(), event));
+            } else if (!sharded) { // 샤딩 시에는 전역 인덱스를 구성하지 않으므로 보관하지 않습니다.
+                pendingEvents.add(event);
+            }
+        }
+        eventPublisher.publishEvent(SpotClusterChangedEvent.changed(List.of(marker.getCoordinate())));
+    }
+
+    /**
+     * 전역 인덱스 최초 구성 직후 태그 인덱스도 바로 구성합니다.
+     */
+    @EventListener
+    public void onSpotClusterChanged(SpotClusterChangedEvent event) {
+        if (event.isRebuilt() && this.snapshot == null) {
+            refresh();
+        }
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public boolean isPartitioned(Long tagId) {
+        SpotTagSnapshot current = this.snapshot;
+        return current != null && current.getPartitions().containsKey(tagId);
+    }
+
+    /**
+     * 태그 스팟 클러스터링 결과를 sink 로 전달합니다. <br/>
+     * 삭제된 스팟은 단일 포인트에서 제외되고, 신규 스팟은 다음 재구성 전까지 단일 포인트로 표시됩니다. <br/>
+     * 파티션이 없는 태그는 태그 스팟 목록만 확인하며, 범위 내 최신 스팟 MARKER_LIMIT 개까지만 클러스터링합니다. <br/>
+     * 태그 클러스터의 id 는 전역 클러스터 인덱스에서 탐색할 수 없으므로 제외합니다.
+     */
+    public void run(Long tagId, BoundingBox boundingBox, FeatureSink target) {
+        FeatureSink sink = new AnonymousClusterSink(target);
+        SpotTagSnapshot current = this.snapshot;
+        // 존재하는 태그만 기록하여, 임의의 tagId 요청으로 조회 기록이 늘어나지 않게 합니다.
+        if (current.getOrdinalsByTag().containsKey(tagId)) {
+            usages.computeIfAbsent(tagId, id -> new LongAdder()).increment();
+        }
+        SpotTagDelta delta = current.getDelta();
+        FlatSuperCluster partition = current.getPartitions().get(tagId);
+        if (partition != null) {
+            partition.run(boundingBox, new DeletedPointFilter(sink, delta.getDeleted()));
+            for (Marker marker : delta.getInserted(tagId)) {
+                if (contains(boundingBox, marker) && !current.hasTag(tagId, marker.getId())
+                        && !delta.getDeleted().contains(marker.getId())) {
+                    sink.point(marker.getCoordinate().getLng(), marker.getCoordinate().getLat(), marker.getId());
+                }
+            }
+            return;
+        }
+
+        // 신규 스팟은 재구성에 사용한 마커 목록의 스팟보다 최신이므로 먼저 채웁니다.
+        List<Marker> markers = new ArrayList<>();
+        List<Marker> inserted = delta.getInserted(tagId);
+        for (int i = inserted.size() - 1; i >= 0 && markers.size() < MARKER_LIMIT; i--) {
+            Marker marker = inserted.get(i);
+            if (contains(boundingBox, marker) && !current.hasTag(tagId, marker.getId()) && !delta.getDeleted().contains(marker.getId())) {
+                markers.add(marker);
+            }
+        }
+        int[] ordinals = current.getOrdinalsByTag().getOrDefault(tagId, NO_ORDINALS);
+        for (int i = ordinals.length - 1; i >= 0 && markers.size() < MARKER_LIMIT; i--) {
+            Marker marker = current.getMarkers().get(ordinals[i]);
+            if (contains(boundingBox, marker) && !delta.getDeleted().contains(marker.getId())) {
+                markers.add(marker);
+            }
+        }
+        if (markers.isEmpty()) {
+            return;
+        }
+        markers.sort(Comparator.comparing(Marker::getId));
+        build(markers, true).run(boundingBox, sink);
+    }
+
+    /**
+     * 파티션을 구성할 태그 - 조회 빈도 상위 N개, 조회 기록이 부족하면 스팟 수가 많은 태그로 채웁니다. <br/>
+     * 오래된 조회 기록의 영향이 줄어들도록 선정 후 조회 빈도를 절반으로 줄이며, 0 이 되었거나 더 이상 없는 태그의 기록은 제거합니다.
+     */
+    private List<Long> selectPartitionTags(Map<Long, int[]> ordinalsByTag) {
+        Map<Long, Long> counts = new HashMap<>();
+        usages.forEach((tagId, adder) -> {
+            long count = adder.sumThenReset();
+            counts.put(tagId, count);
+            if (count / 2 == 0 || !ordinalsByTag.containsKey(tagId)) {
+                usages.remove(tagId, adder);
+            } else {
+                adder.add(count / 2);
+            }
+        });
+        return ordinalsByTag.keySet().stream()
+                           .sorted(Comparator.<Long>comparingLong(tagId -> counts.getOrDefault(tagId, 0L)).reversed()
+                                             .thenComparing(Comparator.<Long>comparingInt(tagId -> ordinalsByTag.get(tagId).length).reversed()))
+                           .limit(topN)
+                           .collect(Collectors.toList());
+    }
+
+    private boolean contains(BoundingBox boundingBox, Marker marker) {
+        double lng = marker.getCoordinate().getLng();
+        double lat = marker.getCoordinate().getLat();
+        boolean inLng = boundingBox.getWest() <= boundingBox.getEast()
+                ? boundingBox.getWest() <= lng && lng <= boundingBox.getEast()
+                : boundingBox.getWest() <= lng || lng <= boundingBox.getEast();
+        return inLng && boundingBox.getSouth() <= lat && lat <= boundingBox.getNorth();
+    }
+
+    /**
+     * @param lazy : 요청 시점에 한 번만 조회하는 경우 true - 요청한 줌 레벨까지 필요한 레벨만 구성합니다.
+     */
+    private static SpotTagDelta apply(SpotTagDelta delta, SpotMarkerEvent event) {
+        Marker marker = event.getMarker();
+        return SpotMarkerEvent.Type.CREATED.equals(event.getType())
+                ? delta.insert(marker, event.getTagIds())
+                : delta.delete(marker.getId());
+    }
+
+    private FlatSuperCluster build(List<Marker> markers, boolean lazy) {
+        return FlatSuperCluster.builder()
+                               .superClusterParams(superClusterParams)
+                               .points(markers)
+                               .pointConverter(pointConverter)
+                               .distanceMeasure(distanceMeasure)
+                               .reducer(spotAggregateReducer)
+                               .lazy(lazy)
+                               .build();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.bird.maru.map.index;
+
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.geo.Marker;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 태그 인덱스의 불변 스냅샷 <br/>
+ * 태그별 스팟은 재구성에 사용한 마커 목록(스팟 id 오름차순)의 index(ordinal) 오름차순 배열로 보관하므로, 메모리는 태그의 스팟 수에만 비례합니다. <br/>
+ * 마커 목록은 재구성 시점의 전역 인덱스 마커 목록이며, 다음 재구성까지 함께 보관합니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class SpotTagSnapshot {
+
+    private final List<Marker> markers; // 스팟 id 오름차순
+    private final Map<Long, int[]> ordinalsByTag; // tagId -> markers 의 index 오름차순
+    private final BitSet taggedSpots; // 태그가 하나 이상 연결된 스팟 (markers 의 index)
+    private final Map<Long, FlatSuperCluster> partitions;
+    private final SpotTagDelta delta;
+
+    public static SpotTagSnapshot of(
+            List<Marker> markers, Map<Long, int[]> ordinalsByTag, BitSet taggedSpots, Map<Long, FlatSuperCluster> partitions
+    ) {
+        return new SpotTagSnapshot(markers, ordinalsByTag, taggedSpots, partitions, SpotTagDelta.empty());
+    }
+
+    public SpotTagSnapshot withDelta(SpotTagDelta delta) {
+        return new SpotTagSnapshot(markers, ordinalsByTag, taggedSpots, partitions, delta);
+    }
+
+    /**
+     * 재구성에 사용한 마커 목록에서 스팟의 index - 없으면 음수
+     */
+    public int ordinalOf(Long spotId) {
+        return SpotClusterSnapshot.indexOf(markers, spotId);
+    }
+
+    public boolean containsInBase(Long spotId) {
+        return ordinalOf(spotId) >= 0;
+    }
+
+    public boolean hasTag(Long tagId, Long spotId) {
+        int[] ordinals = ordinalsByTag.get(tagId);
+        int ordinal = ordinalOf(spotId);
+        return ordinals != null && ordinal >= 0 && Arrays.binarySearch(ordinals, ordinal) >= 0;
+    }
+
+    public boolean isTagged(Long spotId) {
+        int ordinal = ordinalOf(spotId);
+        return ordinal >= 0 && taggedSpots.get(ordinal);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.bird.maru.map.live;
+
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.map.controller.dto.SpotLiveEventDto;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 스팟 등록/삭제를 지도 범위가 해당 스팟을 포함하는 세션에만 전달합니다. <br/>
+ * 세션별 목적지(/user/queue/map/spots)로 보내므로 다른 세션에는 전달되지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpotLivePublisher {
+
+    public static final String DESTINATION = "/queue/map/spots";
+
+    private final ViewportSubscriptionIndex viewportSubscriptionIndex;
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    @TransactionalEventListener
+    public void onSpotMarkerEvent(SpotMarkerEvent event) {
+        Marker marker = event.getMarker();
+        double lng = marker.getCoordinate().getLng();
+        double lat = marker.getCoordinate().getLat();
+        List<String> sessions = viewportSubscriptionIndex.findSessions(lng, lat);
+        if (sessions.isEmpty()) {
+            return;
+        }
+        SpotLiveEventDto payload = SpotLiveEventDto.builder()
+                                                   .type(event.getType())
+                                                   .id(marker.getId())
+                                                   .lng(lng)
+                                                   .lat(lat)
+                                                   .build();
+        for (String sessionId : sessions) {
+            messagingTemplate.convertAndSendToUser(sessionId, DESTINATION, payload, headers(sessionId).getMessageHeaders());
+        }
+        log.debug("스팟 실시간 알림 전달 - type : {}, spot : {}, sessions : {}", event.getType(), marker.getId(), sessions.size());
+    }
+
+    /**
+     * 인증 사용자 대신 세션 id 를 사용자 목적지로 사용합니다.
+     */
+    private static SimpMessageHeaderAccessor headers(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.bird.maru.map.live;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.map.shard.SpotShardCell;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+/**
+ * 지도 실시간 구독 인덱스 - 웹소켓 세션마다 현재 지도 범위를 보관하고, 좌표를 포함하는 세션을 찾습니다. <br/>
+ * 지도 범위는 스팟 샤드 셀(SpotShardCell) 격자에 등록하므로, 좌표가 속한 셀 하나의 세션만 확인합니다. <br/>
+ * 날짜 변경선을 넘거나 셀이 MAX_CELLS 개보다 많은 넓은 범위는 격자 대신 별도 목록에 두고 모두 확인합니다. <br/>
+ * 줌 레벨로는 거르지 않습니다. 스팟이 클러스터에 포함되는 줌 레벨에서도 해당 클러스터의 개수와 집계 속성이 바뀌므로, 지도 범위 안이면 모두 전달합니다.
+ */
+@Component
+public class ViewportSubscriptionIndex {
+
+    private static final int MAX_CELLS = 64;
+
+    private final Map<String, Subscription> subscriptions = new HashMap<>();
+    private final Map<Long, Set<String>> grid = new HashMap<>();
+    private final Set<String> wide = new LinkedHashSet<>();
+
+    public ViewportSubscriptionIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("map.live.subscriptions", this, ViewportSubscriptionIndex::size).register(meterRegistry);
+    }
+
+    /**
+     * 세션의 지도 범위 등록 - 이전에 등록한 범위는 대체합니다.
+     */
+    public synchronized void subscribe(String sessionId, BoundingBox boundingBox) {
+        unsubscribe(sessionId);
+        long[] cells = SpotShardCell.cells(boundingBox, MAX_CELLS);
+        subscriptions.put(sessionId, new Subscription(boundingBox, cells));
+        if (cells == null) {
+            wide.add(sessionId);
+            return;
+        }
+        for (long cell : cells) {
+            grid.computeIfAbsent(cell, c -> new HashSet<>()).add(sessionId);
+        }
+    }
+
+    public synchronized void unsubscribe(String sessionId) {
+        Subscription subscription = subscriptions.remove(sessionId);
+        if (subscription == null) {
+            return;
+        }
+        if (subscription.cells == null) {
+            wide.remove(sessionId);
+            return;
+        }
+        for (long cell : subscription.cells) {
+            Set<String> sessions = grid.get(cell);
+            sessions.remove(sessionId);
+            if (sessions.isEmpty()) {
+                grid.remove(cell);
+            }
+        }
+    }
+
+    /**
+     * 지도 범위가 좌표를 포함하는 세션 목록
+     */
+    public synchronized List<String> findSessions(double lng, double lat) {
+        List<String> result = new ArrayList<>();
+        Set<String> candidates = grid.get(SpotShardCell.of(lng, lat));
+        if (candidates != null) {
+            for (String sessionId : candidates) {
+                if (contains(subscriptions.get(sessionId).boundingBox, lng, lat)) {
+                    result.add(sessionId);
+                }
+            }
+        }
+        for (String sessionId : wide) {
+            if (contains(subscriptions.get(sessionId).boundingBox, lng, lat)) {
+                result.add(sessionId);
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return subscriptions.size();
+    }
+
+    /**
+     * 날짜 변경선을 넘는 범위(west > east)는 양쪽 경도 구간을 모두 포함합니다.
+     */
+    private static boolean contains(BoundingBox boundingBox, double lng, double lat) {
+        if (lat < boundingBox.getSouth() || lat > boundingBox.getNorth()) {
+            return false;
+        }
+        if (boundingBox.getWest() <= boundingBox.getEast()) {
+            return lng >= boundingBox.getWest() && lng <= boundingBox.getEast();
+        }
+        return lng >= boundingBox.getWest() || lng <= boundingBox.getEast();
+    }
+
+    private static class Subscription {
+
+        private final BoundingBox boundingBox;
+        private final long[] cells; // 넓은 범위는 null
+
+        private Subscription(BoundingBox boundingBox, long[] cells) {
+            this.boundingBox = boundingBox;
+            this.cells = cells;
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.bird.maru.map.repository;
+
+import com.bird.maru.domain.model.entity.SpotCellCount;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class SpotCellCountJDBCRepository {
+
+    private static final String UPSERT = "INSERT INTO spot_cell_counts (zoom, cell_x, cell_y, count, sum_x, sum_y)"
+            + " VALUES (?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE count = count + VALUES(count), sum_x = sum_x + VALUES(sum_x), sum_y = sum_y + VALUES(sum_y)";
+    private static final String SELECT_ALL = "SELECT zoom, cell_x, cell_y, count, sum_x, sum_y FROM spot_cell_counts";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 칸별 증감분 반영 - 행이 없으면 추가합니다.
+     */
+    public void bulkAddCounts(List<SpotCellCount> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT, setter(deltas));
+    }
+
+    /**
+     * 모든 칸의 스팟 수 - 스팟 수가 0 인 행도 포함합니다.
+     */
+    public List<SpotCellCount> findAll() {
+        return jdbcTemplate.query(SELECT_ALL, (rs, rowNum) -> SpotCellCount.builder()
+                                                                       .zoom(rs.getInt("zoom"))
+                                                                       .cellX(rs.getInt("cell_x"))
+                                                                       .cellY(rs.getInt("cell_y"))
+                                                                       .count(rs.getLong("count"))
+                                                                       .sumX(rs.getDouble("sum_x"))
+                                                                       .sumY(rs.getDouble("sum_y"))
+                                                                       .build());
+    }
+
+    /**
+     * 재집계 보정분 반영 - 행을 지우고 다시 쓰지 않고 증감분으로 더하므로, 동시에 반영된 bulkAddCounts 를 덮어쓰지 않습니다. <br/>
+     * 보정 후 스팟이 없는 칸의 행은 삭제합니다.
+     */
+    public void reconcile(List<SpotCellCount> corrections) {
+        bulkAddCounts(corrections);
+        jdbcTemplate.update("DELETE FROM spot_cell_counts WHERE count <= 0");
+    }
+
+    private BatchPreparedStatementSetter setter(List<SpotCellCount> counts) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SpotCellCount count = counts.get(i);
+                ps.setInt(1, count.getZoom());
+                ps.setInt(2, count.getCellX());
+                ps.setInt(3, count.getCellY());
+                ps.setLong(4, count.getCount());
+                ps.setDouble(5, count.getSumX());
+                ps.setDouble(6, count.getSumY());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return counts.size();
+            }
+        };
+    }
+
+}
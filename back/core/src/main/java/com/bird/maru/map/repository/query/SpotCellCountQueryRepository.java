@@ -0,0 +1,24 @@
+package com.bird.maru.map.repository.query;
+
+import com.bird.maru.domain.model.entity.SpotCellCount;
+import com.bird.maru.domain.model.type.id.SpotCellCountId;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SpotCellCountQueryRepository extends JpaRepository<SpotCellCount, SpotCellCountId> {
+
+    /**
+     * 줌 레벨의 칸 범위 조회 - 기본 키 (zoom, cell_x, cell_y) 범위 검색
+     */
+    List<SpotCellCount> findAllByZoomAndCellXBetweenAndCellYBetweenAndCountGreaterThan(
+            Integer zoom, Integer minCellX, Integer maxCellX, Integer minCellY, Integer maxCellY, Long count
+    );
+
+    /**
+     * 줌 레벨의 모든 칸 조회 - 스팟 샤드 인덱스 구성 시 스팟이 있는 셀을 찾는 데 사용합니다.
+     */
+    List<SpotCellCount> findAllByZoomAndCountGreaterThan(Integer zoom, Long count);
+
+}
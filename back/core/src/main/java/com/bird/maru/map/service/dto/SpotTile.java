@@ -0,0 +1,20 @@
+package com.bird.maru.map.service.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Builder
+public class SpotTile {
+
+    private byte[] data;
+
+    // 클러스터 인덱스 데이터 버전, 인덱스 구성 전 RDBMS 에서 직접 조회한 경우 null
+    private Long version;
+
+}
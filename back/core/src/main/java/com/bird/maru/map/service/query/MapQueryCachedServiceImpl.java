@@ -0,0 +1,138 @@
+package com.bird.maru.map.service.query;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import com.bird.maru.cluster.tile.TileBounds;
+import com.bird.maru.common.util.VersionTokenUtil;
+import com.bird.maru.map.cache.ClusterTileCache;
+import com.bird.maru.map.cache.ClusterTileKey;
+import com.bird.maru.map.controller.dto.HeatmapCellResponseDto;
+import com.bird.maru.map.controller.dto.MapCondition;
+import com.bird.maru.map.controller.dto.NearbyResponseDto;
+import com.bird.maru.map.controller.dto.SpotDeltaResponseDto;
+import com.bird.maru.map.controller.dto.SpotPrefetchResponseDto;
+import com.bird.maru.map.index.SpotClusterSnapshot;
+import com.bird.maru.map.service.dto.SpotTile;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * 타일 캐시를 적용한 지도 조회 <br/>
+ * 지도 범위를 현재 줌 레벨의 타일들로 나누어 타일마다 캐시된 클러스터링 결과를 사용하고, 지도 범위 내 Feature 만 이어 붙여 반환합니다. <br/>
+ * 날짜 변경선을 넘거나 타일 수가 너무 많은 범위는 캐시 없이 지도 범위를 바로 클러스터링합니다. <br/>
+ * 전역 클러스터 인덱스로 응답하는 조회는 스냅샷의 baseVersion 을 키에 담아 캐시하므로, 한 응답의 타일은 모두 같은 클러스터 id 를 사용하며 응답의 데이터 버전 토큰으로 탐색할 수 있습니다. <br/>
+ * 샤드 인덱스로 응답하는 조회는 다른 노드의 델타 반영을 무효화할 수 없으므로 캐시하지 않습니다. <br/>
+ * RDBMS 에서 조회하는 타일은 캐시에 없는 타일들을 한 번에 조회하여 조회 개수 제한(size)을 요청 전체에 적용합니다. (SpotClusterQuery.tiles) <br/>
+ * 조회 경로는 SpotQueryRouter 로 정하고, 타일과 미리 받기 묶음은 SpotClusterQuery 로 조회하며, MapQueryServiceImpl 은 MapQueryService 로만 사용합니다.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+public class MapQueryCachedServiceImpl implements MapQueryService {
+
+    private static final int MAX_TILES_PER_REQUEST = 64;
+
+    private final MapQueryServiceImpl mapQueryService;
+    private final SpotQueryRouter spotQueryRouter;
+    private final SpotClusterQuery spotClusterQuery;
+    private final ClusterTileCache clusterTileCache;
+
+    @Override
+    public StreamingFeatureCollection spotsCluster(Long memberId, MapCondition condition) {
+        return spotsCluster(spotQueryRouter.route(condition), memberId, condition);
+    }
+
+    @Override
+    public SpotDeltaResponseDto spotsClusterDelta(Long memberId, MapCondition condition) {
+        return mapQueryService.spotsClusterDelta(memberId, condition);
+    }
+
+    /**
+     * 요청한 범위의 결과는 타일 캐시로 조립하고, 미리 받기 묶음은 인덱스에서 바로 조회합니다.
+     */
+    @Override
+    public SpotPrefetchResponseDto spotsPrefetch(Long memberId, MapCondition condition) {
+        SpotQueryRoute route = spotQueryRouter.route(condition);
+        return spotClusterQuery.prefetch(route, spotsCluster(route, memberId, condition), condition);
+    }
+
+    /**
+     * 지도 범위를 현재 줌 레벨의 타일들로 나누어 캐시된 타일을 이어 붙입니다.
+     */
+    private StreamingFeatureCollection spotsCluster(SpotQueryRoute route, Long memberId, MapCondition condition) {
+        BoundingBox boundingBox = condition.getBoundingBox();
+        int z = boundingBox.getZoom();
+        if (z < 0 || z > TileBounds.MAX_ZOOM || boundingBox.getWest() > boundingBox.getEast()
+                || boundingBox.getWest() < -180 || boundingBox.getEast() > 180
+                || SpotQueryRoute.SHARD.equals(route)) {
+            return spotClusterQuery.viewport(route, memberId, condition);
+        }
+        double south = Math.max(-90, boundingBox.getSouth());
+        double north = Math.min(90, boundingBox.getNorth());
+        int[] range = TileBounds.toTileRange(boundingBox, z);
+        int minX = range[0];
+        int minY = range[1];
+        int maxX = range[2];
+        int maxY = range[3];
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > MAX_TILES_PER_REQUEST) {
+            return spotClusterQuery.viewport(route, memberId, condition);
+        }
+
+        SpotClusterSnapshot snapshot = spotClusterQuery.pin(route);
+        Long version = snapshot == null ? null : snapshot.getBaseVersion();
+        List<ClusterTileKey> keys = new ArrayList<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                keys.add(ClusterTileKey.of(z, x, y, condition, memberId, version));
+            }
+        }
+        List<FeatureBuffer> tiles;
+        if (SpotQueryRoute.RDBMS.equals(route)) {
+            tiles = clusterTileCache.getAll(keys, missing -> spotClusterQuery.tiles(memberId, condition, missing));
+        } else {
+            tiles = new ArrayList<>();
+            for (ClusterTileKey key : keys) {
+                tiles.add(clusterTileCache.get(key, () -> spotClusterQuery.tile(route, snapshot, memberId, condition, key.getX(), key.getY())));
+            }
+        }
+        double west = boundingBox.getWest();
+        double east = boundingBox.getEast();
+        return new StreamingFeatureCollection(sink -> tiles.forEach(tile -> tile.replay(sink, west, south, east, north)),
+                                              snapshot == null ? null : VersionTokenUtil.encode(snapshot.getVersion()));
+    }
+
+    @Override
+    public SpotTile spotsTile(int z, int x, int y) {
+        return mapQueryService.spotsTile(z, x, y);
+    }
+
+    @Override
+    public StreamingFeatureCollection clusterChildren(long clusterId, String version) {
+        return mapQueryService.clusterChildren(clusterId, version);
+    }
+
+    @Override
+    public StreamingFeatureCollection clusterLeaves(long clusterId, String version, int limit, int offset) {
+        return mapQueryService.clusterLeaves(clusterId, version, limit, offset);
+    }
+
+    @Override
+    public int clusterExpansionZoom(long clusterId, String version) {
+        return mapQueryService.clusterExpansionZoom(clusterId, version);
+    }
+
+    @Override
+    public List<HeatmapCellResponseDto> spotsHeatmap(BoundingBox boundingBox) {
+        return mapQueryService.spotsHeatmap(boundingBox);
+    }
+
+    @Override
+    public NearbyResponseDto findNearby(Long memberId, Double lng, Double lat, Double radius, Integer size) {
+        return mapQueryService.findNearby(memberId, lng, lat, radius, size);
+    }
+
+}
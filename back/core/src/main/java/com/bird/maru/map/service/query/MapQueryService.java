@@ -1,11 +1,33 @@
 package com.bird.maru.map.service.query;
 
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import com.bird.maru.map.controller.dto.HeatmapCellResponseDto;
 import com.bird.maru.map.controller.dto.MapCondition;
+import com.bird.maru.map.controller.dto.NearbyResponseDto;
+import com.bird.maru.map.controller.dto.SpotDeltaResponseDto;
+import com.bird.maru.map.controller.dto.SpotPrefetchResponseDto;
+import com.bird.maru.map.service.dto.SpotTile;
 import java.util.List;
-import org.wololo.geojson.Feature;
 
 public interface MapQueryService {
 
-    List<Feature> spotsCluster(Long memberId, MapCondition condition);
+    StreamingFeatureCollection spotsCluster(Long memberId, MapCondition condition);
+
+    SpotDeltaResponseDto spotsClusterDelta(Long memberId, MapCondition condition);
+
+    SpotPrefetchResponseDto spotsPrefetch(Long memberId, MapCondition condition);
+
+    SpotTile spotsTile(int z, int x, int y);
+
+    StreamingFeatureCollection clusterChildren(long clusterId, String version);
+
+    StreamingFeatureCollection clusterLeaves(long clusterId, String version, int limit, int offset);
+
+    int clusterExpansionZoom(long clusterId, String version);
+
+    List<HeatmapCellResponseDto> spotsHeatmap(BoundingBox boundingBox);
+
+    NearbyResponseDto findNearby(Long memberId, Double lng, Double lat, Double radius, Integer size);
 
 }
@@ -1,45 +1,287 @@
 package com.bird.maru.map.service.query;
 
-import com.bird.maru.cluster.SuperCluster;
+import com.bird.maru.cluster.geo.BoundingBox;
 import com.bird.maru.cluster.geo.Marker;
-import com.bird.maru.cluster.geo.SuperClusterParams;
-import com.bird.maru.cluster.util.DistanceMeasure;
-import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.FeatureDiff;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import com.bird.maru.cluster.util.HaversineDistance;
+import com.bird.maru.common.exception.ResourceConflictException;
+import com.bird.maru.common.exception.ResourceNotFoundException;
+import com.bird.maru.common.util.VersionTokenUtil;
+import com.bird.maru.landmark.index.LandmarkIndex;
+import com.bird.maru.landmark.index.LandmarkPoint;
+import com.bird.maru.map.cell.SpotCellGrid;
+import com.bird.maru.map.controller.dto.HeatmapCellResponseDto;
 import com.bird.maru.map.controller.dto.MapCondition;
+import com.bird.maru.map.controller.dto.NearbyLandmarkResponseDto;
+import com.bird.maru.map.controller.dto.NearbyResponseDto;
+import com.bird.maru.map.controller.dto.NearbySpotResponseDto;
+import com.bird.maru.map.controller.dto.SpotDeltaResponseDto;
+import com.bird.maru.map.controller.dto.SpotPrefetchResponseDto;
+import com.bird.maru.map.index.SpotClusterIndex;
+import com.bird.maru.map.index.SpotClusterSnapshot;
+import com.bird.maru.map.service.dto.SpotTile;
+import com.bird.maru.member.repository.query.MemberRedisRepository;
 import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.wololo.geojson.Feature;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class MapQueryServiceImpl implements MapQueryService {
 
-    private final SpotCustomQueryRepository spotCustomQueryRepository;
-    private final SuperClusterParams superClusterParams;
-    private final PointConverter pointConverter;
-    private final DistanceMeasure distanceMeasure;
+    private static final int LEAVES_LIMIT = 5000;
+    private static final HaversineDistance HAVERSINE = new HaversineDistance(); // km
+    private static final double METERS_PER_DEGREE = 111_320.0; // 위도 1도의 거리 (m)
 
+    private final SpotCustomQueryRepository spotCustomQueryRepository;
+    private final SpotClusterIndex spotClusterIndex;
+    private final LandmarkIndex landmarkIndex;
+    private final MemberRedisRepository memberRedisRepository;
+    private final SpotQueryRouter spotQueryRouter;
+    private final SpotClusterQuery spotClusterQuery;
 
     /**
-     * 지도 내 스팟 클러스터링 진행 <br/> 1. 지도 내 모든 클러스터링 조회 <br/> - Redis 조회 <br/> - RDBMS 조회 <br/> 2. 필터링 <br/> 3. 클러스터링 <br/> 4. RDBMS에서 조회한 좌표 Redis에 캐싱
-     * <br/>
+     * 지도 내 스팟 클러스터링 진행 <br/> 전체 스팟 조회(필터 ALL, 태그 조건 없음)는 미리 구성된 클러스터 인덱스에서 범위 검색만 수행합니다. <br/> 태그 조건만 있는 조회(필터 ALL)는 태그 인덱스에서 조회하며, 파티션이 없는 태그는 같은 지도 범위의 동시 요청을 한 번만 계산합니다. <br/> 그 외 조건은 아래 순서로 요청마다 클러스터링합니다. <br/> 1. 지도 내 모든 클러스터링 조회 <br/> - Redis 조회 <br/> - RDBMS 조회 <br/> 2. 필터링 <br/> 3. 클러스터링 <br/> 4. RDBMS에서 조회한 좌표 Redis에 캐싱
+     * <br/> 클러스터 인덱스 구성 전의 전체 스팟 조회는 저줌(SpotCellGrid.MAX_ZOOM 이하)이면 격자 스팟 수 집계로 응답합니다. <br/>
+     * 클러스터링 결과는 응답 직렬화 시점에 JsonGenerator 로 바로 기록됩니다. <br/>
+     * 요청마다 클러스터링하는 조회는 같은 지도 범위와 조건의 동시 요청을 한 번만 계산합니다. (MapQueryCoalescer) <br/>
+     * 범위를 넓혀 계산하면 조회 개수 제한(size)을 범위 밖 스팟이 차지하므로, 요청 범위 그대로 조회합니다. <br/>
+     * 클러스터 인덱스를 샤딩하면(cluster.shard.enabled) 전체 스팟 조회는 담당 노드들에 나누어 조회하고 셀 경계의 결과를 합칩니다. (SpotShardGather) <br/>
+     * 클러스터 인덱스 조회 결과에는 클러스터 id 를 탐색할 때 함께 보낼 데이터 버전 토큰을 담습니다. (StreamingFeatureCollection.version) <br/>
+     * 조회 경로는 SpotQueryRouter 가 정하고, 경로별 조회는 SpotClusterQuery 가 수행합니다.
      *
      * @param memberId  : 현재 접근중인 주체
      * @param condition : 조회 조건
      */
     @Override
-    public List<Feature> spotsCluster(Long memberId, MapCondition condition) {
-        List<Marker> spots = spotCustomQueryRepository.findMarkerByBoundingBoxWithCondition(condition, memberId);
-        if (spots.isEmpty()) {
-            return new ArrayList<>();
+    public StreamingFeatureCollection spotsCluster(Long memberId, MapCondition condition) {
+        return spotClusterQuery.viewport(spotQueryRouter.route(condition), memberId, condition);
+    }
+
+    /**
+     * 지도 내 스팟 클러스터링 변경분 <br/>
+     * 이전 응답의 조회 범위와 데이터 버전 토큰을 받아, 그 결과를 현재 조회 범위의 결과로 만들기 위해 추가/교체할 Feature 와 제거할 id 만 반환합니다. <br/>
+     * 클러스터 인덱스(필터 ALL, 태그 조건 없음)가 이전 버전의 스냅샷을 보관하고 있을 때만 변경분을 계산하고, 그 외에는 조회 범위 전체를 반환합니다.
+     *
+     * @param memberId  : 현재 접근중인 주체
+     * @param condition : 조회 조건 (previousBoundingBox, version : 이전 응답의 조회 범위와 데이터 버전 토큰)
+     */
+    @Override
+    public SpotDeltaResponseDto spotsClusterDelta(Long memberId, MapCondition condition) {
+        if (!SpotQueryRoute.INDEX.equals(spotQueryRouter.route(condition))) {
+            return SpotDeltaResponseDto.builder()
+                                       .full(true)
+                                       .added(spotsCluster(memberId, condition))
+                                       .removedSpots(new ArrayList<>())
+                                       .removedClusters(new ArrayList<>())
+                                       .build();
+        }
+        long[] previousVersion = VersionTokenUtil.decode(condition.getVersion(), 1);
+        if (previousVersion != null && condition.getPreviousBoundingBox() != null) {
+            FeatureBuffer previous = new FeatureBuffer();
+            FeatureBuffer current = new FeatureBuffer();
+            long version = spotClusterIndex.runSince(previousVersion[0], condition.getPreviousBoundingBox(), previous,
+                                                     condition.getBoundingBox(), current);
+            if (version != SpotClusterIndex.NO_VERSION) {
+                FeatureDiff diff = FeatureDiff.of(previous, current);
+                return SpotDeltaResponseDto.builder()
+                                           .version(VersionTokenUtil.encode(version))
+                                           .full(false)
+                                           .added(new StreamingFeatureCollection(diff.getAdded()::replay))
+                                           .removedSpots(diff.getRemovedPoints())
+                                           .removedClusters(diff.getRemovedClusters())
+                                           .build();
+            }
+        }
+        FeatureBuffer current = new FeatureBuffer();
+        long version = spotClusterIndex.run(condition.getBoundingBox(), current);
+        return SpotDeltaResponseDto.builder()
+                                   .version(VersionTokenUtil.encode(version))
+                                   .full(true)
+                                   .added(new StreamingFeatureCollection(current::replay))
+                                   .removedSpots(new ArrayList<>())
+                                   .removedClusters(new ArrayList<>())
+                                   .build();
+    }
+
+    /**
+     * 지도 내 스팟 클러스터링과 미리 받기 묶음 <br/>
+     * 확대, 이동 시 새 요청을 기다리지 않고 바로 그릴 수 있도록, 같은 범위의 한 단계 위 줌 레벨 결과와 범위 둘레(margin)의 결과를 함께 반환합니다.
+     *
+     * @param memberId  : 현재 접근중인 주체
+     * @param condition : 조회 조건 (prefetchMargin : 범위 둘레로 넓힐 비율, 기본 0.5)
+     */
+    @Override
+    public SpotPrefetchResponseDto spotsPrefetch(Long memberId, MapCondition condition) {
+        SpotQueryRoute route = spotQueryRouter.route(condition);
+        return spotClusterQuery.prefetch(route, spotClusterQuery.viewport(route, memberId, condition), condition);
+    }
+
+    /**
+     * 지도 타일 단위 스팟 클러스터링 - Mapbox Vector Tile <br/>
+     * 필터와 태그 조건 없이 클러스터 인덱스에서 buffer 를 포함한 타일 범위를 조회합니다. <br/>
+     * 같은 데이터 버전의 타일은 항상 같으므로, 응답은 버전 기준으로 캐싱할 수 있습니다. <br/>
+     * 인덱스 구성 전에는 저줌이면 격자 스팟 수 집계로, 그 외에는 RDBMS 에서 타일 범위를 조회하여 클러스터링합니다.
+     *
+     * @param z : 줌 레벨
+     * @param x : 타일 x 좌표
+     * @param y : 타일 y 좌표
+     */
+    @Override
+    public SpotTile spotsTile(int z, int x, int y) {
+        return spotClusterQuery.vectorTile(z, x, y);
+    }
+
+    /**
+     * 클러스터를 구성하는 한 단계 아래 줌 레벨의 포인트/클러스터 목록 <br/>
+     * 클러스터 인덱스(필터 ALL, 태그 조건 없음)의 클러스터 id 만 탐색할 수 있으며, RDBMS 조회는 발생하지 않습니다. <br/>
+     * 클러스터 id 는 압축, 재구성마다 바뀌므로 id 를 받은 조회 결과의 데이터 버전 토큰으로 같은 인덱스에서 탐색합니다.
+     *
+     * @param clusterId : 클러스터 id
+     * @param version   : 클러스터 id 를 받은 조회 결과의 데이터 버전 토큰
+     */
+    @Override
+    public StreamingFeatureCollection clusterChildren(long clusterId, String version) {
+        FeatureBuffer buffer = new FeatureBuffer();
+        findSnapshot(version).getChildren(clusterId, buffer);
+        return new StreamingFeatureCollection(buffer::replay, version);
+    }
+
+    /**
+     * 클러스터에 포함된 스팟 목록 (페이지 단위)
+     *
+     * @param clusterId : 클러스터 id
+     * @param version   : 클러스터 id 를 받은 조회 결과의 데이터 버전 토큰
+     * @param limit     : 최대 개수 (최대 LEAVES_LIMIT)
+     * @param offset    : 건너뛸 개수
+     */
+    @Override
+    public StreamingFeatureCollection clusterLeaves(long clusterId, String version, int limit, int offset) {
+        FeatureBuffer buffer = new FeatureBuffer();
+        findSnapshot(version).getLeaves(clusterId, Math.min(limit, LEAVES_LIMIT), offset, buffer);
+        return new StreamingFeatureCollection(buffer::replay);
+    }
+
+    /**
+     * 클러스터가 둘 이상으로 나뉘는 줌 레벨
+     *
+     * @param clusterId : 클러스터 id
+     * @param version   : 클러스터 id 를 받은 조회 결과의 데이터 버전 토큰
+     */
+    @Override
+    public int clusterExpansionZoom(long clusterId, String version) {
+        return findSnapshot(version).getClusterExpansionZoom(clusterId);
+    }
+
+    /**
+     * 스팟 밀도 지도 - 격자 칸별 스팟 수와 무게중심 <br/>
+     * 격자 스팟 수 집계에서 칸 범위만 조회하므로 스팟 수와 무관하게 칸 수에 비례합니다. <br/>
+     * 집계는 SpotCellGrid.MAX_ZOOM 까지만 있으므로 그보다 높은 줌 레벨은 MAX_ZOOM 의 칸으로 응답하며, 칸이 너무 많은 넓은 범위는 더 낮은 줌 레벨의 칸으로 응답합니다.
+     *
+     * @param boundingBox : 지도 범위와 줌 레벨 (0 이상)
+     */
+    @Override
+    public List<HeatmapCellResponseDto> spotsHeatmap(BoundingBox boundingBox) {
+        if (boundingBox.getZoom() < 0) {
+            throw new IllegalArgumentException("줌 레벨은 0 이상이어야 합니다. : " + boundingBox.getZoom());
+        }
+        return spotClusterQuery.cells(boundingBox, Math.min(boundingBox.getZoom(), SpotCellGrid.MAX_ZOOM))
+                .stream()
+                .map(cell -> HeatmapCellResponseDto.builder()
+                                                   .coordinate(SpotCellGrid.centroid(cell))
+                                                   .count(cell.getCount())
+                                                   .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 주변 랜드마크/스팟 조회 - 방문 판정용 <br/>
+     * 랜드마크는 랜드마크 인덱스의, 스팟은 클러스터 인덱스의 k-최근접 검색으로 찾습니다. (RDBMS 조회 없음) <br/>
+     * 클러스터 인덱스 구성 전이거나 샤딩 중이면(cluster.shard.enabled), 스팟은 반경을 감싸는 범위에서 가까운 순서로 size 개까지 RDBMS 에서 조회합니다. <br/>
+     * 랜드마크에는 오늘 방문 여부를 함께 반환합니다. 랜드마크 인덱스 구성 전에는 빈 목록을 반환합니다.
+     *
+     * @param memberId : 현재 접근중인 주체
+     * @param radius   : 반경 (m)
+     * @param size     : 랜드마크, 스팟 각각의 최대 개수
+     */
+    @Override
+    public NearbyResponseDto findNearby(Long memberId, Double lng, Double lat, Double radius, Integer size) {
+        List<LandmarkPoint> landmarks = landmarkIndex.findNearest(lng, lat, radius, size);
+        Set<Long> visited = landmarks.isEmpty() ? Collections.emptySet() : memberRedisRepository.findVisitedLandmarks(memberId);
+        List<NearbyLandmarkResponseDto> nearbyLandmarks = landmarks.stream()
+                                                                   .map(l -> toNearbyLandmark(l, lng, lat, visited.contains(l.getId())))
+                                                                   .collect(Collectors.toList());
+        return NearbyResponseDto.builder()
+                                .landmarks(nearbyLandmarks)
+                                .spots(findNearbySpots(lng, lat, radius, size))
+                                .build();
+    }
+
+    private List<NearbySpotResponseDto> findNearbySpots(Double lng, Double lat, Double radius, Integer size) {
+        List<Marker> markers;
+        if (spotClusterIndex.isReady()) {
+            markers = spotClusterIndex.findNearest(lng, lat, radius, size);
+        } else {
+            double dLat = radius / METERS_PER_DEGREE;
+            double dLng = dLat / Math.cos(Math.toRadians(lat));
+            markers = spotCustomQueryRepository.findNearestMarkers(lng, lat, Math.max(-180, lng - dLng), Math.max(-90, lat - dLat),
+                                                                   Math.min(180, lng + dLng), Math.min(90, lat + dLat), size);
+        }
+        return markers.stream()
+                      .map(m -> toNearbySpot(m, lng, lat))
+                      .filter(spot -> spot.getDistance() <= radius)
+                      .collect(Collectors.toList());
+    }
+
+    private NearbyLandmarkResponseDto toNearbyLandmark(LandmarkPoint landmark, double lng, double lat, boolean visited) {
+        return NearbyLandmarkResponseDto.builder()
+                                        .id(landmark.getId())
+                                        .name(landmark.getName())
+                                        .coordinate(landmark.getCoordinate())
+                                        .distance(distance(landmark.getCoordinate().getLng(), landmark.getCoordinate().getLat(), lng, lat))
+                                        .visited(visited)
+                                        .build();
+    }
+
+    private NearbySpotResponseDto toNearbySpot(Marker marker, double lng, double lat) {
+        return NearbySpotResponseDto.builder()
+                                    .id(marker.getId())
+                                    .coordinate(marker.getCoordinate())
+                                    .distance(distance(marker.getCoordinate().getLng(), marker.getCoordinate().getLat(), lng, lat))
+                                    .imageUrl(marker.getImageUrl())
+                                    .build();
+    }
+
+    /**
+     * 두 경위도 좌표 사이 거리 (m)
+     */
+    private double distance(double lng1, double lat1, double lng2, double lat2) {
+        return HAVERSINE.compute(lng1, lat1, lng2, lat2) * 1000;
+    }
+
+    /**
+     * 클러스터 id 탐색은 미리 구성된 인덱스에서, 클러스터 id 를 받은 조회 결과와 같은 superCluster 로만 가능합니다. <br/>
+     * 토큰이 다른 인스턴스에서 발급되었거나 그 인덱스를 더 이상 보관하지 않으면, 같은 id 가 다른 클러스터를 가리킬 수 있으므로 탐색하지 않습니다.
+     */
+    private SpotClusterSnapshot findSnapshot(String version) {
+        if (!spotClusterIndex.isReady()) {
+            throw new ResourceNotFoundException("클러스터 인덱스가 아직 구성되지 않았습니다.");
+        }
+        long[] decoded = VersionTokenUtil.decode(version, 1);
+        if (decoded == null) {
+            throw new ResourceConflictException("클러스터 id 의 데이터 버전이 현재 서버의 인덱스와 맞지 않습니다. 지도를 다시 조회해주세요.");
         }
-        SuperCluster superCluster = new SuperCluster(superClusterParams, spots, pointConverter, distanceMeasure);
-        return superCluster.run(condition.getBoundingBox());
+        return spotClusterIndex.findSnapshot(decoded[0])
+                               .orElseThrow(() -> new ResourceConflictException("클러스터 인덱스가 갱신되었습니다. 지도를 다시 조회해주세요."));
     }
 
 //    /**
@@ -0,0 +1,399 @@
+package com.bird.maru.map.service.query;
+
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.AnonymousClusterSink;
+import com.bird.maru.cluster.geojson.ExcludedBoundsSink;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import com.bird.maru.cluster.tile.TileBounds;
+import com.bird.maru.cluster.tile.TileClipSink;
+import com.bird.maru.cluster.tile.VectorTileWriter;
+import com.bird.maru.cluster.util.ClusterBuildPool;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.common.util.VersionTokenUtil;
+import com.bird.maru.domain.model.entity.SpotCellCount;
+import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.domain.model.type.MapFilterType;
+import com.bird.maru.map.cache.ClusterTileBatch;
+import com.bird.maru.map.cache.ClusterTileKey;
+import com.bird.maru.map.cache.ClusterViewportKey;
+import com.bird.maru.map.cache.MapQueryCoalescer;
+import com.bird.maru.map.cell.SpotCellGrid;
+import com.bird.maru.map.controller.dto.MapCondition;
+import com.bird.maru.map.controller.dto.SpotPrefetchResponseDto;
+import com.bird.maru.map.index.SpotClusterIndex;
+import com.bird.maru.map.index.SpotClusterSnapshot;
+import com.bird.maru.map.index.SpotTagIndex;
+import com.bird.maru.map.repository.query.SpotCellCountQueryRepository;
+import com.bird.maru.map.service.dto.SpotTile;
+import com.bird.maru.map.shard.SpotShardGather;
+import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 조회 경로(SpotQueryRoute)별 스팟 클러스터링 결과 조회 - 지도 범위, 타일, 벡터 타일, 미리 받기 묶음 <br/>
+ * 지도 조회 서비스(MapQueryServiceImpl)와 타일 캐시(MapQueryCachedServiceImpl)가 함께 사용합니다. <br/>
+ * 요청마다 클러스터링하는 경로는 같은 범위, 같은 조건의 동시 요청을 한 번만 계산합니다. (MapQueryCoalescer)
+ */
+@Component
+@RequiredArgsConstructor
+public class SpotClusterQuery {
+
+    private static final int TILE_MARKER_LIMIT = 5000;
+    private static final int PREFETCH_FEATURE_LIMIT = 2000;
+    private static final int MAX_CELLS_PER_REQUEST = 4096;
+    private static final double DEFAULT_PREFETCH_MARGIN = 0.5;
+
+    private final SpotCustomQueryRepository spotCustomQueryRepository;
+    private final SuperClusterParams superClusterParams;
+    private final PointConverter pointConverter;
+    private final DistanceMeasure distanceMeasure;
+    private final SpotAggregateReducer spotAggregateReducer;
+    private final ClusterBuildPool clusterBuildPool;
+    private final SpotClusterIndex spotClusterIndex;
+    private final SpotTagIndex spotTagIndex;
+    private final SpotShardGather spotShardGather;
+    private final SpotCellCountQueryRepository spotCellCountQueryRepository;
+    private final MapQueryCoalescer mapQueryCoalescer;
+
+    /**
+     * 지도 범위의 클러스터링 결과 - 응답 직렬화 시점에 JsonGenerator 로 바로 기록됩니다. <br/>
+     * 전역 클러스터 인덱스 조회는 스냅샷을 먼저 정하여, 클러스터 id 를 탐색할 때 보낼 데이터 버전 토큰을 함께 담습니다. <br/>
+     * 범위를 넓혀 계산하면 조회 개수 제한(size)을 범위 밖 스팟이 차지하므로, RDBMS 조회는 요청 범위 그대로 조회합니다.
+     *
+     * @param route     : 조회 경로
+     * @param memberId  : 현재 접근중인 주체
+     * @param condition : 조회 조건
+     */
+    public StreamingFeatureCollection viewport(SpotQueryRoute route, Long memberId, MapCondition condition) {
+        BoundingBox boundingBox = condition.getBoundingBox();
+        switch (route) {
+            case INDEX:
+                SpotClusterSnapshot snapshot = spotClusterIndex.getSnapshot();
+                return new StreamingFeatureCollection(sink -> snapshot.run(boundingBox, sink), VersionTokenUtil.encode(snapshot.getVersion()));
+            case SHARD:
+                return new StreamingFeatureCollection(sink -> spotShardGather.run(boundingBox, sink));
+            case CELL:
+                List<SpotCellCount> cells = cells(boundingBox, boundingBox.getZoom());
+                return new StreamingFeatureCollection(sink -> runCells(cells, boundingBox.getZoom(), sink));
+            case TAG_PARTITION:
+                return new StreamingFeatureCollection(sink -> spotTagIndex.run(condition.getTagId(), boundingBox, sink));
+            case TAG_INDEX:
+                FeatureBuffer tagged = mapQueryCoalescer.viewport(ClusterViewportKey.of(condition, memberId), () -> {
+                    FeatureBuffer buffer = new FeatureBuffer();
+                    spotTagIndex.run(condition.getTagId(), boundingBox, buffer);
+                    return buffer;
+                });
+                return new StreamingFeatureCollection(tagged::replay);
+            default:
+                FeatureBuffer features = mapQueryCoalescer.viewport(ClusterViewportKey.of(condition, memberId), () -> {
+                    FeatureBuffer buffer = new FeatureBuffer();
+                    List<Marker> spots = spotCustomQueryRepository.findMarkerByBoundingBoxWithCondition(condition, memberId);
+                    if (!spots.isEmpty()) {
+                        requestCluster(spots).run(boundingBox, new AnonymousClusterSink(buffer));
+                    }
+                    return buffer;
+                });
+                return new StreamingFeatureCollection(features::replay);
+        }
+    }
+
+    /**
+     * 타일 캐시로 조립할 응답의 전역 클러스터 인덱스 스냅샷 - 타일 캐시 키와 데이터 버전 토큰에 사용하며, INDEX 경로가 아니면 null 입니다.
+     */
+    public SpotClusterSnapshot pin(SpotQueryRoute route) {
+        return SpotQueryRoute.INDEX.equals(route) ? spotClusterIndex.getSnapshot() : null;
+    }
+
+    /**
+     * 타일 하나의 클러스터링 결과 - 타일 캐시 적재용 <br/>
+     * 결과는 반열린 타일 범위로 잘라내므로, 인접 타일을 이어 붙여도 Feature 가 중복되지 않습니다. <br/>
+     * 전역 클러스터 인덱스 조회는 pin 한 스냅샷과 같은 superCluster 를 사용하는 최신 스냅샷으로 조회하여, 같은 응답의 타일이 같은 클러스터 id 를 사용하면서도 <br/>
+     * 조회 도중 반영된 델타가 캐시에 빠지지 않도록 합니다. <br/>
+     * RDBMS 조회는 타일 하나의 묶음으로 조회합니다. (tiles)
+     *
+     * @param route     : 조회 경로
+     * @param snapshot  : pin 한 전역 클러스터 인덱스 스냅샷 (INDEX 경로에서만 사용)
+     * @param memberId  : 현재 접근중인 주체
+     * @param condition : 조회 조건 (boundingBox 는 줌 레벨만 사용)
+     * @param x         : 타일 x 좌표
+     * @param y         : 타일 y 좌표
+     */
+    public FeatureBuffer tile(SpotQueryRoute route, SpotClusterSnapshot snapshot, Long memberId, MapCondition condition, int x, int y) {
+        int z = condition.getBoundingBox().getZoom();
+        BoundingBox tileBox = TileBounds.toBoundingBox(z, x, y, 0);
+        FeatureBuffer buffer = new FeatureBuffer();
+        TileClipSink sink = new TileClipSink(buffer, z, x, y);
+        switch (route) {
+            case INDEX:
+                latest(snapshot).run(tileBox, sink);
+                return buffer;
+            case SHARD:
+                spotShardGather.run(tileBox, sink);
+                return buffer;
+            case CELL:
+                runCells(cells(tileBox, z), z, sink);
+                return buffer;
+            case TAG_PARTITION:
+                spotTagIndex.run(condition.getTagId(), tileBox, sink);
+                return buffer;
+            case TAG_INDEX:
+                return mapQueryCoalescer.clusterTile(ClusterTileKey.of(z, x, y, condition, memberId), () -> {
+                    spotTagIndex.run(condition.getTagId(), tileBox, sink);
+                    return buffer;
+                });
+            default:
+                ClusterTileKey key = ClusterTileKey.of(z, x, y, condition, memberId);
+                return tiles(memberId, condition, List.of(key)).getTiles().get(key);
+        }
+    }
+
+    /**
+     * RDBMS 조회 타일 묶음 - 타일 캐시 적재용 <br/>
+     * 타일들을 포함하는 타일 범위를 한 번만 조회하여 각 스팟을 속한 타일 하나(반열린 타일 범위)에만 배정하고, 타일마다 배정된 스팟만 클러스터링합니다. <br/>
+     * 타일 경계를 넘어 클러스터를 묶지 않는 대신, 이어 붙인 타일에서 스팟이 중복되거나 빠지지 않으며 각 타일의 결과는 함께 조회한 타일과 관계없이 같습니다. <br/>
+     * 조회 개수 제한(size)은 묶음 전체에 적용하며, 제한에 걸리면 묶음을 캐시하지 않습니다. 같은 타일 범위의 동시 요청은 한 번만 계산합니다.
+     *
+     * @param memberId  : 현재 접근중인 주체
+     * @param condition : 조회 조건 (boundingBox 는 줌 레벨만 사용)
+     * @param keys      : 계산할 타일 - 이를 포함하는 타일 범위의 모든 타일을 계산합니다.
+     */
+    public ClusterTileBatch tiles(Long memberId, MapCondition condition, List<ClusterTileKey> keys) {
+        int z = condition.getBoundingBox().getZoom();
+        int minX = keys.stream().mapToInt(ClusterTileKey::getX).min().orElseThrow();
+        int minY = keys.stream().mapToInt(ClusterTileKey::getY).min().orElseThrow();
+        int maxX = keys.stream().mapToInt(ClusterTileKey::getX).max().orElseThrow();
+        int maxY = keys.stream().mapToInt(ClusterTileKey::getY).max().orElseThrow();
+        BoundingBox northWest = TileBounds.toBoundingBox(z, minX, minY, 0);
+        BoundingBox southEast = TileBounds.toBoundingBox(z, maxX, maxY, 0);
+        MapCondition batchCondition = MapCondition.builder()
+                                                  .boundingBox(BoundingBox.builder()
+                                                                          .west(northWest.getWest())
+                                                                          .south(southEast.getSouth())
+                                                                          .east(southEast.getEast())
+                                                                          .north(northWest.getNorth())
+                                                                          .zoom(z)
+                                                                          .build())
+                                                  .filter(condition.getFilter())
+                                                  .tagId(condition.getTagId())
+                                                  .size(condition.getSize())
+                                                  .build();
+        return mapQueryCoalescer.clusterTiles(ClusterViewportKey.of(batchCondition, memberId), () -> {
+            List<Marker> spots = spotCustomQueryRepository.findMarkerByBoundingBoxWithCondition(batchCondition, memberId);
+            Map<ClusterTileKey, FeatureBuffer> tiles = new HashMap<>();
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    tiles.put(ClusterTileKey.of(z, x, y, condition, memberId), clusterTile(spots, z, x, y));
+                }
+            }
+            return ClusterTileBatch.of(tiles, spots.size() < condition.getSize());
+        });
+    }
+
+    /**
+     * 지도 타일 단위 스팟 클러스터링 - Mapbox Vector Tile <br/>
+     * 필터와 태그 조건 없이 클러스터 인덱스에서 buffer 를 포함한 타일 범위를 조회합니다. <br/>
+     * 같은 데이터 버전의 타일은 항상 같으므로, 응답은 버전 기준으로 캐싱할 수 있습니다. <br/>
+     * 인덱스 구성 전에는 저줌이면 격자 스팟 수 집계로, 그 외에는 RDBMS 에서 타일 범위를 조회하여 클러스터링합니다.
+     *
+     * @param z : 줌 레벨
+     * @param x : 타일 x 좌표
+     * @param y : 타일 y 좌표
+     */
+    public SpotTile vectorTile(int z, int x, int y) {
+        TileBounds.validate(z, x, y);
+        BoundingBox boundingBox = TileBounds.toBoundingBox(z, x, y, VectorTileWriter.bufferRatio());
+        VectorTileWriter writer = new VectorTileWriter(z, x, y);
+        if (spotClusterIndex.isReady()) {
+            long version = spotClusterIndex.run(boundingBox, writer);
+            return SpotTile.builder()
+                           .data(writer.toByteArray())
+                           .version(version)
+                           .build();
+        }
+        if (spotShardGather.isReady()) {
+            spotShardGather.run(boundingBox, writer);
+            return SpotTile.builder()
+                           .data(writer.toByteArray())
+                           .build();
+        }
+        if (SpotCellGrid.covers(z)) {
+            runCells(cells(TileBounds.toBoundingBox(z, x, y, 0), z), z, writer);
+            return SpotTile.builder()
+                           .data(writer.toByteArray())
+                           .build();
+        }
+        MapCondition condition = MapCondition.builder()
+                                             .boundingBox(boundingBox)
+                                             .filter(MapFilterType.ALL)
+                                             .size(TILE_MARKER_LIMIT)
+                                             .build();
+        byte[] data = mapQueryCoalescer.vectorTile(ClusterTileKey.of(z, x, y, condition, null), () -> {
+            List<Marker> spots = spotCustomQueryRepository.findMarkerByBoundingBoxWithCondition(condition, null);
+            if (!spots.isEmpty()) {
+                requestCluster(spots).run(boundingBox, new AnonymousClusterSink(writer));
+            }
+            return writer.toByteArray();
+        });
+        return SpotTile.builder()
+                       .data(data)
+                       .build();
+    }
+
+    /**
+     * 미리 받기 묶음 구성 <br/>
+     * 미리 구성된 클러스터 인덱스, 태그 인덱스의 범위 검색만 사용하며, 그 외 경로이거나 Feature 수가 제한을 넘는 항목은 비워둡니다. <br/>
+     * 클러스터 인덱스 조회는 요청한 범위의 결과와 같은 superCluster 로 조회하므로, 미리 받은 클러스터 id 도 같은 데이터 버전 토큰으로 탐색할 수 있습니다.
+     *
+     * @param route     : 조회 경로
+     * @param features  : 요청한 범위의 조회 결과
+     * @param condition : 조회 조건 (prefetchMargin : 범위 둘레로 넓힐 비율, 기본 0.5)
+     */
+    public SpotPrefetchResponseDto prefetch(SpotQueryRoute route, StreamingFeatureCollection features, MapCondition condition) {
+        if (!route.isPrefetchable()) {
+            return SpotPrefetchResponseDto.builder()
+                                          .features(features)
+                                          .build();
+        }
+        BoundingBox boundingBox = condition.getBoundingBox();
+        BoundingBox marginBoundingBox = expand(boundingBox,
+                                               condition.getPrefetchMargin() == null ? DEFAULT_PREFETCH_MARGIN : condition.getPrefetchMargin());
+        SpotClusterSnapshot snapshot = SpotQueryRoute.INDEX.equals(route) ? prefetchSnapshot(features) : null;
+        FeatureBuffer margin = new FeatureBuffer();
+        runIndexed(condition, snapshot, marginBoundingBox, new ExcludedBoundsSink(margin, boundingBox));
+        FeatureBuffer zoomIn = null;
+        if (boundingBox.getZoom() < TileBounds.MAX_ZOOM) {
+            zoomIn = new FeatureBuffer();
+            runIndexed(condition, snapshot, BoundingBox.builder()
+                                                       .west(boundingBox.getWest())
+                                                       .south(boundingBox.getSouth())
+                                                       .east(boundingBox.getEast())
+                                                       .north(boundingBox.getNorth())
+                                                       .zoom(boundingBox.getZoom() + 1)
+                                                       .build(), zoomIn);
+        }
+        return SpotPrefetchResponseDto.builder()
+                                      .version(features.getVersion())
+                                      .features(features)
+                                      .zoomIn(bounded(zoomIn))
+                                      .margin(bounded(margin))
+                                      .marginBoundingBox(marginBoundingBox)
+                                      .build();
+    }
+
+    /**
+     * 범위 내 스팟이 있는 격자 칸 목록 - 칸이 MAX_CELLS_PER_REQUEST 개보다 많은 넓은 범위는 낮은 줌 레벨의 칸으로 조회합니다.
+     */
+    public List<SpotCellCount> cells(BoundingBox boundingBox, int requestedZoom) {
+        int zoom = SpotCellGrid.fitZoom(boundingBox, requestedZoom, MAX_CELLS_PER_REQUEST);
+        return spotCellCountQueryRepository.findAllByZoomAndCellXBetweenAndCellYBetweenAndCountGreaterThan(
+                zoom,
+                SpotCellGrid.minCellX(boundingBox, zoom), SpotCellGrid.maxCellX(boundingBox, zoom),
+                SpotCellGrid.minCellY(boundingBox, zoom), SpotCellGrid.maxCellY(boundingBox, zoom),
+                0L
+        );
+    }
+
+    /**
+     * 격자 칸을 무게중심 좌표의 클러스터로 출력 - 칸은 클러스터 인덱스에서 탐색할 수 없으므로 id 는 NO_ID 입니다.
+     */
+    private void runCells(List<SpotCellCount> cells, int zoom, FeatureSink sink) {
+        double radius = superClusterParams.getRadius() / (superClusterParams.getExtent() * Math.pow(2, zoom));
+        for (SpotCellCount cell : cells) {
+            Coordinate centroid = SpotCellGrid.centroid(cell);
+            sink.cluster(centroid.getLng(), centroid.getLat(), FeatureSink.NO_ID, cell.getCount().intValue(), radius, null);
+        }
+    }
+
+    /**
+     * 미리 받기에 사용할 클러스터 인덱스 스냅샷 - 요청한 범위의 결과와 같은 superCluster 를 사용합니다.
+     */
+    private SpotClusterSnapshot prefetchSnapshot(StreamingFeatureCollection features) {
+        long[] decoded = VersionTokenUtil.decode(features.getVersion(), 1);
+        if (decoded == null) {
+            return spotClusterIndex.getSnapshot();
+        }
+        return spotClusterIndex.findSnapshot(decoded[0]).orElseGet(spotClusterIndex::getSnapshot);
+    }
+
+    /**
+     * pin 한 스냅샷과 같은 superCluster 를 사용하는 현재 스냅샷 - 그 사이 델타 압축, 재구성되었으면 pin 한 스냅샷을 그대로 사용합니다.
+     */
+    private SpotClusterSnapshot latest(SpotClusterSnapshot pinned) {
+        SpotClusterSnapshot current = spotClusterIndex.getSnapshot();
+        return current.getBaseVersion() == pinned.getBaseVersion() ? current : pinned;
+    }
+
+    private void runIndexed(MapCondition condition, SpotClusterSnapshot snapshot, BoundingBox boundingBox, FeatureSink sink) {
+        if (snapshot != null) {
+            snapshot.run(boundingBox, sink);
+        } else {
+            spotTagIndex.run(condition.getTagId(), boundingBox, sink);
+        }
+    }
+
+    /**
+     * 타일에 속한 스팟만 클러스터링 - 클러스터의 좌표는 스팟들의 무게중심이므로 타일 밖으로 벗어나지 않습니다.
+     */
+    private FeatureBuffer clusterTile(List<Marker> spots, int z, int x, int y) {
+        List<Marker> tileSpots = spots.stream()
+                                      .filter(spot -> TileBounds.contains(z, x, y, spot.getCoordinate().getLng(), spot.getCoordinate().getLat()))
+                                      .collect(Collectors.toList());
+        FeatureBuffer buffer = new FeatureBuffer();
+        if (!tileSpots.isEmpty()) {
+            requestCluster(tileSpots).run(TileBounds.toBoundingBox(z, x, y, 0), new AnonymousClusterSink(buffer));
+        }
+        return buffer.trim();
+    }
+
+    /**
+     * 요청 시점 클러스터링 - 요청한 줌 레벨까지 필요한 레벨만 구성합니다. <br/>
+     * 넓은 범위라 포인트가 많으면 전용 pool 에서 병렬로 구성합니다.
+     */
+    private FlatSuperCluster requestCluster(List<Marker> spots) {
+        return FlatSuperCluster.builder()
+                               .superClusterParams(superClusterParams)
+                               .points(spots)
+                               .pointConverter(pointConverter)
+                               .distanceMeasure(distanceMeasure)
+                               .reducer(spotAggregateReducer)
+                               .lazy(true)
+                               .pool(clusterBuildPool.forSize(spots.size()))
+                               .build();
+    }
+
+    private StreamingFeatureCollection bounded(FeatureBuffer buffer) {
+        if (buffer == null || buffer.size() > PREFETCH_FEATURE_LIMIT) {
+            return null;
+        }
+        return new StreamingFeatureCollection(buffer::replay);
+    }
+
+    /**
+     * 범위를 가로, 세로 길이의 ratio 배만큼 사방으로 넓힙니다. (경위도 범위로 제한)
+     */
+    private BoundingBox expand(BoundingBox boundingBox, double ratio) {
+        double dLng = (boundingBox.getEast() - boundingBox.getWest()) * ratio;
+        double dLat = (boundingBox.getNorth() - boundingBox.getSouth()) * ratio;
+        return BoundingBox.builder()
+                          .west(Math.max(-180, boundingBox.getWest() - dLng))
+                          .south(Math.max(-90, boundingBox.getSouth() - dLat))
+                          .east(Math.min(180, boundingBox.getEast() + dLng))
+                          .north(Math.min(90, boundingBox.getNorth() + dLat))
+                          .zoom(boundingBox.getZoom())
+                          .build();
+    }
+
+
+}
@@ -0,0 +1,22 @@
+package com.bird.maru.map.service.query;
+
+/**
+ * 스팟 지도 조회 경로 - 조회 조건과 인덱스 구성 상태에 따라 SpotQueryRouter 가 정합니다.
+ */
+public enum SpotQueryRoute {
+
+    INDEX, // 전역 클러스터 인덱스의 범위 검색 (필터 ALL, 태그 조건 없음)
+    SHARD, // 노드별 샤드 인덱스의 범위 검색 결과를 합침 (cluster.shard.enabled)
+    CELL, // 클러스터 인덱스 구성 전의 저줌 전체 스팟 조회 - 격자 스팟 수 집계
+    TAG_PARTITION, // 태그 클러스터 인덱스(파티션)의 범위 검색
+    TAG_INDEX, // 파티션이 없는 태그 - 태그 인덱스의 스팟으로 요청마다 클러스터링
+    RDBMS; // 그 외 조건 - RDBMS 에서 조회하여 요청마다 클러스터링
+
+    /**
+     * 미리 구성된 인덱스의 범위 검색만 수행하는 경로 - 미리 받기는 요청마다 클러스터링하지 않습니다.
+     */
+    public boolean isPrefetchable() {
+        return this == INDEX || this == TAG_PARTITION;
+    }
+
+}
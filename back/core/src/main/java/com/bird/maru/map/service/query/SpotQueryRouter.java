@@ -0,0 +1,58 @@
+package com.bird.maru.map.service.query;
+
+import com.bird.maru.domain.model.type.MapFilterType;
+import com.bird.maru.map.cell.SpotCellGrid;
+import com.bird.maru.map.controller.dto.MapCondition;
+import com.bird.maru.map.index.SpotClusterIndex;
+import com.bird.maru.map.index.SpotTagIndex;
+import com.bird.maru.map.shard.SpotShardGather;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스팟 지도 조회 경로 결정 - 지도 조회 서비스와 타일 캐시가 같은 기준으로 조회 경로를 정하도록 한 곳에 둡니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpotQueryRouter {
+
+    private final SpotClusterIndex spotClusterIndex;
+    private final SpotTagIndex spotTagIndex;
+    private final SpotShardGather spotShardGather;
+
+    /**
+     * 전체 스팟 조회(필터 ALL, 태그 조건 없음)는 전역 클러스터 인덱스, 샤드 인덱스, 격자 스팟 수 집계 순서로, <br/>
+     * 태그 조건만 있는 조회(필터 ALL)는 태그 파티션, 태그 인덱스 순서로 구성된 것을 사용하며, 그 외에는 RDBMS 에서 조회합니다.
+     */
+    public SpotQueryRoute route(MapCondition condition) {
+        if (isIndexed(condition)) {
+            if (spotClusterIndex.isReady()) {
+                return SpotQueryRoute.INDEX;
+            }
+            if (spotShardGather.isReady()) {
+                return SpotQueryRoute.SHARD;
+            }
+            if (SpotCellGrid.covers(condition.getBoundingBox().getZoom())) {
+                return SpotQueryRoute.CELL;
+            }
+        }
+        if (isTagIndexed(condition)) {
+            if (spotTagIndex.isPartitioned(condition.getTagId())) {
+                return SpotQueryRoute.TAG_PARTITION;
+            }
+            if (spotTagIndex.isReady()) {
+                return SpotQueryRoute.TAG_INDEX;
+            }
+        }
+        return SpotQueryRoute.RDBMS;
+    }
+
+    private boolean isIndexed(MapCondition condition) {
+        return MapFilterType.ALL.equals(condition.getFilter()) && condition.getTagId() == null;
+    }
+
+    private boolean isTagIndexed(MapCondition condition) {
+        return MapFilterType.ALL.equals(condition.getFilter()) && condition.getTagId() != null;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.bird.maru.map.shard;
+
+import com.bird.maru.cluster.compact.CompactFeatureReader;
+import com.bird.maru.cluster.compact.CompactFeatureWriter;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.map.controller.dto.SpotShardWriteDto;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 노드 간 샤드 조회 - GET {노드 URL}/internal/map/shards/spots 를 압축 바이너리 형식(CompactFeatureWriter)으로 받습니다. <br/>
+ * 담당하지 않는 셀의 스팟 등록/삭제는 POST {노드 URL}/internal/map/shards/spots/writes 로 담당 노드에 전달합니다. <br/>
+ * 요청은 논블로킹으로 보내므로 여러 노드에 동시에 조회합니다.
+ */
+@Component
+public class HttpSpotShardClient implements SpotShardClient {
+
+    public static final String PATH = "/internal/map/shards/spots";
+    public static final String WRITE_PATH = PATH + "/writes";
+    public static final String SECRET_HEADER = "X-Shard-Secret";
+
+    private final SpotShardTopology topology;
+    private final Duration timeout;
+    private final WebClient webClient = WebClient.create();
+
+    public HttpSpotShardClient(SpotShardTopology topology, @Value("${cluster.shard.timeout}") long timeout) {
+        this.topology = topology;
+        this.timeout = Duration.ofMillis(timeout);
+    }
+
+    @Override
+    public CompletableFuture<FeatureBuffer> run(String nodeId, BoundingBox boundingBox) {
+        return webClient.get()
+                        .uri(topology.getUrl(nodeId) + PATH + "?west={west}&south={south}&east={east}&north={north}&zoom={zoom}",
+                             boundingBox.getWest(), boundingBox.getSouth(), boundingBox.getEast(), boundingBox.getNorth(), boundingBox.getZoom())
+                        .header(SECRET_HEADER, topology.getSecret())
+                        .accept(MediaType.parseMediaType(CompactFeatureWriter.MEDIA_TYPE))
+                        .retrieve()
+                        .bodyToMono(byte[].class)
+                        .timeout(timeout)
+                        .map(this::decode)
+                        .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> write(String nodeId, SpotShardWriteDto write) {
+        return webClient.post()
+                        .uri(topology.getUrl(nodeId) + WRITE_PATH)
+                        .header(SECRET_HEADER, topology.getSecret())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(write)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .timeout(timeout)
+                        .then()
+                        .toFuture();
+    }
+
+    private FeatureBuffer decode(byte[] data) {
+        FeatureBuffer buffer = new FeatureBuffer();
+        try {
+            CompactFeatureReader.read(data, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.bird.maru.map.shard;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.tile.TileBounds;
+import com.bird.maru.map.cell.SpotCellGrid;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 스팟 샤드 분할 단위(셀) - 줌 레벨 10 의 XYZ 타일 <br/>
+ * 격자 스팟 수 집계(SpotCellGrid)의 최대 줌 레벨과 같으므로, 집계 칸 좌표를 CELL_BITS 만큼 밀면 셀 좌표가 됩니다. <br/>
+ * 셀 키는 (x << 32) | y 이며, 스팟은 좌표가 포함된 셀 하나에만 속합니다. (타일 경계는 동쪽/남쪽 셀에 속함)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SpotShardCell {
+
+    public static final int ZOOM = SpotCellGrid.MAX_ZOOM;
+
+    private static final int LAST = (1 << ZOOM) - 1;
+
+    public static long key(int x, int y) {
+        return ((long) x << 32) | y;
+    }
+
+    public static int x(long cell) {
+        return (int) (cell >>> 32);
+    }
+
+    public static int y(long cell) {
+        return (int) cell;
+    }
+
+    /**
+     * 좌표가 속한 셀
+     */
+    public static long of(double lng, double lat) {
+        int x = (int) Math.max(0, Math.min(LAST, Math.floor(TileBounds.lngToTileX(lng, ZOOM))));
+        int y = (int) Math.max(0, Math.min(LAST, Math.floor(TileBounds.latToTileY(lat, ZOOM))));
+        return key(x, y);
+    }
+
+    public static BoundingBox toBoundingBox(long cell) {
+        return TileBounds.toBoundingBox(ZOOM, x(cell), y(cell), 0);
+    }
+
+    /**
+     * 범위와 겹치는 셀 목록 - 날짜 변경선을 넘거나 셀이 limit 개보다 많으면 null
+     */
+    public static long[] cells(BoundingBox boundingBox, int limit) {
+        if (boundingBox.getWest() > boundingBox.getEast()) {
+            return null;
+        }
+        int[] range = TileBounds.toTileRange(boundingBox, ZOOM);
+        long count = (long) (range[2] - range[0] + 1) * (range[3] - range[1] + 1);
+        if (count > limit) {
+            return null;
+        }
+        long[] cells = new long[(int) count];
+        int i = 0;
+        for (int x = range[0]; x <= range[2]; x++) {
+            for (int y = range[1]; y <= range[3]; y++) {
+                cells[i++] = key(x, y);
+            }
+        }
+        return cells;
+    }
+
+}
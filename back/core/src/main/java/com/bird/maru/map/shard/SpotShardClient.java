@@ -0,0 +1,27 @@
+package com.bird.maru.map.shard;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.map.controller.dto.SpotShardWriteDto;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 다른 노드의 스팟 샤드 인덱스 범위 검색/쓰기
+ */
+public interface SpotShardClient {
+
+    /**
+     * @param nodeId      : 담당 노드 id
+     * @param boundingBox : 조회 범위 (줌 레벨 포함)
+     * @return 노드의 범위 검색 결과 (클러스터 id 제외)
+     */
+    CompletableFuture<FeatureBuffer> run(String nodeId, BoundingBox boundingBox);
+
+    /**
+     * @param nodeId : 스팟 좌표의 셀을 담당하는 노드 id
+     * @param write  : 스팟 등록/삭제
+     * @return 담당 노드의 델타 버퍼 반영 완료
+     */
+    CompletableFuture<Void> write(String nodeId, SpotShardWriteDto write);
+
+}
@@ -0,0 +1,107 @@
+package com.bird.maru.map.shard;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.map.index.SpotShardIndex;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 샤딩된 스팟 클러스터 인덱스의 분산 조회(scatter-gather) <br/>
+ * 1. 조회 범위를 클러스터 반경만큼 넓혀, 겹치는 셀의 담당 노드를 찾습니다. (셀이 너무 많으면 모든 노드) <br/>
+ * 2. 현재 노드는 SpotShardIndex 로, 다른 노드는 SpotShardClient 로 동시에 조회합니다. <br/>
+ * 3. 셀 경계의 결과를 SpotShardMerger 로 합치고, 조회 범위 내 Feature 만 전달합니다. <br/>
+ * 응답하지 않는 노드의 셀은 결과에서 빠지며, 로그를 남기고 나머지 노드의 결과로 응답합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpotShardGather {
+
+    private static final int MAX_CELLS = 1024;
+
+    private final SpotShardTopology topology;
+    private final SpotShardIndex spotShardIndex;
+    private final SpotShardClient spotShardClient;
+    private final SpotShardMerger spotShardMerger;
+    private final SuperClusterParams superClusterParams;
+    private final PointConverter pointConverter;
+
+    /**
+     * 샤딩을 사용하고 현재 노드의 샤드 인덱스가 구성되었는지 여부
+     */
+    public boolean isReady() {
+        return topology.isEnabled() && spotShardIndex.isReady();
+    }
+
+    public void run(BoundingBox boundingBox, FeatureSink sink) {
+        BoundingBox scatterBox = expand(boundingBox);
+        Set<String> owners = owners(scatterBox);
+        Map<String, CompletableFuture<FeatureBuffer>> requests = new TreeMap<>();
+        for (String nodeId : owners) {
+            if (!topology.isLocal(nodeId)) {
+                requests.put(nodeId, spotShardClient.run(nodeId, scatterBox));
+            }
+        }
+
+        // 어느 노드에서 조회해도 같은 결과가 되도록 노드 id 순서로 합칩니다.
+        Map<String, FeatureBuffer> shards = new TreeMap<>();
+        if (owners.contains(topology.getNodeId()) && spotShardIndex.isReady()) {
+            FeatureBuffer local = new FeatureBuffer();
+            spotShardIndex.run(scatterBox, local);
+            shards.put(topology.getNodeId(), local);
+        }
+        requests.forEach((nodeId, request) -> {
+            try {
+                shards.put(nodeId, request.join());
+            } catch (RuntimeException e) {
+                log.warn("Spot 샤드 조회 실패 - node : {}, boundingBox : {}", nodeId, scatterBox, e);
+            }
+        });
+
+        FeatureBuffer merged = new FeatureBuffer();
+        spotShardMerger.merge(new ArrayList<>(shards.values()), boundingBox.getZoom(), merged);
+        merged.replay(sink, boundingBox.getWest(), boundingBox.getSouth(), boundingBox.getEast(), boundingBox.getNorth());
+    }
+
+    /**
+     * 범위와 겹치는 셀의 담당 노드 (노드 id 오름차순)
+     */
+    private Set<String> owners(BoundingBox boundingBox) {
+        long[] cells = SpotShardCell.cells(boundingBox, MAX_CELLS);
+        if (cells == null) {
+            return new TreeSet<>(topology.getRing().getNodeIds());
+        }
+        Set<String> owners = new TreeSet<>();
+        for (long cell : cells) {
+            owners.add(topology.getRing().owner(cell));
+        }
+        return owners;
+    }
+
+    /**
+     * 셀 경계 건너편의 Feature 와 합칠 수 있도록 현재 줌 레벨의 클러스터 반경만큼 넓힙니다.
+     */
+    private BoundingBox expand(BoundingBox boundingBox) {
+        int zoom = Math.max(superClusterParams.getMinZoom(), Math.min(superClusterParams.getMaxZoom(), boundingBox.getZoom()));
+        double radius = superClusterParams.getRadius() / (superClusterParams.getExtent() * Math.pow(2, zoom));
+        return BoundingBox.builder()
+                          .west(Math.max(-180, pointConverter.convertXToLng(pointConverter.convertLngToX(boundingBox.getWest()) - radius)))
+                          .east(Math.min(180, pointConverter.convertXToLng(pointConverter.convertLngToX(boundingBox.getEast()) + radius)))
+                          .north(Math.min(90, pointConverter.convertYToLat(pointConverter.convertLatToY(boundingBox.getNorth()) - radius)))
+                          .south(Math.max(-90, pointConverter.convertYToLat(pointConverter.convertLatToY(boundingBox.getSouth()) + radius)))
+                          .zoom(boundingBox.getZoom())
+                          .build();
+    }
+
+}
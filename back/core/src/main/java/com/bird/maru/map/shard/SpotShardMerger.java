@@ -0,0 +1,148 @@
+package com.bird.maru.map.shard;
+
+import com.bird.maru.cluster.KDBush;
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.aggregate.SpotAggregate;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.IntList;
+import com.bird.maru.cluster.util.PointConverter;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 샤드별 클러스터링 결과를 셀 경계에서 합칩니다. <br/>
+ * 샤드는 담당 셀의 스팟만 클러스터링하므로, 서로 다른 샤드의 Feature 가 현재 줌 레벨의 클러스터 반경 안에 있으면 SuperCluster 와 같이 하나로 묶습니다. <br/>
+ * 같은 샤드의 Feature 끼리는 이미 반경 밖이므로 묶지 않습니다. 합친 클러스터는 count 가중 평균 좌표에 놓이며, id 는 NO_ID 입니다. <br/>
+ * 단일 포인트에는 집계 속성이 없으므로, 합친 클러스터의 집계 속성은 함께 묶인 클러스터들의 집계만 합친 값입니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpotShardMerger {
+
+    private final SuperClusterParams superClusterParams;
+    private final PointConverter pointConverter;
+    private final DistanceMeasure distanceMeasure;
+    private final SpotAggregateReducer spotAggregateReducer;
+
+    /**
+     * @param shards : 샤드별 범위 검색 결과
+     * @param zoom   : 조회 줌 레벨 - maxZoom 보다 깊으면 합치지 않습니다.
+     */
+    public void merge(List<FeatureBuffer> shards, int zoom, FeatureSink sink) {
+        if (shards.size() == 1 || zoom > superClusterParams.getMaxZoom()) {
+            shards.forEach(shard -> shard.replay(sink));
+            return;
+        }
+        Features features = new Features(shards.stream().mapToInt(FeatureBuffer::size).sum());
+        for (int s = 0; s < shards.size(); s++) {
+            features.shard = s;
+            shards.get(s).replay(features);
+        }
+        if (features.size == 0) {
+            return;
+        }
+
+        double radius = superClusterParams.getRadius() / (superClusterParams.getExtent() * Math.pow(2, Math.max(superClusterParams.getMinZoom(), zoom)));
+        KDBush tree = new KDBush(features.xy, 2, features.size, superClusterParams.getNodeSize());
+        boolean[] merged = new boolean[features.size];
+        IntList neighbors = new IntList(16);
+        for (int i = 0; i < features.size; i++) {
+            if (merged[i]) {
+                continue;
+            }
+            tree.within(features.xy[2 * i], features.xy[2 * i + 1], radius, distanceMeasure, neighbors);
+            long count = features.counts[i];
+            double wx = features.xy[2 * i] * count;
+            double wy = features.xy[2 * i + 1] * count;
+            ClusterAggregate aggregate = features.aggregates[i];
+            for (int n = 0; n < neighbors.size(); n++) {
+                int j = neighbors.get(n);
+                if (j == i || merged[j] || features.shards[j] == features.shards[i]) {
+                    continue;
+                }
+                merged[j] = true;
+                count += features.counts[j];
+                wx += features.xy[2 * j] * features.counts[j];
+                wy += features.xy[2 * j + 1] * features.counts[j];
+                aggregate = reduce(aggregate, features.aggregates[j]);
+            }
+            if (count == features.counts[i]) {
+                features.emit(i, sink);
+            } else {
+                sink.cluster(pointConverter.convertXToLng(wx / count), pointConverter.convertYToLat(wy / count),
+                             FeatureSink.NO_ID, (int) count, radius, aggregate);
+            }
+        }
+    }
+
+    private ClusterAggregate reduce(ClusterAggregate left, ClusterAggregate right) {
+        if (left instanceof SpotAggregate && right instanceof SpotAggregate) {
+            return spotAggregateReducer.reduce((SpotAggregate) left, (SpotAggregate) right);
+        }
+        return left != null ? left : right;
+    }
+
+    /**
+     * 모든 샤드의 Feature 를 평면 배열로 모읍니다.
+     */
+    private class Features implements FeatureSink {
+
+        private final double[] xy;
+        private final double[] lngLat;
+        private final long[] ids;
+        private final int[] counts;
+        private final double[] radii;
+        private final ClusterAggregate[] aggregates;
+        private final int[] shards;
+        private int shard;
+        private int size;
+
+        private Features(int capacity) {
+            this.xy = new double[capacity * 2];
+            this.lngLat = new double[capacity * 2];
+            this.ids = new long[capacity];
+            this.counts = new int[capacity];
+            this.radii = new double[capacity];
+            this.aggregates = new ClusterAggregate[capacity];
+            this.shards = new int[capacity];
+        }
+
+        @Override
+        public void point(double lng, double lat, long id) {
+            add(lng, lat, id, 1, Double.NaN, null);
+        }
+
+        @Override
+        public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+            add(lng, lat, id, count, radius, aggregate);
+        }
+
+        private void add(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+            xy[2 * size] = pointConverter.convertLngToX(lng);
+            xy[2 * size + 1] = pointConverter.convertLatToY(lat);
+            lngLat[2 * size] = lng;
+            lngLat[2 * size + 1] = lat;
+            ids[size] = id;
+            counts[size] = count;
+            radii[size] = radius;
+            aggregates[size] = aggregate;
+            shards[size] = shard;
+            size++;
+        }
+
+        private void emit(int i, FeatureSink sink) {
+            if (Double.isNaN(radii[i])) {
+                sink.point(lngLat[2 * i], lngLat[2 * i + 1], ids[i]);
+            } else {
+                sink.cluster(lngLat[2 * i], lngLat[2 * i + 1], ids[i], counts[i], radii[i], aggregates[i]);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.bird.maru.map.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 셀 -> 담당 노드 일관된 해싱(consistent hashing) 링 <br/>
+ * 노드마다 virtualNodes 개의 가상 노드를 링에 배치하고, 셀 해시 이후 처음 만나는 가상 노드의 노드가 셀을 담당합니다. <br/>
+ * 노드가 추가/제거되어도 해당 노드의 구간에 속한 셀만 담당 노드가 바뀝니다.
+ */
+public class SpotShardRing {
+
+    private final List<String> nodeIds;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public SpotShardRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("샤드 노드와 가상 노드 수는 1 이상이어야 합니다.");
+        }
+        this.nodeIds = nodeIds.stream().sorted().collect(Collectors.toUnmodifiableList());
+        MessageDigest md5 = md5();
+        for (String nodeId : this.nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                byte[] digest = md5.digest((nodeId + "#" + i).getBytes(StandardCharsets.UTF_8));
+                long hash = 0;
+                for (int b = 0; b < Long.BYTES; b++) {
+                    hash = (hash << 8) | (digest[b] & 0xFF);
+                }
+                ring.putIfAbsent(hash, nodeId);
+            }
+        }
+    }
+
+    /**
+     * 셀 담당 노드
+     */
+    public String owner(long cell) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(cell));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * 노드 id 목록 (오름차순)
+     */
+    public List<String> getNodeIds() {
+        return nodeIds;
+    }
+
+    /**
+     * 인접한 셀 키가 링 위에 고르게 흩어지도록 섞습니다. (splitmix64)
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
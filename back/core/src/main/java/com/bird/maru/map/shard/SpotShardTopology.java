@@ -0,0 +1,90 @@
+package com.bird.maru.map.shard;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스팟 클러스터 인덱스 샤딩 구성 <br/>
+ * cluster.shard.nodes 의 모든 노드가 같은 링을 구성하므로, 어느 노드에서 계산해도 셀 담당 노드가 같습니다. <br/>
+ * 노드 목록 형식 : "노드 id=기본 URL" 을 쉼표로 구분 (예 : node-1=http://10.0.0.1:8080,node-2=http://10.0.0.2:8080) <br/>
+ * 샤딩을 사용하지 않으면(cluster.shard.enabled=false) 전역 클러스터 인덱스가 모든 스팟을 보관합니다.
+ */
+@Component
+public class SpotShardTopology {
+
+    private final boolean enabled;
+    private final String nodeId;
+    private final Map<String, String> urls;
+    private final String secret;
+    private final SpotShardRing ring;
+
+    public SpotShardTopology(
+            @Value("${cluster.shard.enabled}") boolean enabled,
+            @Value("${cluster.shard.nodeId}") String nodeId,
+            @Value("${cluster.shard.nodes}") String nodes,
+            @Value("${cluster.shard.virtualNodes}") int virtualNodes,
+            @Value("${cluster.shard.secret}") String secret
+    ) {
+        this.enabled = enabled;
+        this.nodeId = nodeId;
+        this.urls = enabled ? parse(nodes) : Collections.emptyMap();
+        this.secret = secret;
+        if (enabled && !urls.containsKey(nodeId)) {
+            throw new IllegalArgumentException("cluster.shard.nodes 에 현재 노드가 없습니다. nodeId : " + nodeId);
+        }
+        if (enabled && secret.isBlank()) {
+            throw new IllegalArgumentException("cluster.shard.secret 이 비어 있습니다.");
+        }
+        this.ring = enabled ? new SpotShardRing(urls.keySet(), virtualNodes) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public SpotShardRing getRing() {
+        return ring;
+    }
+
+    /**
+     * 현재 노드가 담당하는 셀인지 여부
+     */
+    public boolean isOwned(long cell) {
+        return nodeId.equals(ring.owner(cell));
+    }
+
+    public boolean isLocal(String nodeId) {
+        return this.nodeId.equals(nodeId);
+    }
+
+    public String getUrl(String nodeId) {
+        return urls.get(nodeId);
+    }
+
+    private static Map<String, String> parse(String nodes) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String node : nodes.split(",")) {
+            if (node.isBlank()) {
+                continue;
+            }
+            String[] pair = node.trim().split("=", 2);
+            if (pair.length != 2 || pair[0].isBlank() || pair[1].isBlank()) {
+                throw new IllegalArgumentException("샤드 노드 형식이 올바르지 않습니다. : " + node);
+            }
+            urls.put(pair[0].trim(), pair[1].trim());
+        }
+        return urls;
+    }
+
+}
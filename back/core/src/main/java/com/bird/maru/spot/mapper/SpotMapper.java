@@ -7,6 +7,7 @@ import com.bird.maru.domain.model.entity.Spot;
 import com.bird.maru.domain.model.entity.SpotHasTag;
 import com.bird.maru.domain.model.entity.Tag;
 import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.domain.model.type.ProjectedCoordinate;
 import com.bird.maru.landmark.controller.dto.LandmarkSpotResponseDto;
 import com.bird.maru.spot.repository.query.dto.SpotSimpleDto;
 import com.bird.maru.spot.service.dto.SpotImage;
@@ -80,14 +81,16 @@ public final class SpotMapper {
     }
 
     public static Spot toSpot(SpotImage image, Landmark landmark, Member member) {
+        Coordinate coordinate = Coordinate.builder()
+                                          .lng(image.getCoordinate().getLng())
+                                          .lat(image.getCoordinate().getLat())
+                                          .build();
         return Spot.builder()
                    .landmark(landmark)
                    .member(member)
                    .image(image.getImage())
-                   .coordinate(Coordinate.builder()
-                                         .lng(image.getCoordinate().getLng())
-                                         .lat(image.getCoordinate().getLat())
-                                         .build())
+                   .coordinate(coordinate)
+                   .projected(ProjectedCoordinate.of(coordinate))
                    .build();
     }
 
@@ -95,6 +98,10 @@ public final class SpotMapper {
         return Marker.builder()
                      .id(spot.getId())
                      .coordinate(spot.getCoordinate())
+                     .projected(spot.getProjected())
+                     .likeCount(spot.getLikeCount())
+                     .createdDateTime(spot.getCreatedDateTime())
+                     .imageUrl(spot.getImage().getUrl())
                      .build();
     }
 
@@ -11,6 +11,7 @@ import static com.querydsl.core.group.GroupBy.list;
 import com.bird.maru.cluster.geo.BoundingBox;
 import com.bird.maru.auction.controller.dto.AuctionSearchCondition;
 import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.common.util.SpatialUtil;
 import com.bird.maru.common.util.TimeUtil;
 import com.bird.maru.domain.model.entity.Spot;
 import com.bird.maru.domain.model.entity.Tag;
@@ -24,12 +25,14 @@ import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -140,7 +143,11 @@ public class SpotCustomQueryRepository {
         Long tagId = condition.getTagId();
         return queryFactory.select(Projections.fields(Marker.class,
                                                       spot.id.as("id"),
-                                                      spot.coordinate.as("coordinate")))
+                                                      spot.coordinate.as("coordinate"),
+                                                      spot.projected.as("projected"),
+                                                      spot.likeCount.as("likeCount"),
+                                                      spot.createdDateTime.as("createdDateTime"),
+                                                      spot.image.url.as("imageUrl")))
                            .distinct()
                            .from(spot)
                            .leftJoin(spot.tags, spotHasTag)
@@ -148,6 +155,7 @@ public class SpotCustomQueryRepository {
                                   spot.deleted.isFalse(),
                                   spot.landmark.id.isNull(),
                                   containTagId(tagId),
+                                  containsLocation(boundingBox.getWest(), boundingBox.getSouth(), boundingBox.getEast(), boundingBox.getNorth()),
                                   containsLng(boundingBox.getWest(), boundingBox.getEast()),
                                   containsLat(boundingBox.getSouth(), boundingBox.getNorth()))
                            .orderBy(spot.id.desc())
@@ -155,6 +163,110 @@ public class SpotCustomQueryRepository {
                            .fetch();
     }
 
+    public List<Marker> findAllMarkers() {
+        return queryFactory.select(Projections.fields(Marker.class,
+                                                      spot.id.as("id"),
+                                                      spot.coordinate.as("coordinate"),
+                                                      spot.projected.as("projected"),
+                                                      spot.likeCount.as("likeCount"),
+                                                      spot.createdDateTime.as("createdDateTime"),
+                                                      spot.image.url.as("imageUrl")))
+                           .from(spot)
+                           .where(spot.deleted.isFalse(),
+                                  spot.landmark.id.isNull())
+                           .orderBy(spot.id.asc())
+                           .fetch();
+    }
+
+    /**
+     * 범위 내 모든 스팟 마커 목록 (스팟 id 오름차순) - 스팟 샤드 인덱스 구성용
+     */
+    public List<Marker> findAllMarkersByBoundingBox(Double west, Double south, Double east, Double north) {
+        return queryFactory.select(Projections.fields(Marker.class,
+                                                      spot.id.as("id"),
+                                                      spot.coordinate.as("coordinate"),
+                                                      spot.projected.as("projected"),
+                                                      spot.likeCount.as("likeCount"),
+                                                      spot.createdDateTime.as("createdDateTime"),
+                                                      spot.image.url.as("imageUrl")))
+                           .from(spot)
+                           .where(spot.deleted.isFalse(),
+                                  spot.landmark.id.isNull(),
+                                  containsLocation(west, south, east, north),
+                                  containsLng(west, east),
+                                  containsLat(south, north))
+                           .orderBy(spot.id.asc())
+                           .fetch();
+    }
+
+    /**
+     * 범위 내에서 좌표와 가까운 순서의 스팟 마커 목록 - 클러스터 인덱스를 사용할 수 없을 때의 주변 스팟 조회용 <br/>
+     * 공간 인덱스로 범위 내 스팟만 거른 뒤, 좁은 범위에서는 실제 거리와 순서가 같은 등장방형 근사 거리로 정렬하여 size 개까지 조회합니다.
+     */
+    public List<Marker> findNearestMarkers(Double lng, Double lat, Double west, Double south, Double east, Double north, Integer size) {
+        NumberExpression<Double> dx = spot.coordinate.lng.subtract(lng).multiply(Math.cos(Math.toRadians(lat)));
+        NumberExpression<Double> dy = spot.coordinate.lat.subtract(lat);
+        return queryFactory.select(Projections.fields(Marker.class,
+                                                      spot.id.as("id"),
+                                                      spot.coordinate.as("coordinate"),
+                                                      spot.projected.as("projected"),
+                                                      spot.likeCount.as("likeCount"),
+                                                      spot.createdDateTime.as("createdDateTime"),
+                                                      spot.image.url.as("imageUrl")))
+                           .from(spot)
+                           .where(spot.deleted.isFalse(),
+                                  spot.landmark.id.isNull(),
+                                  containsLocation(west, south, east, north),
+                                  containsLng(west, east),
+                                  containsLat(south, north))
+                           .orderBy(dx.multiply(dx).add(dy.multiply(dy)).asc(), spot.id.asc())
+                           .limit(size)
+                           .fetch();
+    }
+
+    /**
+     * 스냅샷 이후 등록된 스팟 마커 목록 (스팟 id 오름차순)
+     */
+    public List<Marker> findAllMarkersByIdGreaterThan(Long spotId) {
+        return queryFactory.select(Projections.fields(Marker.class,
+                                                      spot.id.as("id"),
+                                                      spot.coordinate.as("coordinate"),
+                                                      spot.projected.as("projected"),
+                                                      spot.likeCount.as("likeCount"),
+                                                      spot.createdDateTime.as("createdDateTime"),
+                                                      spot.image.url.as("imageUrl")))
+                           .from(spot)
+                           .where(spot.id.gt(spotId),
+                                  spot.deleted.isFalse(),
+                                  spot.landmark.id.isNull())
+                           .orderBy(spot.id.asc())
+                           .fetch();
+    }
+
+    /**
+     * 기준 시각 이후 삭제된 스팟 id 목록
+     */
+    public List<Long> findDeletedMarkerIdsModifiedSince(LocalDateTime dateTime) {
+        return queryFactory.select(spot.id)
+                           .from(spot)
+                           .where(spot.deleted.isTrue(),
+                                  spot.landmark.id.isNull(),
+                                  spot.modifiedDateTime.goe(dateTime))
+                           .fetch();
+    }
+
+    /**
+     * 지도에 표시되는 스팟(삭제, 랜드마크 스팟 제외)의 태그별 스팟 id 목록
+     */
+    public Map<Long, List<Long>> findAllMarkerIdsGroupByTag() {
+        return queryFactory.from(spotHasTag)
+                           .join(spotHasTag.spot, spot)
+                           .where(spot.deleted.isFalse(),
+                                  spot.landmark.id.isNull())
+                           .orderBy(spotHasTag.tag.id.asc(), spot.id.asc())
+                           .transform(groupBy(spotHasTag.tag.id).as(list(spot.id)));
+    }
+
     public boolean existsSpotByMemberAndLandmark(Long memberId, Long landmarkId) {
         return Optional.ofNullable(
                 queryFactory.select(spot.id)
@@ -211,6 +323,7 @@ public class SpotCustomQueryRepository {
                            .rightJoin(spot).on(spotHasTag.spot.id.eq(spot.id))
                            .where(ltSpotOffset(condition.getLastOffset()),
                                   eqTagId(condition.getTagId()),
+                                  containsLocation(condition.getWest(), condition.getSouth(), condition.getEast(), condition.getNorth()),
                                   containsLng(condition.getWest(), condition.getEast()),
                                   containsLat(condition.getSouth(), condition.getNorth()),
                                   isMine(condition.getFilter(), memberId),
@@ -275,6 +388,14 @@ public class SpotCustomQueryRepository {
         return tagId == null ? null : tag.id.eq(tagId);
     }
 
+    /**
+     * 공간 인덱스(spot_location_index) 범위 검색 <br/>
+     * SRID 4326 의 MBR 은 측지선 기준이라 경계 부근이 영역 밖으로 조금 넓어지므로, 정확한 범위는 containsLng, containsLat 로 다시 거릅니다.
+     */
+    private BooleanExpression containsLocation(Double west, Double south, Double east, Double north) {
+        return SpatialUtil.mbrContains(west, south, east, north, spot.location);
+    }
+
     private BooleanExpression containsLng(Double west, Double east) {
         return spot.coordinate.lng.between(west, east);
     }
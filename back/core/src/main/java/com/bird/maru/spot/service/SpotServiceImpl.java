@@ -5,12 +5,14 @@ import com.bird.maru.common.exception.ResourceConflictException;
 import com.bird.maru.common.exception.ResourceNotFoundException;
 import com.bird.maru.domain.model.entity.Spot;
 import com.bird.maru.domain.model.entity.Tag;
+import com.bird.maru.cluster.geo.Marker;
 import com.bird.maru.landmark.repository.query.LandmarkQueryRepository;
 import com.bird.maru.member.repository.query.MemberQueryRepository;
 import com.bird.maru.point.service.PointService;
 import com.bird.maru.spot.mapper.SpotMapper;
 import com.bird.maru.spot.repository.SpotRepository;
 import com.bird.maru.spot.service.dto.SpotImage;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
 import com.bird.maru.tag.repository.TagJDBCRepository;
 import com.bird.maru.tag.repository.query.TagQueryRepository;
 import com.bird.maru.tag.service.TagService;
@@ -23,6 +25,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -41,9 +44,11 @@ public class SpotServiceImpl implements SpotService {
     private final TagQueryRepository tagQueryRepository;
     private final TagJDBCRepository tagJDBCRepository;
     private final SpotRepository spotRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 스팟 등록 API <br/> 1. 사진 AWS S3 저장 <br/> 2. 태그 조회 3. 태그 등록 <br/> 4. 신규 태그 ID 조회 <br/> 5. 스팟 등록 <br/> 6. SpotHasTag 등록 <br/> 7. 포인트 획득 <br/>
+     * 8. 지도 마커 등록 이벤트 발행 - 커밋 이후 격자 스팟 수가 증가합니다. (랜드마크 스팟 제외, SpotCellCountBuffer) <br/>
      *
      * @param spotImage  : 스팟 사진 [NotNull]
      * @param tags       : 태그 정보
@@ -89,32 +94,39 @@ public class SpotServiceImpl implements SpotService {
         }
 
         // 5. 스팟 등록
-        Long spotId = insertSpot(landmarkId, memberId, image);
+        Spot spot = insertSpot(landmarkId, memberId, image);
+        Long spotId = spot.getId();
         log.debug("----------------------스팟 등록-----------------");
         log.debug("{}", spotId);
 
         // 6. SpotHasTag 등록
+        List<Long> tagIds = Stream.concat(existTagIds.stream(), newTagIds.stream()).collect(Collectors.toList());
         if (!tags.isEmpty()) {
-            tagJDBCRepository.bulkInsertSpotHasTags(spotId,
-                                                    Stream.concat(existTagIds.stream(), newTagIds.stream()).collect(Collectors.toList()));
+            tagJDBCRepository.bulkInsertSpotHasTags(spotId, tagIds);
             log.debug("-----------SpotHasTags 등록-----------------");
         }
         // 7. 포인트 획득
         pointService.spotMaking(memberId);
         log.debug("--------------포인트 획득--------------------");
+
+        // 8. 지도 마커 등록 이벤트 발행 (격자 스팟 수는 커밋 이후 반영)
+        if (!spot.isLandmark()) {
+            Marker marker = SpotMapper.toMarker(spot);
+            eventPublisher.publishEvent(SpotMarkerEvent.created(marker, tagIds));
+        }
         return spotId;
     }
 
-    private Long insertSpot(Long landmarkId, Long memberId, SpotImage image) {
+    private Spot insertSpot(Long landmarkId, Long memberId, SpotImage image) {
         return spotRepository.save(SpotMapper.toSpot(
                 image,
                 landmarkId == null ? null : landmarkQueryRepository.getReferenceById(landmarkId),
                 memberQueryRepository.getReferenceById(memberId)
-        )).getId();
+        ));
     }
 
     /**
-     * 스팟 삭제
+     * 스팟 삭제 - 지도 마커 삭제 이벤트를 발행하며, 격자 스팟 수는 커밋 이후 줄어듭니다.
      *
      * @param spotId   : 스팟 id
      * @param memberId : 멤버 id
@@ -130,6 +142,10 @@ public class SpotServiceImpl implements SpotService {
                         throw new ResourceConflictException("이미 삭제된 리소스입니다.");
                     }
                     s.deleteSpot();
+                    if (!s.isLandmark()) {
+                        Marker marker = SpotMapper.toMarker(s);
+                        eventPublisher.publishEvent(SpotMarkerEvent.deleted(marker));
+                    }
                 },
                 () -> {
                     throw new ResourceNotFoundException("해당 리소스 존재하지 않습니다.");
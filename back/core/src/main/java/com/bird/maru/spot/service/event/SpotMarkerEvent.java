@@ -0,0 +1,40 @@
+package com.bird.maru.spot.service.event;
+
+import com.bird.maru.cluster.geo.Marker;
+import java.util.Collections;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 지도에 표시되는 스팟(랜드마크 스팟 제외)의 등록/삭제 이벤트 <br/>
+ * 트랜잭션 커밋 이후 클러스터 인덱스 등 지도 관련 메모리 구조에 반영하기 위해 발행합니다.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@ToString
+public class SpotMarkerEvent {
+
+    private final Type type;
+    private final Marker marker;
+    private final List<Long> tagIds; // 등록 시 스팟에 연결된 태그
+
+    public static SpotMarkerEvent created(Marker marker) {
+        return created(marker, Collections.emptyList());
+    }
+
+    public static SpotMarkerEvent created(Marker marker, List<Long> tagIds) {
+        return new SpotMarkerEvent(Type.CREATED, marker, tagIds);
+    }
+
+    public static SpotMarkerEvent deleted(Marker marker) {
+        return new SpotMarkerEvent(Type.DELETED, marker, Collections.emptyList());
+    }
+
+    public enum Type {
+        CREATED, DELETED
+    }
+
+}
@@ -0,0 +1,25 @@
+-- 스팟/랜드마크 Web Mercator 투영 좌표 컬럼 (ProjectedCoordinate)
+-- mercator_x, mercator_y 는 경위도를 [0, 1] 로 정규화한 좌표이며, 새로 저장하는 행은 애플리케이션이 쓰기 시점에 채웁니다.
+-- 기존 행은 null 로 추가되므로, 생성 후 coordinateProjectionJob 을 한 번 실행하여 채웁니다.
+-- (클러스터 구성과 같은 MercatorProjection 으로 계산해야 결과가 같으므로 SQL 로 계산하지 않습니다.)
+-- 실행 : --spring.batch.job.enabled=true --job.name=coordinateProjectionJob
+
+ALTER TABLE spots
+    ADD COLUMN mercator_x DOUBLE NULL,
+    ADD COLUMN mercator_y DOUBLE NULL;
+
+ALTER TABLE landmarks
+    ADD COLUMN mercator_x DOUBLE NULL,
+    ADD COLUMN mercator_y DOUBLE NULL;
+
+-- 채우기 확인 : 배치 실행 후 두 결과 모두 0 이어야 합니다.
+
+SELECT COUNT(*)
+FROM spots s
+WHERE s.mercator_x IS NULL
+   OR s.mercator_y IS NULL;
+
+SELECT COUNT(*)
+FROM landmarks l
+WHERE l.mercator_x IS NULL
+   OR l.mercator_y IS NULL;
@@ -0,0 +1,39 @@
+-- 스팟/랜드마크 영역 조회용 공간 인덱스 마이그레이션 (MySQL 8.0.13+)
+-- location 은 (lng, lat) 으로부터 계산되는 STORED 생성 컬럼이므로 기존 행 채우기와 애플리케이션 쓰기가 필요 없습니다.
+-- SRID 4326 의 축 순서는 (위도, 경도) 이므로 POINT(lat, lng) 로 생성합니다.
+-- 기존 (lng, lat) 복합 B-tree 인덱스(spot_geo_index, landmark_geo_index)는 유지합니다.
+-- 아래 EXPLAIN 결과로 공간 인덱스 범위 검색이 선택되는 것을 확인하고 결과를 이 파일에 기록한 뒤에만 제거합니다.
+
+ALTER TABLE spots
+    ADD COLUMN location POINT SRID 4326 GENERATED ALWAYS AS (ST_SRID(POINT(lat, lng), 4326)) STORED NOT NULL,
+    ADD SPATIAL INDEX spot_location_index (location);
+
+ALTER TABLE landmarks
+    ADD COLUMN location POINT SRID 4326 GENERATED ALWAYS AS (ST_SRID(POINT(lat, lng), 4326)) STORED NOT NULL,
+    ADD SPATIAL INDEX landmark_location_index (location);
+
+-- 실행 계획 확인 : key 가 spot_location_index / landmark_location_index, type 이 range 여야 합니다.
+-- 비교 대상인 기존 B-tree 조회는 같은 쿼리를 FORCE INDEX (spot_geo_index) 로 확인합니다.
+-- 실행 계획 결과 : 아직 운영 DB 에서 수집하지 않았습니다. 수집 전에는 B-tree 인덱스를 제거하지 않습니다.
+
+EXPLAIN
+SELECT s.id
+FROM spots s
+WHERE MBRContains(ST_GeomFromText('POLYGON((126.97 37.56, 126.986 37.56, 126.986 37.573, 126.97 37.573, 126.97 37.56))', 4326, 'axis-order=long-lat'), s.location)
+  AND s.lng BETWEEN 126.97 AND 126.986
+  AND s.lat BETWEEN 37.56 AND 37.573
+  AND s.deleted = FALSE
+  AND s.landmark_id IS NULL
+ORDER BY s.id DESC
+LIMIT 100;
+
+EXPLAIN
+SELECT l.id
+FROM landmarks l
+WHERE MBRContains(ST_GeomFromText('POLYGON((126.97 37.56, 126.986 37.56, 126.986 37.573, 126.97 37.573, 126.97 37.56))', 4326, 'axis-order=long-lat'), l.location)
+  AND l.lng BETWEEN 126.97 AND 126.986
+  AND l.lat BETWEEN 37.56 AND 37.573;
+
+-- B-tree 인덱스 제거 - 위 실행 계획 결과를 기록한 뒤에 실행합니다.
+-- ALTER TABLE spots DROP INDEX spot_geo_index;
+-- ALTER TABLE landmarks DROP INDEX landmark_geo_index;
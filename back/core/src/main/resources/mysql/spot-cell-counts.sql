@@ -0,0 +1,25 @@
+-- 격자 스팟 수 집계 테이블 (SpotCellCount, SpotCellGrid)
+-- 칸은 줌 레벨 0 ~ 10 의 타일을 가로 세로 8칸으로 나눈 것이며, sum_x, sum_y 는 Web Mercator 정규화 좌표 합계입니다.
+-- 생성 후 spotCellCountJob 을 한 번 실행하여 기존 스팟을 적재합니다.
+-- 실행 : --spring.batch.job.enabled=true --job.name=spotCellCountJob
+
+CREATE TABLE spot_cell_counts
+(
+    zoom   INT    NOT NULL,
+    cell_x INT    NOT NULL,
+    cell_y INT    NOT NULL,
+    count  BIGINT NOT NULL,
+    sum_x  DOUBLE NOT NULL,
+    sum_y  DOUBLE NOT NULL,
+    PRIMARY KEY (zoom, cell_x, cell_y)
+);
+
+-- 실행 계획 확인 : key 가 PRIMARY, type 이 range 여야 합니다. (서울 도심, 줌 레벨 10)
+
+EXPLAIN
+SELECT c.zoom, c.cell_x, c.cell_y, c.count, c.sum_x, c.sum_y
+FROM spot_cell_counts c
+WHERE c.zoom = 10
+  AND c.cell_x BETWEEN 6984 AND 6985
+  AND c.cell_y BETWEEN 3171 AND 3173
+  AND c.count > 0;
@@ -0,0 +1,169 @@
+package com.bird.maru.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.FeatureListSink;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.cluster.util.PointConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.wololo.geojson.Feature;
+
+class ClusterSnapshotFileTest {
+
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2023, 5, 10, 12, 30, 15);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SuperClusterParams superClusterParams = MarkerUtil.superClusterParams();
+    private final PointConverter pointConverter = MarkerUtil.mercatorConverter();
+    private final DistanceMeasure distanceMeasure = new EuclideanDistance();
+    private final SpotAggregateReducer reducer = new SpotAggregateReducer();
+    private List<Marker> markers;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        // 집계 속성이 있는 스팟과 없는 스팟(null)을 섞습니다.
+        List<Marker> random = MarkerUtil.makeRandomSeoul(10000, 42L);
+        List<Marker> spots = MarkerUtil.withSpotProperties(random);
+        markers = new ArrayList<>(random.size());
+        for (int i = 0; i < random.size(); i++) {
+            markers.add(i % 3 == 0 ? random.get(i) : spots.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("매핑한 스냅샷은 힙에서 구성한 인덱스와 같은 Feature 를 반환한다")
+    void sameFeaturesTest() throws IOException {
+        // given
+        FlatSuperCluster expected = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure, reducer);
+        Path path = directory.resolve("spot-cluster.snapshot");
+
+        // when
+        ClusterSnapshotFile.write(path, expected, reducer, AS_OF, superClusterParams, pointConverter);
+        ClusterSnapshotFile snapshot = ClusterSnapshotFile.map(path, superClusterParams, pointConverter, distanceMeasure, reducer);
+
+        // then
+        assertThat(snapshot.getAsOf()).isEqualTo(AS_OF);
+        for (int zoom : new int[]{ 0, 5, 12, 15, 16, 17, 20 }) {
+            assertThat(json(snapshot.getSuperCluster().run(wholeMap(zoom)))).isEqualTo(json(expected.run(wholeMap(zoom))));
+        }
+    }
+
+    @Test
+    @DisplayName("매핑한 스냅샷은 클러스터 하위 목록과 스팟 목록, 마커 속성을 그대로 복원한다")
+    void drillDownTest() throws IOException {
+        // given
+        FlatSuperCluster expected = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure, reducer);
+        Path path = directory.resolve("spot-cluster.snapshot");
+        ClusterSnapshotFile.write(path, expected, reducer, AS_OF, superClusterParams, pointConverter);
+
+        // when
+        ClusterSnapshotFile snapshot = ClusterSnapshotFile.map(path, superClusterParams, pointConverter, distanceMeasure, reducer);
+        FlatSuperCluster mapped = snapshot.getSuperCluster();
+
+        // then
+        assertThat(snapshot.getMarkers().stream().map(this::describe).collect(Collectors.toList()))
+                .isEqualTo(markers.stream().map(this::describe).collect(Collectors.toList()));
+        for (int zoom : new int[]{ 5, 12, 15 }) {
+            for (Feature cluster : clusters(expected.run(wholeMap(zoom)))) {
+                long clusterId = ((Number) cluster.getProperties().get("id")).longValue();
+                FeatureListSink expectedChildren = new FeatureListSink();
+                FeatureListSink mappedChildren = new FeatureListSink();
+                expected.getChildren(clusterId, expectedChildren);
+                mapped.getChildren(clusterId, mappedChildren);
+                assertThat(json(mappedChildren.getFeatures())).isEqualTo(json(expectedChildren.getFeatures()));
+
+                FeatureListSink expectedLeaves = new FeatureListSink();
+                FeatureListSink mappedLeaves = new FeatureListSink();
+                expected.getLeaves(clusterId, 10, 3, expectedLeaves);
+                mapped.getLeaves(clusterId, 10, 3, mappedLeaves);
+                assertThat(json(mappedLeaves.getFeatures())).isEqualTo(json(expectedLeaves.getFeatures()));
+                assertThat(mapped.getClusterExpansionZoom(clusterId)).isEqualTo(expected.getClusterExpansionZoom(clusterId));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("집계하지 않는 인덱스도 스냅샷으로 기록하고 복원할 수 있다")
+    void withoutReducerTest() throws IOException {
+        // given
+        FlatSuperCluster expected = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+        Path path = directory.resolve("spot-cluster.snapshot");
+
+        // when
+        ClusterSnapshotFile.write(path, expected, null, AS_OF, superClusterParams, pointConverter);
+        ClusterSnapshotFile snapshot = ClusterSnapshotFile.map(path, superClusterParams, pointConverter, distanceMeasure, null);
+
+        // then
+        for (int zoom : new int[]{ 0, 12, 16, 20 }) {
+            assertThat(json(snapshot.getSuperCluster().run(wholeMap(zoom)))).isEqualTo(json(expected.run(wholeMap(zoom))));
+        }
+    }
+
+    @Test
+    @DisplayName("현재 클러스터 설정과 다른 설정으로 기록된 스냅샷은 복원하지 않는다")
+    void paramsMismatchTest() throws IOException {
+        // given
+        FlatSuperCluster superCluster = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure, reducer);
+        Path path = directory.resolve("spot-cluster.snapshot");
+        ClusterSnapshotFile.write(path, superCluster, reducer, AS_OF, superClusterParams, pointConverter);
+        SuperClusterParams changed = MarkerUtil.superClusterParams();
+        ReflectionTestUtils.setField(changed, "radius", 60);
+
+        // when, then
+        assertThatThrownBy(() -> ClusterSnapshotFile.map(path, changed, pointConverter, distanceMeasure, reducer))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private String describe(Marker marker) {
+        return marker.getId() + "," + marker.getCoordinate().getLng() + "," + marker.getCoordinate().getLat() + ","
+                + marker.getLikeCount() + "," + marker.getCreatedDateTime() + "," + marker.getImageUrl();
+    }
+
+    private String json(List<Feature> features) {
+        try {
+            return objectMapper.writeValueAsString(features);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Feature> clusters(List<Feature> features) {
+        return features.stream()
+                       .filter(f -> f.getProperties().get("geoType").equals("CLUSTER"))
+                       .limit(20)
+                       .collect(Collectors.toList());
+    }
+
+    private BoundingBox wholeMap(int zoom) {
+        return BoundingBox.builder()
+                          .west(120.0)
+                          .south(30.0)
+                          .east(135.0)
+                          .north(45.0)
+                          .zoom(zoom)
+                          .build();
+    }
+
+}
@@ -0,0 +1,338 @@
+package com.bird.maru.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.FeatureListSink;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.type.ProjectedCoordinate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.wololo.geojson.Feature;
+
+class FlatSuperClusterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SuperClusterParams superClusterParams = MarkerUtil.superClusterParams();
+    private final PointConverter pointConverter = MarkerUtil.mercatorConverter();
+    private final DistanceMeasure distanceMeasure = new EuclideanDistance();
+    private List<Marker> markers;
+
+    @BeforeEach
+    void setUp() {
+        markers = MarkerUtil.makeRandomSeoul(10000, 42L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 5, 10, 12, 13, 14, 15, 16, 17, 20 })
+    @DisplayName("평탄화 SuperCluster 는 기존 SuperCluster 와 동일한 Feature 를 반환한다")
+    void sameFeaturesTest(int zoom) throws JsonProcessingException {
+        // given
+        BoundingBox boundingBox = BoundingBox.builder()
+                                             .west(126.90)
+                                             .south(37.50)
+                                             .east(127.05)
+                                             .north(37.62)
+                                             .zoom(zoom)
+                                             .build();
+        SuperCluster superCluster = new SuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+        FlatSuperCluster flatSuperCluster = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+
+        // when
+        String expected = objectMapper.writeValueAsString(superCluster.run(boundingBox));
+        String actual = objectMapper.writeValueAsString(flatSuperCluster.run(boundingBox));
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 5, 10, 13, 15 })
+    @DisplayName("클러스터의 하위 목록은 다음 줌 레벨의 Feature 이며 count 의 합이 클러스터 count 와 같다")
+    void childrenTest(int zoom) {
+        // given
+        FlatSuperCluster flatSuperCluster = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+        Set<Map<String, Object>> nextZoom = flatSuperCluster.run(wholeMap(zoom + 1)).stream()
+                                                            .map(Feature::getProperties)
+                                                            .collect(Collectors.toSet());
+
+        for (Feature cluster : clusters(flatSuperCluster.run(wholeMap(zoom)))) {
+            // when
+            List<Feature> children = children(flatSuperCluster, id(cluster));
+
+            // then
+            assertThat(children.stream().mapToInt(this::count).sum()).isEqualTo(count(cluster));
+            assertThat(children).allMatch(child -> nextZoom.contains(child.getProperties()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 5, 12, 15 })
+    @DisplayName("클러스터의 스팟 목록은 페이지를 이어 붙이면 클러스터에 포함된 스팟 전체와 같다")
+    void leavesTest(int zoom) {
+        // given
+        FlatSuperCluster flatSuperCluster = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+        Feature cluster = clusters(flatSuperCluster.run(wholeMap(zoom))).get(0);
+        FeatureListSink all = new FeatureListSink();
+        flatSuperCluster.getLeaves(id(cluster), Integer.MAX_VALUE, 0, all);
+
+        // when
+        List<Long> paged = new ArrayList<>();
+        for (int offset = 0; offset < count(cluster); offset += 7) {
+            FeatureListSink page = new FeatureListSink();
+            flatSuperCluster.getLeaves(id(cluster), 7, offset, page);
+            assertThat(page.getFeatures()).hasSizeLessThanOrEqualTo(7);
+            page.getFeatures().forEach(f -> paged.add(id(f)));
+        }
+
+        // then
+        List<Long> leaves = all.getFeatures().stream().map(this::id).collect(Collectors.toList());
+        assertThat(leaves).hasSize(count(cluster)).doesNotHaveDuplicates();
+        assertThat(paged).isEqualTo(leaves);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 5, 12, 15 })
+    @DisplayName("제외할 스팟이 있으면 남은 스팟만으로 페이지를 채운다")
+    void leavesExcludedTest(int zoom) {
+        // given
+        FlatSuperCluster flatSuperCluster = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+        Feature cluster = clusters(flatSuperCluster.run(wholeMap(zoom))).get(0);
+        FeatureListSink all = new FeatureListSink();
+        flatSuperCluster.getLeaves(id(cluster), Integer.MAX_VALUE, 0, all);
+        List<Long> leaves = all.getFeatures().stream().map(this::id).collect(Collectors.toList());
+        Set<Long> excluded = leaves.stream().filter(id -> id % 3 == 0).collect(Collectors.toSet());
+        List<Long> remains = leaves.stream().filter(id -> !excluded.contains(id)).collect(Collectors.toList());
+
+        // when
+        List<Long> paged = new ArrayList<>();
+        for (int offset = 0; ; offset += 7) {
+            FeatureListSink page = new FeatureListSink();
+            flatSuperCluster.getLeaves(id(cluster), 7, offset, excluded::contains, page);
+            page.getFeatures().forEach(f -> paged.add(id(f)));
+            if (page.getFeatures().size() < 7) {
+                break;
+            }
+        }
+
+        // then
+        assertThat(paged).isEqualTo(remains);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 5, 12, 15 })
+    @DisplayName("클러스터 확장 줌 레벨은 하위 목록이 둘 이상으로 나뉘는 줌 레벨이다")
+    void expansionZoomTest(int zoom) {
+        // given
+        FlatSuperCluster flatSuperCluster = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+
+        for (Feature cluster : clusters(flatSuperCluster.run(wholeMap(zoom)))) {
+            // when
+            int expansionZoom = flatSuperCluster.getClusterExpansionZoom(id(cluster));
+
+            // then
+            int expected = zoom + 1;
+            List<Feature> children = children(flatSuperCluster, id(cluster));
+            while (children.size() == 1 && expected <= superClusterParams.getMaxZoom()) {
+                children = children(flatSuperCluster, id(children.get(0)));
+                expected++;
+            }
+            assertThat(expansionZoom).isEqualTo(expected);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 5, 12, 15 })
+    @DisplayName("집계 속성을 사용해도 평탄화 SuperCluster 는 기존 SuperCluster 와 같은 위치에 같은 클러스터를 반환한다")
+    void sameAggregatesTest(int zoom) throws JsonProcessingException {
+        // given
+        List<Marker> spots = MarkerUtil.withSpotProperties(markers);
+        SuperCluster superCluster = new SuperCluster(superClusterParams, spots, pointConverter, distanceMeasure);
+        FlatSuperCluster flatSuperCluster = new FlatSuperCluster(superClusterParams, spots, pointConverter, distanceMeasure,
+                                                                 new SpotAggregateReducer());
+
+        // when
+        List<Feature> expected = superCluster.run(wholeMap(zoom));
+        List<Feature> actual = flatSuperCluster.run(wholeMap(zoom));
+
+        // then
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(id(actual.get(i))).isEqualTo(id(expected.get(i)));
+            assertThat(objectMapper.writeValueAsString(actual.get(i).getGeometry()))
+                    .isEqualTo(objectMapper.writeValueAsString(expected.get(i).getGeometry()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 5, 12, 15 })
+    @DisplayName("클러스터 집계 속성은 클러스터에 포함된 스팟의 좋아요 합계, 최근 등록 시각, 좋아요가 가장 많은 스팟의 이미지이다")
+    void aggregateTest(int zoom) {
+        // given
+        List<Marker> spots = MarkerUtil.withSpotProperties(markers);
+        FlatSuperCluster flatSuperCluster = new FlatSuperCluster(superClusterParams, spots, pointConverter, distanceMeasure,
+                                                                 new SpotAggregateReducer());
+
+        for (Feature cluster : clusters(flatSuperCluster.run(wholeMap(zoom)))) {
+            // when
+            FeatureListSink sink = new FeatureListSink();
+            flatSuperCluster.getLeaves(id(cluster), Integer.MAX_VALUE, 0, sink);
+            List<Marker> leaves = sink.getFeatures().stream().map(f -> spots.get((int) id(f))).collect(Collectors.toList());
+
+            // then
+            Map<String, Object> properties = cluster.getProperties();
+            Marker top = leaves.stream().max(Comparator.comparing(Marker::getLikeCount)).orElseThrow();
+            LocalDateTime latest = leaves.stream().map(Marker::getCreatedDateTime).max(Comparator.naturalOrder()).orElseThrow();
+            assertThat(properties.get("likeCount")).isEqualTo(leaves.stream().mapToLong(Marker::getLikeCount).sum());
+            assertThat(properties.get("createdDateTime")).isEqualTo(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(latest));
+            assertThat(properties.get("imageUrl")).isEqualTo(top.getImageUrl().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("미리 투영된 좌표로 구성해도 경위도로 구성한 결과와 같다")
+    void projectedTest() throws JsonProcessingException {
+        // given
+        List<Marker> projected = markers.stream()
+                                        .map(m -> Marker.builder()
+                                                        .id(m.getId())
+                                                        .coordinate(m.getCoordinate())
+                                                        .projected(ProjectedCoordinate.of(m.getCoordinate()))
+                                                        .build())
+                                        .collect(Collectors.toList());
+        FlatSuperCluster expected = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+        SuperCluster expectedLegacy = new SuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+
+        // when
+        FlatSuperCluster actual = new FlatSuperCluster(superClusterParams, projected, pointConverter, distanceMeasure);
+        SuperCluster actualLegacy = new SuperCluster(superClusterParams, projected, pointConverter, distanceMeasure);
+
+        // then
+        for (int zoom : new int[]{ 0, 10, 14, 16, 20 }) {
+            assertThat(objectMapper.writeValueAsString(actual.run(wholeMap(zoom))))
+                    .isEqualTo(objectMapper.writeValueAsString(expected.run(wholeMap(zoom))));
+            assertThat(objectMapper.writeValueAsString(actualLegacy.run(wholeMap(zoom))))
+                    .isEqualTo(objectMapper.writeValueAsString(expectedLegacy.run(wholeMap(zoom))));
+        }
+    }
+
+    @Test
+    @DisplayName("줌 레벨을 필요한 만큼만 구성해도 모든 레벨을 미리 구성한 결과와 같다")
+    void lazyTest() throws JsonProcessingException {
+        // given
+        List<Marker> spots = MarkerUtil.withSpotProperties(markers);
+        FlatSuperCluster expected = new FlatSuperCluster(superClusterParams, spots, pointConverter, distanceMeasure,
+                                                         new SpotAggregateReducer());
+        FlatSuperCluster lazyFlat = FlatSuperCluster.builder()
+                                                    .superClusterParams(superClusterParams).points(spots)
+                                                    .pointConverter(pointConverter).distanceMeasure(distanceMeasure)
+                                                    .reducer(new SpotAggregateReducer()).lazy(true)
+                                                    .build();
+
+        // 깊은 줌 레벨을 먼저 조회한 뒤, 이미 구성된 레벨과 새로 구성할 레벨을 번갈아 조회합니다.
+        for (int zoom : new int[]{ 20, 15, 16, 5, 12, 0 }) {
+            // when
+            String eager = objectMapper.writeValueAsString(expected.run(wholeMap(zoom)));
+
+            // then
+            assertThat(objectMapper.writeValueAsString(lazyFlat.run(wholeMap(zoom)))).isEqualTo(eager);
+        }
+    }
+
+    @Test
+    @DisplayName("병렬로 구성해도 순차 구성과 같은 클러스터를 반환한다")
+    void parallelTest() throws JsonProcessingException {
+        // given
+        List<Marker> spots = MarkerUtil.withSpotProperties(MarkerUtil.makeRandomSeoul(30000, 7L));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        FlatSuperCluster expectedFlat = new FlatSuperCluster(superClusterParams, spots, pointConverter, distanceMeasure,
+                                                             new SpotAggregateReducer());
+
+        try {
+            // when
+            FlatSuperCluster parallelFlat = FlatSuperCluster.builder()
+                                                            .superClusterParams(superClusterParams).points(spots)
+                                                            .pointConverter(pointConverter).distanceMeasure(distanceMeasure)
+                                                            .reducer(new SpotAggregateReducer()).pool(pool)
+                                                            .build();
+
+            // then
+            for (int zoom : new int[]{ 0, 5, 10, 12, 14, 16, 17 }) {
+                assertThat(objectMapper.writeValueAsString(parallelFlat.run(wholeMap(zoom))))
+                        .isEqualTo(objectMapper.writeValueAsString(expectedFlat.run(wholeMap(zoom))));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 클러스터 id 는 예외가 발생한다")
+    void invalidClusterTest() {
+        // given
+        FlatSuperCluster flatSuperCluster = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+
+        // when, then
+        assertThatThrownBy(() -> flatSuperCluster.getChildren((1_000_000L << 5) + 13, new FeatureListSink()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> flatSuperCluster.getClusterExpansionZoom(0L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> flatSuperCluster.getChildren(-(1L << 5) + 13, new FeatureListSink()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> flatSuperCluster.getLeaves(Long.MIN_VALUE + 13, 10, 0, new FeatureListSink()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Feature> children(FlatSuperCluster flatSuperCluster, long clusterId) {
+        FeatureListSink sink = new FeatureListSink();
+        flatSuperCluster.getChildren(clusterId, sink);
+        return sink.getFeatures();
+    }
+
+    private List<Feature> clusters(List<Feature> features) {
+        return features.stream()
+                       .filter(f -> f.getProperties().get("geoType").equals("CLUSTER"))
+                       .collect(Collectors.toList());
+    }
+
+    private long id(Feature feature) {
+        return ((Number) feature.getProperties().get("id")).longValue();
+    }
+
+    private int count(Feature feature) {
+        Object count = feature.getProperties().get("count");
+        return count == null ? 1 : (Integer) count;
+    }
+
+    private BoundingBox wholeMap(int zoom) {
+        return BoundingBox.builder()
+                          .west(120.0)
+                          .south(30.0)
+                          .east(135.0)
+                          .north(45.0)
+                          .zoom(zoom)
+                          .build();
+    }
+
+}
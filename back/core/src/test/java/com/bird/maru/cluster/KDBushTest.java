@@ -0,0 +1,106 @@
+package com.bird.maru.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.IntList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class KDBushTest {
+
+    private static final int SIZE = 20000;
+    private static final int STRIDE = 2;
+
+    private final DistanceMeasure distanceMeasure = new EuclideanDistance();
+    private double[] data;
+    private KDBush kdBush;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(3L);
+        data = new double[SIZE * STRIDE];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble();
+        }
+        kdBush = new KDBush(data, STRIDE, SIZE, 64);
+    }
+
+    @Test
+    @DisplayName("사각 영역 검색 결과는 전수 검사 결과와 같다")
+    void rangeTest() {
+        // given
+        IntList result = new IntList();
+
+        // when
+        kdBush.range(0.3, 0.25, 0.45, 0.4, result);
+
+        // then
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            double x = data[i * STRIDE];
+            double y = data[i * STRIDE + 1];
+            if (x >= 0.3 && x <= 0.45 && y >= 0.25 && y <= 0.4) {
+                expected.add(i);
+            }
+        }
+        assertThat(toList(result)).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(kdBush.range(0.3, 0.25, 0.45, 0.4)).containsExactlyInAnyOrder(result.toArray());
+    }
+
+    @Test
+    @DisplayName("반경 검색 결과는 전수 검사 결과와 같고, 결과 버퍼는 재사용된다")
+    void withinTest() {
+        // given
+        IntList result = new IntList();
+        kdBush.within(0.9, 0.9, 0.2, distanceMeasure, result);
+
+        // when
+        kdBush.within(0.5, 0.5, 0.05, distanceMeasure, result);
+
+        // then
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            if (distanceMeasure.compute(data[i * STRIDE], data[i * STRIDE + 1], 0.5, 0.5) <= 0.05 * 0.05) {
+                expected.add(i);
+            }
+        }
+        assertThat(toList(result)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("최근접 검색 결과는 전수 검사로 거리순 정렬한 앞부분과 같다")
+    void aroundTest() {
+        // when
+        int[] nearest = kdBush.around(0.5, 0.5, 25, Double.POSITIVE_INFINITY, distanceMeasure);
+        int[] limited = kdBush.around(0.5, 0.5, 25, 0.01 * 0.01, distanceMeasure);
+
+        // then
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            expected.add(i);
+        }
+        expected.sort(Comparator.comparingDouble(i -> distanceMeasure.compute(data[i * STRIDE], data[i * STRIDE + 1], 0.5, 0.5)));
+        assertThat(nearest).containsExactly(expected.subList(0, 25).stream().mapToInt(Integer::intValue).toArray());
+        assertThat(limited).containsExactly(expected.stream()
+                                                    .filter(i -> distanceMeasure.compute(data[i * STRIDE], data[i * STRIDE + 1], 0.5, 0.5) <= 0.01 * 0.01)
+                                                    .limit(25)
+                                                    .mapToInt(Integer::intValue)
+                                                    .toArray());
+    }
+
+    private List<Integer> toList(IntList values) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            list.add(values.get(i));
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.bird.maru.cluster.compact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompactFeatureWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Marker> markers;
+
+    @BeforeEach
+    void setUp() {
+        markers = MarkerUtil.withSpotProperties(MarkerUtil.makeRandomSeoul(5000, 42L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 10, 13, 17 })
+    @DisplayName("디코딩 결과는 좌표를 1e-6 도 단위로 반올림한 JSON 응답과 같다")
+    void roundTripTest(int zoom) throws IOException {
+        // given
+        FeatureBuffer features = run(zoom);
+        CompactFeatureWriter writer = new CompactFeatureWriter();
+        features.replay(writer);
+
+        // when
+        FeatureBuffer decoded = new FeatureBuffer();
+        int size = CompactFeatureReader.read(writer.toByteArray(), decoded);
+
+        // then
+        assertThat(size).isEqualTo(features.size());
+        String expected = objectMapper.writeValueAsString(new StreamingFeatureCollection(sink -> features.replay(rounded(sink))));
+        String actual = objectMapper.writeValueAsString(new StreamingFeatureCollection(decoded::replay));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("단일 포인트 5000개의 압축 응답은 JSON 응답의 1/5 이하이다")
+    void sizeTest() throws IOException {
+        // given
+        FeatureBuffer features = run(17);
+        CompactFeatureWriter writer = new CompactFeatureWriter();
+
+        // when
+        features.replay(writer);
+        byte[] compact = writer.toByteArray();
+        byte[] json = objectMapper.writeValueAsBytes(new StreamingFeatureCollection(features::replay));
+
+        // then
+        assertThat(features.size()).isEqualTo(markers.size());
+        assertThat(compact.length * 5).isLessThanOrEqualTo(json.length);
+    }
+
+    private FeatureBuffer run(int zoom) {
+        FlatSuperCluster superCluster = new FlatSuperCluster(MarkerUtil.superClusterParams(), markers, MarkerUtil.mercatorConverter(),
+                                                             new EuclideanDistance(), new SpotAggregateReducer());
+        FeatureBuffer features = new FeatureBuffer();
+        superCluster.run(BoundingBox.builder()
+                                    .west(126.0)
+                                    .south(37.0)
+                                    .east(128.0)
+                                    .north(38.0)
+                                    .zoom(zoom)
+                                    .build(), features);
+        return features;
+    }
+
+    private static FeatureSink rounded(FeatureSink sink) {
+        return new FeatureSink() {
+            @Override
+            public void point(double lng, double lat, long id) {
+                sink.point(round(lng), round(lat), id);
+            }
+
+            @Override
+            public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+                sink.cluster(round(lng), round(lat), id, count, radius, aggregate);
+            }
+        };
+    }
+
+    private static double round(double value) {
+        return Math.round(value * CompactFeatureWriter.COORDINATE_SCALE) / CompactFeatureWriter.COORDINATE_SCALE;
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.bird.maru.cluster.geojson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.SuperCluster;
+import com.bird.maru.cluster.aggregate.SpotAggregate;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.Property;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.util.DistanceMeasure;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.type.GeoType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.wololo.geojson.Feature;
+import org.wololo.geojson.Point;
+
+class FeatureCollectionWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SuperClusterParams superClusterParams = MarkerUtil.superClusterParams();
+    private final PointConverter pointConverter = MarkerUtil.mercatorConverter();
+    private final DistanceMeasure distanceMeasure = new EuclideanDistance();
+    private List<Marker> markers;
+
+    @BeforeEach
+    void setUp() {
+        markers = MarkerUtil.makeRandomSeoul(10000, 42L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 10, 13, 15, 17 })
+    @DisplayName("스트리밍 응답은 List<Feature> 직렬화 결과와 동일하다")
+    void sameJsonTest(int zoom) throws JsonProcessingException {
+        // given
+        BoundingBox boundingBox = BoundingBox.builder()
+                                             .west(126.90)
+                                             .south(37.50)
+                                             .east(127.05)
+                                             .north(37.62)
+                                             .zoom(zoom)
+                                             .build();
+        SuperCluster superCluster = new SuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+        FlatSuperCluster flatSuperCluster = new FlatSuperCluster(superClusterParams, markers, pointConverter, distanceMeasure);
+
+        // when
+        String expected = objectMapper.writeValueAsString(superCluster.run(boundingBox));
+        String actual = objectMapper.writeValueAsString(new StreamingFeatureCollection(sink -> superCluster.run(boundingBox, sink)));
+        String flatActual = objectMapper.writeValueAsString(new StreamingFeatureCollection(sink -> flatSuperCluster.run(boundingBox, sink)));
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+        assertThat(flatActual).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("properties 는 기존 Property 직렬화 결과와 같은 키 순서를 유지한다")
+    void propertyShapeTest() throws JsonProcessingException, MalformedURLException {
+        // given
+        SpotAggregate aggregate = SpotAggregate.of(Marker.builder()
+                                                         .likeCount(12)
+                                                         .createdDateTime(LocalDateTime.of(2023, 5, 1, 10, 30))
+                                                         .imageUrl(new URL("https://maru.test/images/spots/1.jpg"))
+                                                         .build());
+        Map<String, Object> cluster = objectMapper.convertValue(Property.builder()
+                                                                        .geoType(GeoType.CLUSTER)
+                                                                        .id(33L)
+                                                                        .radius(0.5)
+                                                                        .count(1200)
+                                                                        .abbrevCount("1K")
+                                                                        .likeCount(12L)
+                                                                        .createdDateTime("2023-05-01T10:30:00")
+                                                                        .imageUrl("https://maru.test/images/spots/1.jpg")
+                                                                        .build(),
+                                                                new TypeReference<>() {
+                                                                });
+        Map<String, Object> point = objectMapper.convertValue(Property.builder()
+                                                                      .geoType(GeoType.POINT)
+                                                                      .id(7L)
+                                                                      .build(),
+                                                              new TypeReference<>() {
+                                                              });
+        List<Feature> expected = List.of(new Feature(new Point(new double[] { 127.0, 37.5 }), cluster),
+                                         new Feature(new Point(new double[] { 126.9, 37.4 }), point));
+
+        // when
+        String actual = objectMapper.writeValueAsString(new StreamingFeatureCollection(sink -> {
+            sink.cluster(127.0, 37.5, 33L, 1200, 0.5, aggregate);
+            sink.point(126.9, 37.4, 7L);
+        }));
+
+        // then
+        assertThat(actual).isEqualTo(objectMapper.writeValueAsString(expected));
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.bird.maru.cluster.tile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geojson.FeatureListSink;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnknownFieldSet;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class VectorTileWriterTest {
+
+    private static final double SEOUL_LNG = 126.9780;
+    private static final double SEOUL_LAT = 37.5665;
+
+    private final List<Marker> markers = MarkerUtil.makeRandomSeoul(10000, 42L);
+    private final FlatSuperCluster superCluster = new FlatSuperCluster(MarkerUtil.superClusterParams(), markers,
+                                                                       MarkerUtil.mercatorConverter(), new EuclideanDistance());
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 13, 15, 17 })
+    @DisplayName("타일에는 buffer 를 포함한 타일 범위의 포인트와 클러스터가 레이어별로 기록된다")
+    void layerTest(int z) throws InvalidProtocolBufferException {
+        // given
+        int x = tileX(SEOUL_LNG, z);
+        int y = tileY(SEOUL_LAT, z);
+        BoundingBox boundingBox = TileBounds.toBoundingBox(z, x, y, VectorTileWriter.bufferRatio());
+        FeatureListSink expected = new FeatureListSink();
+        superCluster.run(boundingBox, expected);
+        VectorTileWriter writer = new VectorTileWriter(z, x, y);
+
+        // when
+        superCluster.run(boundingBox, writer);
+        UnknownFieldSet tile = UnknownFieldSet.parseFrom(writer.toByteArray());
+
+        // then
+        long expectedPoints = expected.getFeatures().stream()
+                                      .filter(f -> "POINT".equals(f.getProperties().get("geoType")))
+                                      .count();
+        long expectedClusters = expected.getFeatures().size() - expectedPoints;
+        assertThat(featureCount(tile, VectorTileWriter.POINT_LAYER)).isEqualTo(expectedPoints);
+        assertThat(featureCount(tile, VectorTileWriter.CLUSTER_LAYER)).isEqualTo(expectedClusters);
+    }
+
+    @Test
+    @DisplayName("포인트 Feature 는 스팟 id 와 타일 좌표계로 변환된 geometry 를 가진다")
+    void pointFeatureTest() throws IOException {
+        // given
+        VectorTileWriter writer = new VectorTileWriter(0, 0, 0);
+
+        // when
+        writer.point(0.0, 0.0, 7L);
+        UnknownFieldSet tile = UnknownFieldSet.parseFrom(writer.toByteArray());
+
+        // then
+        UnknownFieldSet layer = layers(tile).get(0);
+        assertThat(layer.getField(1).getLengthDelimitedList().get(0).toStringUtf8()).isEqualTo(VectorTileWriter.POINT_LAYER);
+        assertThat(layer.getField(5).getVarintList()).containsExactly((long) VectorTileWriter.EXTENT);
+        UnknownFieldSet feature = UnknownFieldSet.parseFrom(layer.getField(2).getLengthDelimitedList().get(0));
+        assertThat(feature.getField(1).getVarintList()).containsExactly(7L);
+        assertThat(feature.getField(3).getVarintList()).containsExactly(1L);
+        // MoveTo(1), zigzag(2048), zigzag(2048)
+        assertThat(readVarints(feature.getField(4).getLengthDelimitedList().get(0))).containsExactly(9L, 4096L, 4096L);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 타일 좌표는 예외가 발생한다")
+    void invalidTileTest() {
+        assertThatThrownBy(() -> TileBounds.validate(2, 4, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TileBounds.validate(25, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long featureCount(UnknownFieldSet tile, String name) throws InvalidProtocolBufferException {
+        for (UnknownFieldSet layer : layers(tile)) {
+            if (name.equals(layer.getField(1).getLengthDelimitedList().get(0).toStringUtf8())) {
+                return layer.getField(2).getLengthDelimitedList().size();
+            }
+        }
+        return 0;
+    }
+
+    private List<UnknownFieldSet> layers(UnknownFieldSet tile) throws InvalidProtocolBufferException {
+        List<UnknownFieldSet> layers = new ArrayList<>();
+        for (ByteString bytes : tile.getField(3).getLengthDelimitedList()) {
+            layers.add(UnknownFieldSet.parseFrom(bytes));
+        }
+        return layers;
+    }
+
+    private List<Long> readVarints(ByteString packed) throws IOException {
+        CodedInputStream in = packed.newCodedInput();
+        List<Long> values = new ArrayList<>();
+        while (!in.isAtEnd()) {
+            values.add(in.readUInt64());
+        }
+        return values;
+    }
+
+    private int tileX(double lng, int z) {
+        return (int) Math.floor((lng + 180) / 360 * (1 << z));
+    }
+
+    private int tileY(double lat, int z) {
+        double rad = Math.toRadians(lat);
+        return (int) Math.floor((1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2 * (1 << z));
+    }
+
+}
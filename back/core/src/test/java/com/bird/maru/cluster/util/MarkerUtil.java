@@ -0,0 +1,129 @@
+package com.bird.maru.cluster.util;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.domain.model.type.CoordinateSystem;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.wololo.geojson.Feature;
+
+public class MarkerUtil {
+
+    /**
+     * application-global.yml 의 cluster 설정과 동일한 파라미터
+     */
+    public static SuperClusterParams superClusterParams() {
+        SuperClusterParams params = new SuperClusterParams();
+        ReflectionTestUtils.setField(params, "minZoom", 0);
+        ReflectionTestUtils.setField(params, "maxZoom", 16);
+        ReflectionTestUtils.setField(params, "initZoom", 24);
+        ReflectionTestUtils.setField(params, "nodeSize", 64);
+        ReflectionTestUtils.setField(params, "radius", 100);
+        ReflectionTestUtils.setField(params, "extent", 512);
+        return params;
+    }
+
+    public static PointConverter mercatorConverter() {
+        PointConverter pointConverter = new PointConverter();
+        ReflectionTestUtils.setField(pointConverter, "crs", CoordinateSystem.MERCATOR);
+        return pointConverter;
+    }
+
+    /**
+     * 서울 시청 기준 반경 10km 이내 랜덤 마커 생성 - id 는 0부터 오름차순
+     */
+    public static List<Marker> makeRandomSeoul(int size, long seed) {
+        final double SEOUL_LATITUDE = 37.5665;
+        final double SEOUL_LONGITUDE = 126.9780;
+        final double MAX_DISTANCE_IN_KM = 10.0;
+
+        List<Marker> seoul = new ArrayList<>();
+
+        Random random = new Random(seed);
+        for (int i = 0; i < size; i++) {
+            double distance = random.nextDouble() * MAX_DISTANCE_IN_KM;
+            double bearing = random.nextDouble() * 360.0;
+
+            double lat1 = Math.toRadians(SEOUL_LATITUDE);
+            double lon1 = Math.toRadians(SEOUL_LONGITUDE);
+            double angularDistance = distance / 6371.0;
+
+            double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angularDistance) +
+                                            Math.cos(lat1) * Math.sin(angularDistance) * Math.cos(Math.toRadians(bearing)));
+            double lon2 = lon1 + Math.atan2(Math.sin(Math.toRadians(bearing)) *
+                                                    Math.sin(angularDistance) * Math.cos(lat1),
+                                            Math.cos(angularDistance) - Math.sin(lat1) * Math.sin(lat2));
+
+            seoul.add(Marker.builder()
+                            .id((long) i)
+                            .coordinate(Coordinate.builder()
+                                                  .lng(Math.toDegrees(lon2))
+                                                  .lat(Math.toDegrees(lat2))
+                                                  .build())
+                            .build());
+        }
+        return seoul;
+    }
+
+    /**
+     * 범위 내 균등 분포 랜덤 마커 생성 - id 는 0부터 오름차순
+     */
+    public static List<Marker> makeRandom(BoundingBox area, int size, long seed) {
+        List<Marker> markers = new ArrayList<>();
+
+        Random random = new Random(seed);
+        for (int i = 0; i < size; i++) {
+            markers.add(Marker.builder()
+                              .id((long) i)
+                              .coordinate(Coordinate.builder()
+                                                    .lng(area.getWest() + random.nextDouble() * (area.getEast() - area.getWest()))
+                                                    .lat(area.getSouth() + random.nextDouble() * (area.getNorth() - area.getSouth()))
+                                                    .build())
+                              .build());
+        }
+        return markers;
+    }
+
+    /**
+     * Feature 목록 중 단일 포인트의 스팟 id 목록 (클러스터는 id 가 있으면 함께 포함)
+     */
+    public static List<Long> pointIds(List<Feature> features) {
+        return features.stream()
+                       .map(f -> f.getProperties().get("id"))
+                       .filter(Objects::nonNull)
+                       .map(id -> ((Number) id).longValue())
+                       .collect(Collectors.toList());
+    }
+
+    /**
+     * 클러스터 집계 속성을 채운 마커 목록 - 좋아요 수는 id 마다 다르고, 등록 시각은 id 순서와 무관합니다.
+     */
+    public static List<Marker> withSpotProperties(List<Marker> markers) {
+        List<Marker> spots = new ArrayList<>(markers.size());
+        for (Marker marker : markers) {
+            long id = marker.getId();
+            try {
+                spots.add(Marker.builder()
+                                .id(id)
+                                .coordinate(marker.getCoordinate())
+                                .likeCount((int) id)
+                                .createdDateTime(LocalDateTime.of(2023, 5, 1, 0, 0).plusMinutes(id * 7919 % 10007))
+                                .imageUrl(new URL("https://maru.test/images/spots/" + id + ".jpg"))
+                                .build());
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return spots;
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.bird.maru.common.util;
+
+import static com.bird.maru.domain.model.entity.QLandmark.landmark;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bird.maru.domain.model.entity.Landmark;
+import com.querydsl.jpa.impl.JPAQuery;
+import java.util.Collections;
+import org.hibernate.QueryException;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.NestedExceptionUtils;
+
+class SpatialUtilTest {
+
+    private SessionFactoryImplementor sessionFactory;
+
+    /**
+     * DB 연결 없이 JPQL 을 MySQL SQL 로 변환하기 위한 SessionFactory - QueryDslConfig 와 같이 mbr_contains 를 등록합니다.
+     */
+    @BeforeEach
+    void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", "org.hibernate.dialect.MySQL8Dialect")
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", "false")
+                .applySetting("hibernate.connection.url", "jdbc:h2:mem:spatial")
+                .build();
+        sessionFactory = (SessionFactoryImplementor) new MetadataSources(registry)
+                .addAnnotatedClass(Landmark.class)
+                .getMetadataBuilder()
+                .applySqlFunction(MbrContainsFunction.NAME, new MbrContainsFunction())
+                .build()
+                .buildSessionFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("영역 조건은 비교 파라미터 없이 공간 인덱스 범위 조건 MBRContains(...) 로 렌더링된다")
+    void mbrContainsSqlTest() {
+        // given
+        String jpql = new JPAQuery<Void>().select(landmark.id)
+                                          .from(landmark)
+                                          .where(SpatialUtil.mbrContains(126.97, 37.56, 126.986, 37.573, landmark.location),
+                                                 landmark.coordinate.lng.between(126.97, 126.986))
+                                          .toString();
+
+        // when
+        String sql = sql(jpql);
+
+        // then
+        assertThat(sql).contains("where MBRContains(ST_GeomFromText(?, 4326, 'axis-order=long-lat'), landmark0_.location) AND 1=1 "
+                                         + "and (landmark0_.lng between ? and ?)");
+        assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "select landmark.id from Landmark landmark where function('mbr_contains', ?1, landmark.location) = 1",
+            "select landmark.id from Landmark landmark where function('mbr_contains', 'POLYGON((0 0, 1 0, 1 1, 0 1, 0 0))', landmark.location, 1) = 1",
+            "select landmark.id from Landmark landmark where function('mbr_contains', ?1, landmark.coordinate.lng, 1) = 1",
+            "select landmark.id from Landmark landmark where function('mbr_contains', ?1, landmark.location, 0) = 0"
+    })
+    @DisplayName("SpatialUtil.mbrContains 가 만드는 형태가 아닌 호출은 SQL 로 변환하지 않는다")
+    void mbrContainsRejectTest(String jpql) {
+        // when, then
+        assertThatThrownBy(() -> sql(jpql)).satisfies(e -> assertThat(NestedExceptionUtils.getMostSpecificCause(e))
+                .isInstanceOf(QueryException.class)
+                .hasMessageContaining("SpatialUtil.mbrContains"));
+    }
+
+    @Test
+    @DisplayName("영역은 (경도 위도) 순서의 닫힌 반시계 방향 POLYGON 이다")
+    void toPolygonTest() {
+        // when
+        String polygon = SpatialUtil.toPolygon(126.97, 37.56, 126.986, 37.573);
+
+        // then
+        assertThat(polygon).isEqualTo("POLYGON((126.97 37.56, 126.986 37.56, 126.986 37.573, 126.97 37.573, 126.97 37.56))");
+    }
+
+    private String sql(String jpql) {
+        return sessionFactory.getQueryPlanCache()
+                             .getHQLQueryPlan(jpql, false, Collections.emptyMap())
+                             .getSqlStrings()[0];
+    }
+
+}
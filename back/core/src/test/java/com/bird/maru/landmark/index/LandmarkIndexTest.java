@@ -0,0 +1,175 @@
+package com.bird.maru.landmark.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.util.HaversineDistance;
+import com.bird.maru.domain.model.entity.Landmark;
+import com.bird.maru.landmark.repository.query.LandmarkQueryRepository;
+import com.bird.maru.landmark.service.event.LandmarkChangedEvent;
+import com.bird.maru.landmark.util.LandmarkUtil;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LandmarkIndexTest {
+
+    private static final double WEST = 126.9700;
+    private static final double SOUTH = 37.5600;
+    private static final double EAST = 126.9860;
+    private static final double NORTH = 37.5730;
+
+    private List<Landmark> landmarks;
+    private LandmarkIndex landmarkIndex;
+
+    @BeforeEach
+    void setUp() {
+        landmarks = LandmarkUtil.makeRandomSeoul();
+        LandmarkQueryRepository repository = mock(LandmarkQueryRepository.class);
+        given(repository.findAll()).willReturn(landmarks);
+        landmarkIndex = new LandmarkIndex(repository);
+        landmarkIndex.refresh();
+    }
+
+    @Test
+    @DisplayName("영역 조회 결과는 전수 검사 결과와 같고 id 오름차순이다")
+    void findInBoundingBoxTest() {
+        // when
+        List<Long> ids = ids(landmarkIndex.findInBoundingBox(WEST, SOUTH, EAST, NORTH));
+
+        // then
+        List<Long> expected = landmarks.stream()
+                                       .filter(l -> l.getCoordinate().getLng() >= WEST && l.getCoordinate().getLng() <= EAST
+                                               && l.getCoordinate().getLat() >= SOUTH && l.getCoordinate().getLat() <= NORTH)
+                                       .map(Landmark::getId)
+                                       .sorted()
+                                       .collect(Collectors.toList());
+        assertThat(expected).isNotEmpty();
+        assertThat(ids).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("최근접 조회는 반경 내 랜드마크를 가까운 순서로 반환한다")
+    void findNearestTest() {
+        // given
+        double lng = 126.9780;
+        double lat = 37.5665;
+        HaversineDistance haversine = new HaversineDistance();
+
+        // when
+        List<LandmarkPoint> nearest = landmarkIndex.findNearest(lng, lat, 500.0, 10);
+
+        // then
+        List<Long> expected = landmarks.stream()
+                                       .filter(l -> haversine.compute(l.getCoordinate().getLng(), l.getCoordinate().getLat(), lng, lat) <= 0.5)
+                                       .sorted(Comparator.comparingDouble(l -> haversine.compute(l.getCoordinate().getLng(), l.getCoordinate().getLat(), lng, lat)))
+                                       .limit(10)
+                                       .map(Landmark::getId)
+                                       .collect(Collectors.toList());
+        assertThat(expected).isNotEmpty();
+        assertThat(ids(nearest)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("페이지 조회는 lastOffset 이후의 랜드마크를 id 오름차순으로 반환한다")
+    void findPageTest() {
+        // when
+        List<Long> first = ids(landmarkIndex.findPage(null, 20));
+        List<Long> second = ids(landmarkIndex.findPage(first.get(first.size() - 1), 20));
+        List<Long> last = ids(landmarkIndex.findPage((long) landmarks.size() - 5, 20));
+
+        // then
+        assertThat(first).hasSize(20).startsWith(0L).isSorted();
+        assertThat(second).hasSize(20).startsWith(20L).isSorted();
+        assertThat(last).containsExactly(9996L, 9997L, 9998L, 9999L);
+        assertThat(landmarkIndex.findPage(9999L, 20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("랜드마크 변경 이벤트는 새 버전의 스냅샷으로 반영된다")
+    void onLandmarkChangedTest() {
+        // given
+        Landmark landmark = landmarks.get(42);
+        long version = landmarkIndex.getVersion();
+        landmark.changeOwner(7L);
+        landmark.addCount();
+
+        // when
+        landmarkIndex.onLandmarkChanged(LandmarkChangedEvent.of(landmark));
+
+        // then
+        LandmarkPoint changed = landmarkIndex.findPage(41L, 1).get(0);
+        assertThat(landmarkIndex.getVersion()).isEqualTo(version + 1);
+        assertThat(changed.getId()).isEqualTo(42L);
+        assertThat(changed.getMemberId()).isEqualTo(7L);
+        assertThat(changed.getVisitCount()).isEqualTo(1);
+        assertThat(ids(landmarkIndex.findInBoundingBox(126.0, 37.0, 128.0, 38.0))).hasSize(landmarks.size());
+    }
+
+    @Test
+    @DisplayName("전체 재구성의 조회 도중 반영된 변경은 재구성 이후에도 유지된다")
+    void changedDuringRefreshTest() {
+        // given
+        Landmark landmark = landmarks.get(42);
+        LandmarkQueryRepository repository = mock(LandmarkQueryRepository.class);
+        LandmarkIndex index = new LandmarkIndex(repository);
+        given(repository.findAll()).willReturn(landmarks);
+        index.refresh();
+        given(repository.findAll()).willAnswer(invocation -> {
+            // 조회가 커밋 전 값을 읽는 동안 변경이 커밋되고 이벤트가 반영된 상황
+            Long owner = landmark.getMemberId();
+            landmark.changeOwner(7L);
+            index.onLandmarkChanged(LandmarkChangedEvent.of(landmark));
+            landmark.changeOwner(owner);
+            return landmarks;
+        });
+
+        // when
+        index.refresh();
+
+        // then
+        LandmarkPoint changed = index.findPage(41L, 1).get(0);
+        assertThat(changed.getId()).isEqualTo(42L);
+        assertThat(changed.getMemberId()).isEqualTo(7L);
+        assertThat(ids(index.findInBoundingBox(126.0, 37.0, 128.0, 38.0))).hasSize(landmarks.size());
+    }
+
+    @Test
+    @DisplayName("변경분 조회는 범위에 새로 들어온 랜드마크, 이전 버전 이후 바뀐 랜드마크, 범위를 벗어난 랜드마크만 반환한다")
+    void findSinceTest() {
+        // given
+        BoundingBox previous = BoundingBox.builder().west(WEST).south(SOUTH).east(EAST).north(NORTH).build();
+        BoundingBox current = BoundingBox.builder().west(WEST + 0.004).south(SOUTH).east(EAST + 0.004).north(NORTH).build();
+        long version = landmarkIndex.getVersion();
+        Landmark changed = landmarkIndex.findSince(null, null, previous).getAdded().stream()
+                                        .filter(l -> l.getCoordinate().getLng() >= current.getWest())
+                                        .map(l -> landmarks.get(l.getId().intValue()))
+                                        .findFirst()
+                                        .orElseThrow();
+        changed.addCount();
+        landmarkIndex.onLandmarkChanged(LandmarkChangedEvent.of(changed));
+
+        // when
+        LandmarkDelta delta = landmarkIndex.findSince(previous, version, current);
+
+        // then
+        List<Long> before = ids(landmarkIndex.findInBoundingBox(previous.getWest(), previous.getSouth(), previous.getEast(), previous.getNorth()));
+        List<Long> after = ids(landmarkIndex.findInBoundingBox(current.getWest(), current.getSouth(), current.getEast(), current.getNorth()));
+        assertThat(delta.isFull()).isFalse();
+        assertThat(ids(delta.getAdded())).containsExactlyInAnyOrderElementsOf(
+                after.stream().filter(id -> !before.contains(id) || id.equals(changed.getId())).collect(Collectors.toList()));
+        assertThat(delta.getRemoved()).containsExactlyInAnyOrderElementsOf(
+                before.stream().filter(id -> !after.contains(id)).collect(Collectors.toList()));
+        assertThat(landmarkIndex.findSince(null, null, current).isFull()).isTrue();
+    }
+
+    private List<Long> ids(List<LandmarkPoint> landmarks) {
+        return landmarks.stream().map(LandmarkPoint::getId).collect(Collectors.toList());
+    }
+
+}
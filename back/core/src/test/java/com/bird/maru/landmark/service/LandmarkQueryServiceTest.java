@@ -5,6 +5,7 @@ import static org.mockito.BDDMockito.given;
 
 import com.bird.maru.domain.model.entity.Landmark;
 import com.bird.maru.landmark.controller.dto.LandmarkMapResponseDto;
+import com.bird.maru.landmark.index.LandmarkIndex;
 import com.bird.maru.landmark.repository.query.LandmarkCustomQueryRepository;
 import com.bird.maru.landmark.service.query.LandmarkQueryService;
 import com.bird.maru.landmark.util.LandmarkUtil;
@@ -30,6 +31,8 @@ class LandmarkQueryServiceTest {
     private LandmarkCustomQueryRepository landmarkCustomQueryRepository;
     @MockBean
     private MemberRedisRepository memberRedisRepository;
+    @MockBean
+    private LandmarkIndex landmarkIndex; // 구성 전 상태 - RDBMS 조회 경로
     private List<Landmark> landmarks;
     private final Set<Long> visitedLandmarks = new HashSet<>();
 
@@ -0,0 +1,198 @@
+package com.bird.maru.map.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.tile.TileBounds;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.domain.model.type.MapFilterType;
+import com.bird.maru.map.controller.dto.MapCondition;
+import com.bird.maru.map.index.SpotClusterChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ClusterTileCacheTest {
+
+    private static final int Z = 15;
+    private static final Coordinate SEOUL_CITY_HALL = new Coordinate(126.9780, 37.5665);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ClusterTileCache clusterTileCache;
+
+    @BeforeEach
+    void setUp() {
+        clusterTileCache = new ClusterTileCache(3, MarkerUtil.superClusterParams(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("같은 타일은 한 번만 계산하고 hit/miss 를 기록한다")
+    void hitTest() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        ClusterTileKey key = key(tileX(SEOUL_CITY_HALL), tileY(SEOUL_CITY_HALL), MapFilterType.ALL, null);
+
+        // when
+        clusterTileCache.get(key, () -> load(loads));
+        clusterTileCache.get(key, () -> load(loads));
+
+        // then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cluster.tile.cache.requests", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cluster.tile.cache.requests", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래 사용하지 않은 타일을 제거한다")
+    void evictionTest() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        ClusterTileKey first = key(0, 0, MapFilterType.ALL, null);
+        clusterTileCache.get(first, () -> load(loads));
+        clusterTileCache.get(key(0, 1, MapFilterType.ALL, null), () -> load(loads));
+        clusterTileCache.get(key(0, 2, MapFilterType.ALL, null), () -> load(loads));
+        clusterTileCache.get(first, () -> load(loads));
+
+        // when
+        clusterTileCache.get(key(0, 3, MapFilterType.ALL, null), () -> load(loads));
+        clusterTileCache.get(first, () -> load(loads));
+
+        // then
+        assertThat(clusterTileCache.size()).isEqualTo(3);
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(meterRegistry.counter("cluster.tile.cache.evictions").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스팟 변경 시 해당 좌표의 타일만 필터와 관계없이 무효화한다")
+    void invalidateTest() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        ClusterTileKey all = key(tileX(SEOUL_CITY_HALL), tileY(SEOUL_CITY_HALL), MapFilterType.ALL, null);
+        ClusterTileKey tag = key(tileX(SEOUL_CITY_HALL), tileY(SEOUL_CITY_HALL), MapFilterType.ALL, 3L);
+        ClusterTileKey far = key(0, 0, MapFilterType.ALL, null);
+        clusterTileCache.get(all, () -> load(loads));
+        clusterTileCache.get(tag, () -> load(loads));
+        clusterTileCache.get(far, () -> load(loads));
+
+        // when
+        clusterTileCache.onSpotClusterChanged(SpotClusterChangedEvent.changed(List.of(SEOUL_CITY_HALL)));
+
+        // then
+        assertThat(clusterTileCache.size()).isEqualTo(1);
+        clusterTileCache.get(far, () -> load(loads));
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("인덱스 재구성 시 인덱스에서 조회한 타일만 무효화한다")
+    void rebuiltTest() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        clusterTileCache.get(key(0, 0, MapFilterType.ALL, null), () -> load(loads));
+        clusterTileCache.get(key(0, 0, MapFilterType.ALL, 3L), () -> load(loads));
+
+        // when
+        clusterTileCache.onSpotClusterChanged(SpotClusterChangedEvent.rebuilt());
+
+        // then
+        assertThat(clusterTileCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("델타 압축 시 전역 인덱스에서 조회한 타일만 무효화한다")
+    void compactedTest() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        clusterTileCache.get(key(0, 0, MapFilterType.ALL, null), () -> load(loads));
+        clusterTileCache.get(key(0, 0, MapFilterType.ALL, 3L), () -> load(loads));
+        clusterTileCache.get(key(tileX(SEOUL_CITY_HALL), tileY(SEOUL_CITY_HALL), MapFilterType.ALL, 3L), () -> load(loads));
+
+        // when
+        clusterTileCache.onSpotClusterChanged(SpotClusterChangedEvent.compacted());
+
+        // then
+        assertThat(clusterTileCache.size()).isEqualTo(2);
+        assertThat(meterRegistry.counter("cluster.tile.cache.invalidations").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("계산 도중 무효화된 타일은 캐시에 저장하지 않는다")
+    void staleLoadTest() {
+        // given
+        ClusterTileKey key = key(tileX(SEOUL_CITY_HALL), tileY(SEOUL_CITY_HALL), MapFilterType.ALL, null);
+
+        // when
+        clusterTileCache.get(key, () -> {
+            clusterTileCache.invalidate(List.of(SEOUL_CITY_HALL));
+            return new FeatureBuffer();
+        });
+
+        // then
+        assertThat(clusterTileCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("RDBMS 에서 조회될 수 있는 조건은 조회 개수 제한(size)이 다르면 다른 타일로 캐시한다")
+    void sizeKeyTest() {
+        // given
+        MapCondition small = condition(3L, 10);
+        MapCondition large = condition(3L, 5000);
+        MapCondition indexedSmall = condition(null, 10);
+        MapCondition indexedLarge = condition(null, 5000);
+
+        // when & then
+        assertThat(ClusterTileKey.of(Z, 0, 0, small, 1L)).isNotEqualTo(ClusterTileKey.of(Z, 0, 0, large, 1L));
+        assertThat(ClusterTileKey.of(Z, 0, 0, indexedSmall, 1L)).isEqualTo(ClusterTileKey.of(Z, 0, 0, indexedLarge, 1L));
+    }
+
+    @Test
+    @DisplayName("전역 인덱스에서 조회한 타일은 스냅샷 baseVersion 이 다르면 다른 타일로 캐시한다")
+    void versionKeyTest() {
+        // given
+        MapCondition indexed = condition(null, 5000);
+        MapCondition tagged = condition(3L, 5000);
+
+        // when & then
+        assertThat(ClusterTileKey.of(Z, 0, 0, indexed, 1L, 1L)).isNotEqualTo(ClusterTileKey.of(Z, 0, 0, indexed, 1L, 2L));
+        assertThat(ClusterTileKey.of(Z, 0, 0, tagged, 1L, 1L)).isEqualTo(ClusterTileKey.of(Z, 0, 0, tagged, 1L, 2L));
+    }
+
+    private MapCondition condition(Long tagId, int size) {
+        return MapCondition.builder()
+                           .boundingBox(BoundingBox.builder().zoom(Z).build())
+                           .filter(MapFilterType.ALL)
+                           .tagId(tagId)
+                           .size(size)
+                           .build();
+    }
+
+    private ClusterTileKey key(int x, int y, MapFilterType filter, Long tagId) {
+        MapCondition condition = MapCondition.builder()
+                                             .boundingBox(BoundingBox.builder().zoom(Z).build())
+                                             .filter(filter)
+                                             .tagId(tagId)
+                                             .size(5000)
+                                             .build();
+        return ClusterTileKey.of(Z, x, y, condition, 1L);
+    }
+
+    private FeatureBuffer load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new FeatureBuffer();
+    }
+
+    private int tileX(Coordinate coordinate) {
+        return (int) TileBounds.lngToTileX(coordinate.getLng(), Z);
+    }
+
+    private int tileY(Coordinate coordinate) {
+        return (int) TileBounds.latToTileY(coordinate.getLat(), Z);
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.bird.maru.map.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 요청은 한 번만 계산하고 결과를 함께 사용한다")
+    void coalesceTest() throws Exception {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> leader = executor.submit(() -> singleFlight.execute("gangnam", () -> {
+            started.countDown();
+            await(release);
+            return loads.incrementAndGet();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        List<Future<Integer>> followers = new ArrayList<>();
+        for (int i = 1; i < CALLERS; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("gangnam", loads::incrementAndGet)));
+        }
+        while (meterRegistry.counter("map.query.coalescing.requests", "query", "test", "result", "shared").count() < CALLERS - 1) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        // then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        for (Future<Integer> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.ratio()).isEqualTo((double) (CALLERS - 1) / CALLERS);
+        assertThat(meterRegistry.get("map.query.coalescing.inflight").tag("query", "test").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("계산이 끝난 뒤의 요청과 다른 키의 요청은 새로 계산한다")
+    void separateTest() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        int first = singleFlight.execute("gangnam", loads::incrementAndGet);
+        int second = singleFlight.execute("gangnam", loads::incrementAndGet);
+        int other = singleFlight.execute("hongdae", loads::incrementAndGet);
+
+        // then
+        assertThat(List.of(first, second, other)).containsExactly(1, 2, 3);
+        assertThat(singleFlight.ratio()).isZero();
+    }
+
+    @Test
+    @DisplayName("계산 중 예외는 기다리던 요청에도 그대로 전달하고, 다음 요청은 새로 계산한다")
+    void exceptionTest() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> leader = executor.submit(() -> singleFlight.execute("gangnam", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("조회 실패");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<Integer> follower = executor.submit(() -> singleFlight.execute("gangnam", () -> 0));
+        while (meterRegistry.counter("map.query.coalescing.requests", "query", "test", "result", "shared").count() < 1) {
+            Thread.sleep(10);
+        }
+
+        // when
+        release.countDown();
+
+        // then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.execute("gangnam", () -> 1)).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
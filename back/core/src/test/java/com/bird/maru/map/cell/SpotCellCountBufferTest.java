@@ -0,0 +1,77 @@
+package com.bird.maru.map.cell;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.domain.model.entity.SpotCellCount;
+import com.bird.maru.map.repository.SpotCellCountJDBCRepository;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+
+class SpotCellCountBufferTest {
+
+    private SpotCellCountJDBCRepository repository;
+    private SpotCellCountBuffer buffer;
+    private List<Marker> markers;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SpotCellCountJDBCRepository.class);
+        buffer = new SpotCellCountBuffer(repository);
+        markers = MarkerUtil.makeRandomSeoul(100, 42L);
+    }
+
+    @Test
+    @DisplayName("모아둔 증감분은 칸별로 합쳐 한 번에 반영하고, 등록 후 삭제된 스팟의 칸은 제외한다")
+    @SuppressWarnings("unchecked")
+    void flushTest() {
+        // given
+        markers.forEach(m -> buffer.onSpotMarkerEvent(SpotMarkerEvent.created(m)));
+        buffer.onSpotMarkerEvent(SpotMarkerEvent.deleted(markers.get(0)));
+        buffer.onSpotMarkerEvent(SpotMarkerEvent.created(markers.get(0)));
+
+        // when
+        buffer.flush();
+        buffer.flush();
+
+        // then
+        ArgumentCaptor<List<SpotCellCount>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).bulkAddCounts(captor.capture());
+        List<SpotCellCount> expected = SpotCellGrid.aggregate(markers);
+        assertThat(captor.getValue()).hasSize(expected.size());
+        assertThat(captor.getValue().stream().mapToLong(SpotCellCount::getCount).sum())
+                .isEqualTo(expected.stream().mapToLong(SpotCellCount::getCount).sum());
+    }
+
+    @Test
+    @DisplayName("반영에 실패한 증감분은 다음 반영 때 다시 시도한다")
+    @SuppressWarnings("unchecked")
+    void retryTest() {
+        // given
+        buffer.onSpotMarkerEvent(SpotMarkerEvent.created(markers.get(0)));
+        willThrow(new QueryTimeoutException("timeout")).willDoNothing().given(repository).bulkAddCounts(anyList());
+        assertThatThrownBy(() -> buffer.flush()).isInstanceOf(QueryTimeoutException.class);
+
+        // when
+        buffer.flush();
+
+        // then
+        ArgumentCaptor<List<SpotCellCount>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).bulkAddCounts(captor.capture());
+        assertThat(captor.getAllValues().get(1)).hasSize(SpotCellGrid.MAX_ZOOM + 1)
+                                                .allMatch(count -> count.getCount() == 1L);
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.bird.maru.map.cell;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.domain.model.entity.SpotCellCount;
+import com.bird.maru.domain.model.type.Coordinate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SpotCellGridTest {
+
+    @Test
+    @DisplayName("전체 재집계 결과는 스팟별 증감분을 더한 결과와 같다")
+    void aggregateTest() {
+        // given
+        List<Marker> markers = MarkerUtil.makeRandomSeoul(3000, 42L);
+        Map<String, double[]> expected = new HashMap<>();
+        markers.stream()
+               .flatMap(m -> SpotCellGrid.deltas(m, 1).stream())
+               .forEach(d -> {
+                   double[] cell = expected.computeIfAbsent(key(d), k -> new double[3]);
+                   cell[0] += d.getCount();
+                   cell[1] += d.getSumX();
+                   cell[2] += d.getSumY();
+               });
+
+        // when
+        List<SpotCellCount> counts = SpotCellGrid.aggregate(markers);
+
+        // then
+        assertThat(counts).hasSize(expected.size());
+        for (SpotCellCount count : counts) {
+            double[] cell = expected.get(key(count));
+            assertThat(count.getCount()).isEqualTo((long) cell[0]);
+            assertThat(count.getSumX()).isCloseTo(cell[1], within(1e-9));
+            assertThat(count.getSumY()).isCloseTo(cell[2], within(1e-9));
+        }
+        for (int zoom = 0; zoom <= SpotCellGrid.MAX_ZOOM; zoom++) {
+            int z = zoom;
+            assertThat(counts.stream().filter(c -> c.getZoom() == z).mapToLong(SpotCellCount::getCount).sum()).isEqualTo(markers.size());
+        }
+    }
+
+    @Test
+    @DisplayName("범위의 칸 조회 결과에는 범위 내 모든 스팟의 칸이 포함되고, 무게중심은 칸 안에 있다")
+    void cellRangeTest() {
+        // given
+        int zoom = 10;
+        BoundingBox boundingBox = BoundingBox.builder()
+                                             .west(126.95)
+                                             .south(37.54)
+                                             .east(127.00)
+                                             .north(37.59)
+                                             .zoom(zoom)
+                                             .build();
+        List<Marker> inside = MarkerUtil.makeRandomSeoul(3000, 7L)
+                                        .stream()
+                                        .filter(m -> m.getCoordinate().getLng() >= boundingBox.getWest()
+                                                && m.getCoordinate().getLng() <= boundingBox.getEast()
+                                                && m.getCoordinate().getLat() >= boundingBox.getSouth()
+                                                && m.getCoordinate().getLat() <= boundingBox.getNorth())
+                                        .collect(Collectors.toList());
+
+        // when
+        List<SpotCellCount> cells = SpotCellGrid.aggregate(inside)
+                                                .stream()
+                                                .filter(c -> c.getZoom() == zoom)
+                                                .collect(Collectors.toList());
+
+        // then
+        assertThat(cells).isNotEmpty();
+        for (SpotCellCount cell : cells) {
+            assertThat(cell.getCellX()).isBetween(SpotCellGrid.minCellX(boundingBox, zoom), SpotCellGrid.maxCellX(boundingBox, zoom));
+            assertThat(cell.getCellY()).isBetween(SpotCellGrid.minCellY(boundingBox, zoom), SpotCellGrid.maxCellY(boundingBox, zoom));
+            Coordinate centroid = SpotCellGrid.centroid(cell);
+            Marker marker = new Marker(0L, centroid);
+            SpotCellCount centroidCell = SpotCellGrid.deltas(marker, 1).get(zoom);
+            assertThat(key(centroidCell)).isEqualTo(key(cell));
+        }
+    }
+
+    @Test
+    @DisplayName("칸이 너무 많은 넓은 범위는 칸 수가 제한 이하가 되는 줌 레벨로 낮춘다")
+    void fitZoomTest() {
+        // given
+        BoundingBox seoul = BoundingBox.builder().west(126.95).south(37.54).east(127.00).north(37.59).zoom(10).build();
+        BoundingBox world = BoundingBox.builder().west(-180.0).south(-85.0).east(180.0).north(85.0).zoom(10).build();
+
+        // when
+        int seoulZoom = SpotCellGrid.fitZoom(seoul, 10, 4096);
+        int worldZoom = SpotCellGrid.fitZoom(world, 10, 4096);
+
+        // then
+        assertThat(seoulZoom).isEqualTo(10);
+        assertThat(worldZoom).isEqualTo(3);
+        long cells = (long) (SpotCellGrid.maxCellX(world, worldZoom) - SpotCellGrid.minCellX(world, worldZoom) + 1)
+                * (SpotCellGrid.maxCellY(world, worldZoom) - SpotCellGrid.minCellY(world, worldZoom) + 1);
+        assertThat(cells).isLessThanOrEqualTo(4096);
+    }
+
+    @Test
+    @DisplayName("같은 시점의 재집계와 테이블 차이를 증감분으로 더하면, 그 이후 반영된 증감분을 유지한 채 바로잡는다")
+    void correctionsTest() {
+        // given
+        List<Marker> markers = MarkerUtil.makeRandomSeoul(3000, 42L);
+        List<Marker> counted = markers.subList(0, 2900); // 증감이 누락된 스팟 100 개
+        List<SpotCellCount> snapshot = SpotCellGrid.aggregate(counted);
+        snapshot.add(SpotCellCount.builder().zoom(10).cellX(0).cellY(0).count(3L).sumX(0.0).sumY(0.0).build()); // 스팟이 없는 칸
+        Marker concurrent = MarkerUtil.makeRandomSeoul(1, 7L).get(0);
+
+        // when
+        List<SpotCellCount> corrections = SpotCellGrid.corrections(SpotCellGrid.aggregate(markers), snapshot);
+        Map<String, double[]> table = new HashMap<>();
+        add(table, snapshot);
+        add(table, SpotCellGrid.deltas(concurrent, 1)); // 재집계 도중 커밋된 증감분
+        add(table, corrections);
+
+        // then
+        List<Marker> all = new ArrayList<>(markers);
+        all.add(concurrent);
+        List<SpotCellCount> expected = SpotCellGrid.aggregate(all);
+        assertThat(table.values().stream().filter(cell -> cell[0] > 0).count()).isEqualTo(expected.size());
+        for (SpotCellCount count : expected) {
+            double[] cell = table.get(key(count));
+            assertThat((long) cell[0]).isEqualTo(count.getCount());
+            assertThat(cell[1]).isCloseTo(count.getSumX(), within(1e-9));
+            assertThat(cell[2]).isCloseTo(count.getSumY(), within(1e-9));
+        }
+        assertThat(SpotCellGrid.corrections(expected, expected)).isEmpty();
+    }
+
+    private void add(Map<String, double[]> table, List<SpotCellCount> deltas) {
+        for (SpotCellCount delta : deltas) {
+            double[] cell = table.computeIfAbsent(key(delta), k -> new double[3]);
+            cell[0] += delta.getCount();
+            cell[1] += delta.getSumX();
+            cell[2] += delta.getSumY();
+        }
+    }
+
+    private String key(SpotCellCount cell) {
+        return cell.getZoom() + "/" + cell.getCellX() + "/" + cell.getCellY();
+    }
+
+}
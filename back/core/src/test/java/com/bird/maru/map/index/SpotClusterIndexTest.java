@@ -0,0 +1,331 @@
+package com.bird.maru.map.index;
+
+import static com.bird.maru.cluster.util.MarkerUtil.pointIds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.FeatureDiff;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.util.ClusterBuildPool;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.HaversineDistance;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SpotClusterIndexTest {
+
+    private static final BoundingBox SEOUL_CITY_HALL = BoundingBox.builder()
+                                                                  .west(126.9700)
+                                                                  .south(37.5600)
+                                                                  .east(126.9860)
+                                                                  .north(37.5730)
+                                                                  .zoom(18)
+                                                                  .build();
+
+    private SpotClusterIndex spotClusterIndex;
+    private SpotClusterSnapshotStore snapshotStore;
+    private List<Marker> markers;
+
+    @BeforeEach
+    void setUp() {
+        SpotCustomQueryRepository repository = mock(SpotCustomQueryRepository.class);
+        markers = MarkerUtil.makeRandomSeoul(2000, 7L);
+        given(repository.findAllMarkers()).willReturn(markers);
+        snapshotStore = mock(SpotClusterSnapshotStore.class);
+        spotClusterIndex = new SpotClusterIndex(repository, MarkerUtil.superClusterParams(),
+                                                MarkerUtil.mercatorConverter(), new EuclideanDistance(), new SpotAggregateReducer(),
+                                                new ClusterBuildPool(false, 0, 0), snapshotStore,
+                                                mock(ApplicationEventPublisher.class));
+        spotClusterIndex.refresh();
+    }
+
+    @Test
+    @DisplayName("신규 스팟은 압축 전에도 조회 결과에 포함된다")
+    void insertTest() {
+        // given
+        Marker marker = marker(100_000L, 126.9780, 37.5665);
+
+        // when
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.created(marker));
+
+        // then
+        assertThat(pointIds(spotClusterIndex.run(SEOUL_CITY_HALL))).contains(100_000L);
+    }
+
+    @Test
+    @DisplayName("삭제된 스팟은 압축 전에도 조회 결과에서 제외된다")
+    void deleteTest() {
+        // given
+        List<Long> before = pointIds(spotClusterIndex.run(SEOUL_CITY_HALL));
+        Long deletedId = before.get(0);
+
+        // when
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.deleted(marker(deletedId, 0, 0)));
+
+        // then
+        assertThat(pointIds(spotClusterIndex.run(SEOUL_CITY_HALL))).doesNotContain(deletedId)
+                                                                  .hasSize(before.size() - 1);
+    }
+
+    @Test
+    @DisplayName("최근접 조회는 압축 전 델타를 반영하여 반경 내 스팟을 가까운 순서로 반환한다")
+    void findNearestTest() {
+        // given
+        double lng = 126.9780;
+        double lat = 37.5665;
+        HaversineDistance haversine = new HaversineDistance();
+        Comparator<Marker> byDistance = Comparator.comparingDouble(
+                m -> haversine.compute(m.getCoordinate().getLng(), m.getCoordinate().getLat(), lng, lat));
+        Marker nearest = markers.stream().min(byDistance).orElseThrow();
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.created(marker(100_000L, lng + 0.0001, lat)));
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.deleted(nearest));
+
+        // when
+        List<Marker> found = spotClusterIndex.findNearest(lng, lat, 1000.0, 10);
+
+        // then
+        List<Marker> candidates = new ArrayList<>(markers);
+        candidates.remove(nearest);
+        candidates.add(marker(100_000L, lng + 0.0001, lat));
+        List<Long> expected = candidates.stream()
+                                        .filter(m -> haversine.compute(m.getCoordinate().getLng(), m.getCoordinate().getLat(), lng, lat) <= 1.0)
+                                        .sorted(byDistance)
+                                        .limit(10)
+                                        .map(Marker::getId)
+                                        .collect(Collectors.toList());
+        assertThat(expected).hasSize(10).contains(100_000L);
+        assertThat(found.stream().map(Marker::getId).collect(Collectors.toList())).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("최초 구성의 조회 도중 반영된 등록/삭제는 구성 이후에도 유지된다")
+    void changedDuringFirstBuildTest() {
+        // given
+        List<Long> before = pointIds(spotClusterIndex.run(SEOUL_CITY_HALL));
+        SpotCustomQueryRepository repository = mock(SpotCustomQueryRepository.class);
+        SpotClusterIndex index = index(repository, snapshotStore);
+        given(repository.findAllMarkers()).willAnswer(invocation -> {
+            // 조회가 커밋 전 값을 읽는 동안 등록/삭제가 커밋되고 이벤트가 반영된 상황
+            index.onSpotMarkerEvent(SpotMarkerEvent.created(marker(100_000L, 126.9780, 37.5665)));
+            index.onSpotMarkerEvent(SpotMarkerEvent.deleted(marker(before.get(0), 0, 0)));
+            return markers;
+        });
+
+        // when
+        index.refresh();
+
+        // then
+        assertThat(pointIds(index.run(SEOUL_CITY_HALL))).contains(100_000L)
+                                                        .doesNotContain(before.get(0))
+                                                        .hasSize(before.size());
+    }
+
+    @Test
+    @DisplayName("압축 후 조회 결과는 압축 전과 동일하다")
+    void compactTest() {
+        // given
+        List<Long> before = pointIds(spotClusterIndex.run(SEOUL_CITY_HALL));
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.created(marker(100_000L, 126.9780, 37.5665)));
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.deleted(marker(before.get(0), 0, 0)));
+        List<Long> merged = pointIds(spotClusterIndex.run(SEOUL_CITY_HALL));
+
+        // when
+        spotClusterIndex.compact();
+
+        // then
+        assertThat(pointIds(spotClusterIndex.run(SEOUL_CITY_HALL))).containsExactlyInAnyOrderElementsOf(merged);
+    }
+
+    @Test
+    @DisplayName("델타가 압축 기준 크기에 도달해야 압축하고, 그 전에는 인덱스와 데이터 버전을 유지한다")
+    void compactIfDueTest() {
+        // given
+        ReflectionTestUtils.setField(spotClusterIndex, "compactThreshold", 2);
+        ReflectionTestUtils.setField(spotClusterIndex, "compactMaxAge", 300_000L);
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.created(marker(100_000L, 126.9780, 37.5665)));
+        long version = spotClusterIndex.getVersion();
+
+        // when
+        spotClusterIndex.compactIfDue();
+        long notDue = spotClusterIndex.getVersion();
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.created(marker(100_001L, 126.9781, 37.5666)));
+        spotClusterIndex.compactIfDue();
+
+        // then
+        assertThat(notDue).isEqualTo(version);
+        assertThat(spotClusterIndex.getVersion()).isEqualTo(version + 2);
+        assertThat(spotClusterIndex.getMarkers()).extracting(Marker::getId).contains(100_000L, 100_001L);
+    }
+
+    @Test
+    @DisplayName("압축은 스냅샷 파일을 기록하지 않고 전체 재구성만 기록한다")
+    void compactWithoutSnapshotTest() {
+        // given
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.created(marker(100_000L, 126.9780, 37.5665)));
+
+        // when
+        spotClusterIndex.compact();
+
+        // then
+        verify(snapshotStore, times(1)).save(any(), any());
+        assertThat(pointIds(spotClusterIndex.run(SEOUL_CITY_HALL))).contains(100_000L);
+    }
+
+    @Test
+    @DisplayName("스냅샷 파일에서 복원하면 전체 조회 없이 기록 이후 변경만 반영한다")
+    void restoreTest(@TempDir Path directory) {
+        // given
+        SpotClusterSnapshotStore store = new SpotClusterSnapshotStore(directory.resolve("spot-cluster.snapshot").toString(),
+                                                                      MarkerUtil.superClusterParams(), MarkerUtil.mercatorConverter(),
+                                                                      new EuclideanDistance(), new SpotAggregateReducer());
+        SpotCustomQueryRepository repository = mock(SpotCustomQueryRepository.class);
+        given(repository.findAllMarkers()).willReturn(MarkerUtil.makeRandomSeoul(2000, 7L));
+        SpotClusterIndex original = index(repository, store);
+        original.refresh();
+        List<Long> before = pointIds(original.run(SEOUL_CITY_HALL));
+
+        SpotCustomQueryRepository restarted = mock(SpotCustomQueryRepository.class);
+        given(restarted.findAllMarkersByIdGreaterThan(anyLong())).willReturn(List.of(marker(100_000L, 126.9780, 37.5665)));
+        given(restarted.findDeletedMarkerIdsModifiedSince(any())).willReturn(List.of(before.get(0)));
+        SpotClusterIndex restored = index(restarted, store);
+
+        // when
+        restored.refresh();
+
+        // then
+        verify(restarted, never()).findAllMarkers();
+        assertThat(pointIds(restored.run(SEOUL_CITY_HALL))).contains(100_000L)
+                                                           .doesNotContain(before.get(0))
+                                                           .hasSize(before.size());
+        restored.compact();
+        assertThat(pointIds(restored.run(SEOUL_CITY_HALL))).contains(100_000L)
+                                                           .doesNotContain(before.get(0))
+                                                           .hasSize(before.size());
+    }
+
+    @Test
+    @DisplayName("이전 버전 결과에 변경분을 반영하면 압축 이후에도 현재 범위의 결과와 같다")
+    void runSinceTest() {
+        // given
+        BoundingBox previous = BoundingBox.builder().west(126.95).south(37.54).east(127.00).north(37.59).zoom(14).build();
+        BoundingBox current = BoundingBox.builder().west(126.97).south(37.55).east(127.02).north(37.60).zoom(14).build();
+        FeatureBuffer before = new FeatureBuffer();
+        long version = spotClusterIndex.run(previous, before);
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.created(marker(100_000L, 126.9900, 37.5800)));
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.deleted(marker(pointIds(spotClusterIndex.run(previous)).get(0), 0, 0)));
+        spotClusterIndex.compact();
+
+        // when
+        FeatureBuffer previousBuffer = new FeatureBuffer();
+        FeatureBuffer currentBuffer = new FeatureBuffer();
+        long next = spotClusterIndex.runSince(version, previous, previousBuffer, current, currentBuffer);
+
+        // then
+        assertThat(next).isGreaterThan(version);
+        FeatureDiff diff = FeatureDiff.of(previousBuffer, currentBuffer);
+        Map<String, String> applied = features(before);
+        diff.getRemovedPoints().forEach(id -> applied.remove("point:" + id));
+        diff.getRemovedClusters().forEach(id -> applied.remove("cluster:" + id));
+        applied.putAll(features(diff.getAdded()));
+        assertThat(applied).isEqualTo(features(currentBuffer));
+        assertThat(spotClusterIndex.runSince(-5L, previous, new FeatureBuffer(), current, new FeatureBuffer()))
+                .isEqualTo(SpotClusterIndex.NO_VERSION);
+    }
+
+    @Test
+    @DisplayName("클러스터 id 는 조회 결과의 데이터 버전으로 같은 인덱스에서 탐색하고, 보관하지 않는 인덱스의 버전은 찾지 않는다")
+    void findSnapshotTest() {
+        // given
+        BoundingBox seoul = BoundingBox.builder().west(126.95).south(37.54).east(127.00).north(37.59).zoom(12).build();
+        SpotClusterSnapshot queried = spotClusterIndex.getSnapshot();
+        List<Long> clusterIds = clusterIds(queried, seoul);
+        long version = queried.getVersion();
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.created(marker(100_000L, 126.9780, 37.5665)));
+
+        // when
+        spotClusterIndex.compact();
+        SpotClusterSnapshot previous = spotClusterIndex.findSnapshot(version).orElseThrow();
+        spotClusterIndex.onSpotMarkerEvent(SpotMarkerEvent.created(marker(100_001L, 126.9781, 37.5666)));
+        spotClusterIndex.compact();
+
+        // then
+        assertThat(clusterIds).isNotEmpty();
+        assertThat(previous.getSuperCluster()).isSameAs(queried.getSuperCluster());
+        for (Long clusterId : clusterIds) {
+            assertThat(previous.getClusterExpansionZoom(clusterId)).isEqualTo(queried.getClusterExpansionZoom(clusterId));
+        }
+        assertThat(spotClusterIndex.findSnapshot(spotClusterIndex.getVersion())).contains(spotClusterIndex.getSnapshot());
+        assertThat(spotClusterIndex.findSnapshot(version)).isEmpty();
+    }
+
+    private SpotClusterIndex index(SpotCustomQueryRepository repository, SpotClusterSnapshotStore store) {
+        return new SpotClusterIndex(repository, MarkerUtil.superClusterParams(), MarkerUtil.mercatorConverter(), new EuclideanDistance(),
+                                    new SpotAggregateReducer(), new ClusterBuildPool(false, 0, 0), store,
+                                    mock(ApplicationEventPublisher.class));
+    }
+
+    private Marker marker(Long id, double lng, double lat) {
+        return Marker.builder()
+                     .id(id)
+                     .coordinate(Coordinate.builder().lng(lng).lat(lat).build())
+                     .build();
+    }
+
+    private List<Long> clusterIds(SpotClusterSnapshot snapshot, BoundingBox boundingBox) {
+        List<Long> ids = new ArrayList<>();
+        snapshot.run(boundingBox, new FeatureSink() {
+            @Override
+            public void point(double lng, double lat, long id) {
+            }
+
+            @Override
+            public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    private Map<String, String> features(FeatureBuffer buffer) {
+        Map<String, String> features = new HashMap<>();
+        buffer.replay(new FeatureSink() {
+            @Override
+            public void point(double lng, double lat, long id) {
+                features.put("point:" + id, lng + "," + lat);
+            }
+
+            @Override
+            public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+                features.put("cluster:" + id, lng + "," + lat + "," + count);
+            }
+        });
+        return features;
+    }
+
+}
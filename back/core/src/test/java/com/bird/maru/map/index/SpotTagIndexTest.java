@@ -0,0 +1,282 @@
+package com.bird.maru.map.index;
+
+import static com.bird.maru.cluster.util.MarkerUtil.pointIds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.bird.maru.cluster.FlatSuperCluster;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.AnonymousClusterSink;
+import com.bird.maru.cluster.geojson.FeatureListSink;
+import com.bird.maru.cluster.tile.TileBounds;
+import com.bird.maru.cluster.util.ClusterBuildPool;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.wololo.geojson.Feature;
+
+class SpotTagIndexTest {
+
+    private static final Long POPULAR_TAG = 1L; // 짝수 id
+    private static final Long RARE_TAG = 2L; // 7의 배수 id
+    private static final Long MINOR_TAG = 3L; // 50의 배수 id
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SuperClusterParams superClusterParams = MarkerUtil.superClusterParams();
+    private final PointConverter pointConverter = MarkerUtil.mercatorConverter();
+    private final List<Marker> markers = MarkerUtil.makeRandomSeoul(5000, 11L);
+    private SpotTagIndex spotTagIndex;
+
+    @BeforeEach
+    void setUp() {
+        spotTagIndex = createIndex(markers, spotIdsByTag(markers));
+    }
+
+    private SpotTagIndex createIndex(List<Marker> markers, Map<Long, List<Long>> spotIdsByTag) {
+        SpotCustomQueryRepository repository = mock(SpotCustomQueryRepository.class);
+        given(repository.findAllMarkers()).willReturn(markers);
+        given(repository.findAllMarkerIdsGroupByTag()).willReturn(spotIdsByTag);
+        SpotClusterIndex spotClusterIndex = new SpotClusterIndex(repository, superClusterParams, pointConverter, new EuclideanDistance(),
+                                                                 new SpotAggregateReducer(), new ClusterBuildPool(false, 0, 0),
+                                                                 mock(SpotClusterSnapshotStore.class), mock(ApplicationEventPublisher.class));
+        spotClusterIndex.refresh();
+        SpotTagIndex index = new SpotTagIndex(repository, spotClusterIndex, superClusterParams, pointConverter, new EuclideanDistance(),
+                                              new SpotAggregateReducer(), mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(index, "topN", 1);
+        index.refresh();
+        return index;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 11, 13, 15, 17 })
+    @DisplayName("상위 태그는 태그 스팟 전체로 구성한 클러스터 인덱스와 같은 결과를 반환한다")
+    void partitionTest(int zoom) throws JsonProcessingException {
+        // given
+        BoundingBox boundingBox = boundingBox(zoom);
+        List<Marker> tagMarkers = filter(m -> m.getId() % 2 == 0);
+
+        // when
+        List<Feature> actual = run(POPULAR_TAG, boundingBox);
+
+        // then
+        assertThat(spotTagIndex.isPartitioned(POPULAR_TAG)).isTrue();
+        assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected(tagMarkers, boundingBox)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 11, 13, 15, 17 })
+    @DisplayName("나머지 태그는 지도 범위 내 태그 스팟을 클러스터링한 결과와 같다")
+    void bitmapTest(int zoom) throws JsonProcessingException {
+        // given
+        BoundingBox boundingBox = boundingBox(zoom);
+        List<Marker> tagMarkers = filter(m -> m.getId() % 7 == 0 && contains(boundingBox, m));
+
+        // when
+        List<Feature> actual = run(RARE_TAG, boundingBox);
+
+        // then
+        assertThat(spotTagIndex.isPartitioned(RARE_TAG)).isFalse();
+        assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected(tagMarkers, boundingBox)));
+    }
+
+    @Test
+    @DisplayName("등록/삭제된 스팟은 재구성 전에도 태그 조회 결과에 반영된다")
+    void deltaTest() {
+        // given
+        BoundingBox boundingBox = boundingBox(18);
+        Marker inserted = new Marker(100_000L, new Coordinate(126.9780, 37.5665));
+        Long deletedId = pointIds(run(RARE_TAG, boundingBox)).get(0);
+
+        // when
+        spotTagIndex.onSpotMarkerEvent(SpotMarkerEvent.created(inserted, List.of(POPULAR_TAG, RARE_TAG)));
+        spotTagIndex.onSpotMarkerEvent(SpotMarkerEvent.deleted(new Marker(deletedId, new Coordinate(0.0, 0.0))));
+
+        // then
+        assertThat(pointIds(run(POPULAR_TAG, boundingBox))).contains(100_000L);
+        assertThat(pointIds(run(RARE_TAG, boundingBox))).contains(100_000L).doesNotContain(deletedId);
+        assertThat(pointIds(run(MINOR_TAG, boundingBox))).doesNotContain(100_000L);
+    }
+
+    @Test
+    @DisplayName("최초 구성 전 등록/삭제된 스팟은 구성 이후 태그 조회 결과에 반영된다")
+    void changedBeforeFirstBuildTest() {
+        // given
+        BoundingBox boundingBox = boundingBox(18);
+        Marker inserted = new Marker(100_000L, new Coordinate(126.9780, 37.5665));
+        Long deletedId = pointIds(run(RARE_TAG, boundingBox)).get(0);
+        SpotCustomQueryRepository repository = mock(SpotCustomQueryRepository.class);
+        given(repository.findAllMarkers()).willReturn(markers);
+        given(repository.findAllMarkerIdsGroupByTag()).willReturn(spotIdsByTag(markers));
+        SpotClusterIndex spotClusterIndex = new SpotClusterIndex(repository, superClusterParams, pointConverter, new EuclideanDistance(),
+                                                                 new SpotAggregateReducer(), new ClusterBuildPool(false, 0, 0),
+                                                                 mock(SpotClusterSnapshotStore.class), mock(ApplicationEventPublisher.class));
+        spotClusterIndex.refresh();
+        SpotTagIndex index = new SpotTagIndex(repository, spotClusterIndex, superClusterParams, pointConverter, new EuclideanDistance(),
+                                              new SpotAggregateReducer(), mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(index, "topN", 1);
+        index.onSpotMarkerEvent(SpotMarkerEvent.created(inserted, List.of(RARE_TAG)));
+        index.onSpotMarkerEvent(SpotMarkerEvent.deleted(new Marker(deletedId, new Coordinate(0.0, 0.0))));
+
+        // when
+        index.refresh();
+
+        // then
+        FeatureListSink sink = new FeatureListSink();
+        index.run(RARE_TAG, boundingBox, sink);
+        assertThat(pointIds(sink.getFeatures())).contains(100_000L).doesNotContain(deletedId);
+    }
+
+    @Test
+    @DisplayName("조회 빈도가 높은 태그로 파티션을 다시 선정한다")
+    void usageTest() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            run(MINOR_TAG, boundingBox(14));
+        }
+
+        // when
+        spotTagIndex.refresh();
+
+        // then
+        assertThat(spotTagIndex.isPartitioned(MINOR_TAG)).isTrue();
+        assertThat(spotTagIndex.isPartitioned(POPULAR_TAG)).isFalse();
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 태그의 조회는 기록하지 않고, 조회 빈도가 0 이 된 태그의 기록은 제거한다")
+    void usageBoundTest() {
+        // given
+        for (long tagId = 1_000L; tagId < 2_000L; tagId++) {
+            run(tagId, boundingBox(14));
+        }
+        run(MINOR_TAG, boundingBox(14));
+
+        // when
+        Map<?, ?> recorded = (Map<?, ?>) ReflectionTestUtils.getField(spotTagIndex, "usages");
+        int before = recorded.size();
+        spotTagIndex.refresh();
+
+        // then
+        assertThat(before).isEqualTo(1);
+        assertThat(recorded).isEmpty();
+    }
+
+    @Test
+    @DisplayName("파티션이 없는 태그는 범위 내 최신 스팟 MARKER_LIMIT 개까지만 클러스터링한다")
+    void markerLimitTest() {
+        // given
+        List<Marker> many = MarkerUtil.makeRandomSeoul(SpotTagIndex.MARKER_LIMIT + 2000, 13L);
+        spotTagIndex = createIndex(many, Map.of(POPULAR_TAG, ids(many)));
+        ReflectionTestUtils.setField(spotTagIndex, "topN", 0);
+        spotTagIndex.refresh();
+        BoundingBox world = BoundingBox.builder().west(-180.0).south(-85.0).east(180.0).north(85.0).zoom(TileBounds.MAX_ZOOM).build();
+
+        // when
+        List<Long> actual = pointIds(run(POPULAR_TAG, world));
+
+        // then
+        assertThat(spotTagIndex.isPartitioned(POPULAR_TAG)).isFalse();
+        assertThat(actual).hasSize(SpotTagIndex.MARKER_LIMIT)
+                          .allMatch(id -> id >= many.get(many.size() - SpotTagIndex.MARKER_LIMIT).getId());
+    }
+
+    @Test
+    @DisplayName("스팟 id 가 int 범위를 넘어도 태그 스팟을 조회한다")
+    void largeIdTest() throws JsonProcessingException {
+        // given
+        long offset = 3_000_000_000L;
+        List<Marker> shifted = markers.stream()
+                                      .map(m -> new Marker(m.getId() + offset, m.getCoordinate()))
+                                      .collect(Collectors.toList());
+        BoundingBox boundingBox = boundingBox(15);
+        List<Marker> tagMarkers = filter(shifted, m -> (m.getId() - offset) % 7 == 0 && contains(boundingBox, m));
+        Map<Long, List<Long>> spotIdsByTag = new HashMap<>();
+        spotIdsByTag.put(POPULAR_TAG, ids(filter(shifted, m -> (m.getId() - offset) % 2 == 0)));
+        spotIdsByTag.put(RARE_TAG, ids(filter(shifted, m -> (m.getId() - offset) % 7 == 0)));
+        spotTagIndex = createIndex(shifted, spotIdsByTag);
+
+        // when
+        List<Feature> actual = run(RARE_TAG, boundingBox);
+
+        // then
+        assertThat(spotTagIndex.isPartitioned(RARE_TAG)).isFalse();
+        assertThat(objectMapper.writeValueAsString(actual)).isEqualTo(objectMapper.writeValueAsString(expected(tagMarkers, boundingBox)));
+    }
+
+    private List<Feature> run(Long tagId, BoundingBox boundingBox) {
+        FeatureListSink sink = new FeatureListSink();
+        spotTagIndex.run(tagId, boundingBox, sink);
+        return sink.getFeatures();
+    }
+
+    private Map<Long, List<Long>> spotIdsByTag(List<Marker> markers) {
+        Map<Long, List<Long>> spotIdsByTag = new HashMap<>();
+        spotIdsByTag.put(POPULAR_TAG, ids(filter(markers, m -> m.getId() % 2 == 0)));
+        spotIdsByTag.put(RARE_TAG, ids(filter(markers, m -> m.getId() % 7 == 0)));
+        spotIdsByTag.put(MINOR_TAG, ids(filter(markers, m -> m.getId() % 50 == 0)));
+        return spotIdsByTag;
+    }
+
+    private List<Marker> filter(Predicate<Marker> predicate) {
+        return filter(markers, predicate);
+    }
+
+    private List<Marker> filter(List<Marker> markers, Predicate<Marker> predicate) {
+        return markers.stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    private List<Long> ids(List<Marker> markers) {
+        return markers.stream().map(Marker::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * 태그 클러스터는 id 를 노출하지 않습니다.
+     */
+    private List<Feature> expected(List<Marker> markers, BoundingBox boundingBox) {
+        FeatureListSink sink = new FeatureListSink();
+        build(markers).run(boundingBox, new AnonymousClusterSink(sink));
+        return sink.getFeatures();
+    }
+
+    private FlatSuperCluster build(List<Marker> markers) {
+        return new FlatSuperCluster(superClusterParams, markers, pointConverter, new EuclideanDistance(), new SpotAggregateReducer());
+    }
+
+    private boolean contains(BoundingBox boundingBox, Marker marker) {
+        double lng = marker.getCoordinate().getLng();
+        double lat = marker.getCoordinate().getLat();
+        return boundingBox.getWest() <= lng && lng <= boundingBox.getEast() && boundingBox.getSouth() <= lat && lat <= boundingBox.getNorth();
+    }
+
+    private BoundingBox boundingBox(int zoom) {
+        return BoundingBox.builder()
+                          .west(126.95)
+                          .south(37.54)
+                          .east(127.00)
+                          .north(37.59)
+                          .zoom(zoom)
+                          .build();
+    }
+
+}
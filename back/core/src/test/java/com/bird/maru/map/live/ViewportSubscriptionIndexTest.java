@@ -0,0 +1,89 @@
+package com.bird.maru.map.live;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bird.maru.cluster.geo.BoundingBox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ViewportSubscriptionIndexTest {
+
+    private ViewportSubscriptionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ViewportSubscriptionIndex(new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("좌표를 포함하는 지도 범위의 세션만 찾는다 - 넓은 범위, 날짜 변경선을 넘는 범위 포함")
+    void findSessionsTest() {
+        // given
+        Random random = new Random(42L);
+        Map<String, BoundingBox> viewports = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            double lng = 126 + random.nextDouble() * 2;
+            double lat = 36 + random.nextDouble() * 2;
+            double size = i % 10 == 0 ? random.nextDouble() * 5 : random.nextDouble() * 0.1;
+            viewports.put("session-" + i, box(lng, lat - size, lng + size, lat));
+        }
+        viewports.put("antimeridian", box(170, -10, -170, 60));
+        viewports.forEach(index::subscribe);
+
+        // when & then
+        for (int i = 0; i < 1000; i++) {
+            double lng = 126 + random.nextDouble() * 2.5;
+            double lat = 35.5 + random.nextDouble() * 2.5;
+            assertThat(index.findSessions(lng, lat)).containsExactlyInAnyOrderElementsOf(bruteForce(viewports, lng, lat));
+        }
+        assertThat(index.findSessions(179.5, 37.5)).containsExactly("antimeridian");
+        assertThat(index.findSessions(-179.5, 37.5)).containsExactly("antimeridian");
+    }
+
+    @Test
+    @DisplayName("지도 범위를 다시 등록하면 이전 범위를 대체하고, 해제하면 더 이상 찾지 않는다")
+    void resubscribeTest() {
+        // given
+        index.subscribe("session", box(126.9, 37.5, 127.0, 37.6));
+
+        // when
+        index.subscribe("session", box(129.0, 35.1, 129.1, 35.2));
+
+        // then
+        assertThat(index.findSessions(126.95, 37.55)).isEmpty();
+        assertThat(index.findSessions(129.05, 35.15)).containsExactly("session");
+        assertThat(index.size()).isEqualTo(1);
+
+        // when
+        index.unsubscribe("session");
+
+        // then
+        assertThat(index.findSessions(129.05, 35.15)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    private static List<String> bruteForce(Map<String, BoundingBox> viewports, double lng, double lat) {
+        List<String> result = new ArrayList<>();
+        viewports.forEach((sessionId, viewport) -> {
+            boolean inLng = viewport.getWest() <= viewport.getEast()
+                    ? lng >= viewport.getWest() && lng <= viewport.getEast()
+                    : lng >= viewport.getWest() || lng <= viewport.getEast();
+            if (inLng && lat >= viewport.getSouth() && lat <= viewport.getNorth()) {
+                result.add(sessionId);
+            }
+        });
+        return result;
+    }
+
+    private static BoundingBox box(double west, double south, double east, double north) {
+        return BoundingBox.builder().west(west).south(south).east(east).north(north).zoom(14).build();
+    }
+
+}
@@ -0,0 +1,269 @@
+package com.bird.maru.map.service.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.StreamingFeatureCollection;
+import com.bird.maru.cluster.tile.TileBounds;
+import com.bird.maru.cluster.util.ClusterBuildPool;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.type.MapFilterType;
+import com.bird.maru.landmark.index.LandmarkIndex;
+import com.bird.maru.map.cache.ClusterTileBatch;
+import com.bird.maru.map.cache.ClusterTileCache;
+import com.bird.maru.map.cache.ClusterTileKey;
+import com.bird.maru.map.cache.MapQueryCoalescer;
+import com.bird.maru.map.controller.dto.MapCondition;
+import com.bird.maru.map.controller.dto.SpotPrefetchResponseDto;
+import com.bird.maru.map.index.SpotClusterIndex;
+import com.bird.maru.map.index.SpotClusterSnapshotStore;
+import com.bird.maru.map.index.SpotTagIndex;
+import com.bird.maru.map.repository.query.SpotCellCountQueryRepository;
+import com.bird.maru.map.shard.SpotShardGather;
+import com.bird.maru.member.repository.query.MemberRedisRepository;
+import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.ApplicationEventPublisher;
+
+class MapQueryCachedServiceImplTest {
+
+    private static final int RDBMS_ZOOM = 14;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Marker> markers = MarkerUtil.makeRandomSeoul(10000, 42L);
+    private SpotCustomQueryRepository repository;
+    private SpotClusterQuery spotClusterQuery;
+    private MapQueryServiceImpl mapQueryService;
+    private MapQueryCachedServiceImpl mapQueryCachedService;
+    private ClusterTileCache clusterTileCache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SpotCustomQueryRepository.class);
+        given(repository.findAllMarkers()).willReturn(markers);
+        given(repository.findMarkerByBoundingBoxWithCondition(any(), any())).willAnswer(invocation -> {
+            MapCondition condition = invocation.getArgument(0);
+            BoundingBox boundingBox = condition.getBoundingBox();
+            return markers.stream()
+                          .filter(marker -> boundingBox.getWest() <= marker.getCoordinate().getLng()
+                                  && marker.getCoordinate().getLng() <= boundingBox.getEast()
+                                  && boundingBox.getSouth() <= marker.getCoordinate().getLat()
+                                  && marker.getCoordinate().getLat() <= boundingBox.getNorth())
+                          .sorted(Comparator.comparing(Marker::getId).reversed())
+                          .limit(condition.getSize())
+                          .collect(Collectors.toList());
+        });
+        SuperClusterParams superClusterParams = MarkerUtil.superClusterParams();
+        PointConverter pointConverter = MarkerUtil.mercatorConverter();
+        SpotClusterIndex spotClusterIndex = new SpotClusterIndex(repository, superClusterParams, pointConverter, new EuclideanDistance(),
+                                                                 new SpotAggregateReducer(), new ClusterBuildPool(false, 0, 0),
+                                                                 mock(SpotClusterSnapshotStore.class), mock(ApplicationEventPublisher.class));
+        spotClusterIndex.refresh();
+        SpotTagIndex spotTagIndex = new SpotTagIndex(repository, spotClusterIndex, superClusterParams, pointConverter, new EuclideanDistance(),
+                                                     new SpotAggregateReducer(), mock(ApplicationEventPublisher.class));
+        SpotShardGather spotShardGather = mock(SpotShardGather.class);
+        SpotQueryRouter spotQueryRouter = new SpotQueryRouter(spotClusterIndex, spotTagIndex, spotShardGather);
+        spotClusterQuery = new SpotClusterQuery(repository, superClusterParams, pointConverter, new EuclideanDistance(),
+                                                                 new SpotAggregateReducer(), new ClusterBuildPool(false, 0, 0), spotClusterIndex,
+                                                                 spotTagIndex, spotShardGather, mock(SpotCellCountQueryRepository.class),
+                                                                 new MapQueryCoalescer(new SimpleMeterRegistry()));
+        mapQueryService = new MapQueryServiceImpl(repository, spotClusterIndex, mock(LandmarkIndex.class), mock(MemberRedisRepository.class),
+                                                  spotQueryRouter, spotClusterQuery);
+        clusterTileCache = new ClusterTileCache(1000, superClusterParams, new SimpleMeterRegistry());
+        mapQueryCachedService = new MapQueryCachedServiceImpl(mapQueryService, spotQueryRouter, spotClusterQuery, clusterTileCache);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 11, 13, 15, 17 })
+    @DisplayName("타일 캐시로 조립한 결과는 지도 범위를 바로 클러스터링한 결과와 같다")
+    void sameFeaturesTest(int zoom) throws Exception {
+        // given
+        MapCondition condition = MapCondition.builder()
+                                             .boundingBox(BoundingBox.builder()
+                                                                     .west(126.95)
+                                                                     .south(37.54)
+                                                                     .east(127.00)
+                                                                     .north(37.59)
+                                                                     .zoom(zoom)
+                                                                     .build())
+                                             .filter(MapFilterType.ALL)
+                                             .size(5000)
+                                             .build();
+
+        // when
+        List<Map<String, Object>> expected = features(mapQueryService, condition);
+        List<Map<String, Object>> cached = features(mapQueryCachedService, condition);
+        List<Map<String, Object>> hit = features(mapQueryCachedService, condition);
+
+        // then
+        assertThat(cached).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(hit).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("클러스터 인덱스에서 조회되는 조건은 타일 캐시로 조립하고 같은 데이터 버전 토큰을 담는다")
+    void indexServedTest() throws Exception {
+        // given
+        MapCondition condition = condition(126.95, 37.54, 127.00, 37.59, 13, null);
+
+        // when
+        StreamingFeatureCollection cached = mapQueryCachedService.spotsCluster(1L, condition);
+        StreamingFeatureCollection expected = mapQueryService.spotsCluster(1L, condition);
+
+        // then
+        assertThat(features(cached)).containsExactlyInAnyOrderElementsOf(features(expected));
+        assertThat(cached.getVersion()).isNotNull().isEqualTo(expected.getVersion());
+        assertThat(clusterTileCache.size()).isPositive();
+    }
+
+    @Test
+    @DisplayName("RDBMS 에서 조회하는 타일은 캐시에 없는 타일들을 한 번에 조회한다")
+    void rdbmsBatchTest() throws Exception {
+        // given
+        int x = (int) TileBounds.lngToTileX(126.97, RDBMS_ZOOM);
+        int y = (int) TileBounds.latToTileY(37.56, RDBMS_ZOOM);
+        BoundingBox first = TileBounds.toBoundingBox(RDBMS_ZOOM, x, y, 0);
+        BoundingBox last = TileBounds.toBoundingBox(RDBMS_ZOOM, x + 1, y + 1, 0);
+        MapCondition condition = mine((first.getWest() + first.getEast()) / 2, (last.getSouth() + last.getNorth()) / 2,
+                                      (last.getWest() + last.getEast()) / 2, (first.getSouth() + first.getNorth()) / 2, 5000);
+
+        // when
+        mapQueryCachedService.spotsCluster(1L, condition);
+        mapQueryCachedService.spotsCluster(1L, condition);
+
+        // then
+        then(repository).should(times(1)).findMarkerByBoundingBoxWithCondition(any(), eq(1L));
+        assertThat(clusterTileCache.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("RDBMS 조회 타일 묶음의 각 스팟은 한 타일에만 포함되고, 조회 개수 제한은 묶음 전체에 적용된다")
+    void rdbmsTileSeamTest() throws Exception {
+        // given
+        int x = (int) TileBounds.lngToTileX(126.97, RDBMS_ZOOM);
+        int y = (int) TileBounds.latToTileY(37.56, RDBMS_ZOOM);
+        MapCondition condition = mine(126.97, 37.56, 126.97, 37.56, 5000);
+        MapCondition limited = mine(126.97, 37.56, 126.97, 37.56, 10);
+        List<ClusterTileKey> keys = List.of(ClusterTileKey.of(RDBMS_ZOOM, x, y, condition, 1L), ClusterTileKey.of(RDBMS_ZOOM, x + 1, y + 1, condition, 1L));
+        long inRange = markers.stream()
+                              .filter(marker -> {
+                                  double tx = Math.floor(TileBounds.lngToTileX(marker.getCoordinate().getLng(), RDBMS_ZOOM));
+                                  double ty = Math.floor(TileBounds.latToTileY(marker.getCoordinate().getLat(), RDBMS_ZOOM));
+                                  return x <= tx && tx <= x + 1 && y <= ty && ty <= y + 1;
+                              })
+                              .count();
+
+        // when
+        ClusterTileBatch batch = spotClusterQuery.tiles(1L, condition, keys);
+        ClusterTileBatch limitedBatch = spotClusterQuery.tiles(1L, limited, keys);
+
+        // then
+        assertThat(batch.getTiles()).hasSize(4);
+        assertThat(batch.isComplete()).isTrue();
+        assertThat(count(batch)).isEqualTo(inRange);
+        assertThat(limitedBatch.isComplete()).isFalse();
+        assertThat(count(limitedBatch)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("미리 받기 묶음은 한 단계 위 줌 레벨의 결과와 범위 둘레의 결과를 담는다")
+    void prefetchTest() throws Exception {
+        // given
+        MapCondition condition = condition(126.95, 37.54, 127.00, 37.59, 13, 0.5);
+
+        // when
+        SpotPrefetchResponseDto prefetch = mapQueryCachedService.spotsPrefetch(1L, condition);
+
+        // then
+        BoundingBox marginBox = prefetch.getMarginBoundingBox();
+        assertThat(marginBox.getWest()).isEqualTo(126.925, within(1e-9));
+        assertThat(marginBox.getNorth()).isEqualTo(37.615, within(1e-9));
+        assertThat(features(prefetch.getFeatures())).containsExactlyInAnyOrderElementsOf(features(mapQueryService, condition));
+        assertThat(features(prefetch.getZoomIn()))
+                .containsExactlyInAnyOrderElementsOf(features(mapQueryService, condition(126.95, 37.54, 127.00, 37.59, 14, null)));
+        List<Map<String, Object>> expectedMargin = features(mapQueryService, condition(marginBox.getWest(), marginBox.getSouth(),
+                                                                                        marginBox.getEast(), marginBox.getNorth(), 13, null));
+        expectedMargin.removeAll(features(mapQueryService, condition));
+        assertThat(features(prefetch.getMargin())).isNotEmpty().containsExactlyInAnyOrderElementsOf(expectedMargin);
+    }
+
+    private MapCondition condition(double west, double south, double east, double north, int zoom, Double prefetchMargin) {
+        return MapCondition.builder()
+                           .boundingBox(BoundingBox.builder()
+                                                   .west(west)
+                                                   .south(south)
+                                                   .east(east)
+                                                   .north(north)
+                                                   .zoom(zoom)
+                                                   .build())
+                           .filter(MapFilterType.ALL)
+                           .size(5000)
+                           .prefetchMargin(prefetchMargin)
+                           .build();
+    }
+
+    private MapCondition mine(double west, double south, double east, double north, int size) {
+        return MapCondition.builder()
+                           .boundingBox(BoundingBox.builder()
+                                                   .west(west)
+                                                   .south(south)
+                                                   .east(east)
+                                                   .north(north)
+                                                   .zoom(RDBMS_ZOOM)
+                                                   .build())
+                           .filter(MapFilterType.MINE)
+                           .size(size)
+                           .build();
+    }
+
+    /**
+     * 타일 묶음에 포함된 스팟 수 - 스팟은 1개, 클러스터는 count 개
+     */
+    private long count(ClusterTileBatch batch) throws Exception {
+        long count = 0;
+        for (FeatureBuffer tile : batch.getTiles().values()) {
+            for (Map<String, Object> feature : features(new StreamingFeatureCollection(tile::replay))) {
+                Object value = ((Map<?, ?>) feature.get("properties")).get("count");
+                count += value == null ? 1 : ((Number) value).longValue();
+            }
+        }
+        return count;
+    }
+
+    private List<Map<String, Object>> features(
+            MapQueryService service, MapCondition condition
+    ) throws Exception {
+        return features(service.spotsCluster(1L, condition));
+    }
+
+    private List<Map<String, Object>> features(StreamingFeatureCollection collection) throws Exception {
+        String json = objectMapper.writeValueAsString(collection);
+        return objectMapper.readValue(json, new TypeReference<>() {
+        });
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.bird.maru.map.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.bird.maru.cluster.aggregate.ClusterAggregate;
+import com.bird.maru.cluster.aggregate.SpotAggregateReducer;
+import com.bird.maru.cluster.compact.CompactFeatureReader;
+import com.bird.maru.cluster.compact.CompactFeatureWriter;
+import com.bird.maru.cluster.geo.BoundingBox;
+import com.bird.maru.cluster.geo.Marker;
+import com.bird.maru.cluster.geo.SuperClusterParams;
+import com.bird.maru.cluster.geojson.FeatureBuffer;
+import com.bird.maru.cluster.geojson.FeatureSink;
+import com.bird.maru.cluster.util.ClusterBuildPool;
+import com.bird.maru.cluster.util.EuclideanDistance;
+import com.bird.maru.cluster.util.MarkerUtil;
+import com.bird.maru.cluster.util.PointConverter;
+import com.bird.maru.domain.model.type.Coordinate;
+import com.bird.maru.map.controller.dto.SpotShardWriteDto;
+import com.bird.maru.map.index.SpotShardIndex;
+import com.bird.maru.map.repository.query.SpotCellCountQueryRepository;
+import com.bird.maru.spot.repository.query.SpotCustomQueryRepository;
+import com.bird.maru.spot.service.event.SpotMarkerEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SpotShardGatherTest {
+
+    private static final int SIZE = 10000;
+    private static final String NODES = "node-1=http://node-1,node-2=http://node-2,node-3=http://node-3";
+    private static final BoundingBox AREA = BoundingBox.builder().west(126.0).south(35.5).east(128.5).north(38.0).build();
+
+    private final SuperClusterParams superClusterParams = MarkerUtil.superClusterParams();
+    private final PointConverter pointConverter = MarkerUtil.mercatorConverter();
+    private final SpotShardMerger spotShardMerger = new SpotShardMerger(superClusterParams, pointConverter, new EuclideanDistance(),
+                                                                        new SpotAggregateReducer());
+    private final Map<String, SpotShardIndex> indexes = new HashMap<>();
+    private final Map<String, SpotShardGather> gathers = new HashMap<>();
+    private final Map<String, SpotShardTopology> topologies = new HashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    /**
+     * 여러 셀에 걸친 범위의 스팟으로, 같은 노드 목록을 가진 3개의 노드를 한 프로세스에 구성하고, 노드 간 조회는 압축 바이너리 형식으로, <br/>
+     * 노드 간 쓰기는 JSON 으로 인코딩/디코딩하여 전달합니다.
+     */
+    @BeforeEach
+    void setUp() {
+        SpotCustomQueryRepository repository = mock(SpotCustomQueryRepository.class);
+        given(repository.findAllMarkers()).willReturn(MarkerUtil.makeRandom(AREA, SIZE, 42L));
+        SpotShardClient client = new SpotShardClient() {
+            @Override
+            public CompletableFuture<FeatureBuffer> run(String nodeId, BoundingBox boundingBox) {
+                return CompletableFuture.completedFuture(transfer(indexes.get(nodeId), boundingBox));
+            }
+
+            @Override
+            public CompletableFuture<Void> write(String nodeId, SpotShardWriteDto write) {
+                SpotShardWriteDto received = transfer(write);
+                indexes.get(nodeId).apply(received.getType(), received.getMarker());
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        for (String nodeId : List.of("node-1", "node-2", "node-3")) {
+            SpotShardTopology topology = new SpotShardTopology(true, nodeId, NODES, 128, "secret");
+            SpotShardIndex index = new SpotShardIndex(repository, mock(SpotCellCountQueryRepository.class), topology, client,
+                                                      superClusterParams, pointConverter, new EuclideanDistance(), new SpotAggregateReducer(),
+                                                      new ClusterBuildPool(false, 0, 0));
+            index.refresh();
+            indexes.put(nodeId, index);
+            topologies.put(nodeId, topology);
+            gathers.put(nodeId, new SpotShardGather(topology, index, client, spotShardMerger, superClusterParams, pointConverter));
+        }
+    }
+
+    @Test
+    @DisplayName("모든 스팟은 정확히 한 노드의 샤드 인덱스에 포함된다")
+    void ownershipTest() {
+        // given
+        Set<Long> ids = new HashSet<>();
+        int total = 0;
+
+        // when
+        for (SpotShardIndex index : indexes.values()) {
+            List<Long> points = points(index::run, 17);
+            ids.addAll(points);
+            total += points.size();
+        }
+
+        // then
+        assertThat(total).isEqualTo(SIZE);
+        assertThat(ids).hasSize(SIZE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 12, 14, 17 })
+    @DisplayName("어느 노드에서 분산 조회해도 전체 스팟 수가 보존되고 결과가 같다")
+    void gatherTest(int zoom) {
+        // given
+        BoundingBox boundingBox = withZoom(AREA, zoom);
+
+        // when
+        List<FeatureBuffer> results = new ArrayList<>();
+        for (String nodeId : List.of("node-1", "node-2", "node-3")) {
+            FeatureBuffer result = new FeatureBuffer();
+            gathers.get(nodeId).run(boundingBox, result);
+            results.add(result);
+        }
+
+        // then
+        for (FeatureBuffer result : results) {
+            assertThat(count(result)).isEqualTo(SIZE);
+            assertThat(result.size()).isEqualTo(results.get(0).size());
+        }
+    }
+
+    @Test
+    @DisplayName("담당하지 않는 노드에서 등록/삭제한 스팟도 담당 노드의 샤드 인덱스에 바로 반영된다")
+    void forwardWriteTest() {
+        // given
+        Marker marker = Marker.builder()
+                              .id((long) SIZE)
+                              .coordinate(Coordinate.builder().lng(127.3).lat(37.1).build())
+                              .build();
+        long cell = SpotShardCell.of(127.3, 37.1);
+        String owner = topologies.get("node-1").getRing().owner(cell);
+        String writer = List.of("node-1", "node-2", "node-3").stream().filter(n -> !n.equals(owner)).findFirst().orElseThrow();
+
+        // when
+        indexes.get(writer).onSpotMarkerEvent(SpotMarkerEvent.created(marker));
+        List<Long> ownerPoints = points(indexes.get(owner)::run, 17);
+        List<Long> writerPoints = points(indexes.get(writer)::run, 17);
+        FeatureBuffer gathered = new FeatureBuffer();
+        gathers.get(writer).run(withZoom(AREA, 12), gathered);
+        indexes.get(writer).onSpotMarkerEvent(SpotMarkerEvent.deleted(marker));
+
+        // then
+        assertThat(ownerPoints).contains((long) SIZE);
+        assertThat(writerPoints).doesNotContain((long) SIZE);
+        assertThat(count(gathered)).isEqualTo(SIZE + 1);
+        assertThat(points(indexes.get(owner)::run, 17)).doesNotContain((long) SIZE);
+    }
+
+    @Test
+    @DisplayName("서로 다른 샤드의 Feature 가 클러스터 반경 안에 있으면 count 가중 평균 좌표의 클러스터로 합친다")
+    void mergeTest() {
+        // given
+        FeatureBuffer left = new FeatureBuffer();
+        left.cluster(127.0, 37.5, 1L, 3, 0, null);
+        left.point(126.0, 37.0, 10L);
+        FeatureBuffer right = new FeatureBuffer();
+        right.point(127.0001, 37.5, 20L);
+
+        // when
+        FeatureBuffer merged = new FeatureBuffer();
+        spotShardMerger.merge(List.of(left, right), 12, merged);
+
+        // then
+        List<double[]> clusters = new ArrayList<>();
+        List<Long> points = new ArrayList<>();
+        merged.replay(new FeatureSink() {
+            @Override
+            public void point(double lng, double lat, long id) {
+                points.add(id);
+            }
+
+            @Override
+            public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+                clusters.add(new double[]{ lng, lat, id, count });
+            }
+        });
+        assertThat(points).containsExactly(10L);
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0)[0]).isCloseTo(127.000025, offset(1e-9));
+        assertThat((long) clusters.get(0)[2]).isEqualTo(FeatureSink.NO_ID);
+        assertThat((int) clusters.get(0)[3]).isEqualTo(4);
+    }
+
+    private FeatureBuffer transfer(SpotShardIndex index, BoundingBox boundingBox) {
+        CompactFeatureWriter writer = new CompactFeatureWriter();
+        index.run(boundingBox, writer);
+        FeatureBuffer buffer = new FeatureBuffer();
+        try {
+            CompactFeatureReader.read(writer.toByteArray(), buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    private SpotShardWriteDto transfer(SpotShardWriteDto write) {
+        try {
+            return objectMapper.readValue(objectMapper.writeValueAsBytes(write), SpotShardWriteDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Long> points(BiConsumer<BoundingBox, FeatureSink> run, int zoom) {
+        List<Long> ids = new ArrayList<>();
+        run.accept(withZoom(AREA, zoom), new FeatureSink() {
+            @Override
+            public void point(double lng, double lat, long id) {
+                ids.add(id);
+            }
+
+            @Override
+            public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+                throw new AssertionError("maxZoom 보다 깊은 줌 레벨에는 클러스터가 없습니다.");
+            }
+        });
+        return ids;
+    }
+
+    private static long count(FeatureBuffer features) {
+        long[] total = { 0 };
+        features.replay(new FeatureSink() {
+            @Override
+            public void point(double lng, double lat, long id) {
+                total[0]++;
+            }
+
+            @Override
+            public void cluster(double lng, double lat, long id, int count, double radius, ClusterAggregate aggregate) {
+                total[0] += count;
+            }
+        });
+        return total[0];
+    }
+
+    private static BoundingBox withZoom(BoundingBox boundingBox, int zoom) {
+        return BoundingBox.builder()
+                          .west(boundingBox.getWest())
+                          .south(boundingBox.getSouth())
+                          .east(boundingBox.getEast())
+                          .north(boundingBox.getNorth())
+                          .zoom(zoom)
+                          .build();
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.bird.maru.map.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SpotShardRingTest {
+
+    @Test
+    @DisplayName("노드를 추가하면 새 노드로 옮겨가는 셀만 담당 노드가 바뀐다")
+    void addNodeTest() {
+        // given
+        SpotShardRing before = new SpotShardRing(List.of("node-1", "node-2", "node-3"), 128);
+        SpotShardRing after = new SpotShardRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+
+        // when
+        int moved = 0;
+        int total = 0;
+        for (int x = 0; x < 1 << SpotShardCell.ZOOM; x += 4) {
+            for (int y = 0; y < 1 << SpotShardCell.ZOOM; y += 4) {
+                long cell = SpotShardCell.key(x, y);
+                String owner = after.owner(cell);
+                if (!owner.equals(before.owner(cell))) {
+                    assertThat(owner).isEqualTo("node-4");
+                    moved++;
+                }
+                total++;
+            }
+        }
+
+        // then
+        assertThat((double) moved / total).isBetween(0.15, 0.35);
+    }
+
+}